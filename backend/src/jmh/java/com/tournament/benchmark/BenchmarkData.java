@@ -0,0 +1,51 @@
+package com.tournament.benchmark;
+
+import com.tournament.model.MatchScore;
+
+import java.util.Random;
+
+/**
+ * Deterministic test data so benchmark runs are comparable with each other.
+ */
+final class BenchmarkData {
+    static final long SEED = 20240501L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * A fully played best-of-{@code setCount} match: player 1 wins the deciding set after
+     * the sets were split evenly, with a mix of regular and deuce sets.
+     */
+    static MatchScore playedScore(int setCount, long seed) {
+        Random random = new Random(seed);
+        MatchScore score = new MatchScore(setCount);
+        for (int i = 0; i < setCount; i++) {
+            boolean player1Wins = i == setCount - 1 || i % 2 == 0;
+            boolean deuce = random.nextInt(4) == 0;
+            int winnerPoints = deuce ? 12 + random.nextInt(4) : 11;
+            int loserPoints = deuce ? winnerPoints - 2 : random.nextInt(10);
+            MatchScore.SetScore set = new MatchScore.SetScore();
+            set.setPlayer1Score(player1Wins ? winnerPoints : loserPoints);
+            set.setPlayer2Score(player1Wins ? loserPoints : winnerPoints);
+            set.setLastModifiedVersion((long) i + 1);
+            score.addSet(set);
+        }
+        return score;
+    }
+
+    /**
+     * A best-of-{@code setCount} score with all sets started but none decided, so repeated
+     * updates keep the match in progress. {@code step} varies the points between calls.
+     */
+    static MatchScore openScore(int setCount, int step) {
+        MatchScore score = new MatchScore(setCount);
+        for (int i = 0; i < setCount; i++) {
+            MatchScore.SetScore set = new MatchScore.SetScore();
+            set.setPlayer1Score((step + i) % 10);
+            set.setPlayer2Score((step + i + 3) % 10);
+            score.addSet(set);
+        }
+        return score;
+    }
+}
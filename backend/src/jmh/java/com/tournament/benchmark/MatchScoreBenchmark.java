@@ -0,0 +1,50 @@
+package com.tournament.benchmark;
+
+import com.tournament.config.GameRules;
+import com.tournament.model.MatchScore;
+import com.tournament.model.PlayerSide;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Winner and total calculations on a single match score, as done for every score update.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class MatchScoreBenchmark {
+
+    @Param({"3", "5", "7"})
+    private int setCount;
+
+    private GameRules gameRules;
+    private MatchScore score;
+
+    @Setup
+    public void setUp() {
+        gameRules = new GameRules();
+        score = BenchmarkData.playedScore(setCount, BenchmarkData.SEED);
+    }
+
+    @Benchmark
+    public void setWinner(Blackhole blackhole) {
+        for (MatchScore.SetScore set : score.getSets()) {
+            blackhole.consume(set.getWinner(gameRules));
+        }
+    }
+
+    @Benchmark
+    public PlayerSide calculateWinner() {
+        return score.calculateWinner(gameRules);
+    }
+
+    @Benchmark
+    public int totalScores() {
+        return score.getPlayer1TotalScore() + score.getPlayer2TotalScore();
+    }
+}
@@ -0,0 +1,90 @@
+package com.tournament.benchmark;
+
+import com.tournament.TournamentApplication;
+import com.tournament.dto.PlayerSearchPage;
+import com.tournament.model.PlayerSearchMode;
+import com.tournament.service.PlayerSearchIndex;
+import com.tournament.service.PlayerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of {@link PlayerService#searchPlayers} over {@value #PLAYERS} players: the lookup
+ * in the {@link PlayerSearchIndex} and reading the page's players by id. By default from an
+ * in-memory H2 database, with {@code -p postgresUrl=jdbc:postgresql://localhost:5432/benchmark}
+ * (user and password postgres) from PostgreSQL, in an empty database of its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PlayerSearchBenchmark {
+
+    static final int PLAYERS = 100_000;
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Chen", "Dara", "Emil", "Fatima", "Goran", "Hana"};
+
+    /** Browse all, a common substring, a common prefix and a single player by email. */
+    @Param({"", "ann", "emil ", "player.99876@"})
+    private String text;
+
+    /** Empty for H2; the tables of the database are dropped afterwards. */
+    @Param({""})
+    private String postgresUrl;
+
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean postgres = !postgresUrl.isEmpty();
+        context = new SpringApplicationBuilder(TournamentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                     "--spring.datasource.url=" + (postgres ? postgresUrl : "jdbc:h2:mem:player-search;DB_CLOSE_DELAY=-1"),
+                     "--spring.datasource.driver-class-name=" + (postgres ? "org.postgresql.Driver" : "org.h2.Driver"),
+                     "--spring.datasource.username=" + (postgres ? "postgres" : "sa"),
+                     "--spring.datasource.password=" + (postgres ? "postgres" : ""),
+                     "--spring.datasource.hikari.data-source-properties=",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect."
+                         + (postgres ? "PostgreSQLDialect" : "H2Dialect"),
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.tournament=WARN",
+                     "--tournament.live-engine.journal-path=target/benchmark-player-search.journal");
+        playerService = context.getBean(PlayerService.class);
+
+        Random random = new Random(BenchmarkData.SEED);
+        List<Object[]> rows = new ArrayList<>(PLAYERS);
+        for (int i = 1; i <= PLAYERS; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " Player " + i;
+            rows.add(new Object[]{(long) i, name, "player." + i + "@example.com",
+                1 + random.nextInt(1_000), random.nextInt(10) != 0});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+            "INSERT INTO players (id, name, email, rank, active) VALUES (?, ?, ?, ?, ?)", rows);
+        // Inserted behind the index's back
+        context.getBean(PlayerSearchIndex.class).reload();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PlayerSearchPage search() {
+        PlayerSearchMode mode = text.startsWith("emil") ? PlayerSearchMode.PREFIX : PlayerSearchMode.CONTAINS;
+        return playerService.searchPlayers(text, mode, true, null, null, null, null, 20);
+    }
+}
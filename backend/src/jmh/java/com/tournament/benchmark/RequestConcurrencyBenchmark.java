@@ -0,0 +1,160 @@
+package com.tournament.benchmark;
+
+import com.tournament.TournamentApplication;
+import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.model.BracketFormat;
+import com.tournament.model.Player;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP throughput with {@value #CONNECTIONS} concurrent clients, with request handling on the
+ * Tomcat platform thread pool or on virtual threads. Every tenth client is a scorer assigning
+ * a set score, the others are spectators reading the standings.
+ *
+ * Runs against in-memory H2, whose engine synchronizes internally and never waits on the
+ * network, so this shows the cost of the thread model rather than the gain from releasing
+ * threads during Postgres round trips.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class RequestConcurrencyBenchmark {
+
+    static final int CONNECTIONS = 2000;
+    private static final int PLAYERS = 16;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private String baseUrl;
+    private Long tournamentId;
+    private long[] matchIds;
+    private int step;
+    private final AtomicLong failures = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TournamentApplication.class)
+                .run("--spring.profiles.active=benchmark" + (virtualThreads ? ",virtual-threads" : ""),
+                     "--server.port=0",
+                     "--server.tomcat.max-connections=" + (2 * CONNECTIONS),
+                     "--server.tomcat.accept-count=" + CONNECTIONS,
+                     "--spring.datasource.url=jdbc:h2:mem:concurrency-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.driver-class-name=org.h2.Driver",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=",
+                     "--spring.datasource.hikari.data-source-properties=",
+                     // Same pool in both modes, so only the thread model differs
+                     "--spring.datasource.hikari.maximum-pool-size=20",
+                     "--spring.datasource.hikari.minimum-idle=20",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.tournament=WARN",
+                     "--logging.level.org.springframework.web=WARN",
+                     "--tournament.live-engine.journal-path=target/benchmark-concurrency-" + virtualThreads + ".journal");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/tournaments/";
+
+        TournamentService tournamentService = context.getBean(TournamentService.class);
+        PlayerService playerService = context.getBean(PlayerService.class);
+        List<Long> playerIds = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.setName("Concurrency Player " + i);
+            player.setEmail("concurrency.player" + i + "@example.com");
+            playerIds.add(playerService.createPlayer(player).getId());
+        }
+        CreateTournamentRequest tournamentRequest = new CreateTournamentRequest();
+        tournamentRequest.setName("Concurrency Tournament");
+        tournamentRequest.setStartDate(LocalDate.of(2024, 5, 1));
+        tournamentRequest.setEndDate(LocalDate.of(2024, 5, 7));
+        tournamentRequest.setPlayerIds(playerIds);
+        tournamentId = tournamentService.createTournament(tournamentRequest).getId();
+
+        GenerateBracketRequest bracketRequest = new GenerateBracketRequest();
+        bracketRequest.setFormat(BracketFormat.ROUND_ROBIN);
+        bracketRequest.setIntendedTotalSets(5);
+        tournamentService.generateBracket(tournamentId, bracketRequest);
+        matchIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM matches WHERE tournament_id = ? ORDER BY id", Long.class, tournamentId)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        // The client side always uses virtual threads so it is never the bottleneck
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (failures.get() > 0) {
+            System.out.println("Failed requests: " + failures.get());
+        }
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONNECTIONS)
+    public void concurrentRequests() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONNECTIONS];
+        for (int i = 0; i < CONNECTIONS; i++) {
+            HttpRequest request = i % 10 == 0 ? scoreRequest(step++) : standingsRequest();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    private HttpRequest standingsRequest() {
+        return HttpRequest.newBuilder(URI.create(baseUrl + tournamentId + "/standings")).GET().build();
+    }
+
+    private HttpRequest scoreRequest(int current) {
+        long matchId = matchIds[current % matchIds.length];
+        // Scores below 11 never complete the set, so matches stay open for the whole run
+        String body = "{\"setIndex\":0,\"player1Score\":" + (current % 10)
+                + ",\"player2Score\":" + (current / 10 % 10) + "}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + tournamentId + "/matches/" + matchId + "/score"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.tournament.benchmark;
+
+import com.tournament.TournamentApplication;
+import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.UpdateScoreResponse;
+import com.tournament.model.BracketFormat;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link TournamentService#updateMatchScore} path against an in-memory H2 database:
+ * load, set merge, winner and status resolution, events and the versioned update.
+ * Updates cycle through all matches of a round robin tournament with at least {@code matches}
+ * matches (10 or 5,050), so the cost of looking up one match in a small and in a large
+ * tournament can be compared.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ScoreUpdateBenchmark {
+
+    @Param({"3", "5", "7"})
+    private int setCount;
+
+    @Param({"10", "5000"})
+    private int matches;
+
+    private ConfigurableApplicationContext context;
+    private TournamentService tournamentService;
+    private Long tournamentId;
+    private long[] matchIds;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TournamentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark",
+                     "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.driver-class-name=org.h2.Driver",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=",
+                     "--spring.datasource.hikari.data-source-properties=",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN",
+                     "--logging.level.com.tournament=WARN",
+                     "--logging.level.org.springframework.web=WARN",
+                     // Measure the database path only, the live engine would take the match over
+                     "--tournament.live-engine.enabled=false",
+                     "--tournament.live-engine.journal-path=target/benchmark.journal");
+        tournamentService = context.getBean(TournamentService.class);
+        PlayerService playerService = context.getBean(PlayerService.class);
+
+        // A round robin of n players has n(n - 1) / 2 matches
+        int players = 2;
+        while (players * (players - 1) / 2 < matches) {
+            players++;
+        }
+        List<Long> playerIds = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            Player player = new Player();
+            player.setName("Benchmark Player " + i);
+            player.setEmail("benchmark.player" + i + "@example.com");
+            playerIds.add(playerService.createPlayer(player).getId());
+        }
+
+        CreateTournamentRequest tournamentRequest = new CreateTournamentRequest();
+        tournamentRequest.setName("Benchmark Tournament");
+        tournamentRequest.setStartDate(LocalDate.of(2024, 5, 1));
+        tournamentRequest.setEndDate(LocalDate.of(2024, 5, 7));
+        tournamentRequest.setPlayerIds(playerIds);
+        Tournament tournament = tournamentService.createTournament(tournamentRequest);
+        tournamentId = tournament.getId();
+
+        GenerateBracketRequest bracketRequest = new GenerateBracketRequest();
+        bracketRequest.setFormat(BracketFormat.ROUND_ROBIN);
+        bracketRequest.setIntendedTotalSets(setCount);
+        tournamentService.generateBracket(tournamentId, bracketRequest);
+
+        matchIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM matches WHERE tournament_id = ? ORDER BY id", Long.class, tournamentId)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UpdateScoreResponse updateMatchScore() {
+        int current = step++;
+        long matchId = matchIds[current % matchIds.length];
+        return tournamentService.updateMatchScore(tournamentId, matchId, BenchmarkData.openScore(setCount, current));
+    }
+}
@@ -0,0 +1,78 @@
+package com.tournament.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tournament.config.GameRules;
+import com.tournament.dto.UpdateScoreResponse;
+import com.tournament.model.Match;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.Player;
+import com.tournament.model.ScoreUpdateStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the score update response as returned by the REST API, and the
+ * reverse for clients reading it back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class UpdateScoreResponseJsonBenchmark {
+
+    @Param({"3", "5", "7"})
+    private int setCount;
+
+    private ObjectMapper objectMapper;
+    private UpdateScoreResponse response;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same defaults as the mapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Match match = new Match();
+        match.setId(1L);
+        match.setVersion(42L);
+        match.setPlayer1(player(1L, "Benchmark One"));
+        match.setPlayer2(player(2L, "Benchmark Two"));
+        match.setRound(1);
+        match.setScore(BenchmarkData.playedScore(setCount, BenchmarkData.SEED));
+        match.getScore().setWinnerSide(match.getScore().calculateWinner(new GameRules()));
+        match.setStatus(MatchStatus.COMPLETED);
+        match.setScheduledTime(LocalDateTime.of(2024, 5, 1, 10, 0));
+        match.setCompletedAt(LocalDateTime.of(2024, 5, 1, 10, 45));
+        match.setVenue("Table 1");
+
+        response = new UpdateScoreResponse(match, ScoreUpdateStatus.MATCH_COMPLETED);
+        json = objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public UpdateScoreResponse deserialize() throws Exception {
+        return objectMapper.readValue(json, UpdateScoreResponse.class);
+    }
+
+    private static Player player(Long id, String name) {
+        Player player = new Player();
+        player.setId(id);
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.').toLowerCase() + "@example.com");
+        player.setRating(1500.0);
+        return player;
+    }
+}
@@ -0,0 +1,60 @@
+package com.tournament.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors of the requests to one endpoint, recorded concurrently by the clients.
+ */
+final class EndpointStats {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.max(latencyNanos, 0));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Drop what was recorded so far, at the end of the warmup.
+     */
+    void reset() {
+        recorder.getIntervalHistogram();
+        errors.reset();
+    }
+
+    /**
+     * The results since the last reset, which start over. The latencies are added to the total.
+     */
+    Result result(double seconds, Histogram total) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        total.add(histogram);
+        return Result.of(endpoint, histogram, errors.sumThenReset(), seconds);
+    }
+
+    record Result(String endpoint, long requests, double requestsPerSecond, long errors,
+                  double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        static Result of(String endpoint, Histogram histogram, long errors, double seconds) {
+            return new Result(endpoint, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
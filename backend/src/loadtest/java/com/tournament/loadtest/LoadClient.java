@@ -0,0 +1,116 @@
+package com.tournament.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+
+/**
+ * HTTP client shared by the simulated scorers and spectators. Records the latency of every
+ * request under the endpoint it belongs to.
+ */
+final class LoadClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentSkipListMap<>();
+
+    LoadClient(String baseUrl, ObjectMapper objectMapper, Executor executor) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Send a request and record its latency from the time it was due rather than the time it
+     * was sent, so a server falling behind also shows in the requests it held up.
+     * @return The response, or null if no response came.
+     */
+    HttpResponse<String> send(String endpoint, HttpRequest request, long dueNanos) throws InterruptedException {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - dueNanos, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - dueNanos, false);
+            return null;
+        }
+    }
+
+    /**
+     * Send a request outside the measurement, as in setting up the event.
+     */
+    JsonNode call(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException(request.method() + " " + request.uri() + " failed with status "
+                + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    <T> T read(HttpResponse<String> response, Class<T> type) throws IOException {
+        return objectMapper.readValue(response.body(), type);
+    }
+
+    /**
+     * Wait until the given time, unless it has passed already.
+     */
+    static void sleepUntil(long dueNanos) throws InterruptedException {
+        long wait = dueNanos - System.nanoTime();
+        if (wait > 0) {
+            Thread.sleep(Duration.ofNanos(wait));
+        }
+    }
+
+    void resetStats() {
+        stats.values().forEach(EndpointStats::reset);
+    }
+
+    /**
+     * The results per endpoint since the last reset, followed by the total over all of them.
+     */
+    List<EndpointStats.Result> results(double seconds) {
+        List<EndpointStats.Result> results = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long errors = 0;
+        for (EndpointStats endpointStats : stats.values()) {
+            EndpointStats.Result result = endpointStats.result(seconds, total);
+            errors += result.errors();
+            results.add(result);
+        }
+        results.add(EndpointStats.Result.of("Total", total, errors, seconds));
+        return results;
+    }
+}
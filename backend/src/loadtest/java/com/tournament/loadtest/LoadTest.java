@@ -0,0 +1,210 @@
+package com.tournament.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tournament.TournamentApplication;
+import com.tournament.dto.CreateTournamentRequest;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates an event against one instance: {@code scorers} tables, each sending the points of
+ * one match after the other as score deltas (see {@link MatchModel}), and {@code spectators}
+ * polling the tournament views. Prints throughput and latency percentiles per endpoint after
+ * the warmup, and writes them to the output file as JSON.
+ *
+ * Options, given as {@code --name=value}:
+ * <ul>
+ *   <li>{@code scorers}, {@code spectators}: number of clients, 20 and 500 by default</li>
+ *   <li>{@code duration}, {@code warmup}: seconds measured and seconds before, 300 and 60 by default</li>
+ *   <li>{@code sets}: sets per match, 5 by default</li>
+ *   <li>{@code poll-seconds}: time between two polls of a spectator, 5 by default</li>
+ *   <li>{@code point-seconds}, {@code strength-spread}: median time per point and spread of the
+ *       rally chances, 18 and 0.07 by default</li>
+ *   <li>{@code time-scale}: how much faster than real time the event runs, 1 by default.
+ *       Raising it multiplies the load of every client</li>
+ *   <li>{@code seed}: seed of the random traffic, so runs are comparable</li>
+ *   <li>{@code base-url}: an instance already running, e.g. {@code http://localhost:8080} on a
+ *       local Postgres. Without it an instance is started in-process on in-memory H2, sharing
+ *       the CPUs with the clients</li>
+ *   <li>{@code output}: file the results are written to</li>
+ * </ul>
+ * Any other option is passed on to the in-process instance, e.g. {@code --spring.profiles.active=virtual-threads}
+ * or a {@code spring.datasource.url} of a local database.
+ */
+public final class LoadTest {
+    private static final long DEFAULT_SEED = 20240501L;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options must be given as --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        int scorers = Integer.parseInt(take(options, "scorers", "20"));
+        int spectators = Integer.parseInt(take(options, "spectators", "500"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(take(options, "duration", "300")));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(take(options, "warmup", "60")));
+        int sets = Integer.parseInt(take(options, "sets", "5"));
+        double pollSeconds = Double.parseDouble(take(options, "poll-seconds", "5"));
+        double timeScale = Double.parseDouble(take(options, "time-scale", "1"));
+        MatchModel model = new MatchModel(Double.parseDouble(take(options, "strength-spread", "0.07")),
+                Double.parseDouble(take(options, "point-seconds", "18")), timeScale);
+        long seed = Long.parseLong(take(options, "seed", Long.toString(DEFAULT_SEED)));
+        String baseUrl = options.remove("base-url");
+        Path output = Path.of(take(options, "output", "loadtest-result.json"));
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            context = startInstance(options, scorers + spectators);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        } else if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        // Clients block on virtual threads, so thousands of them stay cheap
+        ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        LoadClient client = new LoadClient(baseUrl, objectMapper, httpExecutor);
+        try {
+            Random random = new Random(seed);
+            List<Long> playerIds = createPlayers(client, 2 * scorers, seed);
+            long tournamentId = createTournament(client, playerIds);
+            System.out.printf("Simulating %d scorers and %d spectators against %s, time scale %s%n",
+                scorers, spectators, baseUrl, timeScale);
+
+            LongAdder completedMatches = new LongAdder();
+            long deadline = System.nanoTime() + warmupNanos + durationNanos;
+            for (int i = 0; i < scorers; i++) {
+                executor.execute(new Scorer(client, model, new Random(random.nextLong()), tournamentId, i + 1,
+                    playerIds.get(2 * i), playerIds.get(2 * i + 1), sets, deadline, completedMatches));
+            }
+            long pollNanos = (long) (pollSeconds / timeScale * 1e9);
+            for (int i = 0; i < spectators; i++) {
+                executor.execute(new Spectator(client, new Random(random.nextLong()), tournamentId, pollNanos, deadline));
+            }
+
+            TimeUnit.NANOSECONDS.sleep(warmupNanos);
+            client.resetStats();
+            completedMatches.reset();
+            long start = System.nanoTime();
+            executor.shutdown();
+            executor.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(2), TimeUnit.NANOSECONDS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Report report = new Report(scorers, spectators, timeScale, seconds, completedMatches.sum(),
+                client.results(seconds));
+            print(report);
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+            System.out.println("Results written to " + output);
+        } finally {
+            executor.shutdownNow();
+            httpExecutor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static String take(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Start an instance on a random port, on in-memory H2 unless a datasource is given. The
+     * remaining options override the defaults.
+     */
+    private static ConfigurableApplicationContext startInstance(Map<String, String> options, int clients) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "loadtest");
+        properties.put("server.port", "0");
+        properties.put("server.tomcat.max-connections", Integer.toString(Math.max(8192, 2 * clients)));
+        properties.put("server.tomcat.accept-count", Integer.toString(Math.max(100, clients)));
+        if (!options.containsKey("spring.datasource.url")) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.datasource.hikari.data-source-properties", "");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        }
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.tournament", "WARN");
+        properties.put("logging.level.org.springframework.web", "WARN");
+        properties.put("tournament.live-engine.journal-path", "target/loadtest.journal");
+        properties.putAll(options);
+
+        List<String> args = new ArrayList<>();
+        properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+        return new SpringApplicationBuilder(TournamentApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static List<Long> createPlayers(LoadClient client, int count, long seed) throws Exception {
+        // Emails are unique, so runs against the same database do not collide
+        String run = Long.toString(System.currentTimeMillis(), 36) + "." + Long.toString(seed, 36);
+        List<Long> playerIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, String> player = Map.of(
+                "name", "Load Player " + (i + 1),
+                "email", "load." + run + "." + i + "@example.com");
+            playerIds.add(client.call(client.request("/api/players")
+                    .header("Content-Type", "application/json")
+                    .POST(client.json(player))
+                    .build()).get("id").asLong());
+        }
+        return playerIds;
+    }
+
+    private static long createTournament(LoadClient client, List<Long> playerIds) throws Exception {
+        CreateTournamentRequest tournament = new CreateTournamentRequest();
+        tournament.setName("Load Test " + LocalDate.now());
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament.setPlayerIds(playerIds);
+        return client.call(client.request("/api/tournaments")
+                .header("Content-Type", "application/json")
+                .POST(client.json(tournament))
+                .build()).get("id").asLong();
+    }
+
+    private static void print(Report report) {
+        System.out.printf("Measured %.1f s, %d matches completed%n", report.measuredSeconds(), report.completedMatches());
+        System.out.printf("%-50s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        for (EndpointStats.Result result : report.endpoints()) {
+            System.out.printf("%-50s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                result.endpoint(), result.requests(), result.requestsPerSecond(), result.errors(),
+                result.p50Millis(), result.p90Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis());
+        }
+    }
+
+    record Report(int scorers, int spectators, double timeScale, double measuredSeconds, long completedMatches,
+                  List<EndpointStats.Result> endpoints) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.tournament.loadtest;
+
+import java.util.Random;
+
+/**
+ * Traffic model of a table tennis match at the scorer's table: who wins each rally and how
+ * much time passes between the points.
+ *
+ * Every match draws the chance of player 1 winning a rally from a normal distribution around
+ * even, so most matches are close and some are one-sided. With the default spread of 0.07 a
+ * best of five ends in three, four and five sets about 40, 34 and 26 percent of the time,
+ * lasts about 71 points, and one set in seven goes to deuce. The time from one point to the
+ * next, the rally and the pause before the next serve, is log-normal around a median of 18
+ * seconds, with a minute's break between sets, so a best of five takes 25 to 30 minutes.
+ * The clock runs {@code timeScale} times faster than real time.
+ */
+final class MatchModel {
+    private static final double MIN_RALLY_CHANCE = 0.2;
+    private static final double MAX_RALLY_CHANCE = 0.8;
+    private static final double POINT_SIGMA = 0.45;
+    private static final double SET_BREAK_SECONDS = 60;
+    private static final double CHANGEOVER_SECONDS = 120;
+
+    private final double strengthSpread;
+    private final double pointMedianSeconds;
+    private final double timeScale;
+
+    MatchModel(double strengthSpread, double pointMedianSeconds, double timeScale) {
+        if (strengthSpread < 0 || pointMedianSeconds <= 0 || timeScale <= 0) {
+            throw new IllegalArgumentException("Strength spread must not be negative, point time and time scale must be positive");
+        }
+        this.strengthSpread = strengthSpread;
+        this.pointMedianSeconds = pointMedianSeconds;
+        this.timeScale = timeScale;
+    }
+
+    /**
+     * The chance of player 1 winning a rally, drawn once per match.
+     */
+    double rallyChance(Random random) {
+        double chance = 0.5 + random.nextGaussian() * strengthSpread;
+        return Math.max(MIN_RALLY_CHANCE, Math.min(MAX_RALLY_CHANCE, chance));
+    }
+
+    /**
+     * Time from the previous point, or the start of a set, to the end of the next rally.
+     */
+    long pointNanos(Random random) {
+        return scaled(pointMedianSeconds * Math.exp(random.nextGaussian() * POINT_SIGMA));
+    }
+
+    long setBreakNanos() {
+        return scaled(SET_BREAK_SECONDS);
+    }
+
+    /**
+     * Time between the end of a match and the start of the next one at the same table.
+     */
+    long changeoverNanos(Random random) {
+        return scaled(CHANGEOVER_SECONDS * (0.5 + random.nextDouble()));
+    }
+
+    private long scaled(double seconds) {
+        return (long) (seconds / timeScale * 1e9);
+    }
+}
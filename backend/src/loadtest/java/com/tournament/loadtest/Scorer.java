@@ -0,0 +1,144 @@
+package com.tournament.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.ScoreUpdateStatus;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The scorer at one table: has its two players play one match after the other and sends
+ * every point as a score delta when the rally ends.
+ */
+final class Scorer implements Runnable {
+    static final String CREATE_MATCH = "POST /api/tournaments/{id}/matches";
+    static final String SCORE_DELTA = "PATCH /api/tournaments/{id}/matches/{id}/score";
+
+    /** Failed points in a row after which the match is given up. */
+    private static final int MAX_FAILED_POINTS = 10;
+
+    private final LoadClient client;
+    private final MatchModel model;
+    private final Random random;
+    private final long tournamentId;
+    private final int table;
+    private final long player1Id;
+    private final long player2Id;
+    private final int sets;
+    private final long deadlineNanos;
+    private final LongAdder completedMatches;
+
+    Scorer(LoadClient client, MatchModel model, Random random, long tournamentId, int table,
+           long player1Id, long player2Id, int sets, long deadlineNanos, LongAdder completedMatches) {
+        this.client = client;
+        this.model = model;
+        this.random = random;
+        this.tournamentId = tournamentId;
+        this.table = table;
+        this.player1Id = player1Id;
+        this.player2Id = player2Id;
+        this.sets = sets;
+        this.deadlineNanos = deadlineNanos;
+        this.completedMatches = completedMatches;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Tables start their first match at different times, as they do at an event
+            long due = System.nanoTime() + (long) (random.nextDouble() * model.changeoverNanos(random));
+            // Behind schedule, the table stops at the deadline rather than catching up
+            for (int round = 1; due < deadlineNanos && System.nanoTime() < deadlineNanos; round++) {
+                LoadClient.sleepUntil(due);
+                Long matchId = createMatch(round, due);
+                if (matchId != null) {
+                    due = playMatch(matchId, due);
+                }
+                due += model.changeoverNanos(random);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long createMatch(int round, long due) throws InterruptedException {
+        CreateMatchRequest match = new CreateMatchRequest();
+        match.setPlayer1Id(player1Id);
+        match.setPlayer2Id(player2Id);
+        match.setRound(round);
+        match.setIntendedTotalSets(sets);
+        match.setVenue("Table " + table);
+        HttpRequest request = client.request("/api/tournaments/" + tournamentId + "/matches")
+                .header("Content-Type", "application/json")
+                .POST(client.json(match))
+                .build();
+        HttpResponse<String> response = client.send(CREATE_MATCH, request, due);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return client.read(response, JsonNode.class).get("id").asLong();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Play the match point by point until it is complete or the run is over.
+     * @return The time the last point was due.
+     */
+    private long playMatch(long matchId, long due) throws InterruptedException {
+        double rallyChance = model.rallyChance(random);
+        int setIndex = 0;
+        int failedPoints = 0;
+        while (failedPoints < MAX_FAILED_POINTS) {
+            long next = due + model.pointNanos(random);
+            if (next >= deadlineNanos || System.nanoTime() >= deadlineNanos) {
+                return due;
+            }
+            due = next;
+            LoadClient.sleepUntil(due);
+
+            ScoreDeltaRequest delta = new ScoreDeltaRequest();
+            delta.setSetIndex(setIndex);
+            delta.setPointTo(random.nextDouble() < rallyChance ? PlayerSide.PLAYER1 : PlayerSide.PLAYER2);
+            HttpRequest request = client.request("/api/tournaments/" + tournamentId + "/matches/" + matchId + "/score")
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", client.json(delta))
+                    .build();
+            ScoreDeltaResponse result = read(client.send(SCORE_DELTA, request, due));
+            if (result == null) {
+                failedPoints++;
+                continue;
+            }
+            failedPoints = 0;
+            if (result.getScoreUpdateStatus() == ScoreUpdateStatus.MATCH_COMPLETED) {
+                completedMatches.increment();
+                return due;
+            }
+            if (result.getScoreUpdateStatus() == ScoreUpdateStatus.SET_COMPLETED_MATCH_IN_PROGRESS) {
+                setIndex++;
+                due += model.setBreakNanos();
+            }
+        }
+        return due;
+    }
+
+    private ScoreDeltaResponse read(HttpResponse<String> response) {
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            return client.read(response, ScoreDeltaResponse.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
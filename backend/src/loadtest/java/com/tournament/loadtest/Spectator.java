@@ -0,0 +1,70 @@
+package com.tournament.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A spectator following the event: every few seconds reloads the tournament, its standings or
+ * the tournament list, revalidating with the ETag of the last response the way a browser does.
+ */
+final class Spectator implements Runnable {
+    static final String TOURNAMENT = "GET /api/tournaments/{id}";
+    static final String STANDINGS = "GET /api/tournaments/{id}/standings";
+    static final String TOURNAMENTS = "GET /api/tournaments";
+
+    /** Share of the polls reading the tournament, then the standings; the rest read the list. */
+    private static final double TOURNAMENT_SHARE = 0.6;
+    private static final double STANDINGS_SHARE = 0.3;
+
+    private final LoadClient client;
+    private final Random random;
+    private final long tournamentId;
+    private final long pollNanos;
+    private final long deadlineNanos;
+    private final Map<String, String> etags = new HashMap<>();
+
+    Spectator(LoadClient client, Random random, long tournamentId, long pollNanos, long deadlineNanos) {
+        this.client = client;
+        this.random = random;
+        this.tournamentId = tournamentId;
+        this.pollNanos = pollNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            long due = System.nanoTime() + (long) (random.nextDouble() * pollNanos);
+            while (due < deadlineNanos && System.nanoTime() < deadlineNanos) {
+                LoadClient.sleepUntil(due);
+                double view = random.nextDouble();
+                if (view < TOURNAMENT_SHARE) {
+                    poll(TOURNAMENT, "/api/tournaments/" + tournamentId, due);
+                } else if (view < TOURNAMENT_SHARE + STANDINGS_SHARE) {
+                    poll(STANDINGS, "/api/tournaments/" + tournamentId + "/standings", due);
+                } else {
+                    poll(TOURNAMENTS, "/api/tournaments", due);
+                }
+                // Jitter keeps the spectators from polling in lockstep
+                due += (long) (pollNanos * (0.8 + 0.4 * random.nextDouble()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void poll(String endpoint, String path, long due) throws InterruptedException {
+        HttpRequest.Builder request = client.request(path).GET();
+        String etag = etags.get(path);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        HttpResponse<String> response = client.send(endpoint, request.build(), due);
+        if (response != null && response.statusCode() == 200) {
+            response.headers().firstValue("ETag").ifPresent(value -> etags.put(path, value));
+        }
+    }
+}
@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EntityScan("com.tournament.model")
 @EnableJpaRepositories("com.tournament.repository")
+@EnableScheduling
 public class TournamentApplication {
     public static void main(String[] args) {
         SpringApplication.run(TournamentApplication.class, args);
@@ -4,6 +4,7 @@ import com.tournament.model.*;
 import com.tournament.repository.PlayerRepository;
 import com.tournament.repository.TournamentRepository;
 import com.tournament.repository.MatchRepository;
+import com.tournament.service.PlayerSearchIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @Component
@@ -31,6 +33,12 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private MatchRepository matchRepository;
 
+    @Autowired
+    private MatchPartitioning matchPartitioning;
+
+    @Autowired
+    private PlayerSearchIndex playerSearchIndex;
+
     @Override
     public void run(String... args) throws Exception {
         logger.info("Checking if initial data needs to be loaded...");
@@ -71,6 +79,7 @@ public class DataInitializer implements CommandLineRunner {
         player4.setActive(true);
 
         List<Player> players = playerRepository.saveAll(Arrays.asList(player1, player2, player3, player4));
+        playerSearchIndex.update(players);
         Player savedPlayer1 = players.get(0);
         Player savedPlayer2 = players.get(1);
         Player savedPlayer3 = players.get(2);
@@ -82,9 +91,10 @@ public class DataInitializer implements CommandLineRunner {
         tournament.setStartDate(LocalDate.now());
         tournament.setEndDate(LocalDate.now().plusDays(2));
         tournament.setStatus(TournamentStatus.PENDING);
-        tournament.setPlayers(players);
+        tournament.setPlayers(new LinkedHashSet<>(players));
 
         Tournament savedTournament = tournamentRepository.save(tournament);
+        matchPartitioning.ensurePartitions(savedTournament.getId());
 
         // Create Matches
         Match match1 = new Match();
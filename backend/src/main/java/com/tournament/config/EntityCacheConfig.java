@@ -0,0 +1,62 @@
+package com.tournament.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for rows that rarely change while a tournament is running:
+ * players, tournament headers and the players registered for a tournament.
+ * Regions are bounded Caffeine caches with a time to live; writes through Hibernate keep
+ * them current, bulk writes that bypass Hibernate must evict them, see
+ * {@link com.tournament.service.EntityCacheService}.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String PLAYER_REGION = "players";
+    public static final String TOURNAMENT_REGION = "tournaments";
+    public static final String TOURNAMENT_PLAYERS_REGION = "tournament-players";
+
+    public static final List<String> REGIONS = List.of(PLAYER_REGION, TOURNAMENT_REGION, TOURNAMENT_PLAYERS_REGION);
+
+    /**
+     * Each application context gets its own cache manager, so contexts sharing a JVM,
+     * as in tests, do not share or close each other's regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${tournament.cache.max-entries:10000}") long maxEntries,
+                                           @Value("${tournament.cache.ttl-seconds:600}") long ttlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("tournament-entity-cache:" + UUID.randomUUID()),
+                    EntityCacheConfig.class.getClassLoader());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        configuration.setNativeStatisticsEnabled(true);
+        // Hibernate only stores immutable disassembled state, copying it on every access is wasted work
+        configuration.setStoreByValue(false);
+        for (String region : REGIONS) {
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tournament.config;
+
+import com.tournament.model.Match;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+/**
+ * Match and player ids used to come from IDENTITY columns. Databases created before the
+ * switch to sequences already hold ids a fresh sequence would hand out again, so each
+ * sequence is moved past the highest existing id of its table on startup.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+        "matches", "matches_seq",
+        "players", "players_seq");
+
+    /**
+     * Part of an id that came from the sequence; match ids carry their tournament above it.
+     */
+    private static final Map<String, String> SEQUENCE_VALUES = Map.of(
+        "matches", "MOD(id, " + Match.LEGACY_ID_END + ")",
+        "players", "id");
+
+    private final DataSource dataSource;
+
+    /**
+     * Depends on the entity manager factory so the schema update has created the sequences.
+     */
+    public IdSequenceInitializer(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void alignSequences() throws MetaDataAccessException {
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SEQUENCES.forEach((table, sequence) -> {
+            Long next = jdbcTemplate.queryForObject(
+                "SELECT setval('" + sequence + "', GREATEST("
+                    + "(SELECT COALESCE(MAX(" + SEQUENCE_VALUES.get(table) + "), 0) FROM " + table + "), "
+                    + "(SELECT last_value FROM " + sequence + ")))", Long.class);
+            logger.info("Id sequence {} aligned at {}", sequence, next);
+        });
+    }
+}
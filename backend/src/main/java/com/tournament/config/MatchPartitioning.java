@@ -0,0 +1,271 @@
+package com.tournament.config;
+
+import com.tournament.model.Match;
+import com.tournament.model.MatchIdGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partitions the match and set tables on PostgreSQL by ranges of match ids: one partition
+ * per tournament over the id block of its matches, see {@link Match#TOURNAMENT_ID_SHIFT},
+ * and one for the ids handed out before. A lookup by match id reads a single partition,
+ * queries by tournament add the id range of the tournament, and the matches of a tournament
+ * can be detached as a whole instead of being deleted row by row. Only tournaments with
+ * matches from before the conversion also read the partition of the old ids.
+ * <p>
+ * Enabled with {@code tournament.partitioning.enabled}. The first start converts the existing
+ * tables by copying their rows in one transaction, which belongs in a maintenance window.
+ * Later partitions are created empty and attached, which does not block reads and writes.
+ */
+@Component
+public class MatchPartitioning {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchPartitioning.class);
+
+    /** Partitioned tables and their partition key, parents first. */
+    private static final List<String[]> TABLES = List.of(
+        new String[]{"matches", "id"},
+        new String[]{"match_sets", "match_id"});
+
+    /** Serializes partition changes of concurrent transactions and instances. */
+    private static final long ADVISORY_LOCK_KEY = 0x6d61746368L;
+
+    private static final String DETACH_LOCK_TIMEOUT = "5s";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Set<Long> partitionedTournaments = ConcurrentHashMap.newKeySet();
+    private final Set<Long> legacyTournaments = ConcurrentHashMap.newKeySet();
+    private volatile boolean active;
+
+    /**
+     * Depends on the entity manager factory so the schema update has created the tables.
+     */
+    public MatchPartitioning(DataSource dataSource, EntityManagerFactory entityManagerFactory,
+                             @Value("${tournament.partitioning.enabled:false}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Matches only get ids in the block of their tournament with partitioning enabled, see
+     * {@link MatchIdGenerator}. Static as the entity manager factory needs it before this
+     * component can be created.
+     */
+    @Bean
+    static HibernatePropertiesCustomizer matchIdBlockCustomizer(
+            @Value("${tournament.partitioning.enabled:false}") boolean enabled) {
+        return properties -> properties.put(MatchIdGenerator.ID_BLOCKS_SETTING, enabled);
+    }
+
+    @PostConstruct
+    public void partitionTables() throws MetaDataAccessException {
+        if (!enabled) {
+            return;
+        }
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(database)) {
+            logger.warn("Match tables are only partitioned on PostgreSQL, not on {}", database);
+            return;
+        }
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            if (!"p".equals(jdbcTemplate.queryForObject(
+                    "SELECT relkind FROM pg_class WHERE oid = to_regclass('matches')", String.class))) {
+                convertTables();
+            }
+        });
+        partitionedTournaments.addAll(jdbcTemplate.queryForList(
+            "SELECT CAST(substring(c.relname FROM 10) AS bigint) FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = to_regclass('matches') AND c.relname LIKE 'matches\\_t%'", Long.class));
+        // New matches get ids in blocks, so this set only shrinks when old tournaments are deleted
+        legacyTournaments.addAll(jdbcTemplate.queryForList(
+            "SELECT DISTINCT tournament_id FROM matches_legacy WHERE tournament_id IS NOT NULL", Long.class));
+        active = true;
+        logger.info("Match tables are partitioned, {} tournaments have partitions", partitionedTournaments.size());
+    }
+
+    /**
+     * Make sure the partitions for the matches of a tournament exist, in the current
+     * transaction. Must be called before matches of the tournament are inserted.
+     */
+    public void ensurePartitions(Long tournamentId) {
+        if (!active || partitionedTournaments.contains(tournamentId)) {
+            return;
+        }
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ADVISORY_LOCK_KEY);
+        for (String[] table : TABLES) {
+            String partition = partitionName(table[0], tournamentId);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, partition)) {
+                // Attaching an empty table only locks out other schema changes, unlike creating it in place
+                jdbcTemplate.execute("CREATE TABLE " + partition
+                    + " (LIKE " + table[0] + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                jdbcTemplate.execute("ALTER TABLE " + table[0] + " ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM (" + Match.firstId(tournamentId) + ") TO ("
+                    + (Match.lastId(tournamentId) + 1) + ")");
+            }
+        }
+        // Only remembered once committed, a rolled back transaction takes the partitions along
+        runAfterCommit(() -> partitionedTournaments.add(tournamentId));
+    }
+
+    /**
+     * Remove the matches and sets of a tournament in the current transaction. With partitioned
+     * tables its partitions are detached and dropped, which leaves no dead rows to vacuum; only
+     * its matches with legacy ids are deleted row by row. Detaching locks the match tables until
+     * the transaction ends, so this belongs at its end, and gives up after
+     * {@value #DETACH_LOCK_TIMEOUT} instead of queueing all match reads behind a long query.
+     * @return The number of sets removed.
+     */
+    public int deleteMatches(Long tournamentId) {
+        if (!active) {
+            return deleteRows(tournamentId, idBlockCondition("id", tournamentId),
+                idBlockCondition("match_id", tournamentId));
+        }
+        int sets = 0;
+        if (legacyTournaments.contains(tournamentId)) {
+            sets += deleteRows(tournamentId, "id < " + Match.LEGACY_ID_END, "match_id < " + Match.LEGACY_ID_END);
+        }
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ADVISORY_LOCK_KEY);
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                partitionName("matches", tournamentId))) {
+            sets += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partitionName("match_sets", tournamentId),
+                Integer.class);
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + DETACH_LOCK_TIMEOUT + "'");
+            for (String[] table : TABLES.reversed()) {
+                String partition = partitionName(table[0], tournamentId);
+                jdbcTemplate.execute("ALTER TABLE " + table[0] + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+        }
+        runAfterCommit(() -> {
+            legacyTournaments.remove(tournamentId);
+            partitionedTournaments.remove(tournamentId);
+        });
+        return sets;
+    }
+
+    private int deleteRows(Long tournamentId, String matchIds, String setMatchIds) {
+        int sets = jdbcTemplate.update("DELETE FROM match_sets WHERE match_id IN "
+            + "(SELECT id FROM matches WHERE tournament_id = ? AND " + matchIds + ") AND " + setMatchIds, tournamentId);
+        jdbcTemplate.update("DELETE FROM matches WHERE tournament_id = ? AND " + matchIds, tournamentId);
+        return sets;
+    }
+
+    /**
+     * Replace the plain tables by partitioned ones with the same name, columns, keys and
+     * indexes, and copy their rows into the partitions.
+     */
+    private void convertTables() {
+        Set<String> constraints = new LinkedHashSet<>();
+        List<String> indexes = new ArrayList<>();
+        for (String[] table : TABLES) {
+            // Keys and references of both tables, including those of other tables to them
+            jdbcTemplate.query("SELECT conrelid::regclass::text, conname, pg_get_constraintdef(oid) FROM pg_constraint "
+                    + "WHERE (conrelid = to_regclass(?) AND contype IN ('p', 'f')) "
+                    + "OR (confrelid = to_regclass(?) AND contype = 'f') ORDER BY contype DESC",
+                rs -> {
+                    constraints.add("ALTER TABLE " + rs.getString(1) + " ADD CONSTRAINT " + rs.getString(2)
+                        + " " + rs.getString(3));
+                },
+                table[0], table[0]);
+            indexes.addAll(jdbcTemplate.queryForList("SELECT indexdef FROM pg_indexes "
+                + "WHERE schemaname = current_schema() AND tablename = ? AND indexname NOT IN "
+                + "(SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?))", String.class, table[0], table[0]));
+        }
+
+        for (String[] table : TABLES) {
+            jdbcTemplate.execute("ALTER TABLE " + table[0] + " RENAME TO " + table[0] + "_unpartitioned");
+            jdbcTemplate.execute("CREATE TABLE " + table[0] + " (LIKE " + table[0] + "_unpartitioned "
+                + "INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (" + table[1] + ")");
+            jdbcTemplate.execute("CREATE TABLE " + table[0] + "_legacy PARTITION OF " + table[0]
+                + " FOR VALUES FROM (MINVALUE) TO (" + Match.LEGACY_ID_END + ")");
+        }
+        List<Long> tournamentIds = jdbcTemplate.queryForList("SELECT DISTINCT id / " + Match.LEGACY_ID_END
+            + " FROM matches_unpartitioned WHERE id >= " + Match.LEGACY_ID_END, Long.class);
+        for (Long tournamentId : tournamentIds) {
+            for (String[] table : TABLES) {
+                jdbcTemplate.execute("CREATE TABLE " + partitionName(table[0], tournamentId) + " PARTITION OF "
+                    + table[0] + " FOR VALUES FROM (" + Match.firstId(tournamentId) + ") TO ("
+                    + (Match.lastId(tournamentId) + 1) + ")");
+            }
+        }
+        long[] rows = new long[TABLES.size()];
+        for (int i = 0; i < TABLES.size(); i++) {
+            String table = TABLES.get(i)[0];
+            rows[i] = jdbcTemplate.update("INSERT INTO " + table + " SELECT * FROM " + table + "_unpartitioned");
+        }
+        jdbcTemplate.execute("DROP TABLE match_sets_unpartitioned, matches_unpartitioned");
+        // Names are free again, primary keys come first so references can be added
+        constraints.forEach(jdbcTemplate::execute);
+        indexes.forEach(jdbcTemplate::execute);
+        logger.info("Partitioned {} matches and {} sets of {} tournaments by match id",
+            rows[0], rows[1], tournamentIds.size());
+    }
+
+    /**
+     * Whether the match tables are partitioned.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Whether matches of the tournament can have ids below all blocks: those created before
+     * the tables were partitioned, or any while they are not.
+     */
+    public boolean hasLegacyIds(Long tournamentId) {
+        return !active || legacyTournaments.contains(tournamentId);
+    }
+
+    /**
+     * SQL condition that a match id column is in the id block of a tournament, or below all
+     * blocks if the tournament has matches there, which prunes a partitioned table to the
+     * partitions the tournament's matches are in: its own, for tournaments created since the
+     * conversion. Add it to queries that select matches by tournament.
+     */
+    public String idBlockCondition(String column, Long tournamentId) {
+        String block = column + " BETWEEN " + Match.firstId(tournamentId) + " AND " + Match.lastId(tournamentId);
+        return hasLegacyIds(tournamentId) ? "(" + column + " < " + Match.LEGACY_ID_END + " OR " + block + ")" : block;
+    }
+
+    private static String partitionName(String table, Long tournamentId) {
+        return table + "_t" + tournamentId;
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
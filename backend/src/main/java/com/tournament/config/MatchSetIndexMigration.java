@@ -0,0 +1,95 @@
+package com.tournament.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Set rows used to be stored without their position. Hibernate cannot add the new
+ * {@code set_index} column to a filled table as it is not nullable, so on PostgreSQL it is
+ * added and filled before the entity manager factory starts.
+ * <p>
+ * Every change used to rewrite all set rows of a match in one transaction, one insert per
+ * set in list order. Rows of one transaction share their {@code xmin} and are numbered by
+ * {@code cmin}, the statement within the transaction that inserted them, which survives
+ * {@code VACUUM FULL} and {@code CLUSTER}. Physical order does not: inserts go wherever
+ * there is free space. Rows inserted by one statement, e.g. the {@code COPY} of a restore
+ * into an empty table, are in physical order. A match whose rows were written by different
+ * transactions, e.g. changed by hand, has no known order; unless its sets are all alike
+ * the migration is refused and the matches are logged, so their sets can be rewritten in
+ * order before the next start.
+ */
+@Component
+public class MatchSetIndexMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchSetIndexMigration.class);
+
+    private final DataSource dataSource;
+
+    public MatchSetIndexMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void addSetIndex() throws MetaDataAccessException {
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Boolean pending = jdbcTemplate.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM information_schema.tables "
+                + "WHERE table_schema = current_schema() AND table_name = 'match_sets') "
+                + "AND NOT EXISTS (SELECT 1 FROM information_schema.columns "
+                + "WHERE table_schema = current_schema() AND table_name = 'match_sets' "
+                + "AND column_name = 'set_index')", Boolean.class);
+        if (!Boolean.TRUE.equals(pending)) {
+            return;
+        }
+        // All or nothing, the table stays as it was if the migration is refused
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(tx -> {
+            jdbcTemplate.execute("LOCK TABLE match_sets IN ACCESS EXCLUSIVE MODE");
+            List<Long> unordered = jdbcTemplate.queryForList(
+                "SELECT match_id FROM match_sets GROUP BY match_id "
+                    + "HAVING COUNT(DISTINCT xmin::text) > 1 "
+                    + "AND COUNT(DISTINCT (player1_score, player2_score)) > 1 ORDER BY match_id", Long.class);
+            if (!unordered.isEmpty()) {
+                logger.error("Sets of matches {} were written by several transactions, their order is unknown. "
+                    + "Delete and insert the sets of each match in order in one transaction, then restart.", unordered);
+                throw new IllegalStateException("Cannot number the sets of " + unordered.size()
+                    + " matches, see the log for their ids");
+            }
+            jdbcTemplate.execute("ALTER TABLE match_sets ADD COLUMN set_index integer");
+            int rows = jdbcTemplate.update(
+                "UPDATE match_sets s SET set_index = n.set_index FROM ("
+                    + "SELECT ctid AS row_id, ROW_NUMBER() OVER (PARTITION BY match_id "
+                    + "ORDER BY cmin::text::bigint, ctid) - 1 AS set_index FROM match_sets) n "
+                    + "WHERE s.ctid = n.row_id");
+            jdbcTemplate.execute("ALTER TABLE match_sets ALTER COLUMN set_index SET NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE match_sets ADD PRIMARY KEY (match_id, set_index)");
+            logger.info("Numbered {} match sets in the order they were written", rows);
+        });
+    }
+
+    /**
+     * Run the migration before Hibernate validates and updates the schema.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnMigration extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnMigration() {
+            super(MatchSetIndexMigration.class);
+        }
+    }
+}
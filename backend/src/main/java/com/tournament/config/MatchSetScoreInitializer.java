@@ -0,0 +1,41 @@
+package com.tournament.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Set scores used to be nullable and are now primitive, which cannot be loaded from a NULL
+ * column. Databases that still hold such rows get them replaced by 0 on startup, which is
+ * how a missing set score was always counted.
+ */
+@Component
+public class MatchSetScoreInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchSetScoreInitializer.class);
+
+    private final DataSource dataSource;
+
+    /**
+     * Depends on the entity manager factory so the schema update has created the table.
+     */
+    public MatchSetScoreInitializer(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void fillMissingScores() {
+        int updated = new JdbcTemplate(dataSource).update(
+            "UPDATE match_sets SET player1_score = COALESCE(player1_score, 0), "
+                + "player2_score = COALESCE(player2_score, 0) "
+                + "WHERE player1_score IS NULL OR player2_score IS NULL");
+        if (updated > 0) {
+            logger.info("Replaced missing scores in {} match sets", updated);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tournament.config;
+
+import com.tournament.service.LiveMatchEngine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters next to the ones Spring Boot binds itself (HTTP requests, Hikari pool,
+ * Hibernate session factory statistics), exported on {@code /actuator/prometheus}.
+ * Score update meters are in {@link com.tournament.service.ScoreMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String REQUEST_STATEMENTS = "tournament.http.statements";
+
+    @Bean
+    public RequestStatementCounter requestStatementCounter() {
+        return new RequestStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(RequestStatementCounter requestStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementCounter);
+    }
+
+    /**
+     * Records the number of statements each request issued, by handler pattern, so latency
+     * spikes of an endpoint can be told apart from query fan-out.
+     */
+    @Bean
+    public OncePerRequestFilter requestStatementFilter(RequestStatementCounter requestStatementCounter,
+                                                       MeterRegistry registry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                requestStatementCounter.begin();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    int statements = requestStatementCounter.end();
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    if (pattern != null) {
+                        DistributionSummary.builder(REQUEST_STATEMENTS)
+                            .description("SQL statements prepared by Hibernate per request")
+                            .tag("method", request.getMethod())
+                            .tag("uri", pattern.toString())
+                            .publishPercentileHistogram()
+                            .register(registry)
+                            .record(statements);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Fetches and loads per collection role, e.g. the {@code match_sets} of a match score,
+     * which the session factory meters only report in total.
+     */
+    @Bean
+    public MeterBinder hibernateCollectionMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String role : statistics.getCollectionRoleNames()) {
+                FunctionCounter.builder("tournament.hibernate.collection.fetches", statistics,
+                        stats -> stats.getCollectionStatistics(role).getFetchCount())
+                    .description("Collections fetched by a separate select")
+                    .tag("role", role)
+                    .register(registry);
+                FunctionCounter.builder("tournament.hibernate.collection.loads", statistics,
+                        stats -> stats.getCollectionStatistics(role).getLoadCount())
+                    .description("Collections loaded from the database")
+                    .tag("role", role)
+                    .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder liveEngineMetrics(LiveMatchEngine liveMatchEngine) {
+        return registry -> {
+            Gauge.builder("tournament.live.matches", liveMatchEngine, engine -> engine.getStats().getLiveMatches())
+                .description("Matches scored in memory by the live engine")
+                .register(registry);
+            Gauge.builder("tournament.live.unflushed", liveMatchEngine,
+                    engine -> engine.getStats().getUnflushedMatches())
+                .description("Live matches with score changes not yet written to the database")
+                .register(registry);
+            TimeGauge.builder("tournament.live.flush.lag", liveMatchEngine, TimeUnit.MILLISECONDS,
+                    engine -> engine.getStats().getFlushLagMillis())
+                .description("Age of the oldest score change not yet written to the database")
+                .register(registry);
+        };
+    }
+}
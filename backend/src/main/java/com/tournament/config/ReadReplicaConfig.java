@@ -0,0 +1,112 @@
+package com.tournament.config;
+
+import com.tournament.service.LiveMatchEngine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes read-only transactions of GET requests to a read replica, enabled by setting
+ * {@code tournament.datasource.read.url}. The primary pool is configured as usual by
+ * {@code spring.datasource.*}, the replica pool by {@code tournament.datasource.read.*}.
+ * See {@link ReadReplicaFilter} for which requests read from the replica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tournament.datasource.read", name = "url")
+public class ReadReplicaConfig {
+
+    private static final String PRIMARY = "primary";
+    private static final String READ = "read";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("tournament.datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties,
+                                           @Value("${tournament.datasource.read.url}") String url,
+                                           @Value("${tournament.datasource.read.username:}") String username,
+                                           @Value("${tournament.datasource.read.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username.isEmpty() ? properties.determineUsername() : username)
+            .password(username.isEmpty() ? properties.determinePassword() : password)
+            .build();
+        dataSource.setPoolName(READ);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The data source of the application. Connections are only taken from a pool once a
+     * statement runs, so the routing sees whether the transaction is read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ReadReplicaFilter.readsFromReplica()
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : PRIMARY;
+            }
+        };
+        routing.setTargetDataSources(Map.of(PRIMARY, primaryDataSource, READ, readDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("readDataSource") DataSource readDataSource,
+                                               @Value("${tournament.datasource.read.max-lag-ms:2000}") long maxLagMillis,
+                                               @Value("${tournament.datasource.read.heartbeat-interval-ms:500}") long intervalMillis) {
+        return new ReplicaLagMonitor(primaryDataSource, readDataSource, maxLagMillis, intervalMillis);
+    }
+
+    @Bean
+    public ReadReplicaFilter readReplicaFilter(ReplicaLagMonitor replicaLagMonitor,
+                                               LiveMatchEngine liveMatchEngine,
+                                               PlatformTransactionManager transactionManager,
+                                               EntityManagerFactory entityManagerFactory) {
+        return new ReadReplicaFilter(replicaLagMonitor, liveMatchEngine, transactionManager, entityManagerFactory);
+    }
+
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> {
+            TimeGauge.builder("tournament.datasource.read.lag", replicaLagMonitor, TimeUnit.MILLISECONDS,
+                    monitor -> monitor.isReplicaUsable() ? monitor.getLagMillis() : Double.NaN)
+                .description("Lag of the read replica at the last check, while it is used")
+                .register(registry);
+            Gauge.builder("tournament.datasource.read.usable", replicaLagMonitor,
+                    monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                .description("Whether reads go to the replica")
+                .register(registry);
+        };
+    }
+}
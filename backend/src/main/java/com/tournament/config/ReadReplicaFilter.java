@@ -0,0 +1,122 @@
+package com.tournament.config;
+
+import com.tournament.service.LiveMatchEngine;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Serves GET requests from the read replica, each in one read-only transaction so the
+ * response, including what is loaded lazily while it is written, comes from one snapshot.
+ * <p>
+ * Every other request pins its client to the primary with a cookie holding the time until
+ * which the replica may not have its writes yet, so a scorer reads their own scores: the
+ * replica lag allowed by {@link ReplicaLagMonitor#getPinMillis()}, after the scores the
+ * {@link LiveMatchEngine} accepted have been written back to the primary. While the
+ * replica lags too far behind, all requests read from the primary.
+ */
+public class ReadReplicaFilter extends OncePerRequestFilter {
+
+    public static final String PIN_COOKIE = "tournament-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final ThreadLocal<Boolean> REPLICA = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final LiveMatchEngine liveMatchEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReadReplicaFilter(ReplicaLagMonitor replicaLagMonitor, LiveMatchEngine liveMatchEngine,
+                             PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.liveMatchEngine = liveMatchEngine;
+        this.transactionManager = transactionManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Whether read-only transactions of the current thread read from the replica.
+     */
+    static boolean readsFromReplica() {
+        return REPLICA.get() != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // Buffered so the cookie can still be added once the write committed
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            try {
+                filterChain.doFilter(request, wrapper);
+            } finally {
+                long pin = liveMatchEngine.getWriteBehindMillis() + replicaLagMonitor.getPinMillis();
+                wrapper.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie
+                    .from(PIN_COOKIE, Long.toString(System.currentTimeMillis() + pin))
+                    .path("/")
+                    .maxAge(Duration.ofMillis(pin).plusSeconds(1))
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+                wrapper.copyBodyToResponse();
+            }
+            return;
+        }
+        if (isPinned(request) || !replicaLagMonitor.isReplicaUsable()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        REPLICA.set(Boolean.TRUE);
+        try {
+            // Replica rows can be older than cached ones, so they are read from the cache but never put in it
+            EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory)
+                .unwrap(Session.class)
+                .setCacheMode(CacheMode.GET);
+            filterChain.doFilter(request, response);
+        } finally {
+            REPLICA.remove();
+            // Nothing to commit
+            transactionManager.rollback(status);
+        }
+    }
+
+    private static boolean isPinned(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
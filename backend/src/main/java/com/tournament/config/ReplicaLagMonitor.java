@@ -0,0 +1,97 @@
+package com.tournament.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures how far the read replica is behind the primary. Every check writes the current
+ * time to a heartbeat row on the primary and reads the row back from the replica, the
+ * difference is the lag. Instances share the row, so their clocks must roughly agree.
+ * The replica is used while its lag is at most {@code maxLagMillis}; a replica that
+ * cannot be read counts as lagging.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long intervalMillis;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource readDataSource,
+                             long maxLagMillis, long intervalMillis) {
+        // A replica that is current still shows up to one interval of lag
+        Assert.isTrue(intervalMillis > 0 && maxLagMillis > intervalMillis,
+            "Maximum replica lag must exceed the heartbeat interval");
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(readDataSource);
+        this.maxLagMillis = maxLagMillis;
+        this.intervalMillis = intervalMillis;
+    }
+
+    @PostConstruct
+    public void createHeartbeat() {
+        primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INTEGER PRIMARY KEY, beat_millis BIGINT NOT NULL)");
+        if (primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis()) == 0) {
+            try {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_millis) VALUES (1, ?)", System.currentTimeMillis());
+            } catch (DuplicateKeyException e) {
+                // Inserted by another instance
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tournament.datasource.read.heartbeat-interval-ms:500}")
+    public void check() {
+        long lag;
+        try {
+            primary.update("UPDATE replica_heartbeat SET beat_millis = ? WHERE id = 1", System.currentTimeMillis());
+            Long beat = replica.queryForObject("SELECT beat_millis FROM replica_heartbeat WHERE id = 1", Long.class);
+            lag = Math.max(0, System.currentTimeMillis() - beat);
+        } catch (DataAccessException e) {
+            if (usable) {
+                logger.warn("Read replica check failed, reading from the primary: {}", e.getMessage());
+            }
+            lag = Long.MAX_VALUE;
+        }
+        boolean wasUsable = usable;
+        lagMillis = lag;
+        usable = lag <= maxLagMillis;
+        if (wasUsable && !usable && lag != Long.MAX_VALUE) {
+            logger.warn("Read replica lags {} ms behind the primary, reading from the primary", lag);
+        } else if (!wasUsable && usable) {
+            logger.info("Read replica lags {} ms behind the primary, reading from the replica", lag);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Lag at the last check, or {@link Long#MAX_VALUE} if the replica could not be read.
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * How long a client must read from the primary after a write reached it so it sees the
+     * write: a usable replica lagged at most the maximum at the last check, which is at most
+     * one interval ago.
+     */
+    public long getPinMillis() {
+        return maxLagMillis + intervalMillis;
+    }
+}
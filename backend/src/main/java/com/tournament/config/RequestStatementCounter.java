@@ -0,0 +1,35 @@
+package com.tournament.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a count is open,
+ * e.g. for the duration of an HTTP request. Statements issued through {@code JdbcTemplate}
+ * bypass Hibernate and are not counted.
+ */
+public class RequestStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public void begin() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * @return The statements counted since {@link #begin()}.
+     */
+    public int end() {
+        int[] current = count.get();
+        count.remove();
+        return current != null ? current[0] : 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.tournament.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Tournaments created before change versions were introduced get a version on startup,
+ * so their reads can be served conditionally as well.
+ */
+@Component
+public class TournamentVersionInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TournamentVersionInitializer.class);
+
+    private final DataSource dataSource;
+
+    /**
+     * Depends on the entity manager factory so the schema update has created the table.
+     */
+    public TournamentVersionInitializer(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void addMissingVersions() {
+        int inserted = new JdbcTemplate(dataSource).update(
+            "INSERT INTO tournament_versions (tournament_id, version) "
+                + "SELECT t.id, 0 FROM tournaments t WHERE NOT EXISTS "
+                + "(SELECT 1 FROM tournament_versions v WHERE v.tournament_id = t.id)");
+        if (inserted > 0) {
+            logger.info("Added change versions for {} tournaments", inserted);
+        }
+    }
+}
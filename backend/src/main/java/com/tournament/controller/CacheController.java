@@ -0,0 +1,23 @@
+package com.tournament.controller;
+
+import com.tournament.dto.CacheRegionStats;
+import com.tournament.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CacheController {
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> getStats() {
+        return ResponseEntity.ok(entityCacheService.getStats());
+    }
+}
@@ -0,0 +1,21 @@
+package com.tournament.controller;
+
+import com.tournament.dto.LiveEngineStats;
+import com.tournament.service.LiveMatchEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/live-engine")
+@CrossOrigin(origins = "http://localhost:3000")
+public class LiveEngineController {
+
+    @Autowired
+    private LiveMatchEngine liveMatchEngine;
+
+    @GetMapping("/stats")
+    public ResponseEntity<LiveEngineStats> getStats() {
+        return ResponseEntity.ok(liveMatchEngine.getStats());
+    }
+}
@@ -0,0 +1,32 @@
+package com.tournament.controller;
+
+import com.tournament.service.LiveScoreService;
+import com.tournament.service.TournamentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/tournaments")
+@CrossOrigin(origins = "http://localhost:3000")
+public class LiveScoreController {
+
+    @Autowired
+    private LiveScoreService liveScoreService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @GetMapping(path = "/{tournamentId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToTournament(@PathVariable Long tournamentId) {
+        tournamentService.getTournament(tournamentId);
+        return liveScoreService.subscribeToTournament(tournamentId);
+    }
+
+    @GetMapping(path = "/{tournamentId}/matches/{matchId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToMatch(@PathVariable Long tournamentId, @PathVariable Long matchId) {
+        tournamentService.getMatch(tournamentId, matchId);
+        return liveScoreService.subscribeToMatch(matchId);
+    }
+}
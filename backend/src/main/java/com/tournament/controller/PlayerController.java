@@ -1,11 +1,23 @@
 package com.tournament.controller;
 
+import com.tournament.dto.PlayerImportResult;
+import com.tournament.dto.PlayerSearchPage;
+import com.tournament.dto.RatingRecomputeResult;
 import com.tournament.model.Player;
+import com.tournament.model.PlayerImportFormat;
+import com.tournament.model.PlayerImportMode;
+import com.tournament.model.PlayerSearchMode;
+import com.tournament.model.RatingHistory;
+import com.tournament.service.PlayerImportService;
 import com.tournament.service.PlayerService;
+import com.tournament.service.RatingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,11 +28,49 @@ public class PlayerController {
     @Autowired
     private PlayerService playerService;
 
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private PlayerImportService playerImportService;
+
     @GetMapping
     public ResponseEntity<List<Player>> getAllPlayers() {
         return ResponseEntity.ok(playerService.getAllPlayers());
     }
 
+    /**
+     * Search players by name or email, e.g. to pick players for a tournament.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PlayerSearchPage> searchPlayers(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "CONTAINS") PlayerSearchMode mode,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Integer minRank,
+            @RequestParam(required = false) Integer maxRank,
+            @RequestParam(required = false) Long excludeTournament,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(playerService.searchPlayers(q, mode, active, minRank, maxRank,
+            excludeTournament, after, limit));
+    }
+
+    @GetMapping("/rankings")
+    public ResponseEntity<List<Player>> getRankings(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ratingService.getRankings(limit));
+    }
+
+    @PostMapping("/ratings/recompute")
+    public ResponseEntity<RatingRecomputeResult> recomputeRatings() {
+        return ResponseEntity.ok(ratingService.recomputeAll());
+    }
+
+    @GetMapping("/{id}/ratings")
+    public ResponseEntity<List<RatingHistory>> getRatingHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(ratingService.getHistory(id));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Player> getPlayer(@PathVariable Long id) {
         return ResponseEntity.ok(playerService.getPlayer(id));
@@ -31,6 +81,18 @@ public class PlayerController {
         return ResponseEntity.ok(playerService.createPlayer(player));
     }
 
+    /**
+     * Import players from a CSV or NDJSON upload, streamed from the request body.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<PlayerImportResult> importPlayers(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "SKIP") PlayerImportMode mode) throws IOException {
+        PlayerImportFormat format = PlayerImportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(playerImportService.importPlayers(body, format, mode));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Player> updatePlayer(@PathVariable Long id, @RequestBody Player player) {
         return ResponseEntity.ok(playerService.updatePlayer(id, player));
@@ -2,34 +2,81 @@ package com.tournament.controller;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.tournament.service.MatchScheduleService;
+import com.tournament.service.StandingsService;
+import com.tournament.service.TournamentArchiveService;
+import com.tournament.service.TournamentExportService;
 import com.tournament.service.TournamentService;
 import com.tournament.model.Tournament;
 import com.tournament.model.MatchScore;
-import java.util.List;
 import com.tournament.dto.CreateMatchRequest;
 import com.tournament.dto.CreateTournamentRequest;
 import com.tournament.dto.AddPlayersRequest;
+import com.tournament.dto.BracketResponse;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.ScheduleRequest;
+import com.tournament.dto.ScheduleResponse;
 import com.tournament.model.Match;
 import org.springframework.http.ResponseEntity;
 import com.tournament.dto.UpdateScoreResponse;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.dto.ScoreConflictResponse;
+import com.tournament.dto.StandingEntry;
+import com.tournament.dto.TournamentArchiveResult;
+import com.tournament.dto.TournamentImportResult;
+import com.tournament.dto.TournamentSummaryPage;
+import com.tournament.model.TournamentExportFormat;
+import com.tournament.model.TournamentStatus;
+import com.tournament.exception.ScoreVersionConflictException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/tournaments")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = "ETag")
 public class TournamentController {
     
     @Autowired
     private TournamentService tournamentService;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private TournamentExportService tournamentExportService;
+
+    @Autowired
+    private MatchScheduleService matchScheduleService;
+
+    @Autowired
+    private TournamentArchiveService tournamentArchiveService;
     
     @GetMapping
-    public List<Tournament> getAllTournaments() {
-        return tournamentService.getAllTournaments();
+    public TournamentSummaryPage getTournaments(
+            @RequestParam(required = false) TournamentStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int limit) {
+        return tournamentService.getTournamentSummaries(status, after, limit);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Tournament> getTournament(@PathVariable Long id) {
+    public ResponseEntity<Tournament> getTournament(@PathVariable Long id, WebRequest webRequest) {
+        String etag = etag(id);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
         Tournament tournament = tournamentService.getTournament(id);
-        return ResponseEntity.ok(tournament);
+        return conditional(etag).body(tournament);
     }
     
     @PostMapping
@@ -37,6 +84,47 @@ public class TournamentController {
         return tournamentService.createTournament(request);
     }
 
+    /**
+     * Stream a tournament with its players, matches and sets as NDJSON or in the binary format.
+     */
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportTournament(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "NDJSON") TournamentExportFormat format) {
+        // Fail while the status can still be set, the export runs after this method returns
+        tournamentService.getTournament(id);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("tournament-" + id + "." + format.getFileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(output -> tournamentExportService.exportTournament(id, format, output));
+    }
+
+    /**
+     * Create a new tournament from an export, streamed from the request body.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/vnd.tournament.export"})
+    public ResponseEntity<TournamentImportResult> importTournament(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+        TournamentExportFormat format = TournamentExportFormat.fromContentType(contentType);
+        return ResponseEntity.ok(tournamentExportService.importTournament(body, format));
+    }
+
+    /**
+     * Archive the completed tournaments that ended more than the given number of days ago,
+     * by default the configured number, as the scheduled archive run does.
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<TournamentArchiveResult> archiveTournaments(
+            @RequestParam(required = false) Integer olderThanDays) {
+        return ResponseEntity.ok(olderThanDays != null
+            ? tournamentArchiveService.archiveCompleted(olderThanDays)
+            : tournamentArchiveService.archiveCompleted());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTournament(@PathVariable Long id) {
         tournamentService.deleteTournament(id);
@@ -44,6 +132,15 @@ public class TournamentController {
     }
     
     // Player-related endpoints
+    @GetMapping("/{tournamentId}/standings")
+    public ResponseEntity<List<StandingEntry>> getStandings(@PathVariable Long tournamentId, WebRequest webRequest) {
+        String etag = etag(tournamentId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return conditional(etag).body(standingsService.getStandings(tournamentId));
+    }
+
     @PostMapping("/{tournamentId}/players")
     public ResponseEntity<Tournament> addPlayersToTournament(
             @PathVariable Long tournamentId,
@@ -61,12 +158,64 @@ public class TournamentController {
         return ResponseEntity.ok(match);
     }
     
+    @PostMapping("/{tournamentId}/bracket")
+    public ResponseEntity<BracketResponse> generateBracket(
+            @PathVariable Long tournamentId,
+            @RequestBody GenerateBracketRequest request) {
+        BracketResponse response = tournamentService.generateBracket(tournamentId, request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{tournamentId}/schedule")
+    public ResponseEntity<ScheduleResponse> scheduleMatches(
+            @PathVariable Long tournamentId,
+            @RequestBody ScheduleRequest request) {
+        ScheduleResponse response = matchScheduleService.schedule(tournamentId, request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{tournamentId}/matches/{matchId}")
     public ResponseEntity<UpdateScoreResponse> updateMatchScore(
             @PathVariable Long tournamentId,
             @PathVariable Long matchId,
+            @RequestParam(required = false) Long expectedVersion,
             @RequestBody MatchScore score) {
-        UpdateScoreResponse response = tournamentService.updateMatchScore(tournamentId, matchId, score);
+        UpdateScoreResponse response = tournamentService.updateMatchScore(tournamentId, matchId, score, expectedVersion);
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    @PatchMapping("/{tournamentId}/matches/{matchId}/score")
+    public ResponseEntity<ScoreDeltaResponse> applyScoreDelta(
+            @PathVariable Long tournamentId,
+            @PathVariable Long matchId,
+            @RequestBody ScoreDeltaRequest delta) {
+        ScoreDeltaResponse response = tournamentService.applyScoreDelta(tournamentId, matchId, delta);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Strong validator of the reads of a tournament, or null if it has no change version.
+     * The version is read before the data, so a write committed in between yields a body
+     * newer than its ETag, which only costs the client one more full response.
+     */
+    private String etag(Long tournamentId) {
+        Long version = tournamentService.getChangeVersion(tournamentId);
+        return version != null ? "\"tournament-" + tournamentId + "-" + version + "\"" : null;
+    }
+
+    /**
+     * Clients may store the response but must revalidate it before every use.
+     */
+    private static ResponseEntity.BodyBuilder conditional(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag).cacheControl(CacheControl.noCache());
+        }
+        return builder;
+    }
+
+    @ExceptionHandler(ScoreVersionConflictException.class)
+    public ResponseEntity<ScoreConflictResponse> handleScoreVersionConflict(ScoreVersionConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getConflict());
+    }
+}
@@ -0,0 +1,25 @@
+package com.tournament.dto;
+
+import com.tournament.model.BracketFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of generating the matches of a tournament. For single elimination only the
+ * first round is created; {@code byePlayerIds} lists the seeds that advance without playing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BracketResponse {
+    private Long tournamentId;
+    private BracketFormat format;
+    private int rounds;
+    private int matchesCreated;
+    private List<Long> byePlayerIds;
+}
@@ -0,0 +1,22 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO exposing the counters of one second-level cache region, for sizing the cache.
+ * Counters are cumulative since startup; {@code evictions} counts entries dropped for
+ * size or age, not invalidations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStats {
+    private String region;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+}
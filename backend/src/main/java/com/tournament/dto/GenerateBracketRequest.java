@@ -0,0 +1,10 @@
+package com.tournament.dto;
+
+import com.tournament.model.BracketFormat;
+import lombok.Data;
+
+@Data
+public class GenerateBracketRequest {
+    private BracketFormat format;
+    private Integer intendedTotalSets;
+}
@@ -0,0 +1,18 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO exposing the state of the in-memory live match engine.
+ * {@code flushLagMillis} is the age of the oldest score change not yet written to the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveEngineStats {
+    private int liveMatches;
+    private int unflushedMatches;
+    private long flushLagMillis;
+}
@@ -0,0 +1,45 @@
+package com.tournament.dto;
+
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.ScoreUpdateStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO pushed to live score subscribers. Holds a detached copy of the match score
+ * so it can be delivered after the originating request has finished.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveScoreUpdate {
+    private Long tournamentId;
+    private Long matchId;
+    private Long version;
+    private MatchStatus matchStatus;
+    private PlayerSide winner;
+    private List<MatchScore.SetScore> sets;
+    private ScoreUpdateStatus scoreUpdateStatus;
+
+    public static LiveScoreUpdate of(Long tournamentId, Match match, ScoreUpdateStatus scoreUpdateStatus) {
+        return of(tournamentId, match.getId(), match.getVersion(), match.getStatus(), match.getScore(),
+                scoreUpdateStatus);
+    }
+
+    public static LiveScoreUpdate of(Long tournamentId, Long matchId, Long version, MatchStatus matchStatus,
+                                     MatchScore score, ScoreUpdateStatus scoreUpdateStatus) {
+        List<MatchScore.SetScore> sets = new ArrayList<>(score.getSets().size());
+        for (MatchScore.SetScore set : score.getSets()) {
+            sets.add(set.copy());
+        }
+        return new LiveScoreUpdate(tournamentId, matchId, version, matchStatus, score.getWinnerSide(), sets,
+                scoreUpdateStatus);
+    }
+}
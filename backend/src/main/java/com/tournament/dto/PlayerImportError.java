@@ -0,0 +1,16 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rejected import row. {@code line} is the line of the upload the row starts on.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerImportError {
+    private long line;
+    private String message;
+}
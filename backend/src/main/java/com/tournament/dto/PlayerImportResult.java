@@ -0,0 +1,36 @@
+package com.tournament.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk player import. Only the first {@code MAX_REPORTED_ERRORS} rejected rows
+ * are listed; {@code failed} counts all of them.
+ */
+@Data
+@NoArgsConstructor
+public class PlayerImportResult {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long rowsRead;
+    private long created;
+    private long updated;
+    private long skipped;
+    private long failed;
+    private List<PlayerImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new PlayerImportError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+}
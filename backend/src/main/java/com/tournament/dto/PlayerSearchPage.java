@@ -0,0 +1,20 @@
+package com.tournament.dto;
+
+import com.tournament.model.Player;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of player search results in id order. {@code nextCursor} is passed back as
+ * {@code after} to fetch the following page and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerSearchPage {
+    private List<Player> players;
+    private Long nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a full rating recompute. {@code waves} is the number of sequential steps the
+ * matches were grouped into; matches within a wave share no player and are rated in parallel.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingRecomputeResult {
+    private int matches;
+    private int players;
+    private int waves;
+    private long elapsedMillis;
+}
@@ -0,0 +1,16 @@
+package com.tournament.dto;
+
+import com.tournament.model.ScheduleMode;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class ScheduleRequest {
+    private ScheduleMode mode;
+    private LocalDateTime start;
+    private List<ScheduleVenue> venues;
+    private Integer minutesPerSet;
+    private Integer restMinutes;
+}
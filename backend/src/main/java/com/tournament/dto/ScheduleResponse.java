@@ -0,0 +1,30 @@
+package com.tournament.dto;
+
+import com.tournament.model.ScheduleMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of scheduling the pending matches of a tournament. {@code matchesMoved} counts the
+ * matches whose venue or start time changed; {@code unscheduledMatchIds} lists the matches
+ * that fit no venue before its availability ended and have no slot anymore.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleResponse {
+    private Long tournamentId;
+    private ScheduleMode mode;
+    private int matchesScheduled;
+    private int matchesMoved;
+    private List<Long> unscheduledMatchIds;
+    private LocalDateTime planStart;
+    private LocalDateTime planEnd;
+    private long elapsedMillis;
+}
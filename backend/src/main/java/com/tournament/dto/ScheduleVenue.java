@@ -0,0 +1,20 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A table or court matches can be scheduled on. Without {@code availableFrom} the venue is
+ * available from the start of the plan, without {@code availableUntil} it has no end.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleVenue {
+    private String name;
+    private LocalDateTime availableFrom;
+    private LocalDateTime availableUntil;
+}
@@ -0,0 +1,29 @@
+package com.tournament.dto;
+
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.PlayerSide;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response body of a rejected score update. Carries the current score so the client
+ * can rebase its change and retry without re-fetching the tournament.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreConflictResponse {
+    private String message;
+    private Long matchId;
+    private Long currentVersion;
+    private List<Integer> conflictingSetIndexes;
+    private MatchStatus matchStatus;
+    private PlayerSide winner;
+    private List<MatchScore.SetScore> sets;
+}
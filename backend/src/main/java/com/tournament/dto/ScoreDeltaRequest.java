@@ -0,0 +1,26 @@
+package com.tournament.dto;
+
+import com.tournament.model.PlayerSide;
+import lombok.Data;
+
+/**
+ * DTO for an incremental score change on a single set of a match.
+ * Either {@code pointTo} is given (one point awarded to that side), or both
+ * {@code player1Score} and {@code player2Score} are given (the set is overwritten).
+ */
+@Data
+public class ScoreDeltaRequest {
+    /**
+     * Zero-based index of the set to change. May equal the number of sets
+     * already played to start a new set.
+     */
+    private Integer setIndex;
+    private PlayerSide pointTo;
+    private Integer player1Score;
+    private Integer player2Score;
+    /**
+     * Version of the match the client last saw. Optional; when present the
+     * update is rejected if the match has changed since.
+     */
+    private Long expectedVersion;
+}
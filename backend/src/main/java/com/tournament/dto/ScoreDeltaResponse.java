@@ -0,0 +1,30 @@
+package com.tournament.dto;
+
+import com.tournament.model.MatchStatus;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.ScoreUpdateStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact response after an incremental score change. Only carries the touched
+ * set and the match-level tallies instead of the full match graph.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreDeltaResponse {
+    private Long matchId;
+    private Long version;
+    private int setIndex;
+    private int player1Score;
+    private int player2Score;
+    private int player1SetsWon;
+    private int player2SetsWon;
+    private MatchStatus matchStatus;
+    private PlayerSide winner;
+    private ScoreUpdateStatus scoreUpdateStatus;
+}
@@ -0,0 +1,41 @@
+package com.tournament.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a tournament's standings table.
+ */
+@Data
+@NoArgsConstructor
+public class StandingEntry {
+    private Long playerId;
+    private String playerName;
+    private Integer playerRank;
+    private int matchesPlayed;
+    private int wins;
+    private int losses;
+    private int setsWon;
+    private int setsLost;
+    private int pointsFor;
+    private int pointsAgainst;
+
+    /**
+     * Constructor used by the JPQL query in StandingRepository. Totals are null for
+     * players that have not completed a match yet.
+     */
+    public StandingEntry(Long playerId, String playerName, Integer playerRank, Integer matchesPlayed,
+                         Integer wins, Integer losses, Integer setsWon, Integer setsLost,
+                         Integer pointsFor, Integer pointsAgainst) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.playerRank = playerRank;
+        this.matchesPlayed = matchesPlayed != null ? matchesPlayed : 0;
+        this.wins = wins != null ? wins : 0;
+        this.losses = losses != null ? losses : 0;
+        this.setsWon = setsWon != null ? setsWon : 0;
+        this.setsLost = setsLost != null ? setsLost : 0;
+        this.pointsFor = pointsFor != null ? pointsFor : 0;
+        this.pointsAgainst = pointsAgainst != null ? pointsAgainst : 0;
+    }
+}
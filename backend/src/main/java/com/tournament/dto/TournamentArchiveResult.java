@@ -0,0 +1,24 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an archive run. Skipped tournaments still have live matches, were archived
+ * by another run meanwhile or failed, and are tried again by the next run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentArchiveResult {
+    private int tournaments;
+    private long matches;
+    private long sets;
+    private long archiveBytes;
+    private List<Long> skippedTournamentIds = new ArrayList<>();
+    private long elapsedMillis;
+}
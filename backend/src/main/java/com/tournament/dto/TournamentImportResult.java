@@ -0,0 +1,19 @@
+package com.tournament.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a tournament import. {@code playersCreated} counts the players of the export
+ * whose email was not known yet; the others were linked to the existing players.
+ */
+@Data
+@NoArgsConstructor
+public class TournamentImportResult {
+    private Long tournamentId;
+    private long players;
+    private long playersCreated;
+    private long matches;
+    private long sets;
+    private long elapsedMillis;
+}
@@ -0,0 +1,46 @@
+package com.tournament.dto;
+
+import com.tournament.model.TournamentStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Lightweight view of a tournament for list pages, without players or matches.
+ */
+@Data
+@NoArgsConstructor
+public class TournamentSummary {
+    private Long id;
+    private String name;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private TournamentStatus status;
+    private long playerCount;
+    private long matchCount;
+    private long pendingMatchCount;
+    private long inProgressMatchCount;
+    private long completedMatchCount;
+    private long cancelledMatchCount;
+
+    /**
+     * Constructor used by the aggregate JPQL query in TournamentRepository.
+     */
+    public TournamentSummary(Long id, String name, LocalDate startDate, LocalDate endDate, TournamentStatus status,
+                             Integer playerCount, Long pendingMatchCount, Long inProgressMatchCount,
+                             Long completedMatchCount, Long cancelledMatchCount) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.playerCount = playerCount != null ? playerCount : 0;
+        this.pendingMatchCount = pendingMatchCount != null ? pendingMatchCount : 0;
+        this.inProgressMatchCount = inProgressMatchCount != null ? inProgressMatchCount : 0;
+        this.completedMatchCount = completedMatchCount != null ? completedMatchCount : 0;
+        this.cancelledMatchCount = cancelledMatchCount != null ? cancelledMatchCount : 0;
+        this.matchCount = this.pendingMatchCount + this.inProgressMatchCount
+                + this.completedMatchCount + this.cancelledMatchCount;
+    }
+}
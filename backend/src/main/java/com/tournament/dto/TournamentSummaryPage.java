@@ -0,0 +1,19 @@
+package com.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of tournament summaries. {@code nextCursor} is passed back as {@code after}
+ * to fetch the following page and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentSummaryPage {
+    private List<TournamentSummary> tournaments;
+    private Long nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.tournament.event;
+
+import com.tournament.model.Match;
+import com.tournament.model.MatchStatus;
+
+/**
+ * Published inside the transaction that persists a score change of a match that is or was
+ * completed, i.e. whenever the result of the match may have changed. Listeners run in that
+ * transaction and may update derived data such as standings and ratings.
+ */
+public record MatchResultChangedEvent(Long tournamentId, Match match, MatchStatus previousStatus) {
+
+    /**
+     * Whether a change from the previous to the current status of the match affects its result.
+     */
+    public static boolean affectsResult(MatchStatus previousStatus, Match match) {
+        return previousStatus == MatchStatus.COMPLETED || match.getStatus() == MatchStatus.COMPLETED;
+    }
+
+    public boolean isFirstCompletion() {
+        return previousStatus != MatchStatus.COMPLETED && match.getStatus() == MatchStatus.COMPLETED;
+    }
+}
@@ -0,0 +1,13 @@
+package com.tournament.event;
+
+import com.tournament.model.Match;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.ScoreUpdateStatus;
+
+/**
+ * Published by the tournament service whenever a match score is changed.
+ * Listeners should only read the match after the publishing transaction has committed.
+ */
+public record MatchScoreChangedEvent(Long tournamentId, Match match, MatchStatus previousStatus,
+                                     ScoreUpdateStatus scoreUpdateStatus) {
+}
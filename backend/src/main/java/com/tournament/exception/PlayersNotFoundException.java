@@ -0,0 +1,20 @@
+package com.tournament.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when some of the players referenced in one request do not exist. Lists all of
+ * them rather than only the first.
+ */
+public class PlayersNotFoundException extends ResourceNotFoundException {
+    private final List<Long> missingIds;
+
+    public PlayersNotFoundException(List<Long> missingIds) {
+        super("Players not found with ids: " + missingIds);
+        this.missingIds = List.copyOf(missingIds);
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tournament.exception;
+
+import com.tournament.dto.ScoreConflictResponse;
+
+public class ScoreVersionConflictException extends RuntimeException {
+    private final ScoreConflictResponse conflict;
+
+    public ScoreVersionConflictException(ScoreConflictResponse conflict) {
+        super(conflict.getMessage());
+        this.conflict = conflict;
+    }
+
+    public ScoreConflictResponse getConflict() {
+        return conflict;
+    }
+
+    public Long getCurrentVersion() {
+        return conflict.getCurrentVersion();
+    }
+}
@@ -0,0 +1,6 @@
+package com.tournament.model;
+
+public enum BracketFormat {
+    SINGLE_ELIMINATION,
+    ROUND_ROBIN
+}
@@ -9,6 +9,9 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 @Entity
@@ -18,12 +21,38 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @AllArgsConstructor
 @ToString(exclude = "tournament")
 @EqualsAndHashCode(exclude = "tournament")
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+    @Index(name = "idx_matches_tournament_id_id", columnList = "tournament_id, id")
+})
 public class Match {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * The matches of a tournament get ids in a block of their own, starting at the tournament
+     * id shifted by this many bits, see {@link MatchIdGenerator}. Ids below the first block
+     * were handed out before and belong to any tournament. Ids stay exact in JavaScript for
+     * the first 2^21 tournaments.
+     */
+    public static final int TOURNAMENT_ID_SHIFT = 32;
+    public static final long LEGACY_ID_END = 1L << TOURNAMENT_ID_SHIFT;
+
+    /**
+     * Sequence based so that generated brackets can be inserted in JDBC batches,
+     * which IDENTITY columns prevent. Ids are allocated in blocks of the batch size.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "match_id_seq")
+    @GenericGenerator(name = "match_id_seq", type = MatchIdGenerator.class, parameters = {
+        @Parameter(name = "sequence_name", value = "matches_seq"),
+        @Parameter(name = "increment_size", value = "" + Match.ID_ALLOCATION_SIZE)
+    })
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "player1_id", nullable = false)
     @NotNull(message = "Player 1 must not be null")
@@ -51,6 +80,12 @@ public class Match {
     @Column
     private LocalDateTime scheduledTime;
 
+    /**
+     * When the match was first completed, which orders matches for rating calculation.
+     */
+    @Column
+    private LocalDateTime completedAt;
+
     @Column
     private String venue;
 
@@ -62,6 +97,30 @@ public class Match {
     @JsonBackReference
     private Tournament tournament;
 
+    /**
+     * First id of the block of a tournament's matches.
+     */
+    public static long firstId(long tournamentId) {
+        return tournamentId << TOURNAMENT_ID_SHIFT;
+    }
+
+    /**
+     * Last id of the block of a tournament's matches.
+     */
+    public static long lastId(long tournamentId) {
+        return firstId(tournamentId) + LEGACY_ID_END - 1;
+    }
+
+    /**
+     * Change the status, recording the time the match is first completed.
+     */
+    public void updateStatus(MatchStatus newStatus) {
+        if (newStatus == MatchStatus.COMPLETED && completedAt == null) {
+            completedAt = LocalDateTime.now();
+        }
+        status = newStatus;
+    }
+
     @PrePersist
     @PreUpdate
     public void validate() {
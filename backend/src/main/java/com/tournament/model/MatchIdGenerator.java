@@ -0,0 +1,47 @@
+package com.tournament.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Takes match ids from the match sequence and, with partitioning enabled, moves them into the
+ * id block of the match's tournament, so partitions of the match and set tables can be ranges
+ * of ids. The sequence is shared by all tournaments and must stay below
+ * {@link Match#LEGACY_ID_END}. Without partitioning ids are the sequence values, as before.
+ * All instances sharing a database must agree on the setting: matches given a plain id while
+ * the tables are partitioned are only found for tournaments that had matches before.
+ */
+public class MatchIdGenerator extends SequenceStyleGenerator {
+
+    /** Hibernate setting enabling id blocks, passed on from {@code tournament.partitioning.enabled}. */
+    public static final String ID_BLOCKS_SETTING = "tournament.match-id-blocks";
+
+    private boolean idBlocks;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, parameters, serviceRegistry);
+        idBlocks = serviceRegistry.getService(ConfigurationService.class)
+            .getSetting(ID_BLOCKS_SETTING, StandardConverters.BOOLEAN, false);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        long id = (Long) super.generate(session, object);
+        Tournament tournament = ((Match) object).getTournament();
+        if (!idBlocks || tournament == null || tournament.getId() == null) {
+            return id;
+        }
+        if (id >= Match.LEGACY_ID_END) {
+            throw new IllegalStateException("Match sequence value " + id + " exceeds the id block of a tournament");
+        }
+        return Match.firstId(tournament.getId()) + id;
+    }
+}
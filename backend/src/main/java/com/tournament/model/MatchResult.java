@@ -0,0 +1,58 @@
+package com.tournament.model;
+
+import com.tournament.config.GameRules;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The outcome of a completed match as it was last counted into the {@link Standing}s,
+ * so a later correction can take exactly that contribution back out.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "match_results", indexes = {
+    @Index(name = "idx_match_results_tournament_id", columnList = "tournament_id")
+})
+public class MatchResult {
+    @Id
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @Column(name = "tournament_id", nullable = false)
+    private Long tournamentId;
+
+    @Column(nullable = false)
+    private Long player1Id;
+
+    @Column(nullable = false)
+    private Long player2Id;
+
+    @Enumerated(EnumType.STRING)
+    private PlayerSide winner;
+
+    private int player1Sets;
+    private int player2Sets;
+    private int player1Points;
+    private int player2Points;
+
+    public MatchResult(Long matchId, Long tournamentId) {
+        this.matchId = matchId;
+        this.tournamentId = tournamentId;
+    }
+
+    /**
+     * Take over the current score of a completed match.
+     */
+    public void update(Match match, GameRules gameRules) {
+        MatchScore score = match.getScore();
+        player1Id = match.getPlayer1().getId();
+        player2Id = match.getPlayer2().getId();
+        winner = score.getWinnerSide();
+        player1Sets = score.getPlayer1SetsWon(gameRules);
+        player2Sets = score.getPlayer2SetsWon(gameRules);
+        player1Points = score.getPlayer1TotalScore();
+        player2Points = score.getPlayer2TotalScore();
+    }
+}
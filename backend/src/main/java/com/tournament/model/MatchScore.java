@@ -1,18 +1,30 @@
 package com.tournament.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.RandomAccess;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.tournament.config.GameRules;
 
 @Embeddable
 @Data
 public class MatchScore {
+    /**
+     * Rows are keyed by their position, so changing a set updates its row only and a new set
+     * is a single insert. Without the index Hibernate rewrote all rows of the match on every
+     * change. The list must be changed in place, replacing it recreates all rows.
+     */
     @ElementCollection
     @CollectionTable(name = "match_sets", joinColumns = @JoinColumn(name = "match_id"))
+    @OrderColumn(name = "set_index")
     private List<SetScore> sets = new ArrayList<>();
     
     @Column(name = "intended_total_sets")
@@ -21,15 +33,70 @@ public class MatchScore {
     @Column(name = "winner")
     private String winner; // Stored as string in DB for compatibility
 
+    /**
+     * Running totals over {@link #sets}. Kept up to date by the set setters, invalidated by
+     * changes to the list returned from {@link #getSets()} and rebuilt on the next read. Also
+     * rebuilt when Hibernate replaced the list (on load or when the match was persisted) or
+     * its sets (merging a managed match puts copies of all sets into the same list).
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient Tally tally = new Tally();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient SetList setList = new SetList();
+
     @Embeddable
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class SetScore {
         @Column(name = "player1_score")
-        private Integer player1Score = 0;
+        private int player1Score;
         
         @Column(name = "player2_score")
-        private Integer player2Score = 0;
+        private int player2Score;
+
+        /**
+         * Match version that last changed this set, used to merge concurrent score updates.
+         */
+        @Column(name = "last_modified_version")
+        private Long lastModifiedVersion;
+
+        /**
+         * Score this set was counted into and its position there, see {@link MatchScore#tally}.
+         */
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private transient MatchScore owner;
+
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        @EqualsAndHashCode.Exclude
+        @ToString.Exclude
+        private transient int ownerIndex;
+
+        public void setPlayer1Score(int player1Score) {
+            int previous = this.player1Score;
+            this.player1Score = player1Score;
+            if (owner != null) {
+                owner.setChanged(this, previous, player2Score);
+            }
+        }
+
+        public void setPlayer2Score(int player2Score) {
+            int previous = this.player2Score;
+            this.player2Score = player2Score;
+            if (owner != null) {
+                owner.setChanged(this, player1Score, previous);
+            }
+        }
         
         /**
          * Determine the winner of this set based on standard table tennis rules.
@@ -37,42 +104,80 @@ public class MatchScore {
          * @return PlayerSide of the winner or null if no winner yet
          */
         public PlayerSide getWinner(GameRules gameRules) {
-            if (player1Score == null || player2Score == null || gameRules == null) {
+            return winnerOf(player1Score, player2Score, gameRules);
+        }
+
+        static PlayerSide winnerOf(int player1Score, int player2Score, GameRules gameRules) {
+            if (gameRules == null) {
                 return null;
             }
-            
-            int minPoints = gameRules.getMinimumPointsToWinSet();
-            int minDiff = gameRules.getMinimumPointDifference();
 
             // Check if minimum points are reached
+            int minPoints = gameRules.getMinimumPointsToWinSet();
             if (player1Score < minPoints && player2Score < minPoints) {
                 return null; 
             }
             
-            // Check for minimum point difference
-            int diff = Math.abs(player1Score - player2Score);
-            if (diff < minDiff) {
+            // Check for minimum point difference, which also rules out a tie
+            int diff = player1Score - player2Score;
+            if (Math.abs(diff) < gameRules.getMinimumPointDifference() || diff == 0) {
                 return null; 
             }
-            
-            // Determine winner based on scores
-            if (player1Score > player2Score) {
-                return PlayerSide.PLAYER1;
-            } else if (player2Score > player1Score) {
-                return PlayerSide.PLAYER2;
-            } else {
-                return null;
-            }
+            return diff > 0 ? PlayerSide.PLAYER1 : PlayerSide.PLAYER2;
         }
         
+        /**
+         * Create a detached copy of this set.
+         */
+        public SetScore copy() {
+            SetScore copy = new SetScore();
+            copy.setPlayer1Score(player1Score);
+            copy.setPlayer2Score(player2Score);
+            copy.setLastModifiedVersion(lastModifiedVersion);
+            return copy;
+        }
+
+        /**
+         * Check whether this set was changed after the given match version.
+         */
+        public boolean isModifiedSince(long version) {
+            return lastModifiedVersion != null && lastModifiedVersion > version;
+        }
+
         /**
          * Get score for the specified player side
          */
-        public Integer getScoreForPlayer(PlayerSide side) {
+        public int getScoreForPlayer(PlayerSide side) {
             return side == PlayerSide.PLAYER1 ? player1Score : player2Score;
         }
     }
 
+    /**
+     * Points and sets won by each player, counted under {@link #rules}.
+     */
+    private static final class Tally {
+        private boolean valid;
+        private GameRules rules;
+        /** The list that was counted, so a list replaced by Hibernate is noticed. */
+        private List<SetScore> counted;
+        private int setCount;
+        private int player1Points;
+        private int player2Points;
+        private int player1Sets;
+        private int player2Sets;
+
+        void add(int player1Score, int player2Score, int sign) {
+            player1Points += sign * player1Score;
+            player2Points += sign * player2Score;
+            PlayerSide winner = SetScore.winnerOf(player1Score, player2Score, rules);
+            if (winner == PlayerSide.PLAYER1) {
+                player1Sets += sign;
+            } else if (winner == PlayerSide.PLAYER2) {
+                player2Sets += sign;
+            }
+        }
+    }
+
     /**
      * Default constructor initializes with no sets and unspecified intended total sets.
      */
@@ -90,6 +195,21 @@ public class MatchScore {
         // Sets are added as they are played.
     }
 
+    /**
+     * The sets of this score. Changes to the list are seen by the tally.
+     */
+    public List<SetScore> getSets() {
+        return setList;
+    }
+
+    /**
+     * Replace all sets. Used by JSON deserialization; the tally is rebuilt on next use.
+     */
+    public void setSets(List<SetScore> sets) {
+        this.sets = sets;
+        tally.valid = false;
+    }
+
     /**
      * Add a new set score to this match score.
      * Does NOT change intendedTotalSets.
@@ -97,6 +217,10 @@ public class MatchScore {
     public void addSet(SetScore set) {
         if (set != null) {
             this.sets.add(set);
+            if (tally.valid && tally.setCount == sets.size() - 1) {
+                count(set, sets.size() - 1);
+                tally.setCount++;
+            }
         }
     }
 
@@ -105,7 +229,7 @@ public class MatchScore {
      * Does NOT change intendedTotalSets.
      */
     public void addNewEmptySet() {
-         this.sets.add(new SetScore());
+        addSet(new SetScore());
     }
     
     /**
@@ -123,60 +247,40 @@ public class MatchScore {
      * Check if the score is complete with all sets having valid scores
      */
     public boolean isComplete() {
-        return sets.stream()
-            .allMatch(set -> set != null && 
-                      set.getPlayer1Score() != null && 
-                      set.getPlayer2Score() != null);
+        for (int i = 0; i < sets.size(); i++) {
+            if (sets.get(i) == null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
      * Get the total score for player 1 across all sets
      */
     public int getPlayer1TotalScore() {
-        return getTotalScoreForPlayer(PlayerSide.PLAYER1);
+        return tally(tally.rules).player1Points;
     }
 
     /**
      * Get the total score for player 2 across all sets
      */
     public int getPlayer2TotalScore() {
-        return getTotalScoreForPlayer(PlayerSide.PLAYER2);
-    }
-    
-    /**
-     * Get total score for a specific player across all sets
-     */
-    private int getTotalScoreForPlayer(PlayerSide side) {
-        return sets.stream()
-            .filter(set -> set != null)
-            .mapToInt(set -> Optional.ofNullable(side == PlayerSide.PLAYER1 ? 
-                       set.getPlayer1Score() : 
-                       set.getPlayer2Score())
-                     .orElse(0))
-            .sum();
+        return tally(tally.rules).player2Points;
     }
     
     /**
      * Get the number of sets won by player 1
      */
     public int getPlayer1SetsWon(GameRules gameRules) {
-        return getSetsWonByPlayer(PlayerSide.PLAYER1, gameRules);
+        return tally(gameRules).player1Sets;
     }
     
     /**
      * Get the number of sets won by player 2
      */
     public int getPlayer2SetsWon(GameRules gameRules) {
-        return getSetsWonByPlayer(PlayerSide.PLAYER2, gameRules);
-    }
-    
-    /**
-     * Get number of sets won by a specific player
-     */
-    private int getSetsWonByPlayer(PlayerSide side, GameRules gameRules) {
-        return (int) sets.stream()
-            .filter(set -> set != null && side.equals(set.getWinner(gameRules)))
-            .count();
+        return tally(gameRules).player2Sets;
     }
     
     /**
@@ -201,14 +305,12 @@ public class MatchScore {
             return null;
         }
 
-        int player1Sets = getSetsWonByPlayer(PlayerSide.PLAYER1, gameRules);
-        int player2Sets = getSetsWonByPlayer(PlayerSide.PLAYER2, gameRules);
-        
+        Tally current = tally(gameRules);
         int setsToWin = gameRules.getSetsNeededToWin(intendedTotalSets);
         
-        if (player1Sets >= setsToWin) {
+        if (current.player1Sets >= setsToWin) {
             return PlayerSide.PLAYER1;
-        } else if (player2Sets >= setsToWin) {
+        } else if (current.player2Sets >= setsToWin) {
             return PlayerSide.PLAYER2;
         }
         
@@ -222,4 +324,97 @@ public class MatchScore {
         PlayerSide winnerSide = calculateWinner(gameRules);
         setWinnerSide(winnerSide);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Return the tally for the given rules, rebuilding it if it was invalidated or Hibernate
+     * replaced the list or its sets since it was counted. Hibernate replaces all sets at once,
+     * so looking at the last one is enough.
+     */
+    private Tally tally(GameRules gameRules) {
+        if (!tally.valid || tally.rules != gameRules || tally.counted != sets || tally.setCount != sets.size()
+                || !countsLastSet()) {
+            tally.valid = false;
+            tally.rules = gameRules;
+            tally.counted = sets;
+            tally.setCount = sets.size();
+            tally.player1Points = 0;
+            tally.player2Points = 0;
+            tally.player1Sets = 0;
+            tally.player2Sets = 0;
+            for (int i = 0; i < sets.size(); i++) {
+                count(sets.get(i), i);
+            }
+            tally.valid = true;
+        }
+        return tally;
+    }
+
+    private boolean countsLastSet() {
+        SetScore last = sets.isEmpty() ? null : sets.get(sets.size() - 1);
+        return last == null || (last.owner == this && last.ownerIndex == sets.size() - 1);
+    }
+
+    private void count(SetScore set, int index) {
+        if (set != null) {
+            set.owner = this;
+            set.ownerIndex = index;
+            tally.add(set.player1Score, set.player2Score, 1);
+        }
+    }
+
+    private void setChanged(SetScore set, int previousPlayer1Score, int previousPlayer2Score) {
+        if (!tally.valid) {
+            return;
+        }
+        if (set.ownerIndex < sets.size() && sets.get(set.ownerIndex) == set) {
+            tally.add(previousPlayer1Score, previousPlayer2Score, -1);
+            tally.add(set.player1Score, set.player2Score, 1);
+        } else {
+            // The set was moved or removed since it was counted
+            tally.valid = false;
+        }
+    }
+
+    /**
+     * The list of sets as handed out by {@link #getSets()}: reads go to {@link #sets} as it
+     * currently is, changes also invalidate the tally.
+     */
+    private final class SetList extends AbstractList<SetScore> implements RandomAccess {
+        @Override
+        public SetScore get(int index) {
+            return sets.get(index);
+        }
+
+        @Override
+        public int size() {
+            return sets.size();
+        }
+
+        @Override
+        public SetScore set(int index, SetScore set) {
+            tally.valid = false;
+            return sets.set(index, set);
+        }
+
+        @Override
+        public void add(int index, SetScore set) {
+            tally.valid = false;
+            modCount++;
+            sets.add(index, set);
+        }
+
+        @Override
+        public SetScore remove(int index) {
+            tally.valid = false;
+            modCount++;
+            return sets.remove(index);
+        }
+
+        @Override
+        public void clear() {
+            tally.valid = false;
+            modCount++;
+            sets.clear();
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.tournament.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tournament.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.Data;
-import java.util.ArrayList;
-import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PLAYER_REGION)
 @Table(name = "players")
 public class Player {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Sequence based so that bulk imports can be inserted in JDBC batches,
+     * see {@link Match#getId()}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_id_seq")
+    @SequenceGenerator(name = "player_id_seq", sequenceName = "players_seq", allocationSize = Player.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -23,6 +33,35 @@ public class Player {
     @Column
     private Integer rank;
 
+    /**
+     * Elo rating computed from completed matches, null until the player's first rated match.
+     * Unlike {@link #rank} it is never entered by hand.
+     */
+    @Column
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double rating;
+
     @Column(nullable = false)
     private boolean active = true;
-} 
\ No newline at end of file
+
+    /**
+     * Players are kept in hash based sets, see {@link Tournament#getPlayers()}, while their
+     * name, rank and rating change, so equality is based on the id alone.
+     * Players must not be put into a set before they have been saved.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Player other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
+}
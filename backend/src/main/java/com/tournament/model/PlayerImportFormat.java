@@ -0,0 +1,36 @@
+package com.tournament.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Upload formats accepted by the bulk player import.
+ */
+public enum PlayerImportFormat {
+    /** Comma separated with a header row naming the name, email, rank and active columns. */
+    CSV("text/csv"),
+    /** One JSON object per line with the same fields as a player. */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    PlayerImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Get the format of an upload from its content type, ignoring parameters such as the charset.
+     */
+    public static PlayerImportFormat fromContentType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (PlayerImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(type)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,11 @@
+package com.tournament.model;
+
+/**
+ * How a bulk import treats a row whose email belongs to an existing player.
+ */
+public enum PlayerImportMode {
+    /** Keep the existing player and count the row as skipped. */
+    SKIP,
+    /** Overwrite name, rank and active flag of the existing player. */
+    UPSERT
+}
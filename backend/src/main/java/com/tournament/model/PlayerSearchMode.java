@@ -0,0 +1,11 @@
+package com.tournament.model;
+
+/**
+ * How the text of a player search is matched against names and emails, ignoring case.
+ */
+public enum PlayerSearchMode {
+    /** The name or email starts with the text. */
+    PREFIX,
+    /** The name or email contains the text anywhere. */
+    CONTAINS
+}
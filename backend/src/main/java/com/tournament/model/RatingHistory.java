@@ -0,0 +1,46 @@
+package com.tournament.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One rating change of a player caused by a completed match.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "rating_history", indexes = {
+    @Index(name = "idx_rating_history_player_id_id", columnList = "player_id, id"),
+    @Index(name = "idx_rating_history_match_id", columnList = "match_id")
+})
+public class RatingHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(nullable = false)
+    private double ratingBefore;
+
+    @Column(nullable = false)
+    private double ratingAfter;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    public RatingHistory(Long playerId, Long matchId, double ratingBefore, double ratingAfter) {
+        this.playerId = playerId;
+        this.matchId = matchId;
+        this.ratingBefore = ratingBefore;
+        this.ratingAfter = ratingAfter;
+        this.recordedAt = LocalDateTime.now();
+    }
+}
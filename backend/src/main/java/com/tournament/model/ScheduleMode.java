@@ -0,0 +1,15 @@
+package com.tournament.model;
+
+/**
+ * How the pending matches of a tournament are assigned to venues and start times.
+ */
+public enum ScheduleMode {
+    /** Plan all pending matches from scratch. */
+    PLAN,
+    /**
+     * Keep the current venue and order of scheduled matches and only push them later where
+     * a venue or a player is not free in time, e.g. after a match overran. Pending matches
+     * without a slot are placed after them.
+     */
+    REPAIR
+}
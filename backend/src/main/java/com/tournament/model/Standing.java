@@ -0,0 +1,66 @@
+package com.tournament.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of one player in one tournament, maintained incrementally from
+ * {@link MatchResult}s as matches complete or completed matches are corrected.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "standings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_standings_tournament_player", columnNames = {"tournament_id", "player_id"})
+})
+public class Standing {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    @Column(name = "tournament_id", nullable = false)
+    private Long tournamentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id", nullable = false)
+    private Player player;
+
+    private int matchesPlayed;
+    private int wins;
+    private int losses;
+    private int setsWon;
+    private int setsLost;
+    private int pointsFor;
+    private int pointsAgainst;
+
+    public Standing(Long tournamentId, Player player) {
+        this.tournamentId = tournamentId;
+        this.player = player;
+    }
+
+    /**
+     * Add (sign 1) or remove (sign -1) one match from the totals of the player on the given side.
+     */
+    public void add(int sign, PlayerSide side, MatchResult result) {
+        boolean player1 = side == PlayerSide.PLAYER1;
+        int ownSets = player1 ? result.getPlayer1Sets() : result.getPlayer2Sets();
+        int opponentSets = player1 ? result.getPlayer2Sets() : result.getPlayer1Sets();
+        int ownPoints = player1 ? result.getPlayer1Points() : result.getPlayer2Points();
+        int opponentPoints = player1 ? result.getPlayer2Points() : result.getPlayer1Points();
+
+        matchesPlayed += sign;
+        if (result.getWinner() == side) {
+            wins += sign;
+        } else if (result.getWinner() != null) {
+            losses += sign;
+        }
+        setsWon += sign * ownSets;
+        setsLost += sign * opponentSets;
+        pointsFor += sign * ownPoints;
+        pointsAgainst += sign * opponentPoints;
+    }
+}
@@ -10,19 +10,43 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.tournament.config.EntityCacheConfig;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
 @Entity
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.TOURNAMENT_REGION)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @ToString(exclude = {"players", "matches"})
 @EqualsAndHashCode(exclude = {"players", "matches"})
-@Table(name = "tournaments")
+@Table(name = "tournaments", indexes = {
+    @Index(name = "idx_tournaments_status_id", columnList = "status, id")
+})
+@FilterDef(name = Tournament.MATCH_ID_BLOCK_FILTER, parameters = {
+    @ParamDef(name = "legacyFirstId", type = Long.class),
+    @ParamDef(name = "legacyLastId", type = Long.class),
+    @ParamDef(name = "firstId", type = Long.class),
+    @ParamDef(name = "lastId", type = Long.class)
+})
 public class Tournament {
+    /**
+     * Restricts {@link #matches} to the id ranges of the tournament's matches, so the load of the
+     * collection reads only their partitions, see {@code MatchPartitioning}.
+     */
+    public static final String MATCH_ID_BLOCK_FILTER = "matchIdBlock";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -44,17 +68,27 @@ public class Tournament {
     @NotNull(message = "Status must not be null")
     private TournamentStatus status = TournamentStatus.PENDING;
 
+    /**
+     * When the matches of the completed tournament were moved to its archive, see
+     * {@link TournamentArchive}, or null while they are in the match tables.
+     */
+    @Column
+    private LocalDateTime archivedAt;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.TOURNAMENT_PLAYERS_REGION)
     @JoinTable(
         name = "tournament_players",
         joinColumns = @JoinColumn(name = "tournament_id"),
         inverseJoinColumns = @JoinColumn(name = "player_id")
     )
+    @OrderBy("id")
     @Builder.Default
-    private List<Player> players = new ArrayList<>();
+    private Set<Player> players = new LinkedHashSet<>();
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "tournament_id")
+    @Filter(name = MATCH_ID_BLOCK_FILTER, condition = "(id BETWEEN :legacyFirstId AND :legacyLastId OR id BETWEEN :firstId AND :lastId)")
     @Builder.Default
     @JsonManagedReference
     private List<Match> matches = new ArrayList<>();
@@ -74,11 +108,9 @@ public class Tournament {
 
     public void addPlayer(Player player) {
         if (players == null) {
-            players = new ArrayList<>();
-        }
-        if (!players.contains(player)) {
-            players.add(player);
+            players = new LinkedHashSet<>();
         }
+        players.add(player);
     }
 
     public void removePlayer(Player player) {
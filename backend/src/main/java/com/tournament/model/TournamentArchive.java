@@ -0,0 +1,43 @@
+package com.tournament.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * The matches and sets of a completed tournament, moved out of the match tables as one
+ * gzip compressed export in the binary format. The tournament itself, its registrations
+ * and its standings stay where they are. The match counts by status keep the tournament
+ * summaries complete without reading the document.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@ToString(exclude = "document")
+@Table(name = "tournament_archives")
+public class TournamentArchive {
+    @Id
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    private long pendingMatches;
+    private long inProgressMatches;
+    private long completedMatches;
+    private long cancelledMatches;
+    private long sets;
+
+    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    private byte[] document;
+}
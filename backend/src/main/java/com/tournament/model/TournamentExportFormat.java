@@ -0,0 +1,42 @@
+package com.tournament.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Encodings of a tournament export, see {@code TournamentExportService}.
+ */
+public enum TournamentExportFormat {
+    /** One JSON object per line, each with a {@code type} field. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** The same records with variable length integers and length prefixed strings. */
+    BINARY("application/vnd.tournament.export", "tex");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    TournamentExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Get the format of an upload from its content type, ignoring parameters such as the charset.
+     */
+    public static TournamentExportFormat fromContentType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (TournamentExportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).equalsTypeAndSubtype(type)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export content type: " + contentType);
+    }
+}
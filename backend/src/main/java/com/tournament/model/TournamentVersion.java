@@ -0,0 +1,31 @@
+package com.tournament.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter of everything a tournament read returns: the tournament, its players and
+ * matches and the derived standings. It is incremented by every write to any of them and
+ * serves as the ETag of those reads.
+ *
+ * Kept out of {@link Tournament} so that incrementing it neither rewrites nor evicts the
+ * cached tournament.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tournament_versions")
+public class TournamentVersion {
+    @Id
+    @Column(name = "tournament_id")
+    private Long tournamentId;
+
+    @Column(nullable = false)
+    private long version;
+}
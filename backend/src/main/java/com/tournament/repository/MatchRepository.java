@@ -1,9 +1,73 @@
 package com.tournament.repository;
 
 import com.tournament.model.Match;
+import com.tournament.model.MatchStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+
 @Repository
 public interface MatchRepository extends JpaRepository<Match, Long> {
-} 
\ No newline at end of file
+
+    /**
+     * Load a single match of a tournament together with its players and sets in one query,
+     * without touching the tournament's match collection.
+     */
+    @Query("SELECT m FROM Match m " +
+           "JOIN FETCH m.player1 " +
+           "JOIN FETCH m.player2 " +
+           "LEFT JOIN FETCH m.tournament " +
+           "LEFT JOIN FETCH m.score.sets " +
+           "WHERE m.tournament.id = :tournamentId AND m.id = :matchId")
+    Optional<Match> findByTournamentIdAndId(@Param("tournamentId") Long tournamentId,
+                                            @Param("matchId") Long matchId);
+
+    /**
+     * Count the matches of a tournament. Its matches are in the id block of the tournament
+     * or below all blocks, which lets a partitioned table be pruned to those partitions.
+     */
+    default long countByTournamentId(Long tournamentId) {
+        return countByTournamentId(tournamentId, true);
+    }
+
+    /**
+     * Count the matches of a tournament, only in its id block unless it has matches with
+     * ids below all blocks, see {@link com.tournament.config.MatchPartitioning#hasLegacyIds}.
+     */
+    default long countByTournamentId(Long tournamentId, boolean legacyIds) {
+        return countByTournamentIdAndStatusIn(tournamentId, legacyIds, EnumSet.allOf(MatchStatus.class));
+    }
+
+    /**
+     * Count the matches of a tournament in the given statuses, pruned like {@link #countByTournamentId}.
+     */
+    default long countByTournamentIdAndStatusIn(Long tournamentId, boolean legacyIds,
+                                                Collection<MatchStatus> statuses) {
+        long firstId = Match.firstId(tournamentId);
+        long lastId = Match.lastId(tournamentId);
+        // Without legacy ids the block is repeated, no empty range prunes the legacy partition as it is unbounded below
+        return countInIdRanges(tournamentId, legacyIds ? Long.MIN_VALUE : firstId,
+            legacyIds ? Match.LEGACY_ID_END - 1 : lastId, firstId, lastId, statuses);
+    }
+
+    @Query("SELECT COUNT(m) FROM Match m WHERE m.tournament.id = :tournamentId " +
+           "AND (m.id BETWEEN :legacyFirstId AND :legacyLastId OR m.id BETWEEN :firstId AND :lastId) " +
+           "AND m.status IN :statuses")
+    long countInIdRanges(@Param("tournamentId") Long tournamentId, @Param("legacyFirstId") long legacyFirstId,
+                         @Param("legacyLastId") long legacyLastId, @Param("firstId") long firstId,
+                         @Param("lastId") long lastId, @Param("statuses") Collection<MatchStatus> statuses);
+
+    /**
+     * Overwrite the optimistic lock version, used when the live engine writes back a match
+     * whose version it has advanced in memory.
+     */
+    @Modifying
+    @Query("UPDATE Match m SET m.version = :version WHERE m.id = :matchId")
+    int updateVersion(@Param("matchId") Long matchId, @Param("version") Long version);
+}
@@ -0,0 +1,16 @@
+package com.tournament.repository;
+
+import com.tournament.model.MatchResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MatchResultRepository extends JpaRepository<MatchResult, Long> {
+
+    @Modifying
+    @Query("DELETE FROM MatchResult r WHERE r.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
@@ -1,9 +1,26 @@
 package com.tournament.repository;
 
 import com.tournament.model.Player;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
-} 
\ No newline at end of file
+
+    @Query("SELECT p FROM Player p WHERE p.rating IS NOT NULL ORDER BY p.rating DESC, p.id")
+    List<Player> findRanked(Pageable pageable);
+
+    List<Player> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Ids of the players registered for a tournament.
+     */
+    @Query("SELECT p.id FROM Tournament t JOIN t.players p WHERE t.id = :tournamentId")
+    List<Long> findIdsByTournamentId(@Param("tournamentId") Long tournamentId);
+}
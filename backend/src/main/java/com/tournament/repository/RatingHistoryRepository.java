@@ -0,0 +1,15 @@
+package com.tournament.repository;
+
+import com.tournament.model.RatingHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatingHistoryRepository extends JpaRepository<RatingHistory, Long> {
+
+    List<RatingHistory> findByPlayerIdOrderByIdDesc(Long playerId);
+
+    boolean existsByMatchId(Long matchId);
+}
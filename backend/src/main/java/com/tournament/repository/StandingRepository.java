@@ -0,0 +1,38 @@
+package com.tournament.repository;
+
+import com.tournament.dto.StandingEntry;
+import com.tournament.model.Standing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StandingRepository extends JpaRepository<Standing, Long> {
+
+    Optional<Standing> findByTournamentIdAndPlayerId(Long tournamentId, Long playerId);
+
+    /**
+     * Standings of all registered players in ranking order: wins, then set difference,
+     * then point difference. Players without a completed match are listed with zeros.
+     */
+    @Query("SELECT new com.tournament.dto.StandingEntry(" +
+           "p.id, p.name, p.rank, s.matchesPlayed, s.wins, s.losses, " +
+           "s.setsWon, s.setsLost, s.pointsFor, s.pointsAgainst) " +
+           "FROM Tournament t JOIN t.players p " +
+           "LEFT JOIN Standing s ON s.tournamentId = t.id AND s.player = p " +
+           "WHERE t.id = :tournamentId " +
+           "ORDER BY COALESCE(s.wins, 0) DESC, " +
+           "COALESCE(s.setsWon - s.setsLost, 0) DESC, " +
+           "COALESCE(s.pointsFor - s.pointsAgainst, 0) DESC, " +
+           "p.id")
+    List<StandingEntry> findEntries(@Param("tournamentId") Long tournamentId);
+
+    @Modifying
+    @Query("DELETE FROM Standing s WHERE s.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
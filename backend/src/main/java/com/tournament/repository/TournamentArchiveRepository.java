@@ -0,0 +1,16 @@
+package com.tournament.repository;
+
+import com.tournament.model.TournamentArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TournamentArchiveRepository extends JpaRepository<TournamentArchive, Long> {
+
+    @Modifying
+    @Query("DELETE FROM TournamentArchive a WHERE a.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
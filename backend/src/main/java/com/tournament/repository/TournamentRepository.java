@@ -1,9 +1,49 @@
 package com.tournament.repository;
 
+import com.tournament.dto.TournamentSummary;
 import com.tournament.model.Tournament;
+import com.tournament.model.TournamentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
-} 
\ No newline at end of file
+
+    /**
+     * Summaries of tournaments with an id below {@code afterId}, newest first.
+     * Player and per-status match counts are aggregated in the same query, those of archived
+     * tournaments come from their archive.
+     */
+    @Query("SELECT new com.tournament.dto.TournamentSummary(" +
+           "t.id, t.name, t.startDate, t.endDate, t.status, SIZE(t.players), " +
+           "COALESCE(SUM(CASE WHEN m.status = com.tournament.model.MatchStatus.PENDING THEN 1 ELSE 0 END), 0) " +
+           "+ COALESCE(MAX(a.pendingMatches), 0), " +
+           "COALESCE(SUM(CASE WHEN m.status = com.tournament.model.MatchStatus.IN_PROGRESS THEN 1 ELSE 0 END), 0) " +
+           "+ COALESCE(MAX(a.inProgressMatches), 0), " +
+           "COALESCE(SUM(CASE WHEN m.status = com.tournament.model.MatchStatus.COMPLETED THEN 1 ELSE 0 END), 0) " +
+           "+ COALESCE(MAX(a.completedMatches), 0), " +
+           "COALESCE(SUM(CASE WHEN m.status = com.tournament.model.MatchStatus.CANCELLED THEN 1 ELSE 0 END), 0) " +
+           "+ COALESCE(MAX(a.cancelledMatches), 0)) " +
+           "FROM Tournament t LEFT JOIN t.matches m " +
+           "LEFT JOIN TournamentArchive a ON a.tournamentId = t.id " +
+           "WHERE t.id < :afterId AND t.status IN :statuses " +
+           "GROUP BY t.id, t.name, t.startDate, t.endDate, t.status " +
+           "ORDER BY t.id DESC")
+    List<TournamentSummary> findSummaries(@Param("afterId") Long afterId,
+                                          @Param("statuses") Collection<TournamentStatus> statuses,
+                                          Pageable pageable);
+
+    /**
+     * Ids of the completed tournaments that ended before the given date and are not archived yet.
+     */
+    @Query("SELECT t.id FROM Tournament t WHERE t.status = com.tournament.model.TournamentStatus.COMPLETED " +
+           "AND t.endDate < :endedBefore AND t.archivedAt IS NULL ORDER BY t.id")
+    List<Long> findArchivable(@Param("endedBefore") LocalDate endedBefore);
+}
@@ -0,0 +1,53 @@
+package com.tournament.repository;
+
+import com.tournament.model.TournamentVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Increments should be the last write of a transaction: the row is locked until commit, so
+ * concurrent writers of the same tournament queue on it only for the rest of theirs.
+ */
+@Repository
+public interface TournamentVersionRepository extends JpaRepository<TournamentVersion, Long> {
+
+    @Query("SELECT v.version FROM TournamentVersion v WHERE v.tournamentId = :tournamentId")
+    Optional<Long> findVersion(@Param("tournamentId") Long tournamentId);
+
+    @Modifying
+    @Query("UPDATE TournamentVersion v SET v.version = v.version + 1 WHERE v.tournamentId = :tournamentId")
+    int increment(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Increment the versions of all tournaments a player is registered for or plays a match in.
+     * The rows are locked in id order first, so that writers whose players share tournaments
+     * queue on them instead of deadlocking.
+     */
+    default int incrementForPlayers(Collection<Long> playerIds) {
+        List<Long> tournamentIds = lockForPlayers(playerIds);
+        return tournamentIds.isEmpty() ? 0 : incrementAll(tournamentIds);
+    }
+
+    @Query(value = "SELECT v.tournament_id FROM tournament_versions v " +
+                   "WHERE v.tournament_id IN (SELECT r.tournament_id FROM tournament_players r " +
+                   "WHERE r.player_id IN (:playerIds)) " +
+                   "OR v.tournament_id IN (SELECT m.tournament_id FROM matches m " +
+                   "WHERE m.player1_id IN (:playerIds) OR m.player2_id IN (:playerIds)) " +
+                   "ORDER BY v.tournament_id FOR UPDATE", nativeQuery = true)
+    List<Long> lockForPlayers(@Param("playerIds") Collection<Long> playerIds);
+
+    @Modifying
+    @Query("UPDATE TournamentVersion v SET v.version = v.version + 1 WHERE v.tournamentId IN :tournamentIds")
+    int incrementAll(@Param("tournamentIds") Collection<Long> tournamentIds);
+
+    @Modifying
+    @Query("DELETE FROM TournamentVersion v WHERE v.tournamentId = :tournamentId")
+    int deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
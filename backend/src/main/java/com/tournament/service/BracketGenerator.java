@@ -0,0 +1,109 @@
+package com.tournament.service;
+
+import com.tournament.model.Player;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pairs the players of a tournament for the supported bracket formats.
+ */
+final class BracketGenerator {
+
+    /**
+     * Seeds in ascending rank, unranked players last and ties broken by id.
+     */
+    static final Comparator<Player> SEED_ORDER = Comparator
+        .comparing(Player::getRank, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(Player::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private BracketGenerator() {
+    }
+
+    record Pairing(int round, Player player1, Player player2) {
+    }
+
+    record Bracket(int rounds, List<Pairing> pairings, List<Player> byes) {
+    }
+
+    /**
+     * Build the first round of a single elimination bracket. The draw is padded to the next
+     * power of two and seeds are placed so that the top seeds meet as late as possible;
+     * the padding slots are byes, which therefore go to the highest seeds.
+     */
+    static Bracket singleElimination(List<Player> players) {
+        Assert.isTrue(players.size() >= 2, "At least two players are required for a bracket");
+        List<Player> seeds = new ArrayList<>(players);
+        seeds.sort(SEED_ORDER);
+
+        int drawSize = Integer.highestOneBit(seeds.size() - 1) << 1;
+        int[] slots = seedSlots(drawSize);
+        List<Pairing> pairings = new ArrayList<>(drawSize / 2);
+        List<Player> byes = new ArrayList<>();
+        for (int i = 0; i < drawSize; i += 2) {
+            Player top = slots[i] <= seeds.size() ? seeds.get(slots[i] - 1) : null;
+            Player bottom = slots[i + 1] <= seeds.size() ? seeds.get(slots[i + 1] - 1) : null;
+            if (top != null && bottom != null) {
+                pairings.add(new Pairing(1, top, bottom));
+            } else {
+                byes.add(top != null ? top : bottom);
+            }
+        }
+        return new Bracket(Integer.numberOfTrailingZeros(drawSize), pairings, byes);
+    }
+
+    /**
+     * Build all rounds of a round robin using the circle method, so every player meets
+     * every other player exactly once and plays at most once per round. With an odd
+     * number of players one player sits out each round.
+     */
+    static Bracket roundRobin(List<Player> players) {
+        Assert.isTrue(players.size() >= 2, "At least two players are required for a bracket");
+        List<Player> circle = new ArrayList<>(players);
+        circle.sort(SEED_ORDER);
+        if (circle.size() % 2 != 0) {
+            circle.add(null);
+        }
+
+        int size = circle.size();
+        int rounds = size - 1;
+        List<Pairing> pairings = new ArrayList<>(size / 2 * rounds);
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < size / 2; i++) {
+                Player home = circle.get(i);
+                Player away = circle.get(size - 1 - i);
+                if (home == null || away == null) {
+                    continue;
+                }
+                // Alternate sides of the fixed player so it does not always start as player 1
+                if (i == 0 && round % 2 != 0) {
+                    pairings.add(new Pairing(round + 1, away, home));
+                } else {
+                    pairings.add(new Pairing(round + 1, home, away));
+                }
+            }
+            // Keep the first player fixed and rotate the others by one position
+            circle.add(1, circle.remove(size - 1));
+        }
+        return new Bracket(rounds, pairings, List.of());
+    }
+
+    /**
+     * Standard seed order of a draw, e.g. 1, 8, 4, 5, 2, 7, 3, 6 for eight slots.
+     */
+    static int[] seedSlots(int drawSize) {
+        int[] slots = {1};
+        while (slots.length < drawSize) {
+            int size = slots.length * 2;
+            int[] next = new int[size];
+            for (int i = 0; i < slots.length; i++) {
+                next[2 * i] = slots[i];
+                next[2 * i + 1] = size + 1 - slots[i];
+            }
+            slots = next;
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tournament.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.tournament.config.EntityCacheConfig;
+import com.tournament.dto.CacheRegionStats;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics and explicit invalidation of the second-level cache configured in
+ * {@link EntityCacheConfig}.
+ */
+@Service
+@RequiredArgsConstructor
+public class EntityCacheService {
+
+    private static final String TOURNAMENT_PLAYERS_ROLE = Tournament.class.getName() + ".players";
+
+    private final CacheManager entityCacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStats> getStats() {
+        List<CacheRegionStats> stats = new ArrayList<>(EntityCacheConfig.REGIONS.size());
+        for (String region : EntityCacheConfig.REGIONS) {
+            Cache<Object, Object> cache = entityCacheManager.getCache(region);
+            com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CacheStats counters = caffeine.stats();
+            stats.add(new CacheRegionStats(region, caffeine.estimatedSize(), counters.hitCount(),
+                counters.missCount(), counters.evictionCount(), counters.hitRate()));
+        }
+        return stats;
+    }
+
+    /**
+     * Evict all cached players, after player rows were changed without Hibernate.
+     * Evicts again after commit, so a concurrent reader cannot cache the old rows
+     * while the change is not yet visible.
+     */
+    public void evictPlayers() {
+        evictNowAndAfterCommit(() -> entityManagerFactory.getCache().evict(Player.class));
+    }
+
+    /**
+     * Evict all cached tournament player lists, e.g. after a player was deleted.
+     */
+    public void evictTournamentPlayers() {
+        evictNowAndAfterCommit(() -> entityManagerFactory.unwrap(SessionFactory.class).getCache()
+            .evictCollectionData(TOURNAMENT_PLAYERS_ROLE));
+    }
+
+    private static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.tournament.service;
+
+import com.tournament.config.GameRules;
+import com.tournament.dto.LiveEngineStats;
+import com.tournament.dto.LiveScoreUpdate;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.event.MatchResultChangedEvent;
+import com.tournament.event.MatchScoreChangedEvent;
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.ScoreUpdateStatus;
+import com.tournament.repository.MatchRepository;
+import com.tournament.repository.TournamentVersionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory scoring engine for matches that are {@code IN_PROGRESS}.
+ *
+ * A match is taken over by the engine once a database score update has committed it as
+ * in progress. From then on score deltas are applied to the in-memory state, appended to
+ * the {@link ScoreJournal} and acknowledged without a database round trip. The state is
+ * written back asynchronously when a set or the match completes and on a periodic flush.
+ * On startup any journalled state that did not reach the database is replayed.
+ */
+@Service
+public class LiveMatchEngine {
+    private static final Logger logger = LoggerFactory.getLogger(LiveMatchEngine.class);
+
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final MatchRepository matchRepository;
+    private final TournamentVersionRepository tournamentVersionRepository;
+    private final GameRules gameRules;
+    private final ScoreJournal journal;
+    private final LiveScoreService liveScoreService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScoreMetrics scoreMetrics;
+    private final TransactionTemplate flushTransaction;
+    private final ExecutorService flushExecutor;
+
+    private final Map<Long, LiveMatchState> states = new ConcurrentHashMap<>();
+    private volatile long lastFlushRoundMillis;
+
+    public LiveMatchEngine(@Value("${tournament.live-engine.enabled:true}") boolean enabled,
+                           @Value("${tournament.live-engine.flush-interval-ms:1000}") long flushIntervalMillis,
+                           MatchRepository matchRepository,
+                           TournamentVersionRepository tournamentVersionRepository,
+                           GameRules gameRules,
+                           ScoreJournal journal,
+                           LiveScoreService liveScoreService,
+                           ApplicationEventPublisher eventPublisher,
+                           ScoreMetrics scoreMetrics,
+                           PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.matchRepository = matchRepository;
+        this.tournamentVersionRepository = tournamentVersionRepository;
+        this.gameRules = gameRules;
+        this.journal = journal;
+        this.liveScoreService = liveScoreService;
+        this.eventPublisher = eventPublisher;
+        this.scoreMetrics = scoreMetrics;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-engine-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isLive(Long matchId) {
+        return states.containsKey(matchId);
+    }
+
+    /**
+     * How long an accepted score may take to reach the database, 0 if the engine is disabled.
+     * The next flush round starts at most one interval after the current one ended and is
+     * assumed to take as long as the last one did; a failing flush is retried beyond that.
+     */
+    public long getWriteBehindMillis() {
+        return enabled ? flushIntervalMillis + 2 * lastFlushRoundMillis : 0;
+    }
+
+    /**
+     * Whether the engine holds any match of the tournament.
+     */
+    public boolean hasLiveMatches(Long tournamentId) {
+        return states.values().stream().anyMatch(state -> state.tournamentId.equals(tournamentId));
+    }
+
+    /**
+     * Apply a validated score delta to a live match.
+     * @return The response, or null if the match is not held by the engine and the
+     *         caller must fall back to the database path.
+     */
+    public ScoreDeltaResponse apply(Long tournamentId, Long matchId, ScoreDeltaRequest delta) {
+        LiveMatchState state = states.get(matchId);
+        if (state == null || !state.tournamentId.equals(tournamentId)) {
+            return null;
+        }
+
+        ScoreDeltaResponse response;
+        LiveScoreUpdate update;
+        MatchStatus previousStatus;
+        state.lock.lock();
+        try {
+            if (state.evicted) {
+                return null;
+            }
+            MatchScoring.checkConflict(matchId, state.version, state.status, state.score, delta);
+
+            // Work on a copy so a rejected delta or a failed journal write leaves the state untouched
+            long version = state.version + 1;
+            MatchScore score = LiveMatchState.copy(state.score);
+            MatchScore.SetScore set = MatchScoring.apply(score, delta, gameRules, version);
+            MatchStatus status = MatchScoring.resolveStatus(state.status, score, gameRules);
+            ScoreUpdateStatus updateStatus = MatchScoring.resolveUpdateStatus(status, set, gameRules);
+            // Marked unflushed under the journal lock, or a flush in between could truncate the line
+            long now = System.currentTimeMillis();
+            journal.append(LiveMatchState.Snapshot.of(tournamentId, matchId, version, state.flushedVersion, status, score),
+                () -> state.markDirty(now));
+
+            previousStatus = state.status;
+            state.score = score;
+            state.status = status;
+            state.version = version;
+
+            response = MatchScoring.toResponse(matchId, version, delta.getSetIndex(), set, score, status,
+                updateStatus, gameRules);
+            update = LiveScoreUpdate.of(tournamentId, matchId, version, status, score, updateStatus);
+        } finally {
+            state.lock.unlock();
+        }
+
+        scoreMetrics.statusChanged(previousStatus, update.getMatchStatus());
+        liveScoreService.publish(update);
+        if (update.getScoreUpdateStatus() != ScoreUpdateStatus.SET_IN_PROGRESS) {
+            flushExecutor.execute(() -> flush(state, false));
+        }
+        return response;
+    }
+
+    /**
+     * Take over matches that a committed database update left in progress.
+     */
+    @TransactionalEventListener
+    public void onMatchScoreChanged(MatchScoreChangedEvent event) {
+        Match match = event.match();
+        if (!enabled || match.getStatus() != MatchStatus.IN_PROGRESS) {
+            return;
+        }
+        states.compute(match.getId(), (matchId, current) -> {
+            if (current == null || (!current.dirty && current.version < match.getVersion())) {
+                logger.debug("Match ID: {} is now scored by the live engine at version {}", matchId, match.getVersion());
+                return LiveMatchState.of(event.tournamentId(), match);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Persist a live match synchronously and hand it back to the database path.
+     */
+    public void flushAndEvict(Long matchId) {
+        LiveMatchState state = states.get(matchId);
+        if (state != null) {
+            flush(state, true);
+        }
+    }
+
+    /**
+     * Drop all live state of a tournament without persisting it, e.g. when it is deleted.
+     * Inside a transaction the state is dropped once it commits, so a rolled back deletion
+     * keeps the live scores.
+     */
+    public void discardTournament(Long tournamentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discardNow(tournamentId);
+                }
+            });
+        } else {
+            discardNow(tournamentId);
+        }
+    }
+
+    private void discardNow(Long tournamentId) {
+        states.values().removeIf(state -> {
+            if (!state.tournamentId.equals(tournamentId)) {
+                return false;
+            }
+            state.lock.lock();
+            try {
+                state.evicted = true;
+                state.markClean();
+            } finally {
+                state.lock.unlock();
+            }
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${tournament.live-engine.flush-interval-ms:1000}")
+    public void flushAll() {
+        long start = System.currentTimeMillis();
+        for (LiveMatchState state : states.values()) {
+            if (state.dirty || state.status == MatchStatus.COMPLETED) {
+                flush(state, false);
+            }
+        }
+        journal.truncateIf(this::allFlushed);
+        lastFlushRoundMillis = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Replay journalled scores that were not flushed before the last shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        Map<Long, LiveMatchState.Snapshot> snapshots = journal.readLatest();
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        logger.info("Recovering {} live matches from the score journal", snapshots.size());
+        boolean recovered = true;
+        for (LiveMatchState.Snapshot snapshot : snapshots.values()) {
+            try {
+                // Snapshots that were flushed before the journal was truncated merge without changes
+                persist(snapshot, true);
+            } catch (RuntimeException e) {
+                recovered = false;
+                logger.error("Failed to recover live match ID: {} from the score journal", snapshot.matchId(), e);
+            }
+        }
+        if (recovered) {
+            journal.truncateIf(this::allFlushed);
+        }
+    }
+
+    public LiveEngineStats getStats() {
+        long now = System.currentTimeMillis();
+        int dirtyMatches = 0;
+        long oldestUnflushed = now;
+        for (LiveMatchState state : states.values()) {
+            long since = state.firstUnflushedAt;
+            if (state.dirty && since > 0) {
+                dirtyMatches++;
+                oldestUnflushed = Math.min(oldestUnflushed, since);
+            }
+        }
+        return new LiveEngineStats(states.size(), dirtyMatches, now - oldestUnflushed);
+    }
+
+    /**
+     * Flush remaining live state on a graceful shutdown so the journal is not needed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        for (LiveMatchState state : states.values()) {
+            try {
+                flush(state, true);
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush live match ID: {} on shutdown, relying on the journal", state.matchId, e);
+            }
+        }
+    }
+
+    private boolean allFlushed() {
+        return states.values().stream().noneMatch(state -> state.dirty);
+    }
+
+    private void flush(LiveMatchState state, boolean evict) {
+        state.flushLock.lock();
+        try {
+            LiveMatchState.Snapshot snapshot = null;
+            state.lock.lock();
+            try {
+                if (evict) {
+                    state.evicted = true;
+                }
+                if (state.dirty) {
+                    snapshot = state.snapshot();
+                }
+            } finally {
+                state.lock.unlock();
+            }
+
+            boolean merged = false;
+            if (snapshot != null) {
+                try {
+                    if (!persist(snapshot, false)) {
+                        // Another writer, e.g. the database path of another instance, scored the match since
+                        // it was loaded or last flushed. Stop taking points and merge all accepted ones into
+                        // the stored score; the match then goes back to the database path.
+                        state.lock.lock();
+                        try {
+                            state.evicted = true;
+                            snapshot = state.snapshot();
+                        } finally {
+                            state.lock.unlock();
+                        }
+                        merged = true;
+                        persist(snapshot, true);
+                    }
+                } catch (RuntimeException e) {
+                    if (evict) {
+                        state.lock.lock();
+                        try {
+                            state.evicted = false;
+                        } finally {
+                            state.lock.unlock();
+                        }
+                        throw e;
+                    }
+                    logger.error("Failed to flush live match ID: {}, will retry", state.matchId, e);
+                    return;
+                }
+            }
+
+            state.lock.lock();
+            try {
+                if (snapshot != null) {
+                    state.flushedVersion = snapshot.version();
+                    if (merged || state.version == snapshot.version()) {
+                        state.markClean();
+                    }
+                }
+                if (!state.dirty && state.status == MatchStatus.COMPLETED) {
+                    state.evicted = true;
+                }
+                if (state.evicted) {
+                    states.remove(state.matchId, state);
+                }
+            } finally {
+                state.lock.unlock();
+            }
+        } finally {
+            state.flushLock.unlock();
+        }
+    }
+
+    /**
+     * Write a snapshot to its match, which must still be at the version the snapshot builds on.
+     * If another writer changed the match since, nothing is written unless {@code merge} is set,
+     * in which case the sets only the engine changed are merged into the stored score.
+     * @return false if another writer changed the match and nothing was merged.
+     */
+    private boolean persist(LiveMatchState.Snapshot snapshot, boolean merge) {
+        Boolean persisted = flushTransaction.execute(tx -> {
+            Match match = matchRepository.findByTournamentIdAndId(snapshot.tournamentId(), snapshot.matchId())
+                    .orElse(null);
+            if (match == null) {
+                logger.warn("Live match ID: {} no longer exists, dropping its unflushed score", snapshot.matchId());
+                return true;
+            }
+            long storedVersion = match.getVersion() != null ? match.getVersion() : 0;
+            long version = snapshot.version();
+            MatchStatus previousStatus = match.getStatus();
+            if (storedVersion == snapshot.baseVersion()) {
+                snapshot.applyTo(match);
+            } else if (!merge) {
+                return false;
+            } else {
+                // Past both the stored version and the ones the engine acknowledged
+                version = Math.max(storedVersion, snapshot.version()) + 1;
+                List<Integer> dropped = new ArrayList<>();
+                boolean changed = snapshot.mergeInto(match, version, dropped);
+                if (!dropped.isEmpty()) {
+                    logger.warn("Live match ID: {} had sets {} changed by another writer since version {}, keeping theirs",
+                        snapshot.matchId(), dropped, snapshot.baseVersion());
+                    scoreMetrics.liveScoreOverwritten();
+                }
+                if (!changed) {
+                    return true;
+                }
+                match.getScore().updateWinner(gameRules);
+                match.updateStatus(MatchScoring.resolveStatus(previousStatus, match.getScore(), gameRules));
+            }
+            if (MatchResultChangedEvent.affectsResult(previousStatus, match)) {
+                eventPublisher.publishEvent(new MatchResultChangedEvent(snapshot.tournamentId(), match, previousStatus));
+            }
+            matchRepository.saveAndFlush(match);
+            // Keep the persisted version in line with the versions handed out by the engine
+            matchRepository.updateVersion(snapshot.matchId(), version);
+            // Reads see live scores only once they are flushed
+            tournamentVersionRepository.increment(snapshot.tournamentId());
+            logger.debug("Flushed live match ID: {} at version {}", snapshot.matchId(), version);
+            return true;
+        });
+        return Boolean.TRUE.equals(persisted);
+    }
+}
@@ -0,0 +1,193 @@
+package com.tournament.service;
+
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.PlayerSide;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Authoritative in-memory score of one live match held by {@link LiveMatchEngine}.
+ * All fields except the flags are guarded by {@link #lock}; flushes of the same match
+ * are serialized by {@link #flushLock}.
+ */
+final class LiveMatchState {
+    final Long tournamentId;
+    final Long matchId;
+    final ReentrantLock lock = new ReentrantLock();
+    final ReentrantLock flushLock = new ReentrantLock();
+
+    MatchScore score;
+    MatchStatus status;
+    long version;
+    /**
+     * Database version of the match when the state was loaded or last flushed. A different stored
+     * version means another writer changed the match since.
+     */
+    long flushedVersion;
+    boolean evicted;
+
+    volatile boolean dirty;
+    volatile long firstUnflushedAt;
+
+    private LiveMatchState(Long tournamentId, Long matchId, MatchScore score, MatchStatus status, long version) {
+        this.tournamentId = tournamentId;
+        this.matchId = matchId;
+        this.score = score;
+        this.status = status;
+        this.version = version;
+        this.flushedVersion = version;
+    }
+
+    static LiveMatchState of(Long tournamentId, Match match) {
+        return new LiveMatchState(tournamentId, match.getId(), copy(match.getScore()), match.getStatus(),
+            match.getVersion() != null ? match.getVersion() : 0);
+    }
+
+    void markDirty(long now) {
+        if (!dirty) {
+            firstUnflushedAt = now;
+            dirty = true;
+        }
+    }
+
+    void markClean() {
+        dirty = false;
+        firstUnflushedAt = 0;
+    }
+
+    Snapshot snapshot() {
+        return Snapshot.of(tournamentId, matchId, version, flushedVersion, status, score);
+    }
+
+    static MatchScore copy(MatchScore source) {
+        MatchScore target = new MatchScore(source.getIntendedTotalSets());
+        for (MatchScore.SetScore set : source.getSets()) {
+            target.addSet(set.copy());
+        }
+        target.setWinner(source.getWinner());
+        return target;
+    }
+
+    /**
+     * Immutable copy of a live match, as written to the journal and to the database. The
+     * {@code baseVersion} is the {@link LiveMatchState#flushedVersion} it builds on.
+     */
+    record Snapshot(Long tournamentId, Long matchId, long version, long baseVersion, MatchStatus status,
+                    PlayerSide winner, int intendedTotalSets, int[] player1Scores, int[] player2Scores,
+                    long[] setVersions) {
+
+        static Snapshot of(Long tournamentId, Long matchId, long version, long baseVersion, MatchStatus status,
+                           MatchScore score) {
+            List<MatchScore.SetScore> sets = score.getSets();
+            int[] player1Scores = new int[sets.size()];
+            int[] player2Scores = new int[sets.size()];
+            long[] setVersions = new long[sets.size()];
+            for (int i = 0; i < sets.size(); i++) {
+                MatchScore.SetScore set = sets.get(i);
+                player1Scores[i] = set.getPlayer1Score();
+                player2Scores[i] = set.getPlayer2Score();
+                setVersions[i] = set.getLastModifiedVersion() != null ? set.getLastModifiedVersion() : 0;
+            }
+            return new Snapshot(tournamentId, matchId, version, baseVersion, status, score.getWinnerSide(),
+                score.getIntendedTotalSets(), player1Scores, player2Scores, setVersions);
+        }
+
+        /**
+         * Copy this snapshot into a managed match, reusing its existing set rows.
+         */
+        void applyTo(Match match) {
+            MatchScore score = match.getScore();
+            List<MatchScore.SetScore> sets = score.getSets();
+            while (sets.size() > player1Scores.length) {
+                sets.remove(sets.size() - 1);
+            }
+            while (sets.size() < player1Scores.length) {
+                score.addNewEmptySet();
+            }
+            for (int i = 0; i < player1Scores.length; i++) {
+                sets.get(i).setPlayer1Score(player1Scores[i]);
+                sets.get(i).setPlayer2Score(player2Scores[i]);
+                sets.get(i).setLastModifiedVersion(setVersions[i]);
+            }
+            score.setWinnerSide(winner);
+            match.updateStatus(status);
+        }
+
+        /**
+         * Merge this snapshot into a managed match that another writer changed after {@link #baseVersion}.
+         * Sets only the engine changed take the live score, sets the other writer changed keep theirs.
+         * @param newVersion Match version the merged sets are stored under.
+         * @param dropped Receives the indexes of sets both changed to different scores.
+         * @return Whether any set was changed.
+         */
+        boolean mergeInto(Match match, long newVersion, List<Integer> dropped) {
+            MatchScore score = match.getScore();
+            boolean changed = false;
+            for (int i = 0; i < player1Scores.length; i++) {
+                MatchScore.SetScore stored = score.getSet(i);
+                if (setVersions[i] <= baseVersion || (stored != null
+                        && stored.getPlayer1Score() == player1Scores[i] && stored.getPlayer2Score() == player2Scores[i])) {
+                    continue;
+                }
+                if (stored != null && stored.isModifiedSince(baseVersion)) {
+                    dropped.add(i);
+                    continue;
+                }
+                while (score.getSets().size() <= i) {
+                    score.addNewEmptySet();
+                }
+                MatchScore.SetScore set = score.getSet(i);
+                set.setPlayer1Score(player1Scores[i]);
+                set.setPlayer2Score(player2Scores[i]);
+                set.setLastModifiedVersion(newVersion);
+                changed = true;
+            }
+            return changed;
+        }
+
+        /**
+         * Format: matchId|tournamentId|version|baseVersion|status|winner|intendedTotalSets|p1:p2:v,p1:p2:v,...
+         * where v is the match version that last changed the set.
+         */
+        String toJournalLine() {
+            StringBuilder line = new StringBuilder(64)
+                .append(matchId).append('|')
+                .append(tournamentId).append('|')
+                .append(version).append('|')
+                .append(baseVersion).append('|')
+                .append(status).append('|')
+                .append(winner != null ? winner : "").append('|')
+                .append(intendedTotalSets).append('|');
+            for (int i = 0; i < player1Scores.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(player1Scores[i]).append(':').append(player2Scores[i]).append(':').append(setVersions[i]);
+            }
+            return line.toString();
+        }
+
+        static Snapshot fromJournalLine(String line) {
+            String[] fields = line.split("\\|", -1);
+            if (fields.length != 8) {
+                throw new IllegalArgumentException("Expected 8 fields but found " + fields.length);
+            }
+            String[] sets = fields[7].isEmpty() ? new String[0] : fields[7].split(",");
+            int[] player1Scores = new int[sets.length];
+            int[] player2Scores = new int[sets.length];
+            long[] setVersions = new long[sets.length];
+            for (int i = 0; i < sets.length; i++) {
+                String[] points = sets[i].split(":");
+                player1Scores[i] = Integer.parseInt(points[0]);
+                player2Scores[i] = Integer.parseInt(points[1]);
+                setVersions[i] = points.length > 2 ? Long.parseLong(points[2]) : 0;
+            }
+            return new Snapshot(Long.valueOf(fields[1]), Long.valueOf(fields[0]), Long.parseLong(fields[2]),
+                Long.parseLong(fields[3]), MatchStatus.valueOf(fields[4]), PlayerSide.fromString(fields[5]),
+                Integer.parseInt(fields[6]), player1Scores, player2Scores, setVersions);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.tournament.service;
+
+import com.tournament.dto.LiveScoreUpdate;
+import com.tournament.event.MatchScoreChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed score changes to Server-Sent Event subscribers.
+ *
+ * Score writes only record the latest state per match. A scheduled dispatcher drains
+ * those at a fixed window and hands them to each subscriber, which again keeps only the
+ * latest state per match until its delivery thread catches up. A slow consumer therefore
+ * skips intermediate scores instead of building up a backlog, and never blocks the
+ * request thread that committed the score.
+ */
+@Service
+public class LiveScoreService {
+    private static final Logger logger = LoggerFactory.getLogger(LiveScoreService.class);
+
+    private final long emitterTimeoutMs;
+    private final ExecutorService deliveryExecutor;
+
+    private final Map<Long, LiveScoreUpdate> pendingUpdates = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> tournamentSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> matchSubscribers = new ConcurrentHashMap<>();
+
+    public LiveScoreService(@Value("${tournament.live.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                            @Value("${tournament.live.delivery-threads:4}") int deliveryThreads) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        // Kept on platform threads in the virtual thread mode as well: SseEmitter.send writes to
+        // the socket inside a synchronized method, which would pin a virtual thread's carrier
+        // for as long as a slow subscriber blocks the write.
+        AtomicInteger threadCount = new AtomicInteger();
+        this.deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-score-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribeToTournament(Long tournamentId) {
+        return subscribe(tournamentSubscribers, tournamentId);
+    }
+
+    public SseEmitter subscribeToMatch(Long matchId) {
+        return subscribe(matchSubscribers, matchId);
+    }
+
+    /**
+     * Record the latest state of a match once the score change has committed.
+     * Runs on the writing thread, so it must stay cheap.
+     */
+    @TransactionalEventListener
+    public void onMatchScoreChanged(MatchScoreChangedEvent event) {
+        publish(LiveScoreUpdate.of(event.tournamentId(), event.match(), event.scoreUpdateStatus()));
+    }
+
+    /**
+     * Queue the latest state of a match for the next dispatch window.
+     */
+    public void publish(LiveScoreUpdate update) {
+        pendingUpdates.merge(update.getMatchId(), update, LiveScoreService::newer);
+    }
+
+    /**
+     * Hand the updates collected during the last window to the subscribers.
+     */
+    @Scheduled(fixedDelayString = "${tournament.live.coalesce-window-ms:250}")
+    public void dispatchPendingUpdates() {
+        for (Long matchId : pendingUpdates.keySet()) {
+            LiveScoreUpdate update = pendingUpdates.remove(matchId);
+            if (update == null) {
+                continue;
+            }
+            offer(tournamentSubscribers.get(update.getTournamentId()), update);
+            offer(matchSubscribers.get(matchId), update);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscriber>> registry, Long key) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        registry.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        Runnable unsubscribe = () -> registry.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        logger.debug("New live score subscriber for key {}", key);
+        return emitter;
+    }
+
+    private void offer(Set<Subscriber> subscribers, LiveScoreUpdate update) {
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(update);
+            }
+        }
+    }
+
+    private static LiveScoreUpdate newer(LiveScoreUpdate current, LiveScoreUpdate candidate) {
+        if (current.getVersion() != null && candidate.getVersion() != null
+                && current.getVersion() > candidate.getVersion()) {
+            return current;
+        }
+        return candidate;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Map<Long, LiveScoreUpdate> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(LiveScoreUpdate update) {
+            pending.merge(update.getMatchId(), update, LiveScoreService::newer);
+            if (draining.compareAndSet(false, true)) {
+                deliveryExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    for (Long matchId : pending.keySet()) {
+                        LiveScoreUpdate update = pending.remove(matchId);
+                        if (update != null) {
+                            emitter.send(SseEmitter.event().name("score").data(update));
+                        }
+                    }
+                    draining.set(false);
+                } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping live score subscriber: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.tournament.service;
+
+import com.tournament.config.MatchPartitioning;
+import com.tournament.dto.ScheduleRequest;
+import com.tournament.dto.ScheduleResponse;
+import com.tournament.dto.ScheduleVenue;
+import com.tournament.exception.ResourceNotFoundException;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.ScheduleMode;
+import com.tournament.repository.TournamentRepository;
+import com.tournament.repository.TournamentVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class MatchScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(MatchScheduleService.class);
+
+    public static final int DEFAULT_MINUTES_PER_SET = 10;
+    public static final int DEFAULT_REST_MINUTES = 10;
+    public static final int MAX_VENUES = 500;
+    private static final int MAX_MINUTES = 24 * 60;
+    /** Keeps minute arithmetic of the scheduler clear of overflow. */
+    private static final int MAX_PLAN_MINUTES = MatchScheduler.OPEN / 4;
+    private static final int WRITE_BATCH_SIZE = 1_000;
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentVersionRepository tournamentVersionRepository;
+    private final LiveMatchEngine liveMatchEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final MatchPartitioning matchPartitioning;
+
+    /**
+     * Assign the pending matches of a tournament to venues and start times, see
+     * {@link MatchScheduler#schedule}. A match is planned to last {@code minutesPerSet} for
+     * each of its intended sets. Matches in progress keep their venue and players until their
+     * planned end, or for at least one more set once they overran it. Only matches whose slot
+     * changed are written; the plan never starts before the current minute.
+     */
+    @Transactional
+    public ScheduleResponse schedule(Long tournamentId, ScheduleRequest request) {
+        long startTime = System.currentTimeMillis();
+        Assert.notNull(request, "ScheduleRequest must not be null");
+        Assert.notEmpty(request.getVenues(), "At least one venue is required");
+        Assert.isTrue(request.getVenues().size() <= MAX_VENUES, "At most " + MAX_VENUES + " venues are supported");
+        int minutesPerSet = request.getMinutesPerSet() != null ? request.getMinutesPerSet() : DEFAULT_MINUTES_PER_SET;
+        int rest = request.getRestMinutes() != null ? request.getRestMinutes() : DEFAULT_REST_MINUTES;
+        Assert.isTrue(minutesPerSet > 0 && minutesPerSet <= MAX_MINUTES,
+            "Minutes per set must be between 1 and " + MAX_MINUTES);
+        Assert.isTrue(rest >= 0 && rest <= MAX_MINUTES, "Rest minutes must be between 0 and " + MAX_MINUTES);
+        ScheduleMode mode = request.getMode() != null ? request.getMode() : ScheduleMode.PLAN;
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException("Tournament not found with id: " + tournamentId);
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime origin = request.getStart() != null && request.getStart().isAfter(now)
+            ? request.getStart().truncatedTo(ChronoUnit.MINUTES)
+            : now;
+
+        Map<String, Integer> venueIndexes = new HashMap<>();
+        List<MatchScheduler.Table> tables = new ArrayList<>();
+        for (ScheduleVenue venue : request.getVenues()) {
+            Assert.notNull(venue, "Venue must not be null");
+            Assert.hasText(venue.getName(), "Venue name must not be blank");
+            Assert.isNull(venueIndexes.put(venue.getName(), tables.size()), "Duplicate venue: " + venue.getName());
+            tables.add(new MatchScheduler.Table(
+                venue.getAvailableFrom() != null ? minutes(origin, venue.getAvailableFrom()) : 0,
+                venue.getAvailableUntil() != null ? minutes(origin, venue.getAvailableUntil()) : MatchScheduler.OPEN));
+        }
+
+        List<MatchRow> rows = jdbcTemplate.query(
+            "SELECT id, player1_id, player2_id, status, scheduled_time, venue, intended_total_sets FROM matches " +
+            "WHERE tournament_id = ? AND status IN ('PENDING', 'IN_PROGRESS') AND " +
+            matchPartitioning.idBlockCondition("id", tournamentId) + " ORDER BY round, id",
+            (rs, rowNum) -> {
+                Timestamp scheduled = rs.getTimestamp(5);
+                return new MatchRow(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                    MatchStatus.valueOf(rs.getString(4)), scheduled != null ? scheduled.toLocalDateTime() : null,
+                    rs.getString(6), Math.max(1, rs.getInt(7)));
+            },
+            tournamentId);
+
+        Map<Long, Integer> playerIndexes = new HashMap<>();
+        List<MatchRow> pending = new ArrayList<>(rows.size());
+        List<MatchScheduler.Job> jobs = new ArrayList<>(rows.size());
+        List<MatchScheduler.Busy> busy = new ArrayList<>();
+        for (MatchRow row : rows) {
+            int player1 = playerIndexes.computeIfAbsent(row.player1Id(), id -> playerIndexes.size());
+            int player2 = playerIndexes.computeIfAbsent(row.player2Id(), id -> playerIndexes.size());
+            int duration = minutesPerSet * row.sets();
+            Integer table = row.venue() != null ? venueIndexes.get(row.venue()) : null;
+            // The live engine holds matches whose first points are not persisted yet
+            if (row.status() == MatchStatus.IN_PROGRESS || liveMatchEngine.isLive(row.id())) {
+                LocalDateTime plannedEnd = row.scheduledTime() != null ? row.scheduledTime().plusMinutes(duration) : now;
+                LocalDateTime end = plannedEnd.isAfter(now) ? plannedEnd : now.plusMinutes(minutesPerSet);
+                busy.add(new MatchScheduler.Busy(table != null ? table : MatchScheduler.UNSCHEDULED,
+                    player1, player2, minutes(origin, end)));
+            } else {
+                boolean keep = mode == ScheduleMode.REPAIR && table != null && row.scheduledTime() != null;
+                jobs.add(new MatchScheduler.Job(player1, player2, duration,
+                    keep ? table : MatchScheduler.UNSCHEDULED,
+                    keep ? minutes(origin, row.scheduledTime()) : MatchScheduler.UNSCHEDULED));
+                pending.add(row);
+            }
+        }
+
+        MatchScheduler.Plan plan = MatchScheduler.schedule(jobs, tables, busy, playerIndexes.size(), rest);
+
+        List<Long> unscheduled = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>(WRITE_BATCH_SIZE);
+        int moved = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            MatchRow row = pending.get(i);
+            int table = plan.table()[i];
+            LocalDateTime scheduledTime = table != MatchScheduler.UNSCHEDULED ? origin.plusMinutes(plan.start()[i]) : null;
+            String venue = table != MatchScheduler.UNSCHEDULED ? request.getVenues().get(table).getName() : null;
+            if (table == MatchScheduler.UNSCHEDULED) {
+                unscheduled.add(row.id());
+            }
+            if (!Objects.equals(scheduledTime, row.scheduledTime()) || !Objects.equals(venue, row.venue())) {
+                updates.add(new Object[]{scheduledTime != null ? Timestamp.valueOf(scheduledTime) : null, venue, row.id()});
+                moved++;
+                if (updates.size() >= WRITE_BATCH_SIZE) {
+                    updateSlots(updates);
+                }
+            }
+        }
+        updateSlots(updates);
+        if (moved > 0) {
+            tournamentVersionRepository.increment(tournamentId);
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        logger.info("Scheduled {} of {} pending matches of tournament ID: {} on {} venues ({}), moved {}, in {} ms",
+            plan.scheduled(), pending.size(), tournamentId, tables.size(), mode, moved, elapsed);
+        return ScheduleResponse.builder()
+                .tournamentId(tournamentId)
+                .mode(mode)
+                .matchesScheduled(plan.scheduled())
+                .matchesMoved(moved)
+                .unscheduledMatchIds(unscheduled)
+                .planStart(origin)
+                .planEnd(plan.scheduled() > 0 ? origin.plusMinutes(plan.end()) : null)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    private void updateSlots(List<Object[]> updates) {
+        if (!updates.isEmpty()) {
+            // A match that started meanwhile keeps its slot; the version guards against stale entity writes
+            jdbcTemplate.batchUpdate("UPDATE matches SET scheduled_time = ?, venue = ?, version = version + 1 " +
+                "WHERE id = ? AND status = 'PENDING'", updates, new int[]{Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT});
+            updates.clear();
+        }
+    }
+
+    /**
+     * Whole minutes from the start of the plan, times before it count as its start.
+     */
+    private static int minutes(LocalDateTime origin, LocalDateTime time) {
+        return (int) Math.clamp(ChronoUnit.MINUTES.between(origin, time), 0, MAX_PLAN_MINUTES);
+    }
+
+    private record MatchRow(long id, long player1Id, long player2Id, MatchStatus status,
+                            LocalDateTime scheduledTime, String venue, int sets) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.tournament.service;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns matches to tables and start times. Times are whole minutes from the start of
+ * the plan, players and tables are dense indexes.
+ */
+final class MatchScheduler {
+
+    /** Marks a match without a table, and a busy match that holds no table of the plan. */
+    static final int UNSCHEDULED = -1;
+
+    /** Availability of a table that is open until the end of the plan. */
+    static final int OPEN = Integer.MAX_VALUE;
+
+    /**
+     * Smallest number of matches considered for the next free slot. Looking a little
+     * ahead of round order lets a match whose players are free fill a table that would
+     * otherwise wait for the players of the first match in line.
+     */
+    static final int MIN_WINDOW = 16;
+
+    private MatchScheduler() {
+    }
+
+    record Table(int from, int until) {
+    }
+
+    /**
+     * A match to schedule. {@code table} and {@code start} hold the slot of a previous plan
+     * to keep, or {@link #UNSCHEDULED} to let the scheduler choose one.
+     */
+    record Job(int player1, int player2, int duration, int table, int start) {
+    }
+
+    /**
+     * A match that is not rescheduled, e.g. one in progress, which keeps its table and its
+     * players until {@code end}.
+     */
+    record Busy(int table, int player1, int player2, int end) {
+    }
+
+    /**
+     * Table and start of every job, or {@link #UNSCHEDULED} for jobs that fit no table.
+     * {@code end} is the minute the last scheduled match ends.
+     */
+    record Plan(int[] table, int[] start, int scheduled, int end) {
+    }
+
+    /**
+     * Schedule jobs given in round order. Jobs that keep a previous slot are shifted later
+     * where their table or a player is no longer free in time, in the order of their previous
+     * starts, so an overrunning match only moves the matches queued behind it. The other jobs
+     * are then placed greedily: of the next jobs in round order, the one that can start
+     * earliest on any table goes first, on the table whose idle gap it leaves smallest.
+     * A player never starts a match before their earlier matches ended plus the rest time,
+     * and plays their matches in the order given. A job that fits no table before its
+     * availability ends is left unscheduled, together with the later jobs of its players.
+     */
+    static Plan schedule(List<Job> jobs, List<Table> tables, List<Busy> busy, int playerCount, int rest) {
+        Assert.isTrue(!tables.isEmpty(), "At least one table is required");
+        int size = jobs.size();
+        int[] tableFree = tables.stream().mapToInt(Table::from).toArray();
+        int[] ready = new int[playerCount];
+        for (Busy match : busy) {
+            if (match.table() != UNSCHEDULED) {
+                tableFree[match.table()] = Math.max(tableFree[match.table()], match.end());
+            }
+            ready[match.player1()] = Math.max(ready[match.player1()], match.end() + rest);
+            ready[match.player2()] = Math.max(ready[match.player2()], match.end() + rest);
+        }
+
+        State state = new State(jobs, playerCount, tableFree, ready, rest);
+
+        int[] kept = IntStream.range(0, size)
+            .filter(i -> jobs.get(i).table() != UNSCHEDULED)
+            .boxed()
+            .sorted((a, b) -> jobs.get(a).start() != jobs.get(b).start()
+                ? Integer.compare(jobs.get(a).start(), jobs.get(b).start())
+                : Integer.compare(a, b))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        for (int i : kept) {
+            Job job = jobs.get(i);
+            int start = Math.max(Math.max(job.start(), tableFree[job.table()]),
+                Math.max(ready[job.player1()], ready[job.player2()]));
+            // A slot pushed past the end of its table is found again below
+            if (fits(tables.get(job.table()), start, job.duration())) {
+                state.place(i, job.table(), start);
+            }
+        }
+
+        int window = Math.max(MIN_WINDOW, 2 * tables.size());
+        int[] candidates = new int[window];
+        int count = 0;
+        int cursor = 0;
+        while (true) {
+            while (count < window && cursor < size) {
+                if (!state.done[cursor]) {
+                    candidates[count++] = cursor;
+                }
+                cursor++;
+            }
+            if (count == 0) {
+                break;
+            }
+
+            int best = -1;
+            int bestStart = 0;
+            int bestTable = 0;
+            for (int c = 0; c < count; c++) {
+                int i = candidates[c];
+                Job job = jobs.get(i);
+                if (!state.isNext(i, job.player1()) || !state.isNext(i, job.player2())) {
+                    continue;
+                }
+                int table = state.blocked[job.player1()] || state.blocked[job.player2()]
+                    ? UNSCHEDULED
+                    : earliestTable(tables, tableFree, Math.max(ready[job.player1()], ready[job.player2()]),
+                        job.duration());
+                if (table == UNSCHEDULED) {
+                    state.drop(i);
+                    System.arraycopy(candidates, c + 1, candidates, c, count - c - 1);
+                    count--;
+                    c--;
+                    continue;
+                }
+                int start = Math.max(tableFree[table], Math.max(ready[job.player1()], ready[job.player2()]));
+                if (best == -1 || start < bestStart) {
+                    best = c;
+                    bestStart = start;
+                    bestTable = table;
+                }
+            }
+            if (best != -1) {
+                state.place(candidates[best], bestTable, bestStart);
+                System.arraycopy(candidates, best + 1, candidates, best, count - best - 1);
+                count--;
+            }
+        }
+        return new Plan(state.table, state.start, state.scheduled, state.end);
+    }
+
+    /**
+     * The table on which a match of the given duration can start earliest, at or after
+     * {@code ready}. Of the tables that allow the same start, the one that became free
+     * last is chosen so that tables free earlier stay open for other matches.
+     */
+    private static int earliestTable(List<Table> tables, int[] tableFree, int ready, int duration) {
+        int best = UNSCHEDULED;
+        int bestStart = 0;
+        for (int t = 0; t < tableFree.length; t++) {
+            int start = Math.max(tableFree[t], ready);
+            if (!fits(tables.get(t), start, duration)) {
+                continue;
+            }
+            if (best == UNSCHEDULED || start < bestStart || (start == bestStart && tableFree[t] > tableFree[best])) {
+                best = t;
+                bestStart = start;
+            }
+        }
+        return best;
+    }
+
+    private static boolean fits(Table table, int start, int duration) {
+        return (long) start + duration <= table.until();
+    }
+
+    /**
+     * Mutable progress of one scheduling run.
+     */
+    private static final class State {
+        final List<Job> jobs;
+        final int[] tableFree;
+        final int[] ready;
+        final int rest;
+        final int[] table;
+        final int[] start;
+        final boolean[] done;
+        final boolean[] blocked;
+        /** Jobs of each player in order, as offsets into {@link #playerJobs}. */
+        final int[] playerOffsets;
+        final int[] playerJobs;
+        final int[] next;
+        int scheduled;
+        int end;
+
+        State(List<Job> jobs, int playerCount, int[] tableFree, int[] ready, int rest) {
+            this.jobs = jobs;
+            this.tableFree = tableFree;
+            this.ready = ready;
+            this.rest = rest;
+            int size = jobs.size();
+            table = new int[size];
+            Arrays.fill(table, UNSCHEDULED);
+            start = new int[size];
+            done = new boolean[size];
+            blocked = new boolean[playerCount];
+
+            playerOffsets = new int[playerCount + 1];
+            for (Job job : jobs) {
+                playerOffsets[job.player1() + 1]++;
+                playerOffsets[job.player2() + 1]++;
+            }
+            for (int p = 0; p < playerCount; p++) {
+                playerOffsets[p + 1] += playerOffsets[p];
+            }
+            playerJobs = new int[2 * size];
+            next = Arrays.copyOf(playerOffsets, playerCount);
+            int[] fill = Arrays.copyOf(playerOffsets, playerCount);
+            for (int i = 0; i < size; i++) {
+                playerJobs[fill[jobs.get(i).player1()]++] = i;
+                playerJobs[fill[jobs.get(i).player2()]++] = i;
+            }
+        }
+
+        /**
+         * Whether the job is the first job of the player that is neither placed nor dropped.
+         */
+        boolean isNext(int job, int player) {
+            while (next[player] < playerOffsets[player + 1] && done[playerJobs[next[player]]]) {
+                next[player]++;
+            }
+            return next[player] < playerOffsets[player + 1] && playerJobs[next[player]] == job;
+        }
+
+        void place(int i, int tableIndex, int startTime) {
+            Job job = jobs.get(i);
+            int finish = startTime + job.duration();
+            table[i] = tableIndex;
+            start[i] = startTime;
+            done[i] = true;
+            tableFree[tableIndex] = finish;
+            ready[job.player1()] = Math.max(ready[job.player1()], finish + rest);
+            ready[job.player2()] = Math.max(ready[job.player2()], finish + rest);
+            scheduled++;
+            end = Math.max(end, finish);
+        }
+
+        void drop(int i) {
+            done[i] = true;
+            blocked[jobs.get(i).player1()] = true;
+            blocked[jobs.get(i).player2()] = true;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tournament.service;
+
+import com.tournament.config.GameRules;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreConflictResponse;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.exception.ScoreVersionConflictException;
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.ScoreUpdateStatus;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scoring rules shared by the persistent score path in {@link TournamentService}
+ * and the in-memory path in {@link LiveMatchEngine}.
+ */
+final class MatchScoring {
+
+    private MatchScoring() {
+    }
+
+    static void validate(ScoreDeltaRequest delta) {
+        Assert.notNull(delta, "ScoreDeltaRequest must not be null");
+        Assert.notNull(delta.getSetIndex(), "Set index must not be null");
+        Assert.isTrue(delta.getSetIndex() >= 0, "Set index must not be negative");
+        boolean isPoint = delta.getPointTo() != null;
+        boolean isAssignment = delta.getPlayer1Score() != null || delta.getPlayer2Score() != null;
+        Assert.isTrue(isPoint != isAssignment, "Either pointTo or both set scores must be provided");
+        if (isAssignment) {
+            Assert.isTrue(delta.getPlayer1Score() != null && delta.getPlayer2Score() != null,
+                "Both player1Score and player2Score must be provided");
+            Assert.isTrue(delta.getPlayer1Score() >= 0 && delta.getPlayer2Score() >= 0,
+                "Set scores must not be negative");
+        }
+    }
+
+    /**
+     * Apply a validated delta to the addressed set, starting a new set if needed,
+     * and recalculate the match winner.
+     * @param newVersion Match version the change will be stored under.
+     * @return The set that was changed.
+     */
+    static MatchScore.SetScore apply(MatchScore score, ScoreDeltaRequest delta, GameRules gameRules, long newVersion) {
+        int setIndex = delta.getSetIndex();
+        int playedSets = score.getSets().size();
+        Assert.isTrue(setIndex <= playedSets,
+            "Set index " + setIndex + " is out of range, only " + playedSets + " sets played");
+        if (setIndex == playedSets) {
+            score.addNewEmptySet();
+        }
+
+        MatchScore.SetScore set = score.getSet(setIndex);
+        if (delta.getPointTo() != null) {
+            Assert.isNull(set.getWinner(gameRules), "Set " + setIndex + " is already completed");
+            if (delta.getPointTo() == PlayerSide.PLAYER1) {
+                set.setPlayer1Score(set.getPlayer1Score() + 1);
+            } else {
+                set.setPlayer2Score(set.getPlayer2Score() + 1);
+            }
+        } else {
+            set.setPlayer1Score(delta.getPlayer1Score());
+            set.setPlayer2Score(delta.getPlayer2Score());
+        }
+        set.setLastModifiedVersion(newVersion);
+
+        score.updateWinner(gameRules);
+        return set;
+    }
+
+    /**
+     * Reject a delta based on a stale version if the addressed set was changed since.
+     * Deltas to sets nobody else touched are merged onto the current state.
+     */
+    static void checkConflict(Long matchId, long currentVersion, MatchStatus status, MatchScore score,
+                              ScoreDeltaRequest delta) {
+        Long expectedVersion = delta.getExpectedVersion();
+        if (expectedVersion == null || expectedVersion == currentVersion) {
+            return;
+        }
+        MatchScore.SetScore set = score.getSet(delta.getSetIndex());
+        if (set != null && set.isModifiedSince(expectedVersion)) {
+            throw conflict(matchId, currentVersion, expectedVersion, status, score, List.of(delta.getSetIndex()));
+        }
+    }
+
+    /**
+     * Merge a full list of sets into the current score. With an expected version, sets that
+     * were changed since by someone else are only accepted if the incoming value matches.
+     * Nothing is changed if any set conflicts.
+     */
+    static void mergeSets(Long matchId, long currentVersion, MatchStatus status, MatchScore score,
+                          List<MatchScore.SetScore> incomingSets, Long expectedVersion, long newVersion) {
+        List<Integer> conflictingSets = new ArrayList<>();
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            for (int i = 0; i < incomingSets.size(); i++) {
+                MatchScore.SetScore current = score.getSet(i);
+                MatchScore.SetScore incoming = incomingSets.get(i);
+                if (current != null && incoming != null && current.isModifiedSince(expectedVersion)
+                        && !sameScore(current, incoming)) {
+                    conflictingSets.add(i);
+                }
+            }
+        }
+        if (!conflictingSets.isEmpty()) {
+            throw conflict(matchId, currentVersion, expectedVersion, status, score, conflictingSets);
+        }
+
+        while (score.getSets().size() < incomingSets.size()) {
+            score.addNewEmptySet();
+        }
+        for (int i = 0; i < incomingSets.size(); i++) {
+            MatchScore.SetScore incoming = incomingSets.get(i);
+            MatchScore.SetScore current = score.getSet(i);
+            if (incoming != null && !sameScore(current, incoming)) {
+                current.setPlayer1Score(incoming.getPlayer1Score());
+                current.setPlayer2Score(incoming.getPlayer2Score());
+                current.setLastModifiedVersion(newVersion);
+            }
+        }
+    }
+
+    static ScoreVersionConflictException conflict(Long matchId, long currentVersion, Long expectedVersion,
+                                                  MatchStatus status, MatchScore score, List<Integer> conflictingSets) {
+        List<MatchScore.SetScore> sets = new ArrayList<>(score.getSets().size());
+        for (MatchScore.SetScore set : score.getSets()) {
+            sets.add(set.copy());
+        }
+        return new ScoreVersionConflictException(ScoreConflictResponse.builder()
+                .message("Match " + matchId + " is at version " + currentVersion + ", expected " + expectedVersion
+                    + "; sets " + conflictingSets + " were changed in the meantime")
+                .matchId(matchId)
+                .currentVersion(currentVersion)
+                .conflictingSetIndexes(conflictingSets)
+                .matchStatus(status)
+                .winner(score.getWinnerSide())
+                .sets(sets)
+                .build());
+    }
+
+    private static boolean sameScore(MatchScore.SetScore a, MatchScore.SetScore b) {
+        return a.getPlayer1Score() == b.getPlayer1Score() && a.getPlayer2Score() == b.getPlayer2Score();
+    }
+
+    /**
+     * Determine the match status after a score change. A match is completed once it has
+     * a winner or all intended sets have been decided, and in progress once any set exists.
+     */
+    static MatchStatus resolveStatus(MatchStatus current, MatchScore score, GameRules gameRules) {
+        if (score.getWinnerSide() != null) {
+            return MatchStatus.COMPLETED;
+        }
+
+        int intendedSets = score.getIntendedTotalSets();
+        int decidedSets = score.getPlayer1SetsWon(gameRules) + score.getPlayer2SetsWon(gameRules);
+        if (intendedSets > 0 && decidedSets >= intendedSets) {
+            return MatchStatus.COMPLETED;
+        }
+
+        if (current == MatchStatus.PENDING && !score.getSets().isEmpty()) {
+            return MatchStatus.IN_PROGRESS;
+        }
+        return current;
+    }
+
+    static ScoreUpdateStatus resolveUpdateStatus(MatchStatus status, MatchScore.SetScore changedSet, GameRules gameRules) {
+        if (status == MatchStatus.COMPLETED) {
+            return ScoreUpdateStatus.MATCH_COMPLETED;
+        }
+        return changedSet.getWinner(gameRules) != null
+            ? ScoreUpdateStatus.SET_COMPLETED_MATCH_IN_PROGRESS
+            : ScoreUpdateStatus.SET_IN_PROGRESS;
+    }
+
+    static ScoreDeltaResponse toResponse(Long matchId, Long version, int setIndex, MatchScore.SetScore set,
+                                         MatchScore score, MatchStatus status, ScoreUpdateStatus updateStatus,
+                                         GameRules gameRules) {
+        return ScoreDeltaResponse.builder()
+                .matchId(matchId)
+                .version(version)
+                .setIndex(setIndex)
+                .player1Score(set.getPlayer1Score())
+                .player2Score(set.getPlayer2Score())
+                .player1SetsWon(score.getPlayer1SetsWon(gameRules))
+                .player2SetsWon(score.getPlayer2SetsWon(gameRules))
+                .matchStatus(status)
+                .winner(score.getWinnerSide())
+                .scoreUpdateStatus(updateStatus)
+                .build();
+    }
+}
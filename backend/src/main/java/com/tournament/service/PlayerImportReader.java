@@ -0,0 +1,272 @@
+package com.tournament.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.model.PlayerImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an import upload one row at a time, so only the current record is held in memory.
+ * Rows that cannot be parsed are returned with an {@link Row#error() error} instead of failing
+ * the whole upload; only a CSV header without the required columns is rejected up front.
+ */
+final class PlayerImportReader implements AutoCloseable {
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final PlayerImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final char[] buffer = new char[8 * 1024];
+    private int position;
+    private int end;
+    /** Whether the last line ended with a carriage return, which a line feed may follow. */
+    private boolean skipLineFeed;
+    private final StringBuilder lineBuffer = new StringBuilder();
+    private long lineNumber;
+
+    private int nameColumn = -1;
+    private int emailColumn = -1;
+    private int rankColumn = -1;
+    private int activeColumn = -1;
+
+    /**
+     * One row of the upload with its fields as text, null where a field is absent.
+     * @param line Line of the upload the row starts on.
+     */
+    record Row(long line, String name, String email, String rank, String active, String error) {
+
+        static Row invalid(long line, String error) {
+            return new Row(line, null, null, null, null, error);
+        }
+    }
+
+    PlayerImportReader(InputStream input, PlayerImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == PlayerImportFormat.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * @return The next row, or null at the end of the upload. Blank lines are skipped.
+     */
+    Row next() throws IOException {
+        return format == PlayerImportFormat.CSV ? nextCsv() : nextNdjson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header;
+        do {
+            header = readCsvRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV upload is empty, expected a header row");
+            }
+        } while (isBlank(header));
+
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).strip().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = i;
+                case "email" -> emailColumn = i;
+                case "rank" -> rankColumn = i;
+                case "active" -> activeColumn = i;
+                default -> {
+                    // Unknown columns of federation exports are ignored
+                }
+            }
+        }
+        if (nameColumn < 0 || emailColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain name and email columns, found " + header);
+        }
+    }
+
+    private Row nextCsv() throws IOException {
+        while (true) {
+            long line = lineNumber + 1;
+            List<String> fields;
+            try {
+                fields = readCsvRecord();
+            } catch (MalformedRecordException e) {
+                return Row.invalid(line, e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (!isBlank(fields)) {
+                return new Row(line, field(fields, nameColumn), field(fields, emailColumn),
+                    field(fields, rankColumn), field(fields, activeColumn), null);
+            }
+        }
+    }
+
+    private Row nextNdjson() throws IOException {
+        while (true) {
+            String text;
+            try {
+                text = readLine(MAX_RECORD_LENGTH);
+            } catch (MalformedRecordException e) {
+                return Row.invalid(lineNumber, e.getMessage());
+            }
+            if (text == null) {
+                return null;
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return Row.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return Row.invalid(lineNumber, "Expected a JSON object");
+            }
+            return new Row(lineNumber, text(node, "name"), text(node, "email"), text(node, "rank"),
+                text(node, "active"), null);
+        }
+    }
+
+    /**
+     * Read one CSV record. Quoted fields may contain commas, doubled quotes and line breaks.
+     * @return The fields of the record, or null at the end of the upload.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String line = readLine(MAX_RECORD_LENGTH);
+        if (line == null) {
+            return null;
+        }
+        long startLine = lineNumber;
+        int length = line.length();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line = readLine(MAX_RECORD_LENGTH - length);
+                if (line == null) {
+                    throw new MalformedRecordException("Unterminated quoted field starting on line " + startLine);
+                }
+                length += line.length();
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else {
+                field.append(c);
+                fieldStart = false;
+            }
+        }
+    }
+
+    /**
+     * Read one physical line, ended by a line feed, a carriage return or both. Characters past
+     * the limit are skipped up to the end of the line rather than buffered, and the line is
+     * rejected, so the next read carries on with the following line.
+     * @return The line without its terminator, or null at the end of the upload.
+     */
+    private String readLine(int limit) throws IOException {
+        if (skipLineFeed && fill() && buffer[position] == '\n'
+                || lineNumber == 0 && fill() && buffer[position] == BYTE_ORDER_MARK) {
+            position++;
+        }
+        skipLineFeed = false;
+        if (!fill()) {
+            return null;
+        }
+        lineNumber++;
+        lineBuffer.setLength(0);
+        boolean overlong = false;
+        while (fill()) {
+            int start = position;
+            while (position < end && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            int kept = Math.min(position - start, limit - lineBuffer.length());
+            overlong |= kept < position - start;
+            lineBuffer.append(buffer, start, kept);
+            if (position < end) {
+                skipLineFeed = buffer[position++] == '\r';
+                break;
+            }
+        }
+        if (overlong) {
+            throw new MalformedRecordException("Record exceeds " + MAX_RECORD_LENGTH + " characters");
+        }
+        return lineBuffer.toString();
+    }
+
+    /**
+     * @return Whether a character is available at {@code position}, false at the end of the upload.
+     */
+    private boolean fill() throws IOException {
+        while (position == end) {
+            int read = reader.read(buffer);
+            if (read < 0) {
+                return false;
+            }
+            position = 0;
+            end = read;
+        }
+        return true;
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.get(0).isBlank();
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static final class MalformedRecordException extends IOException {
+        MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+}
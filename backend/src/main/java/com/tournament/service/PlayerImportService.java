@@ -0,0 +1,241 @@
+package com.tournament.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.dto.PlayerImportResult;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerImportFormat;
+import com.tournament.model.PlayerImportMode;
+import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.TournamentVersionRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of players from CSV or NDJSON uploads.
+ *
+ * The upload is read row by row and written in chunks, each in its own transaction, so memory
+ * use depends on the chunk size and not on the size of the upload. New players are inserted in
+ * JDBC batches. Rows are applied in upload order: a row whose email is already taken, by an
+ * existing player or an earlier row, is skipped or updates that player depending on the
+ * {@link PlayerImportMode}. Invalid rows are reported by line and do not stop the import.
+ */
+@Service
+public class PlayerImportService {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerImportService.class);
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final PlayerRepository playerRepository;
+    private final TournamentVersionRepository tournamentVersionRepository;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PlayerImportService(PlayerRepository playerRepository,
+                               TournamentVersionRepository tournamentVersionRepository,
+                               PlayerSearchIndex playerSearchIndex,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${tournament.import.chunk-size:500}") int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "Import chunk size must be positive");
+        this.playerRepository = playerRepository;
+        this.tournamentVersionRepository = tournamentVersionRepository;
+        this.playerSearchIndex = playerSearchIndex;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public PlayerImportResult importPlayers(InputStream input, PlayerImportFormat format, PlayerImportMode mode)
+            throws IOException {
+        Assert.notNull(format, "Import format must not be null");
+        Assert.notNull(mode, "Import mode must not be null");
+
+        long start = System.nanoTime();
+        PlayerImportResult result = new PlayerImportResult();
+        List<ValidRow> chunk = new ArrayList<>(chunkSize);
+        try (PlayerImportReader reader = new PlayerImportReader(input, format, objectMapper)) {
+            PlayerImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                ValidRow valid = validate(row, result);
+                if (valid == null) {
+                    continue;
+                }
+                chunk.add(valid);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, mode, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, mode, result);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos > 0 ? result.getRowsRead() * 1e9 / elapsedNanos : 0);
+        logger.info("Imported {} player rows in {} ms ({} rows/s): {} created, {} updated, {} skipped, {} failed",
+            result.getRowsRead(), result.getElapsedMillis(), Math.round(result.getRowsPerSecond()),
+            result.getCreated(), result.getUpdated(), result.getSkipped(), result.getFailed());
+        return result;
+    }
+
+    private void writeChunk(List<ValidRow> chunk, PlayerImportMode mode, PlayerImportResult result) {
+        ChunkCounts counts;
+        try {
+            counts = transactionTemplate.execute(tx -> applyChunk(chunk, mode));
+        } catch (DataAccessException e) {
+            // E.g. a player with one of the emails was created concurrently
+            logger.warn("Failed to import {} player rows from line {}", chunk.size(), chunk.get(0).line(), e);
+            String message = "Chunk could not be written: " + e.getMostSpecificCause().getMessage();
+            for (ValidRow row : chunk) {
+                result.addError(row.line(), message);
+            }
+            return;
+        }
+        result.setCreated(result.getCreated() + counts.created);
+        result.setUpdated(result.getUpdated() + counts.updated);
+        result.setSkipped(result.getSkipped() + counts.skipped);
+    }
+
+    private ChunkCounts applyChunk(List<ValidRow> chunk, PlayerImportMode mode) {
+        List<String> emails = new ArrayList<>(chunk.size());
+        for (ValidRow row : chunk) {
+            emails.add(row.email());
+        }
+        Map<String, Player> playersByEmail = new HashMap<>();
+        for (Player player : playerRepository.findByEmailIn(emails)) {
+            playersByEmail.put(player.getEmail(), player);
+        }
+
+        ChunkCounts counts = new ChunkCounts();
+        List<Player> written = new ArrayList<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (ValidRow row : chunk) {
+            Player player = playersByEmail.get(row.email());
+            if (player == null) {
+                player = new Player();
+                player.setEmail(row.email());
+                row.applyTo(player);
+                entityManager.persist(player);
+                playersByEmail.put(row.email(), player);
+                written.add(player);
+                counts.created++;
+            } else if (mode == PlayerImportMode.UPSERT) {
+                row.applyTo(player);
+                written.add(player);
+                updatedIds.add(player.getId());
+                counts.updated++;
+            } else {
+                counts.skipped++;
+            }
+        }
+        entityManager.flush();
+        playerSearchIndex.update(written);
+        if (!updatedIds.isEmpty()) {
+            tournamentVersionRepository.incrementForPlayers(updatedIds);
+        }
+        return counts;
+    }
+
+    /**
+     * @return The row with its fields converted, or null if it was rejected.
+     */
+    private static ValidRow validate(PlayerImportReader.Row row, PlayerImportResult result) {
+        if (row.error() != null) {
+            result.addError(row.line(), row.error());
+            return null;
+        }
+        String name = trimToNull(row.name());
+        String email = trimToNull(row.email());
+        if (name == null) {
+            result.addError(row.line(), "Name must not be empty");
+            return null;
+        }
+        if (email == null || email.indexOf('@') < 1) {
+            result.addError(row.line(), "Email is missing or invalid: " + row.email());
+            return null;
+        }
+        if (name.length() > MAX_TEXT_LENGTH || email.length() > MAX_TEXT_LENGTH) {
+            result.addError(row.line(), "Name and email must not exceed " + MAX_TEXT_LENGTH + " characters");
+            return null;
+        }
+
+        Integer rank = null;
+        String rankText = trimToNull(row.rank());
+        if (rankText != null) {
+            try {
+                rank = Integer.valueOf(rankText);
+            } catch (NumberFormatException e) {
+                result.addError(row.line(), "Rank is not a number: " + rankText);
+                return null;
+            }
+        }
+
+        Boolean active = null;
+        String activeText = trimToNull(row.active());
+        if (activeText != null) {
+            switch (activeText.toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "1" -> active = true;
+                case "false", "no", "0" -> active = false;
+                default -> {
+                    result.addError(row.line(), "Active must be true or false: " + activeText);
+                    return null;
+                }
+            }
+        }
+        return new ValidRow(row.line(), name, email, rank, active);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * A converted row. Rank and active are null if the row leaves them out, in which case
+     * an updated player keeps its current values.
+     */
+    private record ValidRow(long line, String name, String email, Integer rank, Boolean active) {
+
+        void applyTo(Player player) {
+            player.setName(name);
+            if (rank != null) {
+                player.setRank(rank);
+            }
+            if (active != null) {
+                player.setActive(active);
+            }
+        }
+    }
+
+    private static final class ChunkCounts {
+        int created;
+        int updated;
+        int skipped;
+    }
+}
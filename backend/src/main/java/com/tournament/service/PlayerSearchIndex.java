@@ -0,0 +1,363 @@
+package com.tournament.service;
+
+import com.tournament.model.Player;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of the names, emails, ranks and states of all players, answering
+ * {@link PlayerService#searchPlayers} without a query per search. Text of three or more
+ * characters is looked up by its rarest trigram, shorter text scans the players in id order
+ * until the page is full.
+ * <p>
+ * The players are held in an immutable snapshot sorted by id. Players written since are kept
+ * in an overlay, which is folded into a new snapshot once it grows. Services writing players
+ * record them with {@link #update} and {@link #remove}; if their transaction rolls back, the
+ * players are read back from the database. Writes of other instances are picked up by
+ * reading all players again every {@code tournament.player-search.reload-interval-ms}.
+ */
+@Service
+public class PlayerSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(PlayerSearchIndex.class);
+
+    /** Players in the overlay at which it is folded into the snapshot. */
+    private static final int MAX_OVERLAY_SIZE = 1_000;
+
+    private static final String SELECT_PLAYERS = "SELECT id, name, email, rank, active FROM players";
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(rs.getLong(1),
+        rs.getString(2).toLowerCase(Locale.ROOT), rs.getString(3).toLowerCase(Locale.ROOT),
+        rs.getObject(4, Integer.class), rs.getBoolean(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Object writeLock = new Object();
+    /** First write of each transaction not yet completed. */
+    private final ConcurrentSkipListSet<Long> openWrites = new ConcurrentSkipListSet<>();
+    private long writes;
+    private volatile State state = new State(Snapshot.of(List.of()), new ConcurrentSkipListMap<>());
+
+    /**
+     * Depends on the entity manager factory so the schema update has created the table.
+     */
+    public PlayerSearchIndex(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Replace the index by the players in the database. Players written meanwhile, or by
+     * transactions still open when the read began, are kept as recorded.
+     */
+    @PostConstruct
+    @Scheduled(initialDelayString = "${tournament.player-search.reload-interval-ms:300000}",
+               fixedDelayString = "${tournament.player-search.reload-interval-ms:300000}")
+    public void reload() {
+        long readFrom;
+        synchronized (writeLock) {
+            readFrom = openWrites.isEmpty() ? writes : openWrites.first() - 1;
+        }
+        Snapshot snapshot = Snapshot.of(jdbcTemplate.query(SELECT_PLAYERS + " ORDER BY id", ENTRY_MAPPER));
+        synchronized (writeLock) {
+            ConcurrentSkipListMap<Long, Change> overlay = new ConcurrentSkipListMap<>();
+            state.overlay().forEach((id, change) -> {
+                if (change.write() > readFrom) {
+                    overlay.put(id, change);
+                }
+            });
+            state = new State(snapshot, overlay);
+        }
+        logger.debug("Player search index reloaded with {} players", snapshot.entries().length);
+    }
+
+    /**
+     * Record the saved state of players, in the transaction that saved them.
+     */
+    public void update(Collection<Player> players) {
+        synchronized (writeLock) {
+            for (Player player : players) {
+                put(player.getId(), new Entry(player.getId(), player.getName().toLowerCase(Locale.ROOT),
+                    player.getEmail().toLowerCase(Locale.ROOT), player.getRank(), player.isActive()));
+            }
+        }
+    }
+
+    public void update(Player player) {
+        update(List.of(player));
+    }
+
+    /**
+     * Record the deletion of a player, in the transaction that deleted it.
+     */
+    public void remove(Long id) {
+        synchronized (writeLock) {
+            put(id, null);
+        }
+    }
+
+    /**
+     * Ids of the players matching a search, in id order.
+     * @param text Lower-cased text the name or email must contain, or start with, or null.
+     * @param excluded Ids to leave out.
+     * @param afterId Only players with a higher id.
+     * @param limit Most ids to return.
+     */
+    public List<Long> search(String text, boolean prefix, Boolean active, Integer minRank, Integer maxRank,
+                             Set<Long> excluded, long afterId, int limit) {
+        State current = state;
+        Snapshot snapshot = current.snapshot();
+        Entry[] entries = snapshot.entries();
+        int first = snapshot.firstAfter(afterId);
+        int[] candidates = text != null && text.length() >= 3 ? snapshot.rarestTrigram(text) : null;
+        int next = candidates != null ? Snapshot.firstAtOrAfter(candidates, first) : first;
+        int end = candidates != null ? candidates.length : entries.length;
+
+        // Players written since the snapshot, merged in by id; a page of them is enough
+        List<Entry> written = new ArrayList<>();
+        for (Change change : current.overlay().tailMap(afterId, false).values()) {
+            if (written.size() == limit) {
+                break;
+            }
+            Entry entry = change.entry();
+            if (entry != null && entry.matches(text, prefix, active, minRank, maxRank) && !excluded.contains(entry.id())) {
+                written.add(entry);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(limit);
+        int nextWritten = 0;
+        while (ids.size() < limit && next < end) {
+            Entry entry = entries[candidates != null ? candidates[next] : next];
+            next++;
+            if (!entry.matches(text, prefix, active, minRank, maxRank) || excluded.contains(entry.id())
+                    || current.overlay().containsKey(entry.id())) {
+                continue;
+            }
+            while (nextWritten < written.size() && written.get(nextWritten).id() < entry.id() && ids.size() < limit) {
+                ids.add(written.get(nextWritten++).id());
+            }
+            if (ids.size() < limit) {
+                ids.add(entry.id());
+            }
+        }
+        while (nextWritten < written.size() && ids.size() < limit) {
+            ids.add(written.get(nextWritten++).id());
+        }
+        return ids;
+    }
+
+    /**
+     * Called with the write lock held.
+     */
+    private void put(long id, Entry entry) {
+        long write = ++writes;
+        State current = state;
+        current.overlay().put(id, new Change(write, entry));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Transaction transaction = (Transaction) TransactionSynchronizationManager.getResource(this);
+            if (transaction == null) {
+                transaction = new Transaction(write);
+                openWrites.add(write);
+                TransactionSynchronizationManager.bindResource(this, transaction);
+                TransactionSynchronizationManager.registerSynchronization(transaction);
+            }
+            transaction.ids.add(id);
+        }
+        if (current.overlay().size() > MAX_OVERLAY_SIZE) {
+            state = current.fold();
+        }
+    }
+
+    /**
+     * Read players back from the database, recording those that no longer exist as deleted.
+     */
+    private void restore(List<Long> ids) {
+        Map<Long, Entry> saved = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += MAX_OVERLAY_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_OVERLAY_SIZE));
+            String in = String.join(",", chunk.stream().map(String::valueOf).toList());
+            jdbcTemplate.query(SELECT_PLAYERS + " WHERE id IN (" + in + ")", ENTRY_MAPPER)
+                .forEach(entry -> saved.put(entry.id(), entry));
+        }
+        synchronized (writeLock) {
+            for (Long id : ids) {
+                put(id, saved.get(id));
+            }
+        }
+    }
+
+    /**
+     * Players written by one transaction, read back if it rolls back.
+     */
+    private final class Transaction implements TransactionSynchronization {
+        private final long firstWrite;
+        private final List<Long> ids = new ArrayList<>();
+
+        Transaction(long firstWrite) {
+            this.firstWrite = firstWrite;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PlayerSearchIndex.this);
+            try {
+                if (status != STATUS_COMMITTED) {
+                    restore(ids);
+                }
+            } finally {
+                openWrites.remove(firstWrite);
+            }
+        }
+    }
+
+    /**
+     * A searchable player, with its name and email lower-cased.
+     */
+    record Entry(long id, String name, String email, Integer rank, boolean active) {
+
+        /**
+         * Unranked players only match when no rank bound is given.
+         */
+        boolean matches(String text, boolean prefix, Boolean active, Integer minRank, Integer maxRank) {
+            if (active != null && active != this.active) {
+                return false;
+            }
+            if (minRank != null || maxRank != null) {
+                if (rank == null || (minRank != null && rank < minRank) || (maxRank != null && rank > maxRank)) {
+                    return false;
+                }
+            }
+            if (text == null) {
+                return true;
+            }
+            return prefix ? name.startsWith(text) || email.startsWith(text) : name.contains(text) || email.contains(text);
+        }
+    }
+
+    /**
+     * A player written since the snapshot, or null if it was deleted, with the number of the write.
+     */
+    private record Change(long write, Entry entry) {
+    }
+
+    private record State(Snapshot snapshot, ConcurrentSkipListMap<Long, Change> overlay) {
+
+        State fold() {
+            List<Entry> entries = new ArrayList<>(snapshot.entries().length + overlay.size());
+            for (Entry entry : snapshot.entries()) {
+                if (!overlay.containsKey(entry.id())) {
+                    entries.add(entry);
+                }
+            }
+            for (Change change : overlay.values()) {
+                if (change.entry() != null) {
+                    entries.add(change.entry());
+                }
+            }
+            entries.sort((a, b) -> Long.compare(a.id(), b.id()));
+            return new State(Snapshot.of(entries), new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Players sorted by id, with the positions of the players containing each trigram of a
+     * name or email in ascending order.
+     */
+    private record Snapshot(Entry[] entries, Map<Long, int[]> trigrams) {
+        private static final int[] NONE = new int[0];
+
+        static Snapshot of(List<Entry> sorted) {
+            Entry[] entries = sorted.toArray(new Entry[0]);
+            Map<Long, Positions> positions = new HashMap<>();
+            for (int i = 0; i < entries.length; i++) {
+                for (String text : new String[]{entries[i].name(), entries[i].email()}) {
+                    for (int j = 0; j + 3 <= text.length(); j++) {
+                        positions.computeIfAbsent(trigram(text, j), trigram -> new Positions()).add(i);
+                    }
+                }
+            }
+            Map<Long, int[]> trigrams = new HashMap<>(positions.size() * 2);
+            positions.forEach((trigram, list) -> trigrams.put(trigram, Arrays.copyOf(list.positions, list.size)));
+            return new Snapshot(entries, trigrams);
+        }
+
+        /**
+         * Positions of the players containing the trigram of the text that fewest players contain.
+         */
+        int[] rarestTrigram(String text) {
+            int[] rarest = null;
+            for (int j = 0; j + 3 <= text.length(); j++) {
+                int[] list = trigrams.getOrDefault(trigram(text, j), NONE);
+                if (rarest == null || list.length < rarest.length) {
+                    rarest = list;
+                }
+            }
+            return rarest;
+        }
+
+        /**
+         * Position of the first player with an id above the given one.
+         */
+        int firstAfter(long id) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle].id() <= id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Index of the first of the ascending positions that is at or after the given one.
+         */
+        static int firstAtOrAfter(int[] positions, int position) {
+            int index = Arrays.binarySearch(positions, position);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private static long trigram(String text, int start) {
+            return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+        }
+    }
+
+    /**
+     * Ascending positions of the players containing a trigram, while a snapshot is built.
+     */
+    private static final class Positions {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            // A trigram can occur more than once in a player's name and email
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
@@ -1,23 +1,90 @@
 package com.tournament.service;
 
+import com.tournament.dto.PlayerSearchPage;
 import com.tournament.model.Player;
+import com.tournament.model.PlayerSearchMode;
 import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.TournamentVersionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PlayerService {
 
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_TEXT_LENGTH = 100;
+
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private TournamentVersionRepository tournamentVersionRepository;
+
+    @Autowired
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Transactional(readOnly = true)
     public List<Player> getAllPlayers() {
         return playerRepository.findAll();
     }
 
+    /**
+     * Get one page of players matching a search, in id order. The players are found in the
+     * {@link PlayerSearchIndex}, then read by id.
+     * @param text Text to find in the name or email, or null to match all players.
+     * @param active Only include players with this state, or all if null.
+     * @param minRank Lowest rank to include, or null for no lower bound.
+     * @param maxRank Highest rank to include, or null for no upper bound.
+     * @param excludeTournamentId Leave out the players of this tournament, or null.
+     * @param afterId Cursor returned by the previous page, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public PlayerSearchPage searchPlayers(String text, PlayerSearchMode mode, Boolean active,
+                                          Integer minRank, Integer maxRank, Long excludeTournamentId,
+                                          Long afterId, int limit) {
+        Assert.isTrue(limit > 0 && limit <= MAX_SEARCH_PAGE_SIZE,
+            "Limit must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        Assert.isTrue(text == null || text.length() <= MAX_SEARCH_TEXT_LENGTH,
+            "Search text must not exceed " + MAX_SEARCH_TEXT_LENGTH + " characters");
+        Assert.isTrue(minRank == null || maxRank == null || minRank <= maxRank,
+            "Minimum rank must not exceed maximum rank");
+
+        String search = text != null && !text.isBlank() ? text.strip().toLowerCase(Locale.ROOT) : null;
+        Set<Long> excluded = excludeTournamentId != null
+            ? new HashSet<>(playerRepository.findIdsByTournamentId(excludeTournamentId))
+            : Set.of();
+        // Find one extra player to know whether another page follows
+        List<Long> ids = playerSearchIndex.search(search, mode == PlayerSearchMode.PREFIX, active, minRank, maxRank,
+            excluded, afterId != null ? afterId : Long.MIN_VALUE, limit + 1);
+
+        Long nextCursor = null;
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+            nextCursor = ids.get(limit - 1);
+        }
+        // Players deleted since they were found are left out
+        Map<Long, Player> players = playerRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Player::getId, Function.identity()));
+        return new PlayerSearchPage(new ArrayList<>(ids.stream().map(players::get).filter(Objects::nonNull).toList()),
+            nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public Player getPlayer(Long id) {
         return playerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Player not found with id: " + id));
@@ -25,7 +92,9 @@ public class PlayerService {
 
     @Transactional
     public Player createPlayer(Player player) {
-        return playerRepository.save(player);
+        Player saved = playerRepository.save(player);
+        playerSearchIndex.update(saved);
+        return saved;
     }
 
     @Transactional
@@ -36,13 +105,20 @@ public class PlayerService {
         player.setEmail(playerDetails.getEmail());
         player.setRank(playerDetails.getRank());
         player.setActive(playerDetails.isActive());
+        // Tournament reads include the player
+        tournamentVersionRepository.incrementForPlayers(List.of(id));
         
-        return playerRepository.save(player);
+        Player saved = playerRepository.save(player);
+        playerSearchIndex.update(saved);
+        return saved;
     }
 
     @Transactional
     public void deletePlayer(Long id) {
         Player player = getPlayer(id);
+        tournamentVersionRepository.incrementForPlayers(List.of(id));
         playerRepository.delete(player);
+        playerSearchIndex.remove(id);
+        entityCacheService.evictTournamentPlayers();
     }
 } 
\ No newline at end of file
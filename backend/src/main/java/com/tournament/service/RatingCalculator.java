@@ -0,0 +1,119 @@
+package com.tournament.service;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Elo rating arithmetic and the bulk calculation behind a full rating recompute.
+ */
+final class RatingCalculator {
+
+    /**
+     * Waves with fewer matches than this are rated on the calling thread, where the
+     * cost of splitting the work would exceed the work itself.
+     */
+    static final int PARALLEL_THRESHOLD = 2_048;
+
+    private RatingCalculator() {
+    }
+
+    /**
+     * New ratings of both players after a match.
+     * @return The new ratings of player 1 and player 2.
+     */
+    static double[] elo(double rating1, double rating2, boolean player1Won, double kFactor) {
+        double expected1 = 1.0 / (1.0 + Math.pow(10.0, (rating2 - rating1) / 400.0));
+        double score1 = player1Won ? 1.0 : 0.0;
+        double change = kFactor * (score1 - expected1);
+        return new double[]{rating1 + change, rating2 - change};
+    }
+
+    /**
+     * Chronologically ordered match outcomes with players mapped to dense indexes.
+     */
+    record Matches(int[] player1, int[] player2, boolean[] player1Won) {
+        int size() {
+            return player1.length;
+        }
+    }
+
+    /**
+     * Ratings after every match plus the final rating of every player. {@code rated}
+     * marks players that took part in at least one match.
+     */
+    record Result(double[] player1Before, double[] player1After, double[] player2Before, double[] player2After,
+                  double[] ratings, boolean[] rated, int waves) {
+    }
+
+    /**
+     * Rate all matches in chronological order. Each match is assigned to the earliest wave
+     * after the previous matches of both its players; matches of one wave share no player,
+     * so a wave can be rated in parallel while every player still sees its matches in order.
+     * The result is identical to rating the matches one after another.
+     */
+    static Result rateAll(Matches matches, int playerCount, double initialRating, double kFactor) {
+        int size = matches.size();
+        int[] player1 = matches.player1();
+        int[] player2 = matches.player2();
+
+        // Assign waves and count the matches per wave
+        int[] wave = new int[size];
+        int[] lastWave = new int[playerCount];
+        int waves = 0;
+        for (int i = 0; i < size; i++) {
+            int w = Math.max(lastWave[player1[i]], lastWave[player2[i]]) + 1;
+            wave[i] = w;
+            lastWave[player1[i]] = w;
+            lastWave[player2[i]] = w;
+            waves = Math.max(waves, w);
+        }
+        int[] waveStart = new int[waves + 2];
+        for (int i = 0; i < size; i++) {
+            waveStart[wave[i] + 1]++;
+        }
+        for (int w = 1; w < waveStart.length; w++) {
+            waveStart[w] += waveStart[w - 1];
+        }
+        int[] order = new int[size];
+        int[] fill = Arrays.copyOf(waveStart, waveStart.length);
+        for (int i = 0; i < size; i++) {
+            order[fill[wave[i]]++] = i;
+        }
+
+        double[] ratings = new double[playerCount];
+        Arrays.fill(ratings, initialRating);
+        boolean[] rated = new boolean[playerCount];
+        Result result = new Result(new double[size], new double[size], new double[size], new double[size],
+            ratings, rated, waves);
+
+        for (int w = 1; w <= waves; w++) {
+            int start = waveStart[w];
+            int end = waveStart[w + 1];
+            if (end - start >= PARALLEL_THRESHOLD) {
+                IntStream.range(start, end).parallel()
+                    .forEach(j -> rate(order[j], matches, result, kFactor));
+            } else {
+                for (int j = start; j < end; j++) {
+                    rate(order[j], matches, result, kFactor);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void rate(int match, Matches matches, Result result, double kFactor) {
+        int player1 = matches.player1()[match];
+        int player2 = matches.player2()[match];
+        double[] ratings = result.ratings();
+        double[] updated = elo(ratings[player1], ratings[player2], matches.player1Won()[match], kFactor);
+
+        result.player1Before()[match] = ratings[player1];
+        result.player2Before()[match] = ratings[player2];
+        result.player1After()[match] = updated[0];
+        result.player2After()[match] = updated[1];
+        ratings[player1] = updated[0];
+        ratings[player2] = updated[1];
+        result.rated()[player1] = true;
+        result.rated()[player2] = true;
+    }
+}
@@ -0,0 +1,325 @@
+package com.tournament.service;
+
+import com.tournament.dto.RatingRecomputeResult;
+import com.tournament.event.MatchResultChangedEvent;
+import com.tournament.model.Match;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.RatingHistory;
+import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.RatingHistoryRepository;
+import com.tournament.repository.TournamentVersionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Elo ratings of players. Ratings are updated as matches complete for the first time;
+ * corrections of already rated matches and changes to the rating parameters take effect
+ * with a full {@link #recomputeAll() recompute}.
+ */
+@Service
+public class RatingService {
+    private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+
+    public static final int MAX_RANKING_SIZE = 500;
+    private static final int READ_FETCH_SIZE = 10_000;
+    private static final int WRITE_BATCH_SIZE = 1_000;
+
+    private final PlayerRepository playerRepository;
+    private final RatingHistoryRepository ratingHistoryRepository;
+    private final TournamentVersionRepository tournamentVersionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final EntityCacheService entityCacheService;
+    private final TournamentArchiveService tournamentArchiveService;
+    private final double initialRating;
+    private final double kFactor;
+
+    public RatingService(PlayerRepository playerRepository,
+                         RatingHistoryRepository ratingHistoryRepository,
+                         TournamentVersionRepository tournamentVersionRepository,
+                         JdbcTemplate jdbcTemplate,
+                         EntityManager entityManager,
+                         EntityCacheService entityCacheService,
+                         TournamentArchiveService tournamentArchiveService,
+                         @Value("${tournament.rating.initial:1500}") double initialRating,
+                         @Value("${tournament.rating.k-factor:32}") double kFactor) {
+        this.playerRepository = playerRepository;
+        this.ratingHistoryRepository = ratingHistoryRepository;
+        this.tournamentVersionRepository = tournamentVersionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.entityCacheService = entityCacheService;
+        this.tournamentArchiveService = tournamentArchiveService;
+        this.initialRating = initialRating;
+        this.kFactor = kFactor;
+    }
+
+    public List<Player> getRankings(int limit) {
+        Assert.isTrue(limit > 0 && limit <= MAX_RANKING_SIZE, "Limit must be between 1 and " + MAX_RANKING_SIZE);
+        return playerRepository.findRanked(PageRequest.of(0, limit));
+    }
+
+    public List<RatingHistory> getHistory(Long playerId) {
+        return ratingHistoryRepository.findByPlayerIdOrderByIdDesc(playerId);
+    }
+
+    /**
+     * Rate a match the first time it is completed, in the transaction that completes it.
+     */
+    @EventListener
+    public void onMatchResultChanged(MatchResultChangedEvent event) {
+        Match match = event.match();
+        PlayerSide winner = match.getScore().getWinnerSide();
+        if (!event.isFirstCompletion() || winner == null || ratingHistoryRepository.existsByMatchId(match.getId())) {
+            return;
+        }
+
+        Player player1 = entityManager.find(Player.class, match.getPlayer1().getId());
+        Player player2 = entityManager.find(Player.class, match.getPlayer2().getId());
+        // Lock both players in id order and read their ratings past any cached copy, so that
+        // concurrently completed matches of a player rate from each other's result
+        for (Player player : player1.getId() < player2.getId()
+                ? List.of(player1, player2) : List.of(player2, player1)) {
+            entityManager.refresh(player, LockModeType.PESSIMISTIC_WRITE);
+        }
+        double before1 = player1.getRating() != null ? player1.getRating() : initialRating;
+        double before2 = player2.getRating() != null ? player2.getRating() : initialRating;
+        double[] after = RatingCalculator.elo(before1, before2, winner == PlayerSide.PLAYER1, kFactor);
+
+        player1.setRating(after[0]);
+        player2.setRating(after[1]);
+        ratingHistoryRepository.save(new RatingHistory(player1.getId(), match.getId(), before1, after[0]));
+        ratingHistoryRepository.save(new RatingHistory(player2.getId(), match.getId(), before2, after[1]));
+        // The new ratings show in every tournament of the two players
+        incrementVersionsBeforeCommit(player1.getId(), player2.getId());
+        logger.debug("Rated match ID: {}: {} {} -> {}, {} {} -> {}", match.getId(),
+            player1.getId(), before1, after[0], player2.getId(), before2, after[1]);
+    }
+
+    /**
+     * Increment the versions of the players' tournaments just before the transaction commits,
+     * once per transaction, so that their rows are locked after the writes that rated the match.
+     */
+    private void incrementVersionsBeforeCommit(Long... playerIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tournamentVersionRepository.incrementForPlayers(List.of(playerIds));
+            return;
+        }
+        RatedPlayers rated = (RatedPlayers) TransactionSynchronizationManager.getResource(this);
+        if (rated == null) {
+            rated = new RatedPlayers();
+            TransactionSynchronizationManager.bindResource(this, rated);
+            TransactionSynchronizationManager.registerSynchronization(rated);
+        }
+        rated.ids.addAll(Arrays.asList(playerIds));
+    }
+
+    /**
+     * Players rated by one transaction.
+     */
+    private final class RatedPlayers implements TransactionSynchronization {
+        private final Set<Long> ids = new TreeSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            tournamentVersionRepository.incrementForPlayers(ids);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(RatingService.this);
+        }
+    }
+
+    /**
+     * Rebuild all ratings and the rating history from the completed matches, in the order
+     * they were completed, including those of archived tournaments. Reads and writes go
+     * through JDBC directly so that a large match history is neither materialized as
+     * entities nor written one statement per row.
+     */
+    @Transactional
+    public RatingRecomputeResult recomputeAll() {
+        long start = System.currentTimeMillis();
+        entityManager.flush();
+
+        Map<Long, Integer> playerIndexes = new HashMap<>();
+        List<Long> playerIds = new ArrayList<>();
+        MatchColumns columns = new MatchColumns();
+        jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, player1_id, player2_id, winner, completed_at FROM matches " +
+                    "WHERE status = 'COMPLETED' AND winner IS NOT NULL " +
+                    "ORDER BY completed_at NULLS FIRST, id");
+                // Stream the rows instead of loading the whole result set into the driver
+                statement.setFetchSize(READ_FETCH_SIZE);
+                return statement;
+            },
+            rs -> {
+                PlayerSide winner = PlayerSide.fromString(rs.getString(4));
+                if (winner != null) {
+                    columns.add(rs.getLong(1),
+                        index(playerIndexes, playerIds, rs.getLong(2)),
+                        index(playerIndexes, playerIds, rs.getLong(3)),
+                        winner == PlayerSide.PLAYER1,
+                        rs.getTimestamp(5) != null ? rs.getTimestamp(5).toLocalDateTime() : null);
+                }
+            });
+        int hotMatches = columns.size;
+        tournamentArchiveService.forEachArchivedMatch(match -> {
+            PlayerSide winner = PlayerSide.fromString(match.winner());
+            if ("COMPLETED".equals(match.status()) && winner != null) {
+                columns.add(match.id(),
+                    index(playerIndexes, playerIds, match.player1Id()),
+                    index(playerIndexes, playerIds, match.player2Id()),
+                    winner == PlayerSide.PLAYER1,
+                    match.completedAt());
+            }
+        });
+        if (columns.size > hotMatches) {
+            columns.sortByCompletion();
+        }
+
+        RatingCalculator.Matches matches = columns.toMatches();
+        RatingCalculator.Result result = RatingCalculator.rateAll(matches, playerIds.size(), initialRating, kFactor);
+        long[] matchIds = Arrays.copyOf(columns.matchIds, columns.size);
+
+        jdbcTemplate.update("DELETE FROM rating_history");
+        Timestamp recordedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(WRITE_BATCH_SIZE);
+        for (int i = 0; i < matches.size(); i++) {
+            rows.add(new Object[]{playerIds.get(matches.player1()[i]), matchIds[i],
+                result.player1Before()[i], result.player1After()[i], recordedAt});
+            rows.add(new Object[]{playerIds.get(matches.player2()[i]), matchIds[i],
+                result.player2Before()[i], result.player2After()[i], recordedAt});
+            if (rows.size() >= WRITE_BATCH_SIZE) {
+                insertHistory(rows);
+            }
+        }
+        insertHistory(rows);
+
+        jdbcTemplate.update("UPDATE players SET rating = NULL");
+        List<Object[]> ratings = new ArrayList<>(playerIds.size());
+        for (int i = 0; i < playerIds.size(); i++) {
+            if (result.rated()[i]) {
+                ratings.add(new Object[]{result.ratings()[i], playerIds.get(i)});
+            }
+        }
+        jdbcTemplate.batchUpdate("UPDATE players SET rating = ? WHERE id = ?", ratings);
+        jdbcTemplate.update("UPDATE tournament_versions SET version = version + 1");
+        // Managed and cached players still carry their old ratings
+        entityManager.clear();
+        entityCacheService.evictPlayers();
+
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Recomputed ratings of {} players from {} matches in {} waves in {} ms",
+            playerIds.size(), matches.size(), result.waves(), elapsed);
+        return new RatingRecomputeResult(matches.size(), playerIds.size(), result.waves(), elapsed);
+    }
+
+    private void insertHistory(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO rating_history " +
+                "(player_id, match_id, rating_before, rating_after, recorded_at) VALUES (?, ?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    private static int index(Map<Long, Integer> playerIndexes, List<Long> playerIds, long playerId) {
+        return playerIndexes.computeIfAbsent(playerId, id -> {
+            playerIds.add(id);
+            return playerIds.size() - 1;
+        });
+    }
+
+    /**
+     * Growable primitive columns of the matches read for a recompute.
+     */
+    private static final class MatchColumns {
+        long[] matchIds = new long[1_024];
+        int[] player1 = new int[1_024];
+        int[] player2 = new int[1_024];
+        boolean[] player1Won = new boolean[1_024];
+        /** Nanoseconds since the epoch, {@link Long#MIN_VALUE} if unknown. */
+        long[] completedAt = new long[1_024];
+        int size;
+
+        void add(long matchId, int player1Index, int player2Index, boolean won, LocalDateTime completed) {
+            if (size == matchIds.length) {
+                int capacity = size * 2;
+                matchIds = Arrays.copyOf(matchIds, capacity);
+                player1 = Arrays.copyOf(player1, capacity);
+                player2 = Arrays.copyOf(player2, capacity);
+                player1Won = Arrays.copyOf(player1Won, capacity);
+                completedAt = Arrays.copyOf(completedAt, capacity);
+            }
+            matchIds[size] = matchId;
+            player1[size] = player1Index;
+            player2[size] = player2Index;
+            player1Won[size] = won;
+            completedAt[size] = completed != null
+                ? completed.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + completed.getNano()
+                : Long.MIN_VALUE;
+            size++;
+        }
+
+        /**
+         * Restore the order of the query, completion time with unknown times first, then id,
+         * after matches from archives were appended.
+         */
+        void sortByCompletion() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> completedAt[a] != completedAt[b]
+                ? Long.compare(completedAt[a], completedAt[b])
+                : Long.compare(matchIds[a], matchIds[b]));
+            long[] sortedIds = new long[matchIds.length];
+            int[] sortedPlayer1 = new int[player1.length];
+            int[] sortedPlayer2 = new int[player2.length];
+            boolean[] sortedWon = new boolean[player1Won.length];
+            long[] sortedCompletedAt = new long[completedAt.length];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = matchIds[order[i]];
+                sortedPlayer1[i] = player1[order[i]];
+                sortedPlayer2[i] = player2[order[i]];
+                sortedWon[i] = player1Won[order[i]];
+                sortedCompletedAt[i] = completedAt[order[i]];
+            }
+            matchIds = sortedIds;
+            player1 = sortedPlayer1;
+            player2 = sortedPlayer2;
+            player1Won = sortedWon;
+            completedAt = sortedCompletedAt;
+        }
+
+        RatingCalculator.Matches toMatches() {
+            return new RatingCalculator.Matches(Arrays.copyOf(player1, size), Arrays.copyOf(player2, size),
+                Arrays.copyOf(player1Won, size));
+        }
+    }
+}
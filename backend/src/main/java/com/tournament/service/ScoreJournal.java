@@ -0,0 +1,149 @@
+package com.tournament.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Local append-only journal of live match scores that have not been persisted yet.
+ *
+ * Every line is a full snapshot of one match, so replay only needs the last line per match.
+ * The journal is truncated once every live match has been flushed to the database.
+ */
+@Component
+public class ScoreJournal {
+    private static final Logger logger = LoggerFactory.getLogger(ScoreJournal.class);
+
+    private final Path path;
+    private final boolean fsync;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+
+    public ScoreJournal(@Value("${tournament.live-engine.journal-path:data/live-engine.journal}") String path,
+                        @Value("${tournament.live-engine.journal-fsync:false}") boolean fsync) {
+        this.path = Paths.get(path);
+        this.fsync = fsync;
+    }
+
+    /**
+     * Append a snapshot, then run {@code appended} while truncation is still blocked. A match
+     * marked unflushed there is seen as such by {@link #truncateIf}, which therefore never cuts
+     * a line that is not in the database yet.
+     */
+    public void append(LiveMatchState.Snapshot snapshot, Runnable appended) {
+        ByteBuffer line = ByteBuffer.wrap((snapshot.toJournalLine() + "\n").getBytes(StandardCharsets.UTF_8));
+        lock.lock();
+        try {
+            FileChannel out = openChannel();
+            while (line.hasRemaining()) {
+                out.write(line);
+            }
+            if (fsync) {
+                out.force(false);
+            }
+            appended.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to score journal " + path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read the latest journalled snapshot of every match, in first-seen order.
+     */
+    public Map<Long, LiveMatchState.Snapshot> readLatest() {
+        Map<Long, LiveMatchState.Snapshot> latest = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            if (!Files.exists(path)) {
+                return latest;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        LiveMatchState.Snapshot snapshot = LiveMatchState.Snapshot.fromJournalLine(line);
+                        latest.merge(snapshot.matchId(), snapshot,
+                            (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+                    } catch (RuntimeException e) {
+                        // A torn last line after a crash is expected; anything before it is intact
+                        logger.warn("Skipping unreadable score journal line: {}", line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read score journal " + path, e);
+        } finally {
+            lock.unlock();
+        }
+        return latest;
+    }
+
+    /**
+     * Empty the journal if {@code allFlushed} still holds while appends are blocked.
+     * @return true if the journal was truncated.
+     */
+    public boolean truncateIf(BooleanSupplier allFlushed) {
+        lock.lock();
+        try {
+            if (!allFlushed.getAsBoolean()) {
+                return false;
+            }
+            if (channel != null) {
+                channel.truncate(0);
+            } else if (Files.exists(path)) {
+                Files.write(path, new byte[0]);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate score journal " + path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
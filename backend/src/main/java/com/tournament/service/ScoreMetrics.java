@@ -0,0 +1,111 @@
+package com.tournament.service;
+
+import com.tournament.event.MatchScoreChangedEvent;
+import com.tournament.exception.ResourceNotFoundException;
+import com.tournament.exception.ScoreVersionConflictException;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.ScoreUpdateStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Meters of the score update path.
+ *
+ * {@value #SCORE_UPDATES} times every score update end to end, including optimistic retries,
+ * tagged with the operation ({@code replace} or {@code delta}), the path that served it
+ * ({@code live} engine or {@code database}) and the resulting {@link ScoreUpdateStatus}, or
+ * {@code CONFLICT}, {@code NOT_FOUND}, {@code REJECTED} or {@code ERROR} if it failed.
+ * {@value #STATUS_TRANSITIONS} counts committed match status changes by previous and new status.
+ * {@value #LIVE_OVERWRITTEN} counts live flushes that dropped sets because another writer had
+ * changed the same sets to a different score; the stored score of those sets is kept.
+ */
+@Component
+public class ScoreMetrics {
+    public static final String SCORE_UPDATES = "tournament.score.updates";
+    public static final String STATUS_TRANSITIONS = "tournament.match.status.transitions";
+    public static final String LIVE_OVERWRITTEN = "tournament.live.overwritten";
+
+    private final MeterRegistry registry;
+
+    public ScoreMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public Update startUpdate(String operation) {
+        return new Update(operation, Timer.start(registry));
+    }
+
+    public void statusChanged(MatchStatus from, MatchStatus to) {
+        if (from != to) {
+            Counter.builder(STATUS_TRANSITIONS)
+                .description("Match status changes")
+                .tag("from", String.valueOf(from))
+                .tag("to", String.valueOf(to))
+                .register(registry)
+                .increment();
+        }
+    }
+
+    public void liveScoreOverwritten() {
+        Counter.builder(LIVE_OVERWRITTEN)
+            .description("Live flushes that kept another writer's score of a set")
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Count status changes made through the database path once they have committed.
+     * The live engine reports its own as it applies them.
+     */
+    @TransactionalEventListener
+    public void onMatchScoreChanged(MatchScoreChangedEvent event) {
+        statusChanged(event.previousStatus(), event.match().getStatus());
+    }
+
+    /**
+     * A running score update, recorded once it completed or failed.
+     */
+    public final class Update {
+        private final String operation;
+        private final Timer.Sample sample;
+        private String path = "database";
+
+        private Update(String operation, Timer.Sample sample) {
+            this.operation = operation;
+            this.sample = sample;
+        }
+
+        public void servedLive() {
+            path = "live";
+        }
+
+        public void completed(ScoreUpdateStatus status) {
+            stop(status.name());
+        }
+
+        public void failed(RuntimeException e) {
+            if (e instanceof ScoreVersionConflictException) {
+                stop("CONFLICT");
+            } else if (e instanceof ResourceNotFoundException) {
+                stop("NOT_FOUND");
+            } else if (e instanceof IllegalArgumentException) {
+                stop("REJECTED");
+            } else {
+                stop("ERROR");
+            }
+        }
+
+        private void stop(String status) {
+            sample.stop(Timer.builder(SCORE_UPDATES)
+                .description("Score updates from request to response")
+                .tag("operation", operation)
+                .tag("path", path)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry));
+        }
+    }
+}
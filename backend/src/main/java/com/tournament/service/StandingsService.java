@@ -0,0 +1,168 @@
+package com.tournament.service;
+
+import com.tournament.config.GameRules;
+import com.tournament.dto.StandingEntry;
+import com.tournament.exception.ResourceNotFoundException;
+import com.tournament.event.MatchResultChangedEvent;
+import com.tournament.model.Match;
+import com.tournament.model.MatchResult;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.Standing;
+import com.tournament.repository.MatchResultRepository;
+import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.StandingRepository;
+import com.tournament.repository.TournamentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the persisted standings of each tournament from {@link MatchResultChangedEvent}s. Every completed match is counted
+ * once through its {@link MatchResult}; when the match is corrected the recorded result is
+ * taken back out before the new one is added, so standings never have to be recomputed
+ * from all matches.
+ */
+@Service
+@RequiredArgsConstructor
+public class StandingsService {
+    private static final Logger logger = LoggerFactory.getLogger(StandingsService.class);
+
+    private final StandingRepository standingRepository;
+    private final MatchResultRepository matchResultRepository;
+    private final TournamentRepository tournamentRepository;
+    private final PlayerRepository playerRepository;
+    private final GameRules gameRules;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Whether missing standings are created with an upsert, see {@link #standing}. */
+    private boolean upsert;
+
+    @PostConstruct
+    void detectUpsert() throws MetaDataAccessException {
+        String database = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+            DatabaseMetaData::getDatabaseProductName);
+        upsert = "PostgreSQL".equals(database);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingEntry> getStandings(Long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new ResourceNotFoundException("Tournament not found with id: " + tournamentId);
+        }
+        return standingRepository.findEntries(tournamentId);
+    }
+
+    /**
+     * Bring the standings in line with the current score of a match that is or was completed.
+     */
+    @EventListener
+    public void onMatchResultChanged(MatchResultChangedEvent event) {
+        Match match = event.match();
+        Long tournamentId = event.tournamentId();
+
+        MatchResult result = matchResultRepository.findById(match.getId()).orElse(null);
+        if (result != null) {
+            apply(-1, result);
+        }
+        if (match.getStatus() == MatchStatus.COMPLETED) {
+            if (result == null) {
+                result = new MatchResult(match.getId(), tournamentId);
+            }
+            result.update(match, gameRules);
+            apply(1, result);
+            matchResultRepository.save(result);
+        } else if (result != null) {
+            matchResultRepository.delete(result);
+        }
+        logger.debug("Standings updated for match ID: {} in tournament ID: {}", match.getId(), tournamentId);
+    }
+
+    @Transactional
+    public void deleteTournament(Long tournamentId) {
+        matchResultRepository.deleteByTournamentId(tournamentId);
+        standingRepository.deleteByTournamentId(tournamentId);
+    }
+
+    /**
+     * Start counting the completed matches of a tournament that has no standings yet, e.g.
+     * one being imported. Totals are kept in memory, one per player, and written once by
+     * {@link BulkStandings#save()}, so adding a match costs no lookups.
+     */
+    public BulkStandings bulk(Long tournamentId) {
+        return new BulkStandings(tournamentId);
+    }
+
+    public final class BulkStandings {
+        private final Long tournamentId;
+        private final Map<Long, Standing> standings = new HashMap<>();
+
+        private BulkStandings(Long tournamentId) {
+            this.tournamentId = tournamentId;
+        }
+
+        /**
+         * Count a persisted match if it is completed.
+         */
+        public void add(Match match) {
+            if (match.getStatus() != MatchStatus.COMPLETED) {
+                return;
+            }
+            MatchResult result = new MatchResult(match.getId(), tournamentId);
+            result.update(match, gameRules);
+            entityManager.persist(result);
+            standings.computeIfAbsent(result.getPlayer1Id(), id -> new Standing(tournamentId, null))
+                .add(1, PlayerSide.PLAYER1, result);
+            standings.computeIfAbsent(result.getPlayer2Id(), id -> new Standing(tournamentId, null))
+                .add(1, PlayerSide.PLAYER2, result);
+        }
+
+        public void save() {
+            standings.forEach((playerId, standing) -> {
+                standing.setPlayer(playerRepository.getReferenceById(playerId));
+                entityManager.persist(standing);
+            });
+            logger.debug("Saved standings of {} players in tournament ID: {}", standings.size(), tournamentId);
+        }
+    }
+
+    private void apply(int sign, MatchResult result) {
+        standing(result.getTournamentId(), result.getPlayer1Id()).add(sign, PlayerSide.PLAYER1, result);
+        standing(result.getTournamentId(), result.getPlayer2Id()).add(sign, PlayerSide.PLAYER2, result);
+    }
+
+    /**
+     * The standing of a player, created on their first completed match. Two matches of the
+     * player completing at once would both insert it; on PostgreSQL the insert skips a row
+     * another transaction has inserted (waiting for it to commit) rather than failing on the
+     * unique constraint, so both go on to update the same row.
+     */
+    private Standing standing(Long tournamentId, Long playerId) {
+        return standingRepository.findByTournamentIdAndPlayerId(tournamentId, playerId)
+                .orElseGet(() -> {
+                    if (!upsert) {
+                        return standingRepository.save(
+                            new Standing(tournamentId, playerRepository.getReferenceById(playerId)));
+                    }
+                    jdbcTemplate.update("INSERT INTO standings (tournament_id, player_id, version, matches_played, "
+                        + "wins, losses, sets_won, sets_lost, points_for, points_against) "
+                        + "VALUES (?, ?, 0, 0, 0, 0, 0, 0, 0, 0) "
+                        + "ON CONFLICT (tournament_id, player_id) DO NOTHING", tournamentId, playerId);
+                    return standingRepository.findByTournamentIdAndPlayerId(tournamentId, playerId).orElseThrow();
+                });
+    }
+}
@@ -0,0 +1,292 @@
+package com.tournament.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.config.MatchPartitioning;
+import com.tournament.dto.TournamentArchiveResult;
+import com.tournament.model.Match;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.model.TournamentArchive;
+import com.tournament.model.TournamentExportFormat;
+import com.tournament.model.TournamentStatus;
+import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.TournamentArchiveRepository;
+import com.tournament.repository.TournamentRepository;
+import com.tournament.repository.TournamentVersionRepository;
+import com.tournament.service.TournamentExportCodec.EndRecord;
+import com.tournament.service.TournamentExportCodec.ExportRecord;
+import com.tournament.service.TournamentExportCodec.MatchRecord;
+import com.tournament.service.TournamentExportCodec.PlayerRecord;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves the matches and sets of completed tournaments out of the match tables into one
+ * {@link TournamentArchive} per tournament, so the match tables only grow with the events
+ * still running. Archived tournaments are read-only; their reads are served from the archive.
+ */
+@Service
+public class TournamentArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TournamentArchiveService.class);
+
+    private static final int READ_FETCH_SIZE = 16;
+
+    private final TournamentRepository tournamentRepository;
+    private final TournamentArchiveRepository tournamentArchiveRepository;
+    private final TournamentVersionRepository tournamentVersionRepository;
+    private final PlayerRepository playerRepository;
+    private final TournamentExportService tournamentExportService;
+    private final LiveMatchEngine liveMatchEngine;
+    private final MatchPartitioning matchPartitioning;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int afterDays;
+
+    public TournamentArchiveService(TournamentRepository tournamentRepository,
+                                    TournamentArchiveRepository tournamentArchiveRepository,
+                                    TournamentVersionRepository tournamentVersionRepository,
+                                    PlayerRepository playerRepository,
+                                    TournamentExportService tournamentExportService,
+                                    LiveMatchEngine liveMatchEngine,
+                                    MatchPartitioning matchPartitioning,
+                                    JdbcTemplate jdbcTemplate,
+                                    EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${tournament.archive.after-days:90}") int afterDays) {
+        this.tournamentRepository = tournamentRepository;
+        this.tournamentArchiveRepository = tournamentArchiveRepository;
+        this.tournamentVersionRepository = tournamentVersionRepository;
+        this.playerRepository = playerRepository;
+        this.tournamentExportService = tournamentExportService;
+        this.liveMatchEngine = liveMatchEngine;
+        this.matchPartitioning = matchPartitioning;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.afterDays = afterDays;
+    }
+
+    @Scheduled(cron = "${tournament.archive.cron:-}")
+    public void archiveScheduled() {
+        archiveCompleted();
+    }
+
+    /**
+     * Archive the completed tournaments that ended more than the configured number of days ago.
+     */
+    public TournamentArchiveResult archiveCompleted() {
+        return archiveCompleted(afterDays);
+    }
+
+    /**
+     * Archive every completed tournament that ended more than the given number of days ago,
+     * each in a transaction of its own.
+     */
+    public TournamentArchiveResult archiveCompleted(int olderThanDays) {
+        Assert.isTrue(olderThanDays >= 0, "Days must not be negative");
+        long start = System.currentTimeMillis();
+        TournamentArchiveResult result = new TournamentArchiveResult();
+        for (Long tournamentId : tournamentRepository.findArchivable(LocalDate.now().minusDays(olderThanDays))) {
+            TournamentArchive archive;
+            try {
+                archive = transactionTemplate.execute(status -> {
+                    TournamentArchive archived = archiveTournament(tournamentId);
+                    if (archived == null) {
+                        // Takes back the version increment
+                        status.setRollbackOnly();
+                    }
+                    return archived;
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Could not archive tournament ID: {}: {}", tournamentId, e.getMessage());
+                archive = null;
+            }
+            if (archive == null) {
+                result.getSkippedTournamentIds().add(tournamentId);
+                continue;
+            }
+            result.setTournaments(result.getTournaments() + 1);
+            result.setMatches(result.getMatches() + archive.getPendingMatches() + archive.getInProgressMatches()
+                + archive.getCompletedMatches() + archive.getCancelledMatches());
+            result.setSets(result.getSets() + archive.getSets());
+            result.setArchiveBytes(result.getArchiveBytes() + archive.getDocument().length);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Archived {} tournaments with {} matches into {} bytes in {} ms, skipped {}",
+            result.getTournaments(), result.getMatches(), result.getArchiveBytes(), result.getElapsedMillis(),
+            result.getSkippedTournamentIds());
+        return result;
+    }
+
+    /**
+     * Move the matches, sets and match results of a completed tournament into its archive,
+     * in the current transaction. Tournaments with matches still held by the live engine
+     * are left for a later run.
+     * @return The archive, or null if the tournament was not archived.
+     */
+    private TournamentArchive archiveTournament(Long tournamentId) {
+        // Locks out score writes to the tournament, which increment the version as well
+        if (tournamentVersionRepository.increment(tournamentId) == 0) {
+            return null;
+        }
+        Tournament tournament = tournamentRepository.findById(tournamentId).orElse(null);
+        if (tournament == null || tournament.getStatus() != TournamentStatus.COMPLETED
+                || tournament.getArchivedAt() != null || liveMatchEngine.hasLiveMatches(tournamentId)) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream output = new GZIPOutputStream(bytes)) {
+            tournamentExportService.exportTournament(tournamentId, TournamentExportFormat.BINARY, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        TournamentArchive archive = new TournamentArchive();
+        archive.setTournamentId(tournamentId);
+        archive.setArchivedAt(LocalDateTime.now());
+        archive.setDocument(bytes.toByteArray());
+        String matchIds = matchPartitioning.idBlockCondition("id", tournamentId);
+        jdbcTemplate.query("SELECT status, COUNT(*) FROM matches WHERE tournament_id = ? AND " + matchIds
+                + " GROUP BY status",
+            rs -> {
+                long count = rs.getLong(2);
+                switch (MatchStatus.valueOf(rs.getString(1))) {
+                    case PENDING -> archive.setPendingMatches(count);
+                    case IN_PROGRESS -> archive.setInProgressMatches(count);
+                    case COMPLETED -> archive.setCompletedMatches(count);
+                    case CANCELLED -> archive.setCancelledMatches(count);
+                }
+            },
+            tournamentId);
+
+        jdbcTemplate.update("DELETE FROM match_results WHERE tournament_id = ?", tournamentId);
+        archive.setSets(matchPartitioning.deleteMatches(tournamentId));
+        // Fails on the primary key if another instance archived the tournament meanwhile
+        entityManager.persist(archive);
+        tournament.setArchivedAt(archive.getArchivedAt());
+        logger.info("Archived tournament ID: {} into {} bytes", tournamentId, archive.getDocument().length);
+        return archive;
+    }
+
+    /**
+     * A copy of an archived tournament with the matches of its archive. Players are the
+     * current ones; players deleted since are rebuilt from the archive.
+     */
+    public Tournament withArchivedMatches(Tournament tournament) {
+        TournamentArchive archive = tournamentArchiveRepository.findById(tournament.getId())
+            .orElseThrow(() -> new IllegalStateException("Archive of tournament " + tournament.getId() + " is missing"));
+        Tournament copy = Tournament.builder()
+                .id(tournament.getId())
+                .name(tournament.getName())
+                .startDate(tournament.getStartDate())
+                .endDate(tournament.getEndDate())
+                .status(tournament.getStatus())
+                .archivedAt(tournament.getArchivedAt())
+                .players(new LinkedHashSet<>(tournament.getPlayers()))
+                .build();
+
+        List<PlayerRecord> playerRecords = new ArrayList<>();
+        List<MatchRecord> matchRecords = new ArrayList<>();
+        read(archive, record -> {
+            if (record instanceof PlayerRecord player) {
+                playerRecords.add(player);
+            } else if (record instanceof MatchRecord match) {
+                matchRecords.add(match);
+            }
+        });
+        Map<Long, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findAllById(playerRecords.stream().map(PlayerRecord::id).toList())) {
+            players.put(player.getId(), player);
+        }
+        for (PlayerRecord record : playerRecords) {
+            players.computeIfAbsent(record.id(), id -> {
+                Player player = new Player();
+                player.setId(id);
+                player.setName(record.name());
+                player.setEmail(record.email());
+                player.setRank(record.rank());
+                player.setRating(record.rating());
+                player.setActive(record.active());
+                return player;
+            });
+        }
+        for (MatchRecord record : matchRecords) {
+            Match match = TournamentExportService.toMatch(record,
+                players.get(record.player1Id()), players.get(record.player2Id()), copy);
+            match.setId(record.id());
+            copy.addMatch(match);
+        }
+        return copy;
+    }
+
+    /**
+     * Pass the matches of all archives to the consumer, one archive after the other.
+     */
+    public void forEachArchivedMatch(Consumer<MatchRecord> consumer) {
+        jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT document FROM tournament_archives ORDER BY tournament_id");
+                statement.setFetchSize(READ_FETCH_SIZE);
+                return statement;
+            },
+            rs -> {
+                TournamentArchive archive = new TournamentArchive();
+                archive.setDocument(rs.getBytes(1));
+                read(archive, record -> {
+                    if (record instanceof MatchRecord match) {
+                        consumer.accept(match);
+                    }
+                });
+            });
+    }
+
+    /**
+     * Reader of the records of an archive.
+     */
+    static TournamentExportCodec.Reader reader(TournamentArchive archive, ObjectMapper objectMapper)
+            throws IOException {
+        return TournamentExportCodec.reader(new GZIPInputStream(new ByteArrayInputStream(archive.getDocument())),
+            TournamentExportFormat.BINARY, objectMapper);
+    }
+
+    private void read(TournamentArchive archive, Consumer<ExportRecord> consumer) {
+        try {
+            TournamentExportCodec.Reader reader = reader(archive, objectMapper);
+            ExportRecord record;
+            while ((record = reader.next()) != null && !(record instanceof EndRecord)) {
+                consumer.accept(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
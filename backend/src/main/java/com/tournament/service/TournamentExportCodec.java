@@ -0,0 +1,467 @@
+package com.tournament.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.model.TournamentExportFormat;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records of a tournament export and their encodings. An export is the tournament, then
+ * its players, then its matches with their sets, then an end record with the number of
+ * players and matches so that a truncated export is detected. Ids are those of the exporting
+ * database and only link the records of one export.
+ *
+ * Both encodings are written and read one record at a time.
+ */
+final class TournamentExportCodec {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] MAGIC = {'T', 'E', 'X', 1};
+    private static final int TOURNAMENT = 1;
+    private static final int PLAYER = 2;
+    private static final int MATCH = 3;
+    private static final int END = 4;
+
+    /** Upper bound on the sets of an imported match and on the length of imported texts. */
+    static final int MAX_SETS = 99;
+    static final int MAX_TEXT_LENGTH = 64 * 1024;
+
+    private TournamentExportCodec() {
+    }
+
+    sealed interface ExportRecord permits TournamentRecord, PlayerRecord, MatchRecord, EndRecord {
+    }
+
+    record TournamentRecord(long id, String name, LocalDate startDate, LocalDate endDate, String status)
+            implements ExportRecord {
+    }
+
+    /**
+     * @param registered Whether the player is registered for the tournament, rather than only playing in it.
+     */
+    record PlayerRecord(long id, String name, String email, Integer rank, Double rating, boolean active,
+                        boolean registered) implements ExportRecord {
+    }
+
+    record MatchRecord(long id, long player1Id, long player2Id, int round, String status, int intendedTotalSets,
+                       String winner, LocalDateTime scheduledTime, LocalDateTime completedAt, String venue,
+                       String notes, List<SetRecord> sets) implements ExportRecord {
+    }
+
+    record SetRecord(int player1Score, int player2Score) {
+    }
+
+    record EndRecord(long players, long matches) implements ExportRecord {
+    }
+
+    interface Writer {
+        void write(ExportRecord record) throws IOException;
+
+        /**
+         * Flush buffered records without closing the underlying stream.
+         */
+        void flush() throws IOException;
+    }
+
+    interface Reader {
+        /**
+         * @return The next record, or null at the end of the input.
+         * @throws IllegalArgumentException If the input is not a valid export.
+         */
+        ExportRecord next() throws IOException;
+    }
+
+    static Writer writer(OutputStream output, TournamentExportFormat format, ObjectMapper objectMapper)
+            throws IOException {
+        return format == TournamentExportFormat.BINARY
+            ? new BinaryWriter(output)
+            : new NdjsonWriter(output, objectMapper);
+    }
+
+    static Reader reader(InputStream input, TournamentExportFormat format, ObjectMapper objectMapper)
+            throws IOException {
+        return format == TournamentExportFormat.BINARY
+            ? new BinaryReader(input)
+            : new NdjsonReader(input, objectMapper);
+    }
+
+    private static final class NdjsonWriter implements Writer {
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream output, ObjectMapper objectMapper) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(new BufferedOutputStream(output, BUFFER_SIZE));
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ExportRecord record) throws IOException {
+            generator.writeStartObject();
+            switch (record) {
+                case TournamentRecord t -> {
+                    generator.writeStringField("type", "tournament");
+                    generator.writeNumberField("id", t.id());
+                    generator.writeStringField("name", t.name());
+                    generator.writeStringField("startDate", t.startDate().toString());
+                    generator.writeStringField("endDate", t.endDate().toString());
+                    generator.writeStringField("status", t.status());
+                }
+                case PlayerRecord p -> {
+                    generator.writeStringField("type", "player");
+                    generator.writeNumberField("id", p.id());
+                    generator.writeStringField("name", p.name());
+                    generator.writeStringField("email", p.email());
+                    if (p.rank() != null) {
+                        generator.writeNumberField("rank", p.rank());
+                    }
+                    if (p.rating() != null) {
+                        generator.writeNumberField("rating", p.rating());
+                    }
+                    generator.writeBooleanField("active", p.active());
+                    generator.writeBooleanField("registered", p.registered());
+                }
+                case MatchRecord m -> {
+                    generator.writeStringField("type", "match");
+                    generator.writeNumberField("id", m.id());
+                    generator.writeNumberField("player1Id", m.player1Id());
+                    generator.writeNumberField("player2Id", m.player2Id());
+                    generator.writeNumberField("round", m.round());
+                    generator.writeStringField("status", m.status());
+                    generator.writeNumberField("intendedTotalSets", m.intendedTotalSets());
+                    writeOptional("winner", m.winner());
+                    writeOptional("scheduledTime", m.scheduledTime());
+                    writeOptional("completedAt", m.completedAt());
+                    writeOptional("venue", m.venue());
+                    writeOptional("notes", m.notes());
+                    generator.writeArrayFieldStart("sets");
+                    for (SetRecord set : m.sets()) {
+                        generator.writeStartArray();
+                        generator.writeNumber(set.player1Score());
+                        generator.writeNumber(set.player2Score());
+                        generator.writeEndArray();
+                    }
+                    generator.writeEndArray();
+                }
+                case EndRecord e -> {
+                    generator.writeStringField("type", "end");
+                    generator.writeNumberField("players", e.players());
+                    generator.writeNumberField("matches", e.matches());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        private void writeOptional(String field, Object value) throws IOException {
+            if (value != null) {
+                generator.writeStringField(field, value.toString());
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class NdjsonReader implements Reader {
+        private final MappingIterator<JsonNode> nodes;
+
+        NdjsonReader(InputStream input, ObjectMapper objectMapper) throws IOException {
+            nodes = objectMapper.readerFor(JsonNode.class).readValues(new BufferedInputStream(input, BUFFER_SIZE));
+        }
+
+        @Override
+        public ExportRecord next() throws IOException {
+            if (!nodes.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = nodes.nextValue();
+            int line = nodes.getCurrentLocation().getLineNr();
+            try {
+                return switch (text(node, "type", true)) {
+                    case "tournament" -> new TournamentRecord(number(node, "id"), text(node, "name", true),
+                        LocalDate.parse(text(node, "startDate", true)), LocalDate.parse(text(node, "endDate", true)),
+                        text(node, "status", true));
+                    case "player" -> new PlayerRecord(number(node, "id"), text(node, "name", true),
+                        text(node, "email", true),
+                        node.hasNonNull("rank") ? (int) number(node, "rank") : null,
+                        node.hasNonNull("rating") ? node.get("rating").asDouble() : null,
+                        node.path("active").asBoolean(true), node.path("registered").asBoolean(false));
+                    case "match" -> new MatchRecord(number(node, "id"), number(node, "player1Id"),
+                        number(node, "player2Id"), (int) number(node, "round"), text(node, "status", true),
+                        (int) number(node, "intendedTotalSets"), text(node, "winner", false),
+                        dateTime(text(node, "scheduledTime", false)), dateTime(text(node, "completedAt", false)),
+                        text(node, "venue", false), text(node, "notes", false), sets(node.path("sets")));
+                    case "end" -> new EndRecord(number(node, "players"), number(node, "matches"));
+                    default -> throw new IllegalArgumentException("Unknown record type");
+                };
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid export record on line " + line + ": " + e.getMessage(), e);
+            }
+        }
+
+        private static String text(JsonNode node, String field, boolean required) {
+            JsonNode value = node.get(field);
+            if (value == null || value.isNull()) {
+                if (required) {
+                    throw new IllegalArgumentException("Missing field " + field);
+                }
+                return null;
+            }
+            if (!value.isTextual() || value.textValue().length() > MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException("Field " + field + " must be a string of at most "
+                    + MAX_TEXT_LENGTH + " characters");
+            }
+            return value.textValue();
+        }
+
+        private static long number(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            if (value == null || !value.canConvertToLong()) {
+                throw new IllegalArgumentException("Field " + field + " must be an integer");
+            }
+            return value.longValue();
+        }
+
+        private static LocalDateTime dateTime(String value) {
+            return value != null ? LocalDateTime.parse(value) : null;
+        }
+
+        private static List<SetRecord> sets(JsonNode array) {
+            if (!array.isArray() || array.size() > MAX_SETS) {
+                throw new IllegalArgumentException("Sets must be an array of at most " + MAX_SETS + " score pairs");
+            }
+            List<SetRecord> sets = new ArrayList<>(array.size());
+            for (JsonNode set : array) {
+                if (set.size() != 2 || !set.get(0).canConvertToInt() || !set.get(1).canConvertToInt()) {
+                    throw new IllegalArgumentException("A set must be a pair of scores");
+                }
+                sets.add(new SetRecord(set.get(0).intValue(), set.get(1).intValue()));
+            }
+            return sets;
+        }
+    }
+
+    private static final class BinaryWriter implements Writer {
+        private final DataOutputStream out;
+
+        BinaryWriter(OutputStream output) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+            out.write(MAGIC);
+        }
+
+        @Override
+        public void write(ExportRecord record) throws IOException {
+            switch (record) {
+                case TournamentRecord t -> {
+                    out.writeByte(TOURNAMENT);
+                    writeLong(t.id());
+                    writeString(t.name());
+                    writeLong(t.startDate().toEpochDay());
+                    writeLong(t.endDate().toEpochDay());
+                    writeString(t.status());
+                }
+                case PlayerRecord p -> {
+                    out.writeByte(PLAYER);
+                    writeLong(p.id());
+                    writeString(p.name());
+                    writeString(p.email());
+                    // Presence and boolean fields share one flag byte
+                    out.writeByte((p.rank() != null ? 1 : 0) | (p.rating() != null ? 2 : 0)
+                        | (p.active() ? 4 : 0) | (p.registered() ? 8 : 0));
+                    if (p.rank() != null) {
+                        writeLong(p.rank());
+                    }
+                    if (p.rating() != null) {
+                        out.writeDouble(p.rating());
+                    }
+                }
+                case MatchRecord m -> {
+                    out.writeByte(MATCH);
+                    writeLong(m.id());
+                    writeLong(m.player1Id());
+                    writeLong(m.player2Id());
+                    writeLong(m.round());
+                    writeString(m.status());
+                    writeLong(m.intendedTotalSets());
+                    writeString(m.winner());
+                    writeDateTime(m.scheduledTime());
+                    writeDateTime(m.completedAt());
+                    writeString(m.venue());
+                    writeString(m.notes());
+                    writeLong(m.sets().size());
+                    for (SetRecord set : m.sets()) {
+                        writeLong(set.player1Score());
+                        writeLong(set.player2Score());
+                    }
+                }
+                case EndRecord e -> {
+                    out.writeByte(END);
+                    writeLong(e.players());
+                    writeLong(e.matches());
+                }
+            }
+        }
+
+        /**
+         * Zigzag encoded so small negative values stay short, then seven bits per byte.
+         */
+        private void writeLong(long value) throws IOException {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                out.writeByte((int) (zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            out.writeByte((int) zigzag);
+        }
+
+        /**
+         * Length plus one, zero for null, followed by the UTF-8 bytes.
+         */
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeLong(bytes.length + 1L);
+            out.write(bytes);
+        }
+
+        private void writeDateTime(LocalDateTime value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                writeLong(value.toEpochSecond(ZoneOffset.UTC));
+                writeLong(value.getNano());
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static final class BinaryReader implements Reader {
+        private final DataInputStream in;
+        private long records;
+
+        BinaryReader(InputStream input) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+            byte[] magic = new byte[MAGIC.length];
+            int read = in.readNBytes(magic, 0, magic.length);
+            if (read != magic.length || !Arrays.equals(magic, MAGIC)) {
+                throw new IllegalArgumentException("Not a binary tournament export of a supported version");
+            }
+        }
+
+        @Override
+        public ExportRecord next() throws IOException {
+            int type = in.read();
+            if (type < 0) {
+                return null;
+            }
+            records++;
+            try {
+                return switch (type) {
+                    case TOURNAMENT -> new TournamentRecord(readLong(), readString(),
+                        LocalDate.ofEpochDay(readLong()), LocalDate.ofEpochDay(readLong()), readString());
+                    case PLAYER -> {
+                        long id = readLong();
+                        String name = readString();
+                        String email = readString();
+                        int flags = in.readUnsignedByte();
+                        Integer rank = (flags & 1) != 0 ? readInt() : null;
+                        Double rating = (flags & 2) != 0 ? in.readDouble() : null;
+                        yield new PlayerRecord(id, name, email, rank, rating, (flags & 4) != 0, (flags & 8) != 0);
+                    }
+                    case MATCH -> {
+                        long id = readLong();
+                        long player1Id = readLong();
+                        long player2Id = readLong();
+                        int round = readInt();
+                        String status = readString();
+                        int intendedTotalSets = readInt();
+                        String winner = readString();
+                        LocalDateTime scheduledTime = readDateTime();
+                        LocalDateTime completedAt = readDateTime();
+                        String venue = readString();
+                        String notes = readString();
+                        int setCount = readInt();
+                        if (setCount < 0 || setCount > MAX_SETS) {
+                            throw new IllegalArgumentException("Match " + id + " has " + setCount + " sets");
+                        }
+                        List<SetRecord> sets = new ArrayList<>(setCount);
+                        for (int i = 0; i < setCount; i++) {
+                            sets.add(new SetRecord(readInt(), readInt()));
+                        }
+                        yield new MatchRecord(id, player1Id, player2Id, round, status, intendedTotalSets, winner,
+                            scheduledTime, completedAt, venue, notes, sets);
+                    }
+                    case END -> new EndRecord(readLong(), readLong());
+                    default -> throw new IllegalArgumentException("Unknown record type " + type);
+                };
+            } catch (EOFException e) {
+                throw new IllegalArgumentException("Export ends within record " + records, e);
+            } catch (IllegalArgumentException | ArithmeticException | DateTimeException e) {
+                throw new IllegalArgumentException("Invalid export record " + records + ": " + e.getMessage(), e);
+            }
+        }
+
+        private long readLong() throws IOException {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer");
+        }
+
+        private int readInt() throws IOException {
+            return Math.toIntExact(readLong());
+        }
+
+        private String readString() throws IOException {
+            long length = readLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > 4L * MAX_TEXT_LENGTH) {
+                throw new IllegalArgumentException("Text of " + length + " bytes exceeds the limit");
+            }
+            byte[] bytes = new byte[(int) length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private LocalDateTime readDateTime() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(readLong(), readInt(), ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.tournament.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.config.MatchPartitioning;
+import com.tournament.dto.TournamentImportResult;
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.model.TournamentArchive;
+import com.tournament.model.TournamentExportFormat;
+import com.tournament.model.TournamentStatus;
+import com.tournament.model.TournamentVersion;
+import com.tournament.repository.MatchRepository;
+import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.TournamentArchiveRepository;
+import com.tournament.service.TournamentExportCodec.EndRecord;
+import com.tournament.service.TournamentExportCodec.ExportRecord;
+import com.tournament.service.TournamentExportCodec.MatchRecord;
+import com.tournament.service.TournamentExportCodec.PlayerRecord;
+import com.tournament.service.TournamentExportCodec.SetRecord;
+import com.tournament.service.TournamentExportCodec.TournamentRecord;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Export of a tournament with its players, matches and sets, and import of such an export
+ * as a new tournament, e.g. to archive an event or move it to another environment.
+ *
+ * The export is written straight from JDBC result sets read with a fetch size, so neither
+ * the entity graph nor the whole result is held in memory. The import reads one record at
+ * a time and writes players and matches in JDBC batches, detaching each batch once written.
+ * Memory use of both therefore depends on the number of players, not matches.
+ */
+@Service
+public class TournamentExportService {
+    private static final Logger logger = LoggerFactory.getLogger(TournamentExportService.class);
+
+    private static final int READ_FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final StandingsService standingsService;
+    private final MatchPartitioning matchPartitioning;
+    private final TournamentArchiveRepository tournamentArchiveRepository;
+    private final PlayerSearchIndex playerSearchIndex;
+
+    public TournamentExportService(JdbcTemplate jdbcTemplate,
+                                   ObjectMapper objectMapper,
+                                   EntityManager entityManager,
+                                   PlayerRepository playerRepository,
+                                   MatchRepository matchRepository,
+                                   StandingsService standingsService,
+                                   MatchPartitioning matchPartitioning,
+                                   TournamentArchiveRepository tournamentArchiveRepository,
+                                   PlayerSearchIndex playerSearchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.playerRepository = playerRepository;
+        this.matchRepository = matchRepository;
+        this.standingsService = standingsService;
+        this.matchPartitioning = matchPartitioning;
+        this.tournamentArchiveRepository = tournamentArchiveRepository;
+        this.playerSearchIndex = playerSearchIndex;
+    }
+
+    /**
+     * Write a tournament to the output. Runs in one repeatable read transaction so the
+     * records are consistent with each other. Scores still held by the
+     * {@link LiveMatchEngine} are exported once they have been flushed. The players and
+     * matches of an archived tournament are those of its archive.
+     * @throws IllegalArgumentException If the tournament does not exist.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void exportTournament(Long tournamentId, TournamentExportFormat format, OutputStream output)
+            throws IOException {
+        Assert.notNull(tournamentId, "Tournament ID must not be null");
+        Assert.notNull(format, "Export format must not be null");
+        long start = System.currentTimeMillis();
+        TournamentExportCodec.Writer writer = TournamentExportCodec.writer(output, format, objectMapper);
+        long[] counts = new long[2];
+        try {
+            List<TournamentRecord> tournaments = jdbcTemplate.query(
+                "SELECT id, name, start_date, end_date, status FROM tournaments WHERE id = ?",
+                (rs, row) -> new TournamentRecord(rs.getLong(1), rs.getString(2),
+                    rs.getObject(3, LocalDate.class), rs.getObject(4, LocalDate.class),
+                    rs.getString(5)),
+                tournamentId);
+            Assert.isTrue(!tournaments.isEmpty(), "Tournament not found with id: " + tournamentId);
+            writer.write(tournaments.get(0));
+            TournamentArchive archive = tournamentArchiveRepository.findById(tournamentId).orElse(null);
+            if (archive != null) {
+                copyArchive(archive, writer, counts);
+            } else {
+                String matchIds = matchPartitioning.idBlockCondition("m.id", tournamentId);
+
+                // Players who play matches without being registered are exported as well
+                stream("SELECT p.id, p.name, p.email, p.rank, p.rating, p.active, "
+                        + "EXISTS (SELECT 1 FROM tournament_players r WHERE r.tournament_id = ? AND r.player_id = p.id) "
+                        + "FROM players p WHERE p.id IN (SELECT tp.player_id FROM tournament_players tp WHERE tp.tournament_id = ?) "
+                        + "OR p.id IN (SELECT m.player1_id FROM matches m WHERE m.tournament_id = ? AND " + matchIds + ") "
+                        + "OR p.id IN (SELECT m.player2_id FROM matches m WHERE m.tournament_id = ? AND " + matchIds + ") "
+                        + "ORDER BY p.id",
+                    4, tournamentId, rs -> {
+                        writer.write(new PlayerRecord(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getObject(4, Integer.class), rs.getObject(5, Double.class), rs.getBoolean(6),
+                            rs.getBoolean(7)));
+                        counts[0]++;
+                    });
+
+                // One row per set, grouped back into matches as they arrive in match order
+                MatchRows matches = new MatchRows(writer);
+                stream("SELECT m.id, m.player1_id, m.player2_id, m.round, m.status, m.intended_total_sets, m.winner, "
+                        + "m.scheduled_time, m.completed_at, m.venue, m.notes, s.player1_score, s.player2_score "
+                        + "FROM matches m LEFT JOIN match_sets s ON s.match_id = m.id AND "
+                        + matchPartitioning.idBlockCondition("s.match_id", tournamentId) + " "
+                        + "WHERE m.tournament_id = ? AND " + matchIds + " ORDER BY m.id, s.set_index",
+                    1, tournamentId, matches::add);
+                counts[1] = matches.finish();
+            }
+
+            writer.write(new EndRecord(counts[0], counts[1]));
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        logger.info("Exported tournament ID: {} with {} players and {} matches as {} in {} ms",
+            tournamentId, counts[0], counts[1], format, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Create a new tournament from an export. Players are matched by email: known players
+     * are linked as they are, unknown ones are created. Standings are rebuilt from the
+     * completed matches; ratings are left untouched until the next recompute.
+     * @throws IllegalArgumentException If the input is not a complete, valid export, in which
+     *         case nothing is imported.
+     */
+    @Transactional
+    public TournamentImportResult importTournament(InputStream input, TournamentExportFormat format)
+            throws IOException {
+        Assert.notNull(format, "Import format must not be null");
+        long start = System.currentTimeMillis();
+        TournamentExportCodec.Reader reader = TournamentExportCodec.reader(input, format, objectMapper);
+
+        ExportRecord first = reader.next();
+        if (!(first instanceof TournamentRecord tournamentRecord)) {
+            throw new IllegalArgumentException("An export must start with its tournament");
+        }
+        Tournament tournament = createTournament(tournamentRecord);
+        TournamentImportResult result = new TournamentImportResult();
+        result.setTournamentId(tournament.getId());
+
+        PlayerImport players = new PlayerImport(tournament.getId(), result);
+        MatchImport matches = new MatchImport(tournament.getId(), players, result);
+        EndRecord end = null;
+        ExportRecord record;
+        while (end == null && (record = reader.next()) != null) {
+            switch (record) {
+                case PlayerRecord player -> {
+                    Assert.isTrue(matches.isEmpty(), "Players must precede the matches of an export");
+                    players.add(player);
+                }
+                case MatchRecord match -> {
+                    players.finish();
+                    matches.add(match);
+                }
+                case EndRecord e -> end = e;
+                case TournamentRecord t -> throw new IllegalArgumentException("An export holds one tournament");
+            }
+        }
+        Assert.notNull(end, "Export is incomplete, its end record is missing");
+        Assert.isNull(reader.next(), "Export continues after its end record");
+        players.finish();
+        matches.finish();
+        matches.saveStandings();
+        Assert.isTrue(end.players() == result.getPlayers() && end.matches() == result.getMatches(),
+            "Export announces " + end.players() + " players and " + end.matches() + " matches but holds "
+                + result.getPlayers() + " and " + result.getMatches());
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("Imported tournament ID: {} with {} players ({} new) and {} matches in {} ms",
+            tournament.getId(), result.getPlayers(), result.getPlayersCreated(), result.getMatches(),
+            result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Write the players and matches of an archive, the tournament record is the current one.
+     */
+    private void copyArchive(TournamentArchive archive, TournamentExportCodec.Writer writer, long[] counts)
+            throws IOException {
+        TournamentExportCodec.Reader reader = TournamentArchiveService.reader(archive, objectMapper);
+        ExportRecord record;
+        while ((record = reader.next()) != null && !(record instanceof EndRecord)) {
+            if (record instanceof PlayerRecord) {
+                writer.write(record);
+                counts[0]++;
+            } else if (record instanceof MatchRecord) {
+                writer.write(record);
+                counts[1]++;
+            }
+        }
+    }
+
+    /**
+     * Build the match of an exported match record, without an id.
+     */
+    static Match toMatch(MatchRecord record, Player player1, Player player2, Tournament tournament) {
+        MatchScore score = new MatchScore(record.intendedTotalSets());
+        for (SetRecord setRecord : record.sets()) {
+            MatchScore.SetScore set = new MatchScore.SetScore();
+            set.setPlayer1Score(setRecord.player1Score());
+            set.setPlayer2Score(setRecord.player2Score());
+            score.addSet(set);
+        }
+        score.setWinner(record.winner());
+        return Match.builder()
+                .player1(player1)
+                .player2(player2)
+                .round(record.round())
+                .status(MatchStatus.valueOf(record.status()))
+                .scheduledTime(record.scheduledTime())
+                .completedAt(record.completedAt())
+                .venue(record.venue())
+                .notes(record.notes())
+                .score(score)
+                .tournament(tournament)
+                .build();
+    }
+
+    private Tournament createTournament(TournamentRecord record) {
+        Tournament tournament = new Tournament();
+        tournament.setName(record.name());
+        tournament.setStartDate(record.startDate());
+        tournament.setEndDate(record.endDate());
+        tournament.setStatus(TournamentStatus.valueOf(record.status()));
+        entityManager.persist(tournament);
+        entityManager.persist(new TournamentVersion(tournament.getId(), 0));
+        matchPartitioning.ensurePartitions(tournament.getId());
+        return tournament;
+    }
+
+    /**
+     * Run a query with the tournament id bound to its first {@code parameters} placeholders,
+     * streaming the rows to the handler.
+     */
+    private void stream(String sql, int parameters, Long tournamentId, RowHandler handler) {
+        jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql);
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setLong(i, tournamentId);
+                }
+                // Stream the rows instead of loading the whole result set into the driver
+                statement.setFetchSize(READ_FETCH_SIZE);
+                return statement;
+            },
+            (RowCallbackHandler) rs -> {
+                try {
+                    handler.handle(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /**
+     * Assembles the match currently being read from its set rows.
+     */
+    private static final class MatchRows {
+        private final TournamentExportCodec.Writer writer;
+        private MatchRecord current;
+        private long written;
+
+        MatchRows(TournamentExportCodec.Writer writer) {
+            this.writer = writer;
+        }
+
+        void add(ResultSet rs) throws SQLException, IOException {
+            long id = rs.getLong(1);
+            if (current == null || current.id() != id) {
+                finish();
+                current = new MatchRecord(id, rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getString(5),
+                    rs.getInt(6), rs.getString(7), localDateTime(rs.getTimestamp(8)),
+                    localDateTime(rs.getTimestamp(9)), rs.getString(10), rs.getString(11), new ArrayList<>());
+            }
+            int player1Score = rs.getInt(12);
+            if (!rs.wasNull()) {
+                current.sets().add(new SetRecord(player1Score, rs.getInt(13)));
+            }
+        }
+
+        long finish() throws IOException {
+            if (current != null) {
+                writer.write(current);
+                written++;
+                current = null;
+            }
+            return written;
+        }
+
+        private static LocalDateTime localDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+
+    /**
+     * Links the players of an export in chunks of the id allocation size: one lookup by
+     * email per chunk, new players inserted in one batch, registrations added in one batch.
+     */
+    private final class PlayerImport {
+        private final Long tournamentId;
+        private final TournamentImportResult result;
+        private final Map<Long, Long> localIds = new HashMap<>();
+        private final List<PlayerRecord> chunk = new ArrayList<>(Player.ID_ALLOCATION_SIZE);
+
+        PlayerImport(Long tournamentId, TournamentImportResult result) {
+            this.tournamentId = tournamentId;
+            this.result = result;
+        }
+
+        void add(PlayerRecord record) {
+            Assert.hasText(record.email(), "Player " + record.id() + " has no email");
+            Assert.isTrue(!localIds.containsKey(record.id()), "Player " + record.id() + " is exported twice");
+            // Reserve the id so duplicates within a chunk are caught as well
+            localIds.put(record.id(), null);
+            chunk.add(record);
+            if (chunk.size() == Player.ID_ALLOCATION_SIZE) {
+                finish();
+            }
+        }
+
+        void finish() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Map<String, Player> playersByEmail = new HashMap<>();
+            for (Player player : playerRepository.findByEmailIn(chunk.stream().map(PlayerRecord::email).toList())) {
+                playersByEmail.put(player.getEmail(), player);
+            }
+            List<Object[]> registrations = new ArrayList<>(chunk.size());
+            List<Player> created = new ArrayList<>();
+            for (PlayerRecord record : chunk) {
+                Player player = playersByEmail.get(record.email());
+                if (player == null) {
+                    player = new Player();
+                    player.setName(record.name());
+                    player.setEmail(record.email());
+                    player.setRank(record.rank());
+                    player.setRating(record.rating());
+                    player.setActive(record.active());
+                    entityManager.persist(player);
+                    playersByEmail.put(record.email(), player);
+                    created.add(player);
+                    result.setPlayersCreated(result.getPlayersCreated() + 1);
+                }
+                localIds.put(record.id(), player.getId());
+                if (record.registered()) {
+                    registrations.add(new Object[]{tournamentId, player.getId()});
+                }
+            }
+            entityManager.flush();
+            playerSearchIndex.update(created);
+            entityManager.clear();
+            jdbcTemplate.batchUpdate("INSERT INTO tournament_players (tournament_id, player_id) VALUES (?, ?)",
+                registrations);
+            result.setPlayers(result.getPlayers() + chunk.size());
+            chunk.clear();
+        }
+
+        Long localId(long exportedId) {
+            Long id = localIds.get(exportedId);
+            Assert.notNull(id, "Match refers to player " + exportedId + " who is not part of the export");
+            return id;
+        }
+    }
+
+    /**
+     * Inserts the matches of an export in chunks of the id allocation size, counting the
+     * completed ones into the standings before each chunk is detached.
+     */
+    private final class MatchImport {
+        private final Long tournamentId;
+        private final PlayerImport players;
+        private final TournamentImportResult result;
+        private final StandingsService.BulkStandings standings;
+        private final List<Match> chunk = new ArrayList<>(Match.ID_ALLOCATION_SIZE);
+
+        MatchImport(Long tournamentId, PlayerImport players, TournamentImportResult result) {
+            this.tournamentId = tournamentId;
+            this.players = players;
+            this.result = result;
+            this.standings = standingsService.bulk(tournamentId);
+        }
+
+        boolean isEmpty() {
+            return result.getMatches() == 0 && chunk.isEmpty();
+        }
+
+        void add(MatchRecord record) {
+            Assert.isTrue(record.round() > 0, "Match " + record.id() + " has no valid round");
+            Assert.isTrue(record.intendedTotalSets() > 0 && record.intendedTotalSets() % 2 != 0,
+                "Match " + record.id() + " must be played over a positive odd number of sets");
+
+            chunk.add(toMatch(record,
+                entityManager.getReference(Player.class, players.localId(record.player1Id())),
+                entityManager.getReference(Player.class, players.localId(record.player2Id())),
+                entityManager.getReference(Tournament.class, tournamentId)));
+            result.setSets(result.getSets() + record.sets().size());
+            if (chunk.size() == Match.ID_ALLOCATION_SIZE) {
+                finish();
+            }
+        }
+
+        void finish() {
+            if (!chunk.isEmpty()) {
+                matchRepository.saveAll(chunk);
+                chunk.forEach(standings::add);
+                entityManager.flush();
+                entityManager.clear();
+                result.setMatches(result.getMatches() + chunk.size());
+                chunk.clear();
+            }
+        }
+
+        void saveStandings() {
+            standings.save();
+        }
+    }
+}
@@ -1,29 +1,60 @@
 package com.tournament.service;
 
+import com.tournament.dto.BracketResponse;
 import com.tournament.dto.CreateMatchRequest;
 import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.dto.TournamentSummary;
+import com.tournament.dto.TournamentSummaryPage;
 import com.tournament.dto.UpdateScoreResponse;
+import com.tournament.exception.PlayersNotFoundException;
 import com.tournament.exception.ResourceNotFoundException;
+import com.tournament.exception.ScoreVersionConflictException;
+import com.tournament.event.MatchResultChangedEvent;
+import com.tournament.event.MatchScoreChangedEvent;
+import com.tournament.model.BracketFormat;
 import com.tournament.model.MatchScore;
 import com.tournament.model.MatchStatus;
 import com.tournament.model.Tournament;
+import com.tournament.model.TournamentVersion;
 import com.tournament.model.TournamentStatus;
 import com.tournament.model.Match;
 import com.tournament.model.Player;
 import com.tournament.model.ScoreUpdateStatus;
-import com.tournament.model.PlayerSide;
+import com.tournament.repository.TournamentArchiveRepository;
 import com.tournament.repository.TournamentRepository;
+import com.tournament.repository.MatchRepository;
 import com.tournament.repository.PlayerRepository;
+import com.tournament.repository.TournamentVersionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 import com.tournament.config.GameRules;
+import com.tournament.config.MatchPartitioning;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -32,22 +63,72 @@ public class TournamentService {
     
     private final TournamentRepository tournamentRepository;
     private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final TournamentVersionRepository tournamentVersionRepository;
     private final GameRules gameRules;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveMatchEngine liveMatchEngine;
+    private final StandingsService standingsService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ScoreMetrics scoreMetrics;
+    private final MatchPartitioning matchPartitioning;
+    private final TournamentArchiveService tournamentArchiveService;
+    private final TournamentArchiveRepository tournamentArchiveRepository;
 
-    public List<Tournament> getAllTournaments() {
-        return tournamentRepository.findAll();
+    public static final int MAX_SUMMARY_PAGE_SIZE = 100;
+    private static final int MAX_SCORE_UPDATE_ATTEMPTS = 20;
+
+    /**
+     * Get one page of tournament summaries, newest first.
+     * @param status Only include tournaments in this status, or all if null.
+     * @param afterId Cursor returned by the previous page, or null for the first page.
+     * @param limit Maximum number of summaries to return.
+     */
+    @Transactional(readOnly = true)
+    public TournamentSummaryPage getTournamentSummaries(TournamentStatus status, Long afterId, int limit) {
+        Assert.isTrue(limit > 0 && limit <= MAX_SUMMARY_PAGE_SIZE,
+            "Limit must be between 1 and " + MAX_SUMMARY_PAGE_SIZE);
+
+        Collection<TournamentStatus> statuses = status != null
+            ? EnumSet.of(status)
+            : EnumSet.allOf(TournamentStatus.class);
+        // Fetch one extra row to know whether another page follows
+        List<TournamentSummary> summaries = tournamentRepository.findSummaries(
+            afterId != null ? afterId : Long.MAX_VALUE, statuses, PageRequest.of(0, limit + 1));
+
+        Long nextCursor = null;
+        if (summaries.size() > limit) {
+            summaries = new ArrayList<>(summaries.subList(0, limit));
+            nextCursor = summaries.get(limit - 1).getId();
+        }
+        return new TournamentSummaryPage(summaries, nextCursor);
     }
 
+    /**
+     * Get a tournament with its players and matches. The matches of an archived tournament
+     * come from its archive, in a copy that is not managed.
+     */
+    @Transactional(readOnly = true)
     public Tournament getTournament(Long id) {
-        return tournamentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found with id: " + id));
+        Tournament tournament = findTournament(id);
+        if (tournament.getArchivedAt() != null) {
+            return tournamentArchiveService.withArchivedMatches(tournament);
+        }
+        return loadMatches(tournament);
+    }
+
+    /**
+     * Current change version of a tournament, incremented by every write that alters its
+     * reads or its standings.
+     * @return The version, or null if the tournament does not exist.
+     */
+    public Long getChangeVersion(Long tournamentId) {
+        return tournamentVersionRepository.findVersion(tournamentId).orElse(null);
     }
 
     public Match getMatch(Long tournamentId, Long matchId) {
-        Tournament tournament = getTournament(tournamentId);
-        return tournament.getMatches().stream()
-                .filter(m -> m.getId().equals(matchId))
-                .findFirst()
+        return matchRepository.findByTournamentIdAndId(tournamentId, matchId)
                 .orElseThrow(() -> new ResourceNotFoundException("Match not found with id: " + matchId));
     }
 
@@ -60,7 +141,7 @@ public class TournamentService {
         Assert.isTrue(!tournament.getEndDate().isBefore(tournament.getStartDate()), 
             "End date must not be before start date");
         
-        return tournamentRepository.save(tournament);
+        return createVersion(tournamentRepository.save(tournament));
     }
 
     @Transactional
@@ -81,14 +162,12 @@ public class TournamentService {
         
         // Add players if playerIds are provided
         if (request.getPlayerIds() != null && !request.getPlayerIds().isEmpty()) {
-            for (Long playerId : request.getPlayerIds()) {
-                Player player = playerRepository.findById(playerId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Player not found with id: " + playerId));
+            for (Player player : findPlayers(request.getPlayerIds())) {
                 tournament.addPlayer(player);
             }
         }
         
-        return tournamentRepository.save(tournament);
+        return createVersion(tournamentRepository.save(tournament));
     }
 
     @Transactional
@@ -106,7 +185,7 @@ public class TournamentService {
                 "Intended total sets must be a positive odd number (e.g., 1, 3, 5)");
         }
 
-        Tournament tournament = getTournament(tournamentId);
+        Tournament tournament = findWritableTournament(tournamentId);
         
         Player player1 = playerRepository.findById(request.getPlayer1Id())
                 .orElseThrow(() -> new ResourceNotFoundException("Player 1 not found with id: " + request.getPlayer1Id()));
@@ -129,46 +208,121 @@ public class TournamentService {
                 .notes(request.getNotes())
                 .status(MatchStatus.PENDING)
                 .score(score) // Score now includes intendedTotalSets
+                .tournament(tournament)
                 .build();
 
-        tournament.addMatch(match);
-        tournamentRepository.save(tournament);
+        matchPartitioning.ensurePartitions(tournamentId);
+        // Saved on its own, adding it to the tournament would load all of its matches
+        matchRepository.save(match);
+        tournamentVersionRepository.increment(tournamentId);
         return match;
     }
 
+    /**
+     * Create the matches of a tournament from its registered players in one operation.
+     * Matches are persisted in chunks of the JDBC batch size and detached after each
+     * chunk, so large round robins neither issue one statement per match nor hold every
+     * match in the persistence context.
+     */
     @Transactional
+    public BracketResponse generateBracket(Long tournamentId, GenerateBracketRequest request) {
+        Assert.notNull(request, "GenerateBracketRequest must not be null");
+        Assert.notNull(request.getFormat(), "Bracket format must not be null");
+        if (request.getIntendedTotalSets() != null) {
+            Assert.isTrue(request.getIntendedTotalSets() > 0 && request.getIntendedTotalSets() % 2 != 0,
+                "Intended total sets must be a positive odd number (e.g., 1, 3, 5)");
+        }
+
+        Tournament tournament = findWritableTournament(tournamentId);
+        Assert.isTrue(matchRepository.countByTournamentId(tournamentId, matchPartitioning.hasLegacyIds(tournamentId)) == 0,
+            "Tournament " + tournamentId + " already has matches");
+
+        List<Player> players = new ArrayList<>(tournament.getPlayers());
+        BracketGenerator.Bracket bracket = request.getFormat() == BracketFormat.SINGLE_ELIMINATION
+            ? BracketGenerator.singleElimination(players)
+            : BracketGenerator.roundRobin(players);
+        int setsForMatch = request.getIntendedTotalSets() != null ? request.getIntendedTotalSets() : 3;
+        matchPartitioning.ensurePartitions(tournamentId);
+
+        List<Match> chunk = new ArrayList<>(Match.ID_ALLOCATION_SIZE);
+        for (BracketGenerator.Pairing pairing : bracket.pairings()) {
+            chunk.add(Match.builder()
+                    .player1(pairing.player1())
+                    .player2(pairing.player2())
+                    .round(pairing.round())
+                    .status(MatchStatus.PENDING)
+                    .score(new MatchScore(setsForMatch))
+                    .tournament(tournament)
+                    .build());
+            if (chunk.size() == Match.ID_ALLOCATION_SIZE) {
+                saveChunk(chunk);
+            }
+        }
+        saveChunk(chunk);
+        tournamentVersionRepository.increment(tournamentId);
+        logger.debug("Generated {} bracket with {} matches for tournament ID: {}",
+            request.getFormat(), bracket.pairings().size(), tournamentId);
+
+        return BracketResponse.builder()
+                .tournamentId(tournamentId)
+                .format(request.getFormat())
+                .rounds(bracket.rounds())
+                .matchesCreated(bracket.pairings().size())
+                .byePlayerIds(bracket.byes().stream().map(Player::getId).toList())
+                .build();
+    }
+
+    private void saveChunk(List<Match> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        matchRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
     public UpdateScoreResponse updateMatchScore(Long tournamentId, Long matchId, MatchScore scoreUpdate) {
+        return updateMatchScore(tournamentId, matchId, scoreUpdate, null);
+    }
+
+    /**
+     * Replace the set scores of a match.
+     * @param expectedVersion Version the client based its score on, or null to overwrite unconditionally.
+     *        Sets changed by someone else since that version are merged if the incoming
+     *        value agrees and rejected with a {@link ScoreVersionConflictException} otherwise.
+     */
+    public UpdateScoreResponse updateMatchScore(Long tournamentId, Long matchId, MatchScore scoreUpdate,
+                                                Long expectedVersion) {
         logger.debug("Updating score for match ID: {} in tournament ID: {}", matchId, tournamentId);
+        // A full score replaces whatever the live engine holds, so persist and release it first
+        ScoreMetrics.Update metrics = scoreMetrics.startUpdate("replace");
+        try {
+            liveMatchEngine.flushAndEvict(matchId);
+            UpdateScoreResponse response = withOptimisticRetry(() -> transactionTemplate.execute(
+                tx -> updatePersistentMatchScore(tournamentId, matchId, scoreUpdate, expectedVersion)));
+            metrics.completed(response.getScoreUpdateStatus());
+            return response;
+        } catch (RuntimeException e) {
+            metrics.failed(e);
+            throw e;
+        }
+    }
+
+    private UpdateScoreResponse updatePersistentMatchScore(Long tournamentId, Long matchId, MatchScore scoreUpdate,
+                                                           Long expectedVersion) {
         Match match = getMatch(tournamentId, matchId);
+        MatchStatus previousStatus = match.getStatus();
         MatchScore managedScore = match.getScore();
         int setsBeforeUpdate = managedScore.getSets().size();
         logger.debug("Sets before update: {}", setsBeforeUpdate);
 
         // Apply score update data by merging into the managed collection
         if (scoreUpdate.getSets() != null) {
-            List<MatchScore.SetScore> incomingSets = scoreUpdate.getSets();
-            List<MatchScore.SetScore> managedSets = managedScore.getSets();
-            
-            // Ensure managed list can accommodate incoming sets
-            while (managedSets.size() < incomingSets.size()) {
-                managedScore.addNewEmptySet(); // Add placeholders if needed
-            }
-            
-            // Update existing/newly added sets
-            for (int i = 0; i < incomingSets.size(); i++) {
-                MatchScore.SetScore incomingSet = incomingSets.get(i);
-                MatchScore.SetScore managedSet = managedSets.get(i); // Get the managed set
-                
-                if (incomingSet != null && managedSet != null) {
-                    // Update scores on the managed set object
-                    managedSet.setPlayer1Score(incomingSet.getPlayer1Score());
-                    managedSet.setPlayer2Score(incomingSet.getPlayer2Score());
-                    // We don't copy the winner here, it should be calculated
-                } else {
-                    logger.warn("Skipping update for set index {} due to null set object (incoming: {}, managed: {}).", i, incomingSet, managedSet);
-                }
-            }
-            logger.debug("Merged scores for {} sets into managed score.", incomingSets.size());
+            long currentVersion = match.getVersion() != null ? match.getVersion() : 0;
+            MatchScoring.mergeSets(matchId, currentVersion, match.getStatus(), managedScore,
+                scoreUpdate.getSets(), expectedVersion, currentVersion + 1);
+            logger.debug("Merged scores for {} sets into managed score.", scoreUpdate.getSets().size());
         }
 
         // Calculate winner and update status based on the MANAGED score object
@@ -214,44 +368,148 @@ public class TournamentService {
         }
         logger.debug("Determined ScoreUpdateStatus: {}", status);
 
+        publishResultChange(tournamentId, match, previousStatus);
+        // Flush so the response carries the incremented version
+        matchRepository.saveAndFlush(match);
+        tournamentVersionRepository.increment(tournamentId);
+        eventPublisher.publishEvent(new MatchScoreChangedEvent(tournamentId, match, previousStatus, status));
+
         logger.debug("Returning response for match ID: {}. Final match status in returned object: {}", matchId, match.getStatus());
         return new UpdateScoreResponse(match, status);
     }
-    
+
+    /**
+     * Apply an incremental change to a single set of a match. Unlike
+     * {@link #updateMatchScore}, only the addressed set is touched and a compact
+     * response is returned. Matches held by the {@link LiveMatchEngine} are scored
+     * in memory; all others are updated in a database transaction.
+     */
+    public ScoreDeltaResponse applyScoreDelta(Long tournamentId, Long matchId, ScoreDeltaRequest delta) {
+        MatchScoring.validate(delta);
+        logger.debug("Applying score delta {} to match ID: {} in tournament ID: {}", delta, matchId, tournamentId);
+
+        ScoreMetrics.Update metrics = scoreMetrics.startUpdate("delta");
+        try {
+            // The engine is asked again on a retry, as the conflicting write may have handed the match to it
+            ScoreDeltaResponse response = withOptimisticRetry(() -> {
+                ScoreDeltaResponse liveResponse = liveMatchEngine.apply(tournamentId, matchId, delta);
+                if (liveResponse != null) {
+                    metrics.servedLive();
+                    return liveResponse;
+                }
+                return transactionTemplate.execute(tx -> applyPersistentScoreDelta(tournamentId, matchId, delta));
+            });
+            metrics.completed(response.getScoreUpdateStatus());
+            return response;
+        } catch (RuntimeException e) {
+            metrics.failed(e);
+            throw e;
+        }
+    }
+
+    private ScoreDeltaResponse applyPersistentScoreDelta(Long tournamentId, Long matchId, ScoreDeltaRequest delta) {
+        Match match = getMatch(tournamentId, matchId);
+        MatchStatus previousStatus = match.getStatus();
+        MatchScore managedScore = match.getScore();
+        long currentVersion = match.getVersion() != null ? match.getVersion() : 0;
+        MatchScoring.checkConflict(matchId, currentVersion, match.getStatus(), managedScore, delta);
+
+        MatchScore.SetScore set = MatchScoring.apply(managedScore, delta, gameRules, currentVersion + 1);
+        updateMatchStatus(match, managedScore);
+        ScoreUpdateStatus status = MatchScoring.resolveUpdateStatus(match.getStatus(), set, gameRules);
+        publishResultChange(tournamentId, match, previousStatus);
+
+        // Flush so the response carries the incremented version
+        matchRepository.saveAndFlush(match);
+        tournamentVersionRepository.increment(tournamentId);
+        logger.debug("Score delta applied to match ID: {}. New version: {}, status: {}", matchId, match.getVersion(), status);
+        eventPublisher.publishEvent(new MatchScoreChangedEvent(tournamentId, match, previousStatus, status));
+
+        return MatchScoring.toResponse(match.getId(), match.getVersion(), delta.getSetIndex(), set,
+            managedScore, match.getStatus(), status, gameRules);
+    }
+
+    /**
+     * Run a score transaction, retrying with a short randomized backoff when a concurrent
+     * writer got to the match first. The retry re-reads the match, so it either merges
+     * onto the new state or reports a {@link ScoreVersionConflictException}.
+     */
+    private <T> T withOptimisticRetry(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_SCORE_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Concurrent score update detected, retrying (attempt {})", attempt);
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L * Math.min(attempt, 10)));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
     private void updateMatchStatus(Match match, MatchScore score) {
-        logger.debug("Inside updateMatchStatus for match ID: {}. Checking winner...", match.getId());
-        // 1. Check winner by majority sets won
-        PlayerSide winner = score.getWinnerSide();
-        logger.debug("Winner calculated by getWinnerSide(): {}", winner);
-        if (winner != null) {
-            logger.debug("Winner found ({}). Setting match status to COMPLETED.", winner);
-            match.setStatus(MatchStatus.COMPLETED);
-            return;
+        MatchStatus newStatus = MatchScoring.resolveStatus(match.getStatus(), score, gameRules);
+        logger.debug("Match ID: {} status {} -> {} (winner: {}, sets: {}, intended: {})", match.getId(),
+            match.getStatus(), newStatus, score.getWinnerSide(), score.getSets().size(), score.getIntendedTotalSets());
+        match.updateStatus(newStatus);
+    }
+
+    private void publishResultChange(Long tournamentId, Match match, MatchStatus previousStatus) {
+        if (MatchResultChangedEvent.affectsResult(previousStatus, match)) {
+            eventPublisher.publishEvent(new MatchResultChangedEvent(tournamentId, match, previousStatus));
         }
+    }
 
-        // 2. Check if all intended sets played
-        int playedSets = score.getSets() != null ? score.getSets().size() : 0;
-        int intendedSets = score.getIntendedTotalSets();
-        logger.debug("Checking if all sets played: Played = {}, Intended = {}", playedSets, intendedSets);
-        if (intendedSets > 0 && playedSets >= intendedSets) {
-             logger.debug("All intended sets ({}) played. Setting match status to COMPLETED.", intendedSets);
-             match.setStatus(MatchStatus.COMPLETED);
-             return;
+    /**
+     * Complete a tournament once none of its matches is pending or in progress, and reopen it
+     * when a correction leaves one open again. Runs just before the score transaction commits,
+     * after its tournament version increment: writers of the tournament queue on that row, so
+     * the last match to complete sees all others as committed.
+     */
+    @EventListener
+    public void onMatchResultChanged(MatchResultChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    updateTournamentStatus(event.tournamentId());
+                }
+            });
+        } else {
+            updateTournamentStatus(event.tournamentId());
         }
+    }
 
-        // 3. Check for transition to IN_PROGRESS
-        logger.debug("Checking if match should become IN_PROGRESS. Current status: {}, Played sets: {}", match.getStatus(), playedSets);
-        if (match.getStatus() == MatchStatus.PENDING && playedSets > 0) {
-            logger.debug("Match was PENDING and has sets played. Setting status to IN_PROGRESS.");
-            match.setStatus(MatchStatus.IN_PROGRESS);
+    private void updateTournamentStatus(Long tournamentId) {
+        Tournament tournament = tournamentRepository.findById(tournamentId).orElse(null);
+        if (tournament == null || tournament.getStatus() == TournamentStatus.CANCELLED) {
+            return;
+        }
+        long openMatches = matchRepository.countByTournamentIdAndStatusIn(tournamentId,
+            matchPartitioning.hasLegacyIds(tournamentId), EnumSet.of(MatchStatus.PENDING, MatchStatus.IN_PROGRESS));
+        TournamentStatus status = openMatches == 0 ? TournamentStatus.COMPLETED : TournamentStatus.IN_PROGRESS;
+        if (tournament.getStatus() != status) {
+            logger.info("Tournament ID: {} status {} -> {}", tournamentId, tournament.getStatus(), status);
+            tournament.setStatus(status);
         }
-        logger.debug("Exiting updateMatchStatus for match ID: {}. Final status in method: {}", match.getId(), match.getStatus());
     }
 
     @Transactional
     public void deleteTournament(Long id) {
-        Tournament tournament = getTournament(id);
-        tournamentRepository.delete(tournament);
+        Tournament tournament = findTournament(id);
+        liveMatchEngine.discardTournament(id);
+        standingsService.deleteTournament(id);
+        tournamentArchiveRepository.deleteByTournamentId(id);
+        tournamentVersionRepository.deleteByTournamentId(id);
+        // Last, as dropping partitions locks the match tables until the transaction ends
+        matchPartitioning.deleteMatches(id);
+        tournamentRepository.delete(loadMatches(tournament));
     }
     
     @Transactional
@@ -259,18 +517,79 @@ public class TournamentService {
         Assert.notNull(playerIds, "Player IDs must not be null");
         Assert.isTrue(!playerIds.isEmpty(), "Player IDs must not be empty");
         
-        Tournament tournament = getTournament(tournamentId);
+        Tournament tournament = findWritableTournament(tournamentId);
         
-        for (Long playerId : playerIds) {
-            Player player = playerRepository.findById(playerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Player not found with id: " + playerId));
-            
-            // Check if player is already in the tournament to avoid duplicates
-            if (tournament.getPlayers().stream().noneMatch(p -> p.getId().equals(playerId))) {
-                tournament.addPlayer(player);
-            }
+        // Players already in the tournament are skipped by the set, only new join rows are written
+        for (Player player : findPlayers(playerIds)) {
+            tournament.addPlayer(player);
         }
+        tournamentVersionRepository.increment(tournamentId);
         
-        return tournamentRepository.save(tournament);
+        return loadMatches(tournamentRepository.save(tournament));
+    }
+
+    /**
+     * Load the matches of a managed tournament. With partitioned tables the collection is restricted
+     * to the id ranges of the tournament, see {@link MatchPartitioning#idBlockCondition}, as it would
+     * otherwise read every partition.
+     */
+    private Tournament loadMatches(Tournament tournament) {
+        if (!matchPartitioning.isActive() || Hibernate.isInitialized(tournament.getMatches())) {
+            return tournament;
+        }
+        Long id = tournament.getId();
+        boolean legacyIds = matchPartitioning.hasLegacyIds(id);
+        Session session = entityManager.unwrap(Session.class);
+        // Without legacy ids the block is repeated, see MatchRepository#countByTournamentId
+        session.enableFilter(Tournament.MATCH_ID_BLOCK_FILTER)
+            .setParameter("legacyFirstId", legacyIds ? Long.MIN_VALUE : Match.firstId(id))
+            .setParameter("legacyLastId", legacyIds ? Match.LEGACY_ID_END - 1 : Match.lastId(id))
+            .setParameter("firstId", Match.firstId(id))
+            .setParameter("lastId", Match.lastId(id));
+        try {
+            Hibernate.initialize(tournament.getMatches());
+        } finally {
+            session.disableFilter(Tournament.MATCH_ID_BLOCK_FILTER);
+        }
+        return tournament;
+    }
+
+    private Tournament findTournament(Long id) {
+        return tournamentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found with id: " + id));
+    }
+
+    /**
+     * Load a tournament to change it or its matches, which archived tournaments do not allow.
+     */
+    private Tournament findWritableTournament(Long id) {
+        Tournament tournament = findTournament(id);
+        Assert.isNull(tournament.getArchivedAt(), "Tournament " + id + " is archived");
+        return tournament;
+    }
+
+    /**
+     * Start the change version of a new tournament, read as the ETag of its reads.
+     */
+    private Tournament createVersion(Tournament tournament) {
+        entityManager.persist(new TournamentVersion(tournament.getId(), 0));
+        return tournament;
+    }
+
+    /**
+     * Load the players with the given ids in one query, ignoring duplicate ids.
+     * @throws PlayersNotFoundException listing every id that does not exist
+     */
+    private List<Player> findPlayers(Collection<Long> playerIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(playerIds);
+        Assert.isTrue(!uniqueIds.contains(null), "Player IDs must not contain null");
+        List<Player> players = playerRepository.findAllById(uniqueIds);
+        if (players.size() < uniqueIds.size()) {
+            for (Player player : players) {
+                uniqueIds.remove(player.getId());
+            }
+            throw new PlayersNotFoundException(new ArrayList<>(uniqueIds));
+        }
+        return players;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.tournament.controller;
+
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.model.Match;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.Tournament;
+import com.tournament.service.LiveScoreService;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Not transactional: live updates are only pushed once the score change has committed.
+ */
+@SpringBootTest(properties = {
+        "tournament.live.coalesce-window-ms=3600000",
+        "tournament.live-engine.journal-path=target/live-score-controller-test.journal"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LiveScoreControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private LiveScoreService liveScoreService;
+
+    private Tournament tournament;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        Player player1 = createPlayer("Live One");
+        Player player2 = createPlayer("Live Two");
+
+        tournament = new Tournament();
+        tournament.setName("Live Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        match = tournamentService.createMatch(tournament.getId(), request);
+    }
+
+    @Test
+    void testSubscriberReceivesLatestStateOnly() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tournaments/{id}/live", tournament.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Three points inside one window are coalesced into a single event
+        for (int i = 0; i < 3; i++) {
+            ScoreDeltaRequest delta = new ScoreDeltaRequest();
+            delta.setSetIndex(0);
+            delta.setPointTo(PlayerSide.PLAYER1);
+            tournamentService.applyScoreDelta(tournament.getId(), match.getId(), delta);
+        }
+        liveScoreService.dispatchPendingUpdates();
+
+        String body = awaitBody(result, "\"player1Score\":3");
+        assertEquals(1, body.split("event:score").length - 1);
+        assertTrue(body.contains("\"matchId\":" + match.getId()));
+        assertTrue(body.contains("\"matchStatus\":\"IN_PROGRESS\""));
+    }
+
+    private String awaitBody(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains(expected), "Live stream did not deliver expected update: " + body);
+        return body;
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
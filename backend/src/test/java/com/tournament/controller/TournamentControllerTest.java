@@ -135,4 +135,39 @@ public class TournamentControllerTest {
                         player1.getId().intValue(), 
                         player2.getId().intValue())));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetTournamentSummariesWithKeysetPagination() throws Exception {
+        tournamentService.addPlayersToTournament(
+                tournament.getId(),
+                Arrays.asList(player1.getId(), player2.getId()));
+        Tournament older = tournament;
+
+        Tournament newer = new Tournament();
+        newer.setName("Newer Tournament");
+        newer.setStartDate(LocalDate.now());
+        newer.setEndDate(LocalDate.now().plusDays(1));
+        newer.setStatus(TournamentStatus.PENDING);
+        newer = tournamentService.createTournament(newer);
+
+        mockMvc.perform(get("/api/tournaments").param("status", "PENDING").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments", hasSize(1)))
+                .andExpect(jsonPath("$.tournaments[0].id", is(newer.getId().intValue())))
+                .andExpect(jsonPath("$.tournaments[0].players").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is(newer.getId().intValue())));
+
+        mockMvc.perform(get("/api/tournaments")
+                        .param("status", "PENDING")
+                        .param("limit", "1")
+                        .param("after", newer.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments[0].id", is(older.getId().intValue())))
+                .andExpect(jsonPath("$.tournaments[0].playerCount", is(2)))
+                .andExpect(jsonPath("$.tournaments[0].matchCount", is(0)));
+
+        mockMvc.perform(get("/api/tournaments").param("status", "COMPLETED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tournaments[*].id", not(hasItem(newer.getId().intValue()))));
+    }
+}
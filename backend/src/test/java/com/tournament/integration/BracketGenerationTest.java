@@ -0,0 +1,137 @@
+package com.tournament.integration;
+
+import com.tournament.dto.BracketResponse;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.model.*;
+import com.tournament.repository.MatchRepository;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Partitioning is enabled so matches get ids in the block of their tournament; the tables
+ * themselves are only partitioned on PostgreSQL.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "tournament.partitioning.enabled=true"
+})
+@ActiveProfiles("test")
+@Transactional
+public class BracketGenerationTest {
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testRoundRobinIsInsertedInBatches() {
+        Tournament tournament = seedTournament(24);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BracketResponse response = tournamentService.generateBracket(tournament.getId(),
+            request(BracketFormat.ROUND_ROBIN));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(23, response.getRounds());
+        assertEquals(276, response.getMatchesCreated());
+        assertEquals(276, matchRepository.countByTournamentId(tournament.getId()));
+        System.out.printf("Generated bracket of %d matches with %d statements%n",
+            response.getMatchesCreated(), statements);
+        // One insert per batch of 50 plus one sequence call per block of 50 ids
+        assertTrue(statements < 20, "Expected batched inserts but saw " + statements + " statements");
+    }
+
+    @Test
+    void testSingleEliminationCreatesFirstRound() {
+        Tournament tournament = seedTournament(6);
+
+        BracketResponse response = tournamentService.generateBracket(tournament.getId(),
+            request(BracketFormat.SINGLE_ELIMINATION));
+
+        assertEquals(3, response.getRounds());
+        assertEquals(2, response.getMatchesCreated());
+        assertEquals(2, response.getByePlayerIds().size());
+        assertEquals(2, matchRepository.countByTournamentId(tournament.getId()));
+
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.generateBracket(
+            tournament.getId(), request(BracketFormat.ROUND_ROBIN)));
+    }
+
+    @Test
+    void testMatchIdsAreInTheTournamentsIdBlock() {
+        Tournament tournament = seedTournament(4);
+        tournamentService.generateBracket(tournament.getId(), request(BracketFormat.ROUND_ROBIN));
+
+        List<Long> ids = entityManager.createQuery(
+                "SELECT m.id FROM Match m WHERE m.tournament.id = :tournamentId", Long.class)
+            .setParameter("tournamentId", tournament.getId())
+            .getResultList();
+        assertEquals(6, ids.size());
+        for (Long id : ids) {
+            assertTrue(id >= Match.firstId(tournament.getId()) && id <= Match.lastId(tournament.getId()),
+                "Match id " + id + " outside the block of tournament " + tournament.getId());
+        }
+
+        // Matches created before ids were allocated by tournament are still counted
+        Player[] players = tournament.getPlayers().toArray(new Player[0]);
+        jdbcTemplate.update("INSERT INTO matches (id, version, player1_id, player2_id, round, status, "
+                + "intended_total_sets, tournament_id) VALUES (?, 0, ?, ?, 1, 'PENDING', 3, ?)",
+            Match.LEGACY_ID_END - 1, players[0].getId(), players[1].getId(), tournament.getId());
+        assertEquals(7, matchRepository.countByTournamentId(tournament.getId()));
+    }
+
+    private GenerateBracketRequest request(BracketFormat format) {
+        GenerateBracketRequest request = new GenerateBracketRequest();
+        request.setFormat(format);
+        request.setIntendedTotalSets(3);
+        return request;
+    }
+
+    private Tournament seedTournament(int playerCount) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Bracket " + playerCount);
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        for (int i = 1; i <= playerCount; i++) {
+            Player player = new Player();
+            player.setName("Bracket Player " + i);
+            player.setEmail("bracket" + i + "." + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+            player.setRank(i);
+            tournament.addPlayer(playerService.createPlayer(player));
+        }
+        return tournamentService.createTournament(tournament);
+    }
+}
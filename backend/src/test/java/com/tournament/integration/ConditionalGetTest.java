@@ -0,0 +1,153 @@
+package com.tournament.integration;
+
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.model.Match;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, so every write commits its version increment as in production. The
+ * live engine is disabled so score deltas are written to the database right away.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.enabled=false",
+    "tournament.live-engine.journal-path=target/conditional-get-test.journal"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Tournament tournament;
+    private Player player1;
+    private Player player2;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Conditional Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+        player1 = createPlayer("Etag One");
+        player2 = createPlayer("Etag Two");
+    }
+
+    @Test
+    void testMatchingEtagIsNotModifiedWithoutLoadingTheTournament() throws Exception {
+        String url = "/api/tournaments/" + tournament.getId();
+        MvcResult first = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"tournament-" + tournament.getId() + "-0\"", etag);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MvcResult notModified = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andReturn();
+
+        // Only the version lookup
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("", notModified.getResponse().getContentAsString());
+
+        // Standings share the validator of the tournament
+        mockMvc.perform(get(url + "/standings").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testEveryWriteChangesTheEtag() throws Exception {
+        String etag = etag();
+
+        tournamentService.addPlayersToTournament(tournament.getId(), List.of(player1.getId(), player2.getId()));
+        etag = assertChanged(etag);
+
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(1);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+        etag = assertChanged(etag);
+
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(0);
+        delta.setPointTo(PlayerSide.PLAYER1);
+        tournamentService.applyScoreDelta(tournament.getId(), match.getId(), delta);
+        etag = assertChanged(etag);
+
+        Player renamed = playerService.getPlayer(player2.getId());
+        renamed.setName("Etag Renamed");
+        playerService.updatePlayer(player2.getId(), renamed);
+        assertChanged(etag);
+
+        tournamentService.deleteTournament(tournament.getId());
+        assertNull(tournamentService.getChangeVersion(tournament.getId()));
+    }
+
+    private String assertChanged(String previous) throws Exception {
+        String url = "/api/tournaments/" + tournament.getId();
+        String etag = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, previous))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(previous, etag);
+        mockMvc.perform(get(url + "/standings").header(HttpHeaders.IF_NONE_MATCH, previous))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+        return etag;
+    }
+
+    private String etag() throws Exception {
+        return mockMvc.perform(get("/api/tournaments/" + tournament.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
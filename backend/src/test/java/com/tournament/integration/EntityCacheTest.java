@@ -0,0 +1,111 @@
+package com.tournament.integration;
+
+import com.tournament.config.EntityCacheConfig;
+import com.tournament.dto.CacheRegionStats;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.service.EntityCacheService;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: entries are only cached once the loading transaction has completed.
+ */
+@SpringBootTest(properties = "tournament.live-engine.journal-path=target/entity-cache-test.journal")
+@ActiveProfiles("test")
+public class EntityCacheTest {
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testPlayersAreServedFromCacheAndInvalidatedOnUpdate() {
+        Player player = createPlayer("Cached One");
+        playerService.getPlayer(player.getId());
+        CacheRegionStats before = stats(EntityCacheConfig.PLAYER_REGION);
+
+        for (int i = 0; i < 3; i++) {
+            playerService.getPlayer(player.getId());
+        }
+        CacheRegionStats after = stats(EntityCacheConfig.PLAYER_REGION);
+        assertEquals(before.getHits() + 3, after.getHits());
+        assertEquals(before.getMisses(), after.getMisses());
+
+        Player details = new Player();
+        details.setName("Cached Renamed");
+        details.setEmail(player.getEmail());
+        playerService.updatePlayer(player.getId(), details);
+        assertEquals("Cached Renamed", playerService.getPlayer(player.getId()).getName());
+    }
+
+    @Test
+    void testTournamentPlayersFollowRegistration() {
+        Player player1 = createPlayer("Cached Two");
+        Player player2 = createPlayer("Cached Three");
+        Tournament tournament = new Tournament();
+        tournament.setName("Cached Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        Long tournamentId = tournamentService.createTournament(tournament).getId();
+
+        tournamentService.addPlayersToTournament(tournamentId, List.of(player1.getId()));
+        assertEquals(1, playerCount(tournamentId));
+        tournamentService.addPlayersToTournament(tournamentId, List.of(player2.getId()));
+        assertEquals(2, playerCount(tournamentId));
+        assertTrue(stats(EntityCacheConfig.TOURNAMENT_PLAYERS_REGION).getHits() > 0);
+    }
+
+    @Test
+    void testPlayersChangedWithoutHibernateAreEvicted() {
+        Player player = createPlayer("Cached Four");
+        playerService.getPlayer(player.getId());
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.update("UPDATE players SET rating = 1234 WHERE id = ?", player.getId());
+            entityCacheService.evictPlayers();
+        });
+        assertEquals(1234.0, playerService.getPlayer(player.getId()).getRating());
+    }
+
+    private int playerCount(Long tournamentId) {
+        return transactionTemplate.execute(tx -> tournamentService.getTournament(tournamentId).getPlayers().size());
+    }
+
+    private CacheRegionStats stats(String region) {
+        return entityCacheService.getStats().stream()
+                .filter(stats -> stats.getRegion().equals(region))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
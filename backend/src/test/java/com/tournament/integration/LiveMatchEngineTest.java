@@ -0,0 +1,275 @@
+package com.tournament.integration;
+
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.model.*;
+import com.tournament.repository.MatchRepository;
+import com.tournament.service.LiveMatchEngine;
+import com.tournament.service.PlayerService;
+import com.tournament.service.ScoreMetrics;
+import com.tournament.service.TournamentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: the engine only takes over a match after a score update has committed.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.flush-interval-ms=3600000",
+    "tournament.live-engine.journal-path=" + LiveMatchEngineTest.JOURNAL
+})
+@ActiveProfiles("test")
+public class LiveMatchEngineTest {
+
+    static final String JOURNAL = "target/live-match-engine-test.journal";
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private LiveMatchEngine liveMatchEngine;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Tournament tournament;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        Player player1 = createPlayer("Engine One");
+        Player player2 = createPlayer("Engine Two");
+
+        tournament = new Tournament();
+        tournament.setName("Engine Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(1);
+        match = tournamentService.createMatch(tournament.getId(), request);
+    }
+
+    @Test
+    void testLiveMatchIsScoredInMemoryAndWrittenBehind() throws Exception {
+        // The first point goes through the database and hands the match to the engine
+        ScoreDeltaResponse response = point(PlayerSide.PLAYER1, null);
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+        long persistedVersion = response.getVersion();
+
+        for (int i = 0; i < 5; i++) {
+            response = point(PlayerSide.PLAYER2, response.getVersion());
+        }
+        assertEquals(persistedVersion + 5, response.getVersion());
+        assertEquals(5, response.getPlayer2Score());
+        assertEquals(1, liveMatchEngine.getStats().getUnflushedMatches());
+
+        // Nothing reached the database yet
+        Match stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(persistedVersion, stored.getVersion());
+        assertEquals(0, stored.getScore().getSet(0).getPlayer2Score());
+
+        liveMatchEngine.flushAll();
+        stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(response.getVersion(), stored.getVersion());
+        assertEquals(5, stored.getScore().getSet(0).getPlayer2Score());
+        assertEquals(0, liveMatchEngine.getStats().getUnflushedMatches());
+        assertEquals(0, Files.size(Path.of(JOURNAL)));
+    }
+
+    @Test
+    void testCompletedMatchIsFlushedAndEvicted() throws Exception {
+        ScoreDeltaResponse response = point(PlayerSide.PLAYER1, null);
+        ScoreDeltaRequest assign = new ScoreDeltaRequest();
+        assign.setSetIndex(0);
+        assign.setPlayer1Score(10);
+        assign.setPlayer2Score(3);
+        response = tournamentService.applyScoreDelta(tournament.getId(), match.getId(), assign);
+        response = point(PlayerSide.PLAYER1, response.getVersion());
+        assertEquals(ScoreUpdateStatus.MATCH_COMPLETED, response.getScoreUpdateStatus());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (liveMatchEngine.isLive(match.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(liveMatchEngine.isLive(match.getId()));
+        Match stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(MatchStatus.COMPLETED, stored.getStatus());
+        assertEquals(PlayerSide.PLAYER1, stored.getScore().getWinnerSide());
+        assertEquals(response.getVersion(), stored.getVersion());
+    }
+
+    @Test
+    void testSetChangedByAnotherWriterKeepsTheirScore() throws Exception {
+        ScoreDeltaResponse response = point(PlayerSide.PLAYER1, null);
+        long takenOver = response.getVersion();
+        response = point(PlayerSide.PLAYER2, response.getVersion());
+        response = point(PlayerSide.PLAYER2, response.getVersion());
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+        double overwritten = overwrittenCount();
+
+        // Another instance corrects the same set through the database meanwhile
+        writeSet(0, 5, 0, takenOver + 1);
+        liveMatchEngine.flushAll();
+
+        assertFalse(liveMatchEngine.isLive(match.getId()));
+        assertEquals(overwritten + 1, overwrittenCount());
+        Match stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(takenOver + 1, stored.getVersion());
+        assertEquals(5, stored.getScore().getSet(0).getPlayer1Score());
+        assertEquals(0, stored.getScore().getSet(0).getPlayer2Score());
+        // The next point builds on the stored score, not on the dropped live one
+        ScoreDeltaResponse next = point(PlayerSide.PLAYER2, null);
+        assertEquals(takenOver + 2, next.getVersion());
+        assertEquals(1, next.getPlayer2Score());
+    }
+
+    @Test
+    void testSetsChangedByAnotherWriterAreMergedWithLiveSets() throws Exception {
+        match = createMatch(3);
+        ScoreDeltaRequest assign = new ScoreDeltaRequest();
+        assign.setSetIndex(0);
+        assign.setPlayer1Score(11);
+        assign.setPlayer2Score(3);
+        long takenOver = tournamentService.applyScoreDelta(tournament.getId(), match.getId(), assign).getVersion();
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+        ScoreDeltaResponse response = point(1, PlayerSide.PLAYER1, takenOver);
+        response = point(1, PlayerSide.PLAYER1, response.getVersion());
+        double overwritten = overwrittenCount();
+
+        // Another instance corrects the first set while the engine scores the second one
+        writeSet(0, 11, 4, takenOver + 1);
+        liveMatchEngine.flushAll();
+
+        assertFalse(liveMatchEngine.isLive(match.getId()));
+        assertEquals(overwritten, overwrittenCount());
+        Match stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(response.getVersion() + 1, stored.getVersion());
+        assertEquals(4, stored.getScore().getSet(0).getPlayer2Score());
+        assertEquals(2, stored.getScore().getSet(1).getPlayer1Score());
+        assertEquals(MatchStatus.IN_PROGRESS, stored.getStatus());
+    }
+
+    @Test
+    void testFlushedStateTracksTheStoredVersion() throws Exception {
+        ScoreDeltaResponse response = point(PlayerSide.PLAYER1, null);
+        response = point(PlayerSide.PLAYER2, response.getVersion());
+        liveMatchEngine.flushAll();
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+
+        // Points after a flush build on the flushed version and are written without a merge
+        response = point(PlayerSide.PLAYER2, response.getVersion());
+        liveMatchEngine.flushAll();
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+        Match stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(response.getVersion(), stored.getVersion());
+        assertEquals(2, stored.getScore().getSet(0).getPlayer2Score());
+    }
+
+    @Test
+    void testRecoverReplaysUnflushedJournal() throws Exception {
+        Long storedVersion = jdbcTemplate.queryForObject("SELECT version FROM matches WHERE id = ?", Long.class,
+            match.getId());
+        Files.writeString(Path.of(JOURNAL),
+            match.getId() + "|" + tournament.getId() + "|7|" + storedVersion + "|IN_PROGRESS||1|4:6:7\n");
+
+        liveMatchEngine.recover();
+
+        Match stored = matchRepository.findByTournamentIdAndId(tournament.getId(), match.getId()).orElseThrow();
+        assertEquals(MatchStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals(7, stored.getVersion());
+        assertEquals(4, stored.getScore().getSet(0).getPlayer1Score());
+        assertEquals(6, stored.getScore().getSet(0).getPlayer2Score());
+        assertEquals(0, Files.size(Path.of(JOURNAL)));
+    }
+
+    @Test
+    void testLiveStateIsDiscardedOnlyWhenTheDeletionCommits() {
+        point(PlayerSide.PLAYER1, null);
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            tournamentService.deleteTournament(tournament.getId());
+            assertTrue(liveMatchEngine.isLive(match.getId()));
+            tx.setRollbackOnly();
+        });
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+
+        tournamentService.deleteTournament(tournament.getId());
+        assertFalse(liveMatchEngine.isLive(match.getId()));
+    }
+
+    private double overwrittenCount() {
+        Counter counter = meterRegistry.find(ScoreMetrics.LIVE_OVERWRITTEN).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private ScoreDeltaResponse point(PlayerSide side, Long expectedVersion) {
+        return point(0, side, expectedVersion);
+    }
+
+    private ScoreDeltaResponse point(int setIndex, PlayerSide side, Long expectedVersion) {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(setIndex);
+        delta.setPointTo(side);
+        delta.setExpectedVersion(expectedVersion);
+        return tournamentService.applyScoreDelta(tournament.getId(), match.getId(), delta);
+    }
+
+    /**
+     * A committed write of another instance: one set and the match version.
+     */
+    private void writeSet(int setIndex, int player1Score, int player2Score, long version) {
+        jdbcTemplate.update("UPDATE match_sets SET player1_score = ?, player2_score = ?, last_modified_version = ? "
+            + "WHERE match_id = ? AND set_index = ?", player1Score, player2Score, version, match.getId(), setIndex);
+        jdbcTemplate.update("UPDATE matches SET version = ? WHERE id = ?", version, match.getId());
+    }
+
+    private Match createMatch(int intendedTotalSets) {
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(match.getPlayer1().getId());
+        request.setPlayer2Id(match.getPlayer2().getId());
+        request.setRound(2);
+        request.setIntendedTotalSets(intendedTotalSets);
+        return tournamentService.createMatch(tournament.getId(), request);
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
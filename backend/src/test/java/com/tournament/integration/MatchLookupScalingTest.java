@@ -0,0 +1,133 @@
+package com.tournament.integration;
+
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.model.*;
+import com.tournament.repository.MatchRepository;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that looking up and scoring a single match costs the same regardless of
+ * how many matches the tournament holds.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+public class MatchLookupScalingTest {
+
+    private static final int SCORE_UPDATES = 50;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Player player1;
+    private Player player2;
+
+    @BeforeEach
+    void setUp() {
+        player1 = createPlayer("Scaling One");
+        player2 = createPlayer("Scaling Two");
+    }
+
+    @Test
+    void testScoreUpdateCostIsIndependentOfTournamentSize() {
+        Measurement small = measure(10);
+        Measurement large = measure(5_000);
+
+        System.out.printf("Score update with %d matches: %d statements, %.1f us/update%n",
+            10, small.statements, small.microsPerUpdate);
+        System.out.printf("Score update with %d matches: %d statements, %.1f us/update%n",
+            5_000, large.statements, large.microsPerUpdate);
+
+        assertEquals(small.statements, large.statements);
+        assertEquals(0, large.collectionFetches);
+    }
+
+    private Measurement measure(int matchCount) {
+        Tournament tournament = seedTournament(matchCount);
+        Long matchId = tournament.getMatches().get(matchCount / 2).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < SCORE_UPDATES; i++) {
+            ScoreDeltaRequest delta = new ScoreDeltaRequest();
+            delta.setSetIndex(i / 10);
+            delta.setPlayer1Score(i % 10);
+            delta.setPlayer2Score(0);
+            tournamentService.applyScoreDelta(tournament.getId(), matchId, delta);
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Measurement(
+            statistics.getPrepareStatementCount(),
+            statistics.getCollectionFetchCount(),
+            elapsed / 1_000.0 / SCORE_UPDATES);
+    }
+
+    private Tournament seedTournament(int matchCount) {
+        Tournament tournament = new Tournament();
+        tournament.setName("Scaling " + matchCount);
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament.addPlayer(player1);
+        tournament.addPlayer(player2);
+        tournament = tournamentService.createTournament(tournament);
+
+        List<Match> matches = new ArrayList<>(matchCount);
+        for (int i = 0; i < matchCount; i++) {
+            matches.add(Match.builder()
+                .player1(player1)
+                .player2(player2)
+                .round(1)
+                .status(MatchStatus.PENDING)
+                .score(new MatchScore(99))
+                .tournament(tournament)
+                .build());
+        }
+        tournament.getMatches().addAll(matchRepository.saveAll(matches));
+        return tournament;
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+
+    private record Measurement(long statements, long collectionFetches, double microsPerUpdate) {
+    }
+}
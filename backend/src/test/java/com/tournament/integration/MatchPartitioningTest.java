@@ -0,0 +1,266 @@
+package com.tournament.integration;
+
+import com.tournament.TournamentApplication;
+import com.tournament.config.MatchPartitioning;
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.TournamentArchiveResult;
+import com.tournament.model.BracketFormat;
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.repository.MatchRepository;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentArchiveService;
+import com.tournament.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs on PostgreSQL (see {@link PostgresTestDatabase}). Starts the application three times
+ * on one database: with plain tables, converting them to partitioned ones, and again on the
+ * partitioned tables as every later start does.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+public class MatchPartitioningTest {
+
+    private static final String DATABASE = "match_partitioning_test";
+
+    private static final String SQL_LOGGER = "org.hibernate.SQL";
+    private static final Pattern BINDING = Pattern.compile("binding parameter \\(\\d+:\\w+\\) <- \\[(.*)]");
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(PostgresTestDatabase.dataSource(DATABASE));
+
+    @BeforeAll
+    static void createDatabase() throws Exception {
+        assumeTrue(PostgresTestDatabase.isConfigured(), "TEST_POSTGRES_URL is not set");
+        PostgresTestDatabase.recreateDatabase(DATABASE);
+    }
+
+    @Test
+    void testTablesArePartitionedByTournament(CapturedOutput output) {
+        Long oldTournamentId;
+        try (ConfigurableApplicationContext context = start(false)) {
+            Tournament tournament = createTournamentWithBracket(context, "Before Partitioning");
+            oldTournamentId = tournament.getId();
+            scoreFirstMatch(context, oldTournamentId);
+        }
+        assertEquals("r", relkind("matches"));
+        assertEquals(6, count("matches"));
+        assertTrue(jdbcTemplate.queryForObject("SELECT MAX(id) FROM matches", Long.class) < Match.LEGACY_ID_END);
+
+        Long newTournamentId;
+        try (ConfigurableApplicationContext context = start(true)) {
+            // Rows, keys and references survive the conversion
+            assertEquals("p", relkind("matches"));
+            assertEquals("p", relkind("match_sets"));
+            assertEquals(6, count("matches_legacy"));
+            assertEquals(3, count("match_sets_legacy"));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_constraint "
+                + "WHERE conrelid = 'match_sets'::regclass AND confrelid = 'matches'::regclass", Integer.class));
+            assertEquals(List.of("p"), jdbcTemplate.queryForList("SELECT contype::text FROM pg_constraint "
+                + "WHERE conrelid = 'matches'::regclass AND contype = 'p'", String.class));
+
+            newTournamentId = createTournamentWithBracket(context, "After Partitioning").getId();
+            assertEquals(6, count("matches_t" + newTournamentId));
+            assertEquals(6, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM matches WHERE id BETWEEN ? AND ?",
+                Integer.class, Match.firstId(newTournamentId), Match.lastId(newTournamentId)));
+
+            // New matches of an old tournament go to its block, its old ones stay where they were
+            createMatch(context, oldTournamentId);
+            assertEquals(1, count("matches_t" + oldTournamentId));
+            assertEquals(7, context.getBean(MatchRepository.class).countByTournamentId(oldTournamentId,
+                context.getBean(MatchPartitioning.class).hasLegacyIds(oldTournamentId)));
+            assertPartitionsRead(context, output, oldTournamentId, "matches_legacy", "matches_t" + oldTournamentId);
+            assertPartitionsRead(context, output, newTournamentId, "matches_t" + newTournamentId);
+        }
+
+        try (ConfigurableApplicationContext context = start(true)) {
+            // The schema update accepts the partitioned tables as they are
+            assertEquals("p", relkind("matches"));
+            assertEquals(13, count("matches"));
+            assertFalse(output.getAll().contains("GenerationTarget encountered exception"),
+                "Schema update failed on the partitioned tables");
+            assertPartitionsRead(context, output, newTournamentId, "matches_t" + newTournamentId);
+
+            // Partitions known from the catalog are reused, the ids of a deleted tournament detached
+            TournamentService tournamentService = context.getBean(TournamentService.class);
+            createMatch(context, newTournamentId);
+            assertEquals(7, count("matches_t" + newTournamentId));
+            int from = output.getAll().length();
+            tournamentService.deleteTournament(newTournamentId);
+            assertFalse(output.getAll().substring(from).matches("(?s).*delete from (matches|match_sets)\\b.*"),
+                "Matches were deleted by row");
+            assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                "matches_t" + newTournamentId));
+            assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                "match_sets_t" + newTournamentId));
+            assertEquals(7, count("matches"));
+            assertEquals(7, context.getBean(MatchRepository.class).countByTournamentId(oldTournamentId, true));
+
+            // Archiving deletes the legacy rows and drops the partitions
+            jdbcTemplate.update("UPDATE tournaments SET status = 'COMPLETED', start_date = ?, end_date = ? WHERE id = ?",
+                LocalDate.now().minusDays(2), LocalDate.now().minusDays(1), oldTournamentId);
+            context.getBean(EntityManagerFactory.class).getCache().evictAll();
+            TournamentArchiveResult result = context.getBean(TournamentArchiveService.class).archiveCompleted(0);
+            assertEquals(1, result.getTournaments());
+            assertEquals(7, result.getMatches());
+            assertEquals(3, result.getSets());
+            assertEquals(0, count("matches"));
+            assertEquals(0, count("match_sets"));
+            assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                "matches_t" + oldTournamentId));
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean partitioning) {
+        List<String> args = new ArrayList<>();
+        PostgresTestDatabase.properties(DATABASE).forEach((name, value) -> args.add("--" + name + "=" + value));
+        args.add("--tournament.partitioning.enabled=" + partitioning);
+        args.add("--tournament.live-engine.enabled=false");
+        args.add("--tournament.live-engine.journal-path=target/match-partitioning-test.journal");
+        args.add("--tournament.archive.cron=-");
+        args.add("--spring.jpa.show-sql=false");
+        // Statements and their parameters, one line each, see statements()
+        args.add("--spring.jpa.properties.hibernate.format_sql=false");
+        args.add("--logging.level.org.hibernate.SQL=DEBUG");
+        args.add("--logging.level.org.hibernate.orm.jdbc.bind=TRACE");
+        args.add("--server.port=0");
+        // Replaces the development profile, whose sample data would be converted along
+        args.add("--spring.profiles.active=test");
+        return new SpringApplicationBuilder(TournamentApplication.class).run(args.toArray(new String[0]));
+    }
+
+    /**
+     * The partitions that the statements Hibernate issues to read the tournament read, from their plans.
+     */
+    private void assertPartitionsRead(ConfigurableApplicationContext context, CapturedOutput output, Long tournamentId,
+                                      String... partitions) {
+        int from = output.getAll().length();
+        context.getBean(TournamentService.class).getTournament(tournamentId);
+        List<String> statements = statements(output.getAll().substring(from)).stream()
+            .filter(sql -> sql.matches("(?s).*\\bmatches\\b.*"))
+            .toList();
+        assertFalse(statements.isEmpty(), "The matches were not read");
+        List<String> all = jdbcTemplate.queryForList("SELECT c.relname::text FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'matches'::regclass ORDER BY 1", String.class);
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+            List<String> read = all.stream()
+                .filter(partition -> plan.matches("(?s).*\\b" + partition + "\\b.*"))
+                .toList();
+            assertEquals(List.of(partitions).stream().sorted().toList(), read, sql + "\n" + plan);
+        }
+    }
+
+    /**
+     * The statements logged in the output, with their logged parameters in place of the placeholders.
+     * Values are quoted so they take the type of the column they are compared with.
+     */
+    private static List<String> statements(String output) {
+        List<String> statements = new ArrayList<>();
+        String sql = null;
+        List<String> values = new ArrayList<>();
+        // A last logger line ends the last statement
+        for (String line : (output + "\n" + SQL_LOGGER).split("\\R")) {
+            Matcher binding = BINDING.matcher(line);
+            if (binding.find()) {
+                values.add(binding.group(1));
+                continue;
+            }
+            int logged = line.indexOf(SQL_LOGGER);
+            if (logged < 0) {
+                continue;
+            }
+            if (sql != null) {
+                StringBuilder statement = new StringBuilder();
+                int value = 0;
+                for (char c : sql.toCharArray()) {
+                    if (c == '?') {
+                        statement.append('\'').append(values.get(value++).replace("'", "''")).append('\'');
+                    } else {
+                        statement.append(c);
+                    }
+                }
+                statements.add(statement.toString());
+            }
+            sql = line.substring(line.indexOf(':', logged) + 1).trim();
+            values.clear();
+        }
+        return statements;
+    }
+
+    private Tournament createTournamentWithBracket(ConfigurableApplicationContext context, String name) {
+        TournamentService tournamentService = context.getBean(TournamentService.class);
+        PlayerService playerService = context.getBean(PlayerService.class);
+        Tournament tournament = new Tournament();
+        tournament.setName(name);
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Player player = new Player();
+            player.setName(name + " Player " + i);
+            player.setEmail("player" + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+            playerIds.add(playerService.createPlayer(player).getId());
+        }
+        tournamentService.addPlayersToTournament(tournament.getId(), playerIds);
+        GenerateBracketRequest request = new GenerateBracketRequest();
+        request.setFormat(BracketFormat.ROUND_ROBIN);
+        request.setIntendedTotalSets(3);
+        tournamentService.generateBracket(tournament.getId(), request);
+        return tournament;
+    }
+
+    private void createMatch(ConfigurableApplicationContext context, Long tournamentId) {
+        List<Long> playerIds = jdbcTemplate.queryForList(
+            "SELECT player_id FROM tournament_players WHERE tournament_id = ? ORDER BY player_id", Long.class, tournamentId);
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(playerIds.get(0));
+        request.setPlayer2Id(playerIds.get(1));
+        request.setRound(2);
+        request.setIntendedTotalSets(3);
+        context.getBean(TournamentService.class).createMatch(tournamentId, request);
+    }
+
+    private void scoreFirstMatch(ConfigurableApplicationContext context, Long tournamentId) {
+        Long matchId = jdbcTemplate.queryForObject(
+            "SELECT MIN(id) FROM matches WHERE tournament_id = ?", Long.class, tournamentId);
+        MatchScore score = new MatchScore(3);
+        for (int[] points : new int[][]{{11, 5}, {9, 11}, {11, 8}}) {
+            MatchScore.SetScore set = new MatchScore.SetScore();
+            set.setPlayer1Score(points[0]);
+            set.setPlayer2Score(points[1]);
+            score.addSet(set);
+        }
+        context.getBean(TournamentService.class).updateMatchScore(tournamentId, matchId, score);
+    }
+
+    private String relkind(String table) {
+        return jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)",
+            String.class, table);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,174 @@
+package com.tournament.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.ScheduleRequest;
+import com.tournament.dto.ScheduleResponse;
+import com.tournament.dto.ScheduleVenue;
+import com.tournament.model.BracketFormat;
+import com.tournament.model.Player;
+import com.tournament.model.ScheduleMode;
+import com.tournament.model.Tournament;
+import com.tournament.service.MatchScheduleService;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class MatchSchedulingTest {
+
+    private static final int PLAYERS = 8;
+    private static final int MATCHES = 28;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private MatchScheduleService matchScheduleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.setName("Scheduled Player " + i);
+            player.setEmail("scheduled" + i + "." + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+            playerIds.add(playerService.createPlayer(player).getId());
+        }
+        CreateTournamentRequest request = new CreateTournamentRequest();
+        request.setName("Scheduled Tournament");
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(2));
+        request.setPlayerIds(playerIds);
+        tournament = tournamentService.createTournament(request);
+
+        GenerateBracketRequest bracket = new GenerateBracketRequest();
+        bracket.setFormat(BracketFormat.ROUND_ROBIN);
+        bracket.setIntendedTotalSets(3);
+        tournamentService.generateBracket(tournament.getId(), bracket);
+    }
+
+    @Test
+    void testPlanAssignsEveryMatchWithoutDoubleBooking() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Long version = tournamentService.getChangeVersion(tournament.getId());
+
+        String body = mockMvc.perform(post("/api/tournaments/{id}/schedule", tournament.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request(ScheduleMode.PLAN, start))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        ScheduleResponse response = objectMapper.readValue(body, ScheduleResponse.class);
+
+        assertEquals(MATCHES, response.getMatchesScheduled());
+        assertEquals(MATCHES, response.getMatchesMoved());
+        assertTrue(response.getUnscheduledMatchIds().isEmpty());
+        assertEquals(start, response.getPlanStart());
+        assertTrue(tournamentService.getChangeVersion(tournament.getId()) > version);
+        assertNoDoubleBooking();
+
+        // Planning again without changes writes nothing
+        assertEquals(0, matchScheduleService.schedule(tournament.getId(), request(ScheduleMode.PLAN, start))
+            .getMatchesMoved());
+    }
+
+    @Test
+    void testRepairShiftsMatchesBehindOverrunningMatch() {
+        matchScheduleService.schedule(tournament.getId(), request(ScheduleMode.PLAN, null));
+        Map<String, Object> first = jdbcTemplate.queryForMap("SELECT id, venue, scheduled_time FROM matches " +
+            "WHERE tournament_id = ? ORDER BY scheduled_time, id LIMIT 1", tournament.getId());
+        LocalDateTime firstStart = ((Timestamp) first.get("scheduled_time")).toLocalDateTime();
+
+        // The first match started on time but goes to five sets, 20 minutes longer than planned
+        jdbcTemplate.update("UPDATE matches SET status = 'IN_PROGRESS', intended_total_sets = 5 WHERE id = ?",
+            first.get("id"));
+        ScheduleResponse response = matchScheduleService.schedule(tournament.getId(), request(ScheduleMode.REPAIR, null));
+
+        assertEquals(MATCHES - 1, response.getMatchesScheduled());
+        assertTrue(response.getMatchesMoved() > 0 && response.getMatchesMoved() < MATCHES - 1,
+            response.getMatchesMoved() + " matches moved");
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM matches WHERE tournament_id = ? " +
+            "AND status = 'PENDING' AND venue = ? AND scheduled_time < ?", Integer.class,
+            tournament.getId(), first.get("venue"), Timestamp.valueOf(firstStart.plusMinutes(50))));
+        assertNoDoubleBooking();
+    }
+
+    @Test
+    void testRejectsDuplicateVenues() {
+        ScheduleRequest request = request(ScheduleMode.PLAN, null);
+        request.getVenues().add(new ScheduleVenue("Table 1", null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> matchScheduleService.schedule(tournament.getId(), request));
+    }
+
+    private void assertNoDoubleBooking() {
+        List<Map<String, Object>> matches = jdbcTemplate.queryForList("SELECT player1_id, player2_id, venue, " +
+            "scheduled_time FROM matches WHERE tournament_id = ? AND status = 'PENDING'", tournament.getId());
+        for (int i = 0; i < matches.size(); i++) {
+            for (int j = i + 1; j < matches.size(); j++) {
+                Map<String, Object> a = matches.get(i);
+                Map<String, Object> b = matches.get(j);
+                boolean shared = a.get("venue").equals(b.get("venue"))
+                    || List.of(b.get("player1_id"), b.get("player2_id")).contains(a.get("player1_id"))
+                    || List.of(b.get("player1_id"), b.get("player2_id")).contains(a.get("player2_id"));
+                long apart = Math.abs(ChronoUnit.MINUTES.between(((Timestamp) a.get("scheduled_time")).toInstant(),
+                    ((Timestamp) b.get("scheduled_time")).toInstant()));
+                // Three sets of 10 minutes each
+                assertFalse(shared && apart < 30, "Double-booked: " + a + " and " + b);
+            }
+        }
+    }
+
+    private static ScheduleRequest request(ScheduleMode mode, LocalDateTime start) {
+        ScheduleRequest request = new ScheduleRequest();
+        request.setMode(mode);
+        request.setStart(start);
+        request.setVenues(new ArrayList<>(List.of(
+            new ScheduleVenue("Table 1", null, null),
+            new ScheduleVenue("Table 2", null, null),
+            new ScheduleVenue("Table 3", null, null))));
+        request.setMinutesPerSet(10);
+        request.setRestMinutes(5);
+        return request;
+    }
+}
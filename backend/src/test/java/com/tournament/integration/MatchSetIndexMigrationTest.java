@@ -0,0 +1,106 @@
+package com.tournament.integration;
+
+import com.tournament.config.MatchSetIndexMigration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs on PostgreSQL (see {@link PostgresTestDatabase}) against a set table as it was
+ * before sets were stored with their position.
+ */
+public class MatchSetIndexMigrationTest {
+
+    private static final String DATABASE = "match_set_index_migration_test";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void requirePostgres() {
+        assumeTrue(PostgresTestDatabase.isConfigured(), "TEST_POSTGRES_URL is not set");
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PostgresTestDatabase.recreateDatabase(DATABASE);
+        dataSource = PostgresTestDatabase.dataSource(DATABASE);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE match_sets (match_id bigint NOT NULL, "
+            + "player1_score integer, player2_score integer)");
+    }
+
+    /**
+     * Rows are clustered by score, as VACUUM FULL or CLUSTER may leave them, so physical
+     * order is no longer the order they were written in.
+     */
+    @Test
+    void testSetsAreNumberedInTheOrderTheyWereWritten() throws Exception {
+        writeSets(1, new int[][]{{11, 3}, {5, 11}, {11, 9}, {8, 11}, {11, 7}});
+        writeSets(2, new int[][]{{9, 11}});
+        writeSets(3, new int[][]{{11, 2}, {11, 2}});
+        jdbcTemplate.execute("CREATE INDEX match_sets_by_score ON match_sets (player2_score DESC)");
+        jdbcTemplate.execute("CLUSTER match_sets USING match_sets_by_score");
+        jdbcTemplate.execute("DROP INDEX match_sets_by_score");
+        assertNotEquals(List.of(3, 11, 9, 11, 7), jdbcTemplate.queryForList(
+            "SELECT player2_score FROM match_sets WHERE match_id = 1 ORDER BY ctid", Integer.class));
+
+        new MatchSetIndexMigration(dataSource).addSetIndex();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT match_id, set_index, player1_score, player2_score FROM match_sets ORDER BY match_id, set_index");
+        assertEquals(List.of(
+            row(1, 0, 11, 3), row(1, 1, 5, 11), row(1, 2, 11, 9), row(1, 3, 8, 11), row(1, 4, 11, 7),
+            row(2, 0, 9, 11),
+            row(3, 0, 11, 2), row(3, 1, 11, 2)), rows);
+        // Starting again finds the column and leaves the table alone
+        new MatchSetIndexMigration(dataSource).addSetIndex();
+        assertEquals(rows, jdbcTemplate.queryForList(
+            "SELECT match_id, set_index, player1_score, player2_score FROM match_sets ORDER BY match_id, set_index"));
+    }
+
+    @Test
+    void testMatchesWrittenByTwoTransactionsAreNotMigrated() throws Exception {
+        writeSets(1, new int[][]{{11, 3}, {5, 11}});
+        writeSets(2, new int[][]{{11, 4}});
+        // Sets changed by hand, the new row's position among the others is unknown
+        writeSets(1, new int[][]{{11, 6}});
+        // Alike sets can go in any order
+        writeSets(2, new int[][]{{11, 4}});
+
+        IllegalStateException refused = assertThrows(IllegalStateException.class,
+            () -> new MatchSetIndexMigration(dataSource).addSetIndex());
+        assertTrue(refused.getMessage().contains("1 matches"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE table_schema = current_schema() AND table_name = 'match_sets' AND column_name = 'set_index'",
+            Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM match_sets", Integer.class));
+    }
+
+    /**
+     * Insert the sets of a match in one transaction, one statement per set, as Hibernate did.
+     */
+    private void writeSets(long matchId, int[][] sets) {
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(tx -> {
+            for (int[] set : sets) {
+                jdbcTemplate.update("INSERT INTO match_sets (match_id, player1_score, player2_score) VALUES (?, ?, ?)",
+                    matchId, set[0], set[1]);
+            }
+        });
+    }
+
+    private static Map<String, Object> row(long matchId, int setIndex, int player1Score, int player2Score) {
+        return Map.of("match_id", matchId, "set_index", setIndex,
+            "player1_score", player1Score, "player2_score", player2Score);
+    }
+}
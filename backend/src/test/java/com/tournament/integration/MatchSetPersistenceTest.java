@@ -0,0 +1,139 @@
+package com.tournament.integration;
+
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts of score updates. Batching is disabled so every executed statement is
+ * also prepared and counted. The live engine is disabled so every update goes through the
+ * database path.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.jdbc.batch_size=1",
+    "tournament.live-engine.enabled=false",
+    "tournament.live-engine.journal-path=target/match-set-persistence-test.journal"
+})
+@ActiveProfiles("test")
+public class MatchSetPersistenceTest {
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Tournament tournament;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Set Persistence Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(createPlayer("Sets One").getId());
+        request.setPlayer2Id(createPlayer("Sets Two").getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(7);
+        match = tournamentService.createMatch(tournament.getId(), request);
+
+        // Two sets each and the fifth set under way
+        MatchScore score = new MatchScore(7);
+        score.addSet(set(11, 5));
+        score.addSet(set(7, 11));
+        score.addSet(set(11, 9));
+        score.addSet(set(4, 11));
+        score.addSet(set(3, 3));
+        tournamentService.updateMatchScore(tournament.getId(), match.getId(), score);
+    }
+
+    @Test
+    void testPointInSetUpdatesOneSetRow() {
+        long statements = countStatements(() -> point(4));
+
+        // Load of match with its sets, match version, the changed set row and the tournament version
+        assertEquals(4, statements);
+        assertEquals(List.of(11, 7, 11, 4, 4), player1Scores());
+    }
+
+    @Test
+    void testNewSetInsertsOneSetRow() {
+        tournamentService.applyScoreDelta(tournament.getId(), match.getId(), assign(4, 11, 3));
+        long statements = countStatements(() -> point(5));
+
+        // Load of match with its sets, match version, the new set row and the tournament version
+        assertEquals(4, statements);
+        assertEquals(List.of(11, 7, 11, 4, 11, 1), player1Scores());
+    }
+
+    private long countStatements(Runnable update) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        update.run();
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("Score update took %d statements%n", statements);
+        return statements;
+    }
+
+    private void point(int setIndex) {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(setIndex);
+        delta.setPointTo(PlayerSide.PLAYER1);
+        tournamentService.applyScoreDelta(tournament.getId(), match.getId(), delta);
+    }
+
+    private ScoreDeltaRequest assign(int setIndex, int player1Score, int player2Score) {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(setIndex);
+        delta.setPlayer1Score(player1Score);
+        delta.setPlayer2Score(player2Score);
+        return delta;
+    }
+
+    private List<Integer> player1Scores() {
+        return tournamentService.getMatch(tournament.getId(), match.getId()).getScore().getSets().stream()
+            .map(MatchScore.SetScore::getPlayer1Score)
+            .toList();
+    }
+
+    private static MatchScore.SetScore set(int player1Score, int player2Score) {
+        MatchScore.SetScore set = new MatchScore.SetScore();
+        set.setPlayer1Score(player1Score);
+        set.setPlayer2Score(player2Score);
+        return set;
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
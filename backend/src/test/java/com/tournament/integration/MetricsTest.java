@@ -0,0 +1,138 @@
+package com.tournament.integration;
+
+import com.tournament.config.MetricsConfig;
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.model.Match;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.ScoreMetrics;
+import com.tournament.service.TournamentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: status transitions are counted once the score change has committed.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.flush-interval-ms=3600000",
+    "tournament.live-engine.journal-path=target/metrics-test.journal"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    private Tournament tournament;
+    private Match match;
+
+    @BeforeEach
+    void setUp() {
+        tournament = new Tournament();
+        tournament.setName("Metrics Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(createPlayer("Metrics One").getId());
+        request.setPlayer2Id(createPlayer("Metrics Two").getId());
+        request.setRound(1);
+        match = tournamentService.createMatch(tournament.getId(), request);
+    }
+
+    @Test
+    void testScoreUpdatesAreTimedByPathAndStatus() {
+        long databaseBefore = scoreUpdates("database");
+        long liveBefore = scoreUpdates("live");
+        long startedBefore = transitions("PENDING", "IN_PROGRESS");
+
+        // The first point is written to the database and hands the match to the live engine
+        point();
+        point();
+
+        assertEquals(databaseBefore + 1, scoreUpdates("database"));
+        assertEquals(liveBefore + 1, scoreUpdates("live"));
+        assertEquals(startedBefore + 1, transitions("PENDING", "IN_PROGRESS"));
+    }
+
+    @Test
+    void testStatementsAreRecordedPerRequest() throws Exception {
+        mockMvc.perform(get("/api/tournaments/{id}/standings", tournament.getId()))
+            .andExpect(status().isOk());
+
+        DistributionSummary statements = registry.get(MetricsConfig.REQUEST_STATEMENTS)
+            .tag("method", "GET")
+            .tag("uri", "/api/tournaments/{tournamentId}/standings")
+            .summary();
+        assertEquals(1, statements.count());
+        // The change version for the ETag, one existence check and the standings query
+        assertEquals(3, statements.max());
+    }
+
+    @Test
+    void testPersistenceMetersAreBound() {
+        assertNotNull(registry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(registry.find("hibernate.statements").functionCounter());
+        assertNotNull(registry.find("tournament.hibernate.collection.fetches")
+            .tag("role", Match.class.getName() + ".score.sets").functionCounter());
+        assertNotNull(registry.find("tournament.live.flush.lag").timeGauge());
+    }
+
+    private void point() {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(0);
+        delta.setPointTo(PlayerSide.PLAYER1);
+        tournamentService.applyScoreDelta(tournament.getId(), match.getId(), delta);
+    }
+
+    private long scoreUpdates(String path) {
+        Timer timer = registry.find(ScoreMetrics.SCORE_UPDATES)
+            .tag("operation", "delta")
+            .tag("path", path)
+            .tag("status", "SET_IN_PROGRESS")
+            .timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    private long transitions(String from, String to) {
+        Counter counter = registry.find(ScoreMetrics.STATUS_TRANSITIONS).tag("from", from).tag("to", to).counter();
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
@@ -0,0 +1,96 @@
+package com.tournament.integration;
+
+import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.exception.PlayersNotFoundException;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+public class PlayerEnrollmentTest {
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testBulkEnrollmentUsesFewStatements() {
+        List<Long> playerIds = seedPlayers(300);
+        Tournament tournament = tournamentService.createTournament(request(playerIds.subList(0, 200)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Re-enrolling 200 players and enrolling 100 new ones, with duplicate ids in the request
+        List<Long> enrollment = new ArrayList<>(playerIds);
+        enrollment.addAll(playerIds.subList(250, 300));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        tournamentService.addPlayersToTournament(tournament.getId(), enrollment);
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        assertEquals(300, tournamentService.getTournament(tournament.getId()).getPlayers().size());
+        System.out.printf("Enrolled 100 new of 350 requested players with %d statements%n", statements);
+        // Tournament, players and current enrollment are read once each, new join rows are batched
+        assertTrue(statements < 10, "Expected set based enrollment but saw " + statements + " statements");
+    }
+
+    @Test
+    void testMissingPlayersAreReportedTogether() {
+        List<Long> playerIds = new ArrayList<>(seedPlayers(2));
+        playerIds.add(-1L);
+        playerIds.add(-2L);
+
+        PlayersNotFoundException exception = assertThrows(PlayersNotFoundException.class,
+            () -> tournamentService.createTournament(request(playerIds)));
+        assertEquals(List.of(-1L, -2L), exception.getMissingIds());
+    }
+
+    private CreateTournamentRequest request(List<Long> playerIds) {
+        CreateTournamentRequest request = new CreateTournamentRequest();
+        request.setName("Qualifier");
+        request.setStartDate(LocalDate.now());
+        request.setEndDate(LocalDate.now().plusDays(1));
+        request.setPlayerIds(playerIds);
+        return request;
+    }
+
+    private List<Long> seedPlayers(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Player player = new Player();
+            player.setName("Qualifier Player " + i);
+            player.setEmail("qualifier" + i + "." + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+            ids.add(playerService.createPlayer(player).getId());
+        }
+        return ids;
+    }
+}
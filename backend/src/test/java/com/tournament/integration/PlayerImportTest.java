@@ -0,0 +1,171 @@
+package com.tournament.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.dto.PlayerImportError;
+import com.tournament.dto.PlayerImportResult;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerImportFormat;
+import com.tournament.model.PlayerImportMode;
+import com.tournament.repository.PlayerRepository;
+import com.tournament.service.PlayerImportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: the import commits every chunk in its own transaction.
+ */
+@SpringBootTest(properties = {
+    "tournament.import.chunk-size=50",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PlayerImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlayerImportService playerImportService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String domain;
+
+    @BeforeEach
+    void setUp() {
+        domain = "@" + UUID.randomUUID().toString().substring(0, 8) + ".example.com";
+    }
+
+    @Test
+    void testCsvImportReportsInvalidRowsAndSkipsTakenEmails() throws Exception {
+        String csv = "\uFEFFName,Email,Rank,Club\n"
+            + "\"Doe, Jane\",jane" + domain + ",3,North\n"
+            + "\n"
+            + "\"Quoted \"\"Ace\"\"\",ace" + domain + ",,South\n"
+            + "No Email,,1,North\n"
+            + "Bad Rank,bad" + domain + ",first,North\n"
+            + "Jane Again,jane" + domain + ",9,North\n"
+            + "\"Two\nLines\",lines" + domain + ",,West\n";
+
+        String response = mockMvc.perform(post("/api/players/import")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        PlayerImportResult result = objectMapper.readValue(response, PlayerImportResult.class);
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(3, result.getCreated());
+        assertEquals(1, result.getSkipped());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(5L, 6L), result.getErrors().stream().map(PlayerImportError::getLine).toList());
+
+        Player jane = player("jane");
+        assertEquals("Doe, Jane", jane.getName());
+        assertEquals(3, jane.getRank());
+        assertEquals("Quoted \"Ace\"", player("ace").getName());
+        assertEquals("Two\nLines", player("lines").getName());
+    }
+
+    @Test
+    void testNdjsonUpsertUpdatesExistingPlayers() throws Exception {
+        importNdjson(PlayerImportMode.SKIP,
+            "{\"name\":\"Old Name\",\"email\":\"upsert" + domain + "\",\"rank\":7,\"active\":false}\n");
+
+        PlayerImportResult result = importNdjson(PlayerImportMode.UPSERT,
+            "{\"name\":\"New Name\",\"email\":\"upsert" + domain + "\"}\n"
+            + "{\"name\":\"Fresh\",\"email\":\"fresh" + domain + "\",\"active\":\"yes\"}\n"
+            + "not json\n");
+
+        assertEquals(3, result.getRowsRead());
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+
+        // Fields left out of an upserted row keep their values
+        Player updated = player("upsert");
+        assertEquals("New Name", updated.getName());
+        assertEquals(7, updated.getRank());
+        assertFalse(updated.isActive());
+        assertTrue(player("fresh").isActive());
+    }
+
+    @Test
+    void testOverlongRecordsAreRejectedAndReadingContinues() throws Exception {
+        String overlong = "x".repeat(200_000);
+        PlayerImportResult csv = playerImportService.importPlayers(new ByteArrayInputStream(
+                ("name,email\r\n" + overlong + ",long" + domain + "\r\n"
+                    + "After Csv,aftercsv" + domain + "\r\n").getBytes(StandardCharsets.UTF_8)),
+            PlayerImportFormat.CSV, PlayerImportMode.SKIP);
+        PlayerImportResult ndjson = importNdjson(PlayerImportMode.SKIP,
+            "{\"name\":\"" + overlong + "\",\"email\":\"long" + domain + "\"}\n"
+            + "{\"name\":\"After Json\",\"email\":\"afterjson" + domain + "\"}\n");
+
+        for (PlayerImportResult result : List.of(csv, ndjson)) {
+            assertEquals(1, result.getCreated());
+            assertEquals(1, result.getFailed());
+            assertTrue(result.getErrors().get(0).getMessage().contains("exceeds"));
+        }
+        assertEquals(2L, csv.getErrors().get(0).getLine());
+        assertEquals(1L, ndjson.getErrors().get(0).getLine());
+        assertEquals("After Csv", player("aftercsv").getName());
+        assertEquals("After Json", player("afterjson").getName());
+    }
+
+    @Test
+    void testImportWritesInBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("name,email\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("Batch Player ").append(i).append(",batch").append(i).append(domain).append('\n');
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PlayerImportResult result = playerImportService.importPlayers(
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+            PlayerImportFormat.CSV, PlayerImportMode.SKIP);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(200, result.getCreated());
+        System.out.printf("Imported 200 players in 4 chunks with %d statements%n", statements);
+        // Per chunk: one email lookup, one sequence call and one batched insert
+        assertTrue(statements <= 16, "Expected batched inserts but saw " + statements + " statements");
+    }
+
+    private PlayerImportResult importNdjson(PlayerImportMode mode, String ndjson) throws Exception {
+        return playerImportService.importPlayers(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+            PlayerImportFormat.NDJSON, mode);
+    }
+
+    private Player player(String localPart) {
+        List<Player> players = playerRepository.findByEmailIn(List.of(localPart + domain));
+        assertEquals(1, players.size());
+        return players.get(0);
+    }
+}
@@ -0,0 +1,163 @@
+package com.tournament.integration;
+
+import com.tournament.dto.PlayerSearchPage;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSearchMode;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class PlayerSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /** Unique to each test, so players created by other tests never match. */
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = "q" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void testTextMatchesNameOrEmailIgnoringCase() throws Exception {
+        Player alice = createPlayer("Alice " + token, "alice." + token + "@example.com", 3, true);
+        Player percent = createPlayer("Full 100% " + token, "full." + token + "@example.com", null, true);
+        createPlayer("Bob " + token, "bob." + token + "@example.com", 5, true);
+
+        assertEquals(List.of(alice.getId()), ids(search("ALICE " + token.toUpperCase(), PlayerSearchMode.CONTAINS)));
+        assertEquals(List.of(alice.getId()), ids(search("alice." + token, PlayerSearchMode.PREFIX)));
+        assertTrue(search(token, PlayerSearchMode.PREFIX).getPlayers().isEmpty());
+        // Wildcards in the text are matched literally
+        assertEquals(List.of(percent.getId()), ids(search("100% " + token, PlayerSearchMode.CONTAINS)));
+        assertTrue(search("1_0 " + token, PlayerSearchMode.CONTAINS).getPlayers().isEmpty());
+
+        mockMvc.perform(get("/api/players/search").param("q", token).param("mode", "CONTAINS"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.players", hasSize(3)))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testFiltersAndKeysetPages() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            expected.add(createPlayer("Ranked " + i + " " + token, "ranked" + i + "." + token + "@example.com",
+                i * 10, true).getId());
+        }
+        Player inactive = createPlayer("Inactive " + token, "inactive." + token + "@example.com", 20, false);
+        createPlayer("Unranked " + token, "unranked." + token + "@example.com", null, true);
+        Tournament tournament = new Tournament();
+        tournament.setName("Search Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+        tournamentService.addPlayersToTournament(tournament.getId(), List.of(expected.get(4)));
+
+        // Active, ranked 10 to 50 and not yet in the tournament, two per page
+        List<Long> found = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            PlayerSearchPage page = playerService.searchPlayers(token, PlayerSearchMode.CONTAINS, true,
+                10, 50, tournament.getId(), cursor, 2);
+            found.addAll(ids(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected.subList(0, 4), found);
+        assertEquals(2, pages);
+        assertEquals(List.of(inactive.getId()), ids(playerService.searchPlayers(token, PlayerSearchMode.CONTAINS,
+            false, null, null, null, null, 10)));
+        // Unranked players only match when no rank range is given
+        assertEquals(7, playerService.searchPlayers(token, PlayerSearchMode.CONTAINS, null, null, null, null,
+            null, 10).getPlayers().size());
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(token,
+            PlayerSearchMode.CONTAINS, null, null, null, null, null, PlayerService.MAX_SEARCH_PAGE_SIZE + 1));
+    }
+
+    /**
+     * Players are found by their own transaction at once, and as before if it rolls back.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testRolledBackWritesAreUndone() {
+        Player kept = createPlayer("Kept " + token, "kept." + token + "@example.com", 1, true);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            Player created = createPlayer("Created " + token, "created." + token + "@example.com", 2, true);
+            Player renamed = new Player();
+            renamed.setName("Renamed " + token);
+            renamed.setEmail(kept.getEmail());
+            renamed.setActive(true);
+            playerService.updatePlayer(kept.getId(), renamed);
+            assertEquals(List.of(kept.getId(), created.getId()), ids(search(token, PlayerSearchMode.CONTAINS)));
+            assertEquals(List.of(kept.getId()), ids(search("renamed", PlayerSearchMode.PREFIX)));
+            tx.setRollbackOnly();
+        });
+        assertEquals(List.of(kept.getId()), ids(search(token, PlayerSearchMode.CONTAINS)));
+        assertEquals(List.of(kept.getId()), ids(search("kept " + token, PlayerSearchMode.PREFIX)));
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            playerService.deletePlayer(kept.getId());
+            assertTrue(search(token, PlayerSearchMode.CONTAINS).getPlayers().isEmpty());
+            tx.setRollbackOnly();
+        });
+        assertEquals(List.of(kept.getId()), ids(search(token, PlayerSearchMode.CONTAINS)));
+        playerService.deletePlayer(kept.getId());
+        assertTrue(search(token, PlayerSearchMode.CONTAINS).getPlayers().isEmpty());
+    }
+
+    private PlayerSearchPage search(String text, PlayerSearchMode mode) {
+        return playerService.searchPlayers(text, mode, null, null, null, null, null, 20);
+    }
+
+    private static List<Long> ids(PlayerSearchPage page) {
+        return page.getPlayers().stream().map(Player::getId).toList();
+    }
+
+    private Player createPlayer(String name, String email, Integer rank, boolean active) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(email);
+        player.setRank(rank);
+        player.setActive(active);
+        return playerService.createPlayer(player);
+    }
+}
@@ -0,0 +1,96 @@
+package com.tournament.integration;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A database of its own on the PostgreSQL server given by {@code TEST_POSTGRES_URL}, for tests of
+ * what only happens on PostgreSQL (partitions, upserts, migrations of existing tables). Not a
+ * schema: the schema update of Hibernate takes sequences of any schema for its own. The
+ * server is read from the environment or a system property of that name, with
+ * {@code TEST_POSTGRES_USERNAME} and {@code TEST_POSTGRES_PASSWORD} defaulting to those of
+ * docker-compose.yml, e.g. {@code TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/tourny}.
+ * Tests using it are skipped when no server is given.
+ */
+final class PostgresTestDatabase {
+
+    private PostgresTestDatabase() {
+    }
+
+    static boolean isConfigured() {
+        return setting("TEST_POSTGRES_URL", null) != null;
+    }
+
+    /**
+     * Drop and create the database, so every run starts from an empty one.
+     */
+    static void recreateDatabase(String database) throws SQLException {
+        try (Connection connection = open(setting("TEST_POSTGRES_URL", null));
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + database);
+        }
+    }
+
+    /**
+     * A connection to the database.
+     */
+    static Connection connect(String database) throws SQLException {
+        return open(url(database));
+    }
+
+    /**
+     * Connections to the database, for code run without an application context.
+     */
+    static DataSource dataSource(String database) {
+        return new DriverManagerDataSource(url(database), setting("TEST_POSTGRES_USERNAME", "postgres"),
+            setting("TEST_POSTGRES_PASSWORD", "postgres"));
+    }
+
+    /**
+     * Point the application at the database, overriding any other datasource of the test run.
+     */
+    static void register(DynamicPropertyRegistry registry, String database) {
+        properties(database).forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /**
+     * The application properties pointing at the database, for applications started by the test.
+     */
+    static Map<String, String> properties(String database) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", url(database));
+        properties.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+        properties.put("spring.datasource.username", setting("TEST_POSTGRES_USERNAME", "postgres"));
+        properties.put("spring.datasource.password", setting("TEST_POSTGRES_PASSWORD", "postgres"));
+        properties.put("spring.datasource.hikari.data-source-properties", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        return properties;
+    }
+
+    /**
+     * The server url with its database replaced.
+     */
+    private static String url(String database) {
+        return setting("TEST_POSTGRES_URL", null).replaceFirst("(//[^/?]*)(/[^?]*)?", "$1/" + database);
+    }
+
+    private static Connection open(String url) throws SQLException {
+        return DriverManager.getConnection(url, setting("TEST_POSTGRES_USERNAME", "postgres"),
+            setting("TEST_POSTGRES_PASSWORD", "postgres"));
+    }
+
+    private static String setting(String name, String defaultValue) {
+        String value = System.getProperty(name, System.getenv(name));
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
@@ -0,0 +1,193 @@
+package com.tournament.integration;
+
+import com.tournament.config.ReadReplicaFilter;
+import com.tournament.config.ReplicaLagMonitor;
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.model.Match;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.Tournament;
+import com.tournament.service.LiveMatchEngine;
+import com.tournament.service.PlayerService;
+import com.tournament.service.TournamentService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica. Replication is a
+ * copy of the primary taken by {@link #replicate()}, so whatever is written after it is
+ * only on the primary.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.hikari.data-source-properties=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "tournament.datasource.read.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+    "tournament.datasource.read.max-lag-ms=60000",
+    "tournament.datasource.read.heartbeat-interval-ms=1000",
+    "tournament.live-engine.flush-interval-ms=30000",
+    "tournament.live-engine.journal-path=target/read-replica-routing-test.journal"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private LiveMatchEngine liveMatchEngine;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private DataSource readDataSource;
+
+    private String replicated;
+    private String primaryOnly;
+
+    @BeforeEach
+    void setUp() {
+        replicated = createTournament("Replicated");
+        replicate();
+        primaryOnly = createTournament("Primary only");
+        replicaLagMonitor.check();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+    }
+
+    @Test
+    void testClientReadsFromReplicaUntilItWrites() throws Exception {
+        String page = list(get("/api/tournaments"));
+        assertTrue(page.contains(replicated));
+        assertFalse(page.contains(primaryOnly));
+
+        Cookie pin = mockMvc.perform(post("/api/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Routing Player\", \"email\": \"routing." + UUID.randomUUID() + "@example.com\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getCookie(ReadReplicaFilter.PIN_COOKIE);
+        assertNotNull(pin);
+        assertTrue(pin.isHttpOnly());
+        assertTrue(list(get("/api/tournaments").cookie(pin)).contains(primaryOnly));
+
+        // Once the replica must have caught up, the client reads from it again
+        Cookie expired = new Cookie(ReadReplicaFilter.PIN_COOKIE, Long.toString(System.currentTimeMillis() - 1));
+        assertFalse(list(get("/api/tournaments").cookie(expired)).contains(primaryOnly));
+    }
+
+    /**
+     * A point scored through the live engine reaches the primary with a later flush, up to
+     * one flush interval on, and the replica after that. The client stays pinned until then.
+     */
+    @Test
+    void testLiveScorePinCoversWriteBehind() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setName("Live " + UUID.randomUUID());
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(createPlayer("Live One").getId());
+        request.setPlayer2Id(createPlayer("Live Two").getId());
+        request.setRound(1);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+        String score = "/api/tournaments/" + tournament.getId() + "/matches/" + match.getId() + "/score";
+
+        // The first point goes through the database and hands the match to the engine
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(0);
+        delta.setPointTo(PlayerSide.PLAYER1);
+        tournamentService.applyScoreDelta(tournament.getId(), match.getId(), delta);
+        assertTrue(liveMatchEngine.isLive(match.getId()));
+
+        long scored = System.currentTimeMillis();
+        Cookie pin = mockMvc.perform(patch(score)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"setIndex\": 0, \"pointTo\": \"PLAYER1\"}"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getCookie(ReadReplicaFilter.PIN_COOKIE);
+        assertNotNull(pin);
+        assertEquals(1, liveMatchEngine.getStats().getUnflushedMatches());
+        assertTrue(liveMatchEngine.getWriteBehindMillis() >= 30_000);
+        assertTrue(Long.parseLong(pin.getValue()) - scored >= 30_000 + replicaLagMonitor.getPinMillis());
+        liveMatchEngine.flushAll();
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() throws Exception {
+        new JdbcTemplate(readDataSource).update("UPDATE replica_heartbeat SET beat_millis = ?",
+            System.currentTimeMillis() - 120_000);
+        replicaLagMonitor.check();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(replicaLagMonitor.getLagMillis() >= 120_000);
+        assertTrue(list(get("/api/tournaments")).contains(primaryOnly));
+    }
+
+    private String list(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.param("limit", "100"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private String createTournament(String name) {
+        Tournament tournament = new Tournament();
+        tournament.setName(name + " " + UUID.randomUUID());
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        return tournamentService.createTournament(tournament).getName();
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+
+    /**
+     * Copy the primary, including its heartbeat, to the replica.
+     */
+    private void replicate() {
+        new JdbcTemplate(primaryDataSource).execute("SCRIPT TO 'target/read-replica-routing-test.sql'");
+        JdbcTemplate replica = new JdbcTemplate(readDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM 'target/read-replica-routing-test.sql'");
+    }
+}
@@ -0,0 +1,290 @@
+package com.tournament.integration;
+
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.exception.ScoreVersionConflictException;
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.Player;
+import com.tournament.model.PlayerSide;
+import com.tournament.model.RatingHistory;
+import com.tournament.model.Tournament;
+import com.tournament.service.PlayerService;
+import com.tournament.service.RatingService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not transactional: concurrent writers need their own committed transactions.
+ * The live engine is disabled so every update goes through the database path.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.enabled=false",
+    "tournament.live-engine.journal-path=target/score-concurrency-test.journal"
+})
+@ActiveProfiles("test")
+public class ScoreConcurrencyTest {
+
+    private static final int SETS = 5;
+    /** Point writers, half of them on set 0 and half on set 1; a multiple of four. */
+    private static final int POINT_WRITERS = 12;
+    /** Points per writer, odd so every writer gives one side one more point. */
+    private static final int POINTS_PER_WRITER = 3;
+    private static final int STALE_UPDATES = 8;
+    private static final int CONTENDERS_PER_SET = 7;
+    private static final int CONCURRENT_COMPLETIONS = 6;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    private Tournament tournament;
+    private Match match;
+    private long baseVersion;
+
+    @BeforeEach
+    void setUp() {
+        Player player1 = createPlayer("Writer One");
+        Player player2 = createPlayer("Writer Two");
+
+        tournament = new Tournament();
+        tournament.setName("Concurrency Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(SETS);
+        match = tournamentService.createMatch(tournament.getId(), request);
+
+        MatchScore sets = new MatchScore(SETS);
+        for (int i = 0; i < SETS; i++) {
+            sets.addNewEmptySet();
+        }
+        baseVersion = tournamentService.updateMatchScore(tournament.getId(), match.getId(), sets)
+            .getUpdatedMatch().getVersion();
+    }
+
+    /**
+     * Writers of three kinds race on one match. Point writers share sets 0 and 1 and send no
+     * version, so all their points are merged. One writer assigns set 2, always with the stale
+     * version of its own last write, and is merged because nobody else touches set 2. Contenders
+     * assign sets 3 and 4 with the version they all started from: exactly one of them per set
+     * wins and every other one gets a conflict.
+     */
+    @Test
+    void testManyWritersOnOneMatch() throws Exception {
+        List<Callable<Integer>> writers = new ArrayList<>();
+        for (int writer = 0; writer < POINT_WRITERS; writer++) {
+            int setIndex = writer % 2;
+            boolean player1First = writer / 2 % 2 == 0;
+            writers.add(() -> {
+                for (int points = 0; points < POINTS_PER_WRITER; points++) {
+                    tournamentService.applyScoreDelta(tournament.getId(), match.getId(),
+                        point(setIndex, player1First == (points % 2 == 0) ? PlayerSide.PLAYER1 : PlayerSide.PLAYER2));
+                    pause();
+                }
+                return 0;
+            });
+        }
+        writers.add(() -> {
+            // Only knows the version of its own last write, which the others have usually moved past
+            long knownVersion = baseVersion;
+            for (int points = 1; points <= STALE_UPDATES; points++) {
+                knownVersion = tournamentService.applyScoreDelta(tournament.getId(), match.getId(),
+                    assignment(2, points, 2, knownVersion)).getVersion();
+                pause();
+            }
+            return 0;
+        });
+        Map<Integer, Integer> winners = new ConcurrentHashMap<>();
+        for (int setIndex = 3; setIndex < SETS; setIndex++) {
+            for (int contender = 1; contender <= CONTENDERS_PER_SET; contender++) {
+                int set = setIndex;
+                int player1Score = contender;
+                writers.add(() -> {
+                    try {
+                        tournamentService.applyScoreDelta(tournament.getId(), match.getId(),
+                            assignment(set, player1Score, set, baseVersion));
+                        assertNull(winners.putIfAbsent(set, player1Score));
+                        return 0;
+                    } catch (ScoreVersionConflictException e) {
+                        assertEquals(List.of(set), e.getConflict().getConflictingSetIndexes());
+                        return 1;
+                    }
+                });
+            }
+        }
+
+        int conflicts = 0;
+        for (Integer result : runTogether(writers)) {
+            conflicts += result;
+        }
+
+        int contestedSets = SETS - 3;
+        assertEquals(contestedSets * (CONTENDERS_PER_SET - 1), conflicts);
+        Match stored = tournamentService.getMatch(tournament.getId(), match.getId());
+        assertEquals(baseVersion + (long) POINT_WRITERS * POINTS_PER_WRITER + STALE_UPDATES + contestedSets,
+            stored.getVersion());
+        int pointsPerSide = POINT_WRITERS / 2 * POINTS_PER_WRITER / 2;
+        for (int set = 0; set < 2; set++) {
+            assertEquals(pointsPerSide, stored.getScore().getSet(set).getPlayer1Score());
+            assertEquals(pointsPerSide, stored.getScore().getSet(set).getPlayer2Score());
+        }
+        assertEquals(STALE_UPDATES, stored.getScore().getSet(2).getPlayer1Score());
+        assertEquals(2, stored.getScore().getSet(2).getPlayer2Score());
+        for (int set = 3; set < SETS; set++) {
+            assertEquals(winners.get(set), stored.getScore().getSet(set).getPlayer1Score());
+            assertEquals(set, stored.getScore().getSet(set).getPlayer2Score());
+        }
+    }
+
+    @Test
+    void testStaleWriterOnChangedSetGetsConflict() {
+        tournamentService.applyScoreDelta(tournament.getId(), match.getId(), assignment(1, 4, 2, baseVersion));
+
+        ScoreVersionConflictException conflict = assertThrows(ScoreVersionConflictException.class,
+            () -> tournamentService.applyScoreDelta(tournament.getId(), match.getId(),
+                assignment(1, 3, 3, baseVersion)));
+        assertEquals(baseVersion + 1, conflict.getCurrentVersion());
+        assertEquals(List.of(1), conflict.getConflict().getConflictingSetIndexes());
+        assertEquals(4, conflict.getConflict().getSets().get(1).getPlayer1Score());
+
+        // A full update agreeing with the concurrent change is merged instead
+        MatchScore agreeing = new MatchScore(SETS);
+        agreeing.addSet(new MatchScore.SetScore());
+        MatchScore.SetScore set = new MatchScore.SetScore();
+        set.setPlayer1Score(4);
+        set.setPlayer2Score(2);
+        agreeing.addSet(set);
+        tournamentService.updateMatchScore(tournament.getId(), match.getId(), agreeing, baseVersion);
+    }
+
+    /**
+     * One player completes matches in several tournaments at once. Each rating starts from the
+     * one before it, so none of the completions is lost. The player loses every match, to stay
+     * out of the rankings other tests read.
+     */
+    @Test
+    void testConcurrentCompletionsOfOnePlayerAreAllRated() throws Exception {
+        Player busy = createPlayer("Busy Player");
+        List<Callable<Integer>> completions = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_COMPLETIONS; i++) {
+            Tournament other = new Tournament();
+            other.setName("Rated Tournament " + i);
+            other.setStartDate(LocalDate.now());
+            other.setEndDate(LocalDate.now().plusDays(1));
+            other = tournamentService.createTournament(other);
+            CreateMatchRequest request = new CreateMatchRequest();
+            request.setPlayer1Id(busy.getId());
+            request.setPlayer2Id(createPlayer("Opponent " + i).getId());
+            request.setRound(1);
+            request.setIntendedTotalSets(1);
+            Match rated = tournamentService.createMatch(other.getId(), request);
+
+            Long tournamentId = other.getId();
+            completions.add(() -> {
+                MatchScore score = new MatchScore(1);
+                MatchScore.SetScore set = new MatchScore.SetScore();
+                set.setPlayer1Score(4);
+                set.setPlayer2Score(11);
+                score.addSet(set);
+                tournamentService.updateMatchScore(tournamentId, rated.getId(), score);
+                return 0;
+            });
+        }
+
+        runTogether(completions);
+
+        List<RatingHistory> history = new ArrayList<>(ratingService.getHistory(busy.getId()));
+        assertEquals(CONCURRENT_COMPLETIONS, history.size());
+        Collections.reverse(history);
+        double rating = 1500;
+        for (RatingHistory entry : history) {
+            assertEquals(rating, entry.getRatingBefore(), 1e-9);
+            assertTrue(entry.getRatingAfter() < rating);
+            rating = entry.getRatingAfter();
+        }
+        assertEquals(rating, playerService.getPlayer(busy.getId()).getRating(), 1e-9);
+    }
+
+    private <T> List<T> runTogether(List<Callable<T>> writers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> results = new ArrayList<>();
+            for (Callable<T> writer : writers) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return writer.call();
+                }));
+            }
+            start.countDown();
+            List<T> values = new ArrayList<>();
+            for (Future<T> result : results) {
+                values.add(result.get());
+            }
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Umpire devices pause between points, if only briefly.
+     */
+    private static void pause() throws InterruptedException {
+        Thread.sleep(ThreadLocalRandom.current().nextLong(5));
+    }
+
+    private ScoreDeltaRequest point(int setIndex, PlayerSide side) {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(setIndex);
+        delta.setPointTo(side);
+        return delta;
+    }
+
+    private ScoreDeltaRequest assignment(int setIndex, int player1Score, int player2Score, long expectedVersion) {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(setIndex);
+        delta.setPlayer1Score(player1Score);
+        delta.setPlayer2Score(player2Score);
+        delta.setExpectedVersion(expectedVersion);
+        return delta;
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
@@ -0,0 +1,173 @@
+package com.tournament.integration;
+
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.StandingEntry;
+import com.tournament.event.MatchResultChangedEvent;
+import com.tournament.model.Match;
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.repository.MatchRepository;
+import com.tournament.service.PlayerService;
+import com.tournament.service.StandingsService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs on PostgreSQL (see {@link PostgresTestDatabase}). Not transactional: the matches
+ * are counted in concurrent committed transactions. The live engine is disabled so every
+ * score goes through the database path.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.enabled=false",
+    "tournament.live-engine.journal-path=target/standings-upsert-test.journal"
+})
+@ActiveProfiles("test")
+public class StandingsUpsertTest {
+
+    private static final String DATABASE = "standings_upsert_test";
+    private static final int MATCHES = 8;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void createDatabase() throws Exception {
+        assumeTrue(PostgresTestDatabase.isConfigured(), "TEST_POSTGRES_URL is not set");
+        PostgresTestDatabase.recreateDatabase(DATABASE);
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry, DATABASE);
+    }
+
+    /**
+     * The standing of a player is missing while several of their matches are counted at once
+     * (here after the standings were cleared), so every transaction finds none and inserts one.
+     * Each holds its transaction open until all have looked, so all but the first insert run
+     * into the uncommitted row: they must skip it and count their match on that row.
+     */
+    @Test
+    void testMatchesCountedAtOnceShareOneStanding() throws Exception {
+        Player player = createPlayer("Busy Player");
+        Tournament tournament = new Tournament();
+        tournament.setName("Upsert Tournament");
+        tournament.setStartDate(LocalDate.now());
+        tournament.setEndDate(LocalDate.now().plusDays(1));
+        tournament = tournamentService.createTournament(tournament);
+        Long tournamentId = tournament.getId();
+
+        List<Long> matchIds = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            CreateMatchRequest request = new CreateMatchRequest();
+            request.setPlayer1Id(player.getId());
+            request.setPlayer2Id(createPlayer("Opponent " + i).getId());
+            request.setRound(1);
+            request.setIntendedTotalSets(1);
+            Long matchId = tournamentService.createMatch(tournamentId, request).getId();
+            MatchScore score = new MatchScore(1);
+            MatchScore.SetScore set = new MatchScore.SetScore();
+            set.setPlayer1Score(11);
+            set.setPlayer2Score(7);
+            score.addSet(set);
+            tournamentService.updateMatchScore(tournamentId, matchId, score);
+            matchIds.add(matchId);
+        }
+        tournamentService.addPlayersToTournament(tournamentId, List.of(player.getId()));
+        jdbcTemplate.update("DELETE FROM match_results WHERE tournament_id = ?", tournamentId);
+        jdbcTemplate.update("DELETE FROM standings WHERE tournament_id = ?", tournamentId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(MATCHES);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch counted = new CountDownLatch(MATCHES);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (Long matchId : matchIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 1; ; attempt++) {
+                        try {
+                            return transactionTemplate.execute(tx -> count(tournamentId, matchId, counted));
+                        } catch (ConcurrencyFailureException e) {
+                            // Updates of the shared standing conflict and are retried, as on the score path
+                            if (attempt == MATCHES) {
+                                throw e;
+                            }
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        StandingEntry standing = standingsService.getStandings(tournamentId).get(0);
+        assertEquals(player.getId(), standing.getPlayerId());
+        assertEquals(MATCHES, standing.getMatchesPlayed());
+        assertEquals(MATCHES, standing.getWins());
+        assertEquals(MATCHES * 11, standing.getPointsFor());
+    }
+
+    private Match count(Long tournamentId, Long matchId, CountDownLatch counted) {
+        Match match = matchRepository.findById(matchId).orElseThrow();
+        standingsService.onMatchResultChanged(new MatchResultChangedEvent(tournamentId, match, MatchStatus.COMPLETED));
+        counted.countDown();
+        try {
+            // Transactions blocked on the first insert never count down
+            counted.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return match;
+    }
+
+    private Player createPlayer(String name) {
+        Player player = new Player();
+        player.setName(name);
+        player.setEmail(name.replace(' ', '.') + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+        return playerService.createPlayer(player);
+    }
+}
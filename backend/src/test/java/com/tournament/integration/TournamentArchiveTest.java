@@ -0,0 +1,259 @@
+package com.tournament.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tournament.dto.CreateMatchRequest;
+import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.TournamentArchiveResult;
+import com.tournament.model.BracketFormat;
+import com.tournament.model.MatchScore;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.model.TournamentExportFormat;
+import com.tournament.model.TournamentStatus;
+import com.tournament.repository.TournamentRepository;
+import com.tournament.service.PlayerService;
+import com.tournament.service.RatingService;
+import com.tournament.service.StandingsService;
+import com.tournament.service.TournamentExportService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: every tournament is archived in a transaction of its own. The live
+ * engine is disabled so completed scores are in the database when archived.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.enabled=false",
+    "tournament.live-engine.journal-path=target/tournament-archive-test.journal"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TournamentArchiveTest {
+
+    private static final int PLAYERS = 6;
+    private static final int MATCHES = 15;
+    private static final int COMPLETED = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private TournamentExportService tournamentExportService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.setName("Archive Player " + i);
+            player.setEmail("archive" + i + "." + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+            playerIds.add(playerService.createPlayer(player).getId());
+        }
+        CreateTournamentRequest request = new CreateTournamentRequest();
+        request.setName("Archive Tournament");
+        request.setStartDate(LocalDate.of(2024, 3, 1));
+        request.setEndDate(LocalDate.of(2024, 3, 2));
+        request.setPlayerIds(playerIds);
+        tournament = tournamentService.createTournament(request);
+
+        GenerateBracketRequest bracket = new GenerateBracketRequest();
+        bracket.setFormat(BracketFormat.ROUND_ROBIN);
+        bracket.setIntendedTotalSets(1);
+        tournamentService.generateBracket(tournament.getId(), bracket);
+
+        List<Long> matchIds = jdbcTemplate.queryForList(
+            "SELECT id FROM matches WHERE tournament_id = ? ORDER BY id", Long.class, tournament.getId());
+        for (int i = 0; i < COMPLETED; i++) {
+            complete(matchIds.get(i), i);
+        }
+        Tournament completed = tournamentRepository.findById(tournament.getId()).orElseThrow();
+        completed.setStatus(TournamentStatus.COMPLETED);
+        tournament = tournamentRepository.save(completed);
+    }
+
+    @Test
+    void testArchivedTournamentReadsAsBefore() throws Exception {
+        JsonNode before = readTournament();
+        byte[] exportBefore = export();
+        Object standingsBefore = standingsService.getStandings(tournament.getId());
+
+        TournamentArchiveResult result = archive();
+
+        assertEquals(1, result.getTournaments());
+        assertEquals(MATCHES, result.getMatches());
+        assertEquals(COMPLETED, result.getSets());
+        assertTrue(result.getArchiveBytes() > 0);
+        for (String table : List.of("matches", "match_results")) {
+            assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE tournament_id = ?", Integer.class, tournament.getId()));
+        }
+
+        JsonNode after = readTournament();
+        assertFalse(after.get("archivedAt").isNull());
+        assertEquals(withoutVersions(before), withoutVersions(after));
+        assertArrayEquals(exportBefore, export());
+        assertEquals(standingsBefore, standingsService.getStandings(tournament.getId()));
+        String summaries = mockMvc.perform(get("/api/tournaments").param("status", "COMPLETED"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        for (JsonNode summary : objectMapper.readTree(summaries).get("tournaments")) {
+            if (summary.get("id").asLong() == tournament.getId()) {
+                assertEquals(MATCHES, summary.get("matchCount").asInt());
+                assertEquals(COMPLETED, summary.get("completedMatchCount").asInt());
+            }
+        }
+
+        // Archived tournaments are read-only and archived once
+        CreateMatchRequest match = new CreateMatchRequest();
+        match.setPlayer1Id(before.get("players").get(0).get("id").asLong());
+        match.setPlayer2Id(before.get("players").get(1).get("id").asLong());
+        match.setRound(1);
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.createMatch(tournament.getId(), match));
+        assertEquals(0, archive().getTournaments());
+    }
+
+    @Test
+    void testRecomputeIncludesArchivedMatches() throws Exception {
+        ratingService.recomputeAll();
+        Map<Long, Double> before = ratings();
+
+        archive();
+        ratingService.recomputeAll();
+
+        assertEquals(before, ratings());
+    }
+
+    @Test
+    void testDeleteRemovesArchive() throws Exception {
+        archive();
+
+        tournamentService.deleteTournament(tournament.getId());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM tournament_archives WHERE tournament_id = ?", Integer.class, tournament.getId()));
+    }
+
+    @Test
+    void testTournamentCompletesWithItsLastMatch() throws Exception {
+        List<Long> matchIds = jdbcTemplate.queryForList(
+            "SELECT id FROM matches WHERE tournament_id = ? AND status = 'PENDING' ORDER BY id",
+            Long.class, tournament.getId());
+        complete(matchIds.get(0), 3);
+        // The status set in setUp does not hold while matches are open
+        assertEquals(TournamentStatus.IN_PROGRESS, tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+
+        for (Long matchId : matchIds.subList(1, matchIds.size())) {
+            complete(matchId, 3);
+        }
+        assertEquals(TournamentStatus.COMPLETED, tournamentRepository.findById(tournament.getId()).orElseThrow().getStatus());
+        assertEquals(MATCHES, archive().getSets());
+    }
+
+    private void complete(Long matchId, int player2Score) {
+        MatchScore score = new MatchScore(1);
+        MatchScore.SetScore set = new MatchScore.SetScore();
+        set.setPlayer1Score(11);
+        set.setPlayer2Score(player2Score);
+        score.addSet(set);
+        tournamentService.updateMatchScore(tournament.getId(), matchId, score);
+    }
+
+    private TournamentArchiveResult archive() throws Exception {
+        String response = mockMvc.perform(post("/api/tournaments/archive").param("olderThanDays", "30"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, TournamentArchiveResult.class);
+    }
+
+    private JsonNode readTournament() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/api/tournaments/{id}", tournament.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+    }
+
+    /**
+     * The tournament without the fields an archive does not keep: the versions of its matches
+     * and sets, which only guard writes. Matches in id order.
+     */
+    private static JsonNode withoutVersions(JsonNode tournament) {
+        ObjectNode copy = tournament.deepCopy();
+        copy.remove("archivedAt");
+        List<JsonNode> matches = new ArrayList<>();
+        copy.get("matches").forEach(matches::add);
+        matches.sort(Comparator.comparingLong(match -> match.get("id").asLong()));
+        ArrayNode sorted = copy.putArray("matches");
+        for (JsonNode match : matches) {
+            ObjectNode copied = ((ObjectNode) match).without("version");
+            JsonNode sets = copied.path("score").path("sets");
+            sets.forEach(set -> ((ObjectNode) set).remove("lastModifiedVersion"));
+            sorted.add(copied);
+        }
+        return copy;
+    }
+
+    private byte[] export() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        tournamentExportService.exportTournament(tournament.getId(), TournamentExportFormat.NDJSON, output);
+        return output.toByteArray();
+    }
+
+    private Map<Long, Double> ratings() {
+        Map<Long, Double> ratings = new HashMap<>();
+        jdbcTemplate.query("SELECT p.id, p.rating FROM players p JOIN tournament_players tp ON tp.player_id = p.id "
+                + "WHERE tp.tournament_id = ?",
+            rs -> {
+                ratings.put(rs.getLong(1), rs.getDouble(2));
+            },
+            tournament.getId());
+        assertEquals(PLAYERS, ratings.size());
+        return ratings;
+    }
+}
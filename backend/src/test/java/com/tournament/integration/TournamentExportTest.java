@@ -0,0 +1,191 @@
+package com.tournament.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tournament.dto.CreateTournamentRequest;
+import com.tournament.dto.GenerateBracketRequest;
+import com.tournament.dto.TournamentImportResult;
+import com.tournament.model.BracketFormat;
+import com.tournament.model.MatchScore;
+import com.tournament.model.Player;
+import com.tournament.model.Tournament;
+import com.tournament.model.TournamentExportFormat;
+import com.tournament.repository.TournamentRepository;
+import com.tournament.service.PlayerService;
+import com.tournament.service.StandingsService;
+import com.tournament.service.TournamentExportService;
+import com.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional: export and import run in transactions of their own. The live engine is
+ * disabled so completed scores are in the database when exported.
+ */
+@SpringBootTest(properties = {
+    "tournament.live-engine.enabled=false",
+    "tournament.live-engine.journal-path=target/tournament-export-test.journal"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TournamentExportTest {
+
+    private static final int PLAYERS = 6;
+    private static final int MATCHES = 15;
+    private static final int COMPLETED = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private TournamentExportService tournamentExportService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.setName("Export Player " + i);
+            player.setEmail("export" + i + "." + UUID.randomUUID().toString().substring(0, 8) + "@example.com");
+            playerIds.add(playerService.createPlayer(player).getId());
+        }
+        CreateTournamentRequest request = new CreateTournamentRequest();
+        request.setName("Export Tournament");
+        request.setStartDate(LocalDate.of(2024, 6, 1));
+        request.setEndDate(LocalDate.of(2024, 6, 2));
+        request.setPlayerIds(playerIds);
+        tournament = tournamentService.createTournament(request);
+
+        GenerateBracketRequest bracket = new GenerateBracketRequest();
+        bracket.setFormat(BracketFormat.ROUND_ROBIN);
+        bracket.setIntendedTotalSets(1);
+        tournamentService.generateBracket(tournament.getId(), bracket);
+
+        List<Long> matchIds = jdbcTemplate.queryForList(
+            "SELECT id FROM matches WHERE tournament_id = ? ORDER BY id", Long.class, tournament.getId());
+        for (int i = 0; i < COMPLETED; i++) {
+            MatchScore score = new MatchScore(1);
+            MatchScore.SetScore set = new MatchScore.SetScore();
+            set.setPlayer1Score(11);
+            set.setPlayer2Score(i);
+            score.addSet(set);
+            tournamentService.updateMatchScore(tournament.getId(), matchIds.get(i), score);
+        }
+    }
+
+    @Test
+    void testNdjsonRoundTripRebuildsTournament() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/tournaments/{id}/export", tournament.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] export = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> lines = new String(export, StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1 + PLAYERS + MATCHES + 1, lines.size());
+        assertEquals("tournament", objectMapper.readTree(lines.get(0)).get("type").asText());
+        assertEquals("end", objectMapper.readTree(lines.get(lines.size() - 1)).get("type").asText());
+
+        String response = mockMvc.perform(post("/api/tournaments/import")
+                .contentType(TournamentExportFormat.NDJSON.getMediaType())
+                .content(export))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        TournamentImportResult result = objectMapper.readValue(response, TournamentImportResult.class);
+
+        assertImported(result);
+    }
+
+    @Test
+    void testBinaryRoundTripIsSmallerThanNdjson() throws Exception {
+        byte[] binary = export(TournamentExportFormat.BINARY);
+        byte[] ndjson = export(TournamentExportFormat.NDJSON);
+        System.out.printf("Exported %d matches as %d bytes of NDJSON and %d bytes of binary%n",
+            MATCHES, ndjson.length, binary.length);
+        assertTrue(binary.length < ndjson.length / 2);
+
+        TournamentImportResult result = tournamentExportService.importTournament(
+            new ByteArrayInputStream(binary), TournamentExportFormat.BINARY);
+
+        assertImported(result);
+    }
+
+    @Test
+    void testTruncatedExportImportsNothing() throws Exception {
+        byte[] binary = export(TournamentExportFormat.BINARY);
+        long tournaments = tournamentRepository.count();
+
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 3);
+        assertThrows(IllegalArgumentException.class, () -> tournamentExportService.importTournament(
+            new ByteArrayInputStream(truncated), TournamentExportFormat.BINARY));
+        assertEquals(tournaments, tournamentRepository.count());
+    }
+
+    private void assertImported(TournamentImportResult result) {
+        assertNotEquals(tournament.getId(), result.getTournamentId());
+        assertEquals(PLAYERS, result.getPlayers());
+        // The players exist in this database, so they are linked rather than created
+        assertEquals(0, result.getPlayersCreated());
+        assertEquals(MATCHES, result.getMatches());
+        assertEquals(COMPLETED, result.getSets());
+
+        Tournament imported = tournamentService.getTournament(result.getTournamentId());
+        assertEquals(tournament.getName(), imported.getName());
+        assertEquals(PLAYERS, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM tournament_players WHERE tournament_id = ?", Integer.class, imported.getId()));
+        assertEquals(COMPLETED, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM matches WHERE tournament_id = ? AND status = 'COMPLETED' "
+                + "AND completed_at IS NOT NULL", Integer.class, imported.getId()));
+        assertEquals(standingsService.getStandings(tournament.getId()),
+            standingsService.getStandings(result.getTournamentId()));
+    }
+
+    private byte[] export(TournamentExportFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        tournamentExportService.exportTournament(tournament.getId(), format, output);
+        return output.toByteArray();
+    }
+}
@@ -2,10 +2,16 @@ package com.tournament.integration;
 
 import com.tournament.model.*;
 import com.tournament.service.PlayerService;
+import com.tournament.service.RatingService;
+import com.tournament.service.StandingsService;
 import com.tournament.service.TournamentService;
 import com.tournament.dto.CreateMatchRequest;
 import com.tournament.dto.CreateTournamentRequest;
 import com.tournament.dto.UpdateScoreResponse;
+import com.tournament.dto.ScoreDeltaRequest;
+import com.tournament.dto.ScoreDeltaResponse;
+import com.tournament.dto.StandingEntry;
+import com.tournament.exception.ScoreVersionConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +39,12 @@ public class TournamentIntegrationTest {
 
     @Autowired
     private TournamentService tournamentService;
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private RatingService ratingService;
     
     @Autowired
     private GameRules gameRules;
@@ -324,4 +336,176 @@ public class TournamentIntegrationTest {
         assertTrue(updatedTournament.getPlayers().stream()
             .anyMatch(p -> p.getId().equals(player2.getId())));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testApplyScoreDelta() {
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(3);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+
+        // Start the first set with a single point
+        ScoreDeltaResponse response = tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(0, PlayerSide.PLAYER1, null));
+        assertEquals(0, response.getSetIndex());
+        assertEquals(1, response.getPlayer1Score());
+        assertEquals(0, response.getPlayer2Score());
+        assertEquals(MatchStatus.IN_PROGRESS, response.getMatchStatus());
+        assertEquals(ScoreUpdateStatus.SET_IN_PROGRESS, response.getScoreUpdateStatus());
+
+        // Overwrite the set to 10:9, then win it with a point
+        ScoreDeltaRequest assign = new ScoreDeltaRequest();
+        assign.setSetIndex(0);
+        assign.setPlayer1Score(10);
+        assign.setPlayer2Score(9);
+        assign.setExpectedVersion(response.getVersion());
+        response = tournamentService.applyScoreDelta(tournament.getId(), match.getId(), assign);
+        assertEquals(10, response.getPlayer1Score());
+        assertEquals(9, response.getPlayer2Score());
+
+        response = tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(0, PlayerSide.PLAYER1, response.getVersion()));
+        assertEquals(ScoreUpdateStatus.SET_COMPLETED_MATCH_IN_PROGRESS, response.getScoreUpdateStatus());
+        assertEquals(1, response.getPlayer1SetsWon());
+        assertNull(response.getWinner());
+
+        // Another point on the finished set is rejected
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(0, PlayerSide.PLAYER2, null)));
+    }
+
+    @Test
+    void testApplyScoreDeltaRejectsStaleVersion() {
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+
+        ScoreDeltaResponse response = tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(0, PlayerSide.PLAYER2, null));
+        Long staleVersion = response.getVersion() - 1;
+
+        ScoreVersionConflictException conflict = assertThrows(ScoreVersionConflictException.class,
+            () -> tournamentService.applyScoreDelta(
+                tournament.getId(), match.getId(), pointDelta(0, PlayerSide.PLAYER2, staleVersion)));
+        assertEquals(response.getVersion(), conflict.getCurrentVersion());
+        assertEquals(List.of(0), conflict.getConflict().getConflictingSetIndexes());
+    }
+
+    @Test
+    void testApplyScoreDeltaMergesStaleVersionOnUntouchedSet() {
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+
+        ScoreDeltaResponse first = tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(0, PlayerSide.PLAYER1, null));
+        Long baseVersion = first.getVersion();
+        tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(1, PlayerSide.PLAYER1, baseVersion));
+
+        // Based on the same version, but set 2 was not changed since, so it is merged
+        ScoreDeltaResponse merged = tournamentService.applyScoreDelta(
+            tournament.getId(), match.getId(), pointDelta(2, PlayerSide.PLAYER2, baseVersion));
+        assertEquals(baseVersion + 2, merged.getVersion());
+        assertEquals(1, merged.getPlayer2Score());
+
+        Match stored = tournamentService.getMatch(tournament.getId(), match.getId());
+        assertEquals(3, stored.getScore().getSets().size());
+        assertEquals(1, stored.getScore().getSet(1).getPlayer1Score());
+    }
+
+    @Test
+    void testStandingsFollowCompletedAndCorrectedMatches() {
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(player1.getId());
+        request.setPlayer2Id(player2.getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(3);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+
+        MatchScore score = new MatchScore(3);
+        setSetScore(score, 0, 11, 9);
+        setSetScore(score, 1, 11, 5);
+        tournamentService.updateMatchScore(tournament.getId(), match.getId(), score);
+
+        List<StandingEntry> standings = standingsService.getStandings(tournament.getId());
+        assertEquals(4, standings.size());
+        StandingEntry leader = standings.get(0);
+        assertEquals(player1.getId(), leader.getPlayerId());
+        assertEquals(1, leader.getWins());
+        assertEquals(2, leader.getSetsWon());
+        assertEquals(22, leader.getPointsFor());
+        assertEquals(14, leader.getPointsAgainst());
+        // The loser ranks below players who have not played yet
+        assertEquals(player2.getId(), standings.get(3).getPlayerId());
+        assertEquals(1, standings.get(3).getLosses());
+        assertEquals(0, standings.get(1).getMatchesPlayed());
+
+        // Correcting the completed match replaces its contribution instead of adding to it
+        MatchScore corrected = new MatchScore(3);
+        setSetScore(corrected, 0, 9, 11);
+        setSetScore(corrected, 1, 5, 11);
+        tournamentService.updateMatchScore(tournament.getId(), match.getId(), corrected);
+
+        standings = standingsService.getStandings(tournament.getId());
+        assertEquals(player2.getId(), standings.get(0).getPlayerId());
+        assertEquals(1, standings.get(0).getMatchesPlayed());
+        assertEquals(1, standings.get(0).getWins());
+        StandingEntry formerLeader = standings.stream()
+            .filter(entry -> entry.getPlayerId().equals(player1.getId())).findFirst().orElseThrow();
+        assertEquals(1, formerLeader.getMatchesPlayed());
+        assertEquals(0, formerLeader.getWins());
+        assertEquals(1, formerLeader.getLosses());
+        assertEquals(0, formerLeader.getSetsWon());
+        assertEquals(2, formerLeader.getSetsLost());
+    }
+
+    @Test
+    void testRatingsFollowCompletedMatchesAndRecompute() {
+        completeMatch(player1, player2, true);
+        completeMatch(player3, player1, false);
+
+        Player leader = playerService.getPlayer(player1.getId());
+        assertTrue(leader.getRating() > 1516);
+        assertEquals(2, ratingService.getHistory(player1.getId()).size());
+        assertEquals(leader.getRating(), ratingService.getHistory(player1.getId()).get(0).getRatingAfter());
+        assertEquals(player1.getId(), ratingService.getRankings(10).get(0).getId());
+        assertNull(playerService.getPlayer(player4.getId()).getRating());
+
+        // A recompute in completion order arrives at the same ratings
+        double[] incremental = {leader.getRating(), playerService.getPlayer(player2.getId()).getRating(),
+            playerService.getPlayer(player3.getId()).getRating()};
+        assertTrue(ratingService.recomputeAll().getMatches() >= 2);
+        assertEquals(incremental[0], playerService.getPlayer(player1.getId()).getRating(), 1e-9);
+        assertEquals(incremental[1], playerService.getPlayer(player2.getId()).getRating(), 1e-9);
+        assertEquals(incremental[2], playerService.getPlayer(player3.getId()).getRating(), 1e-9);
+        assertEquals(2, ratingService.getHistory(player1.getId()).size());
+    }
+
+    private void completeMatch(Player first, Player second, boolean firstWins) {
+        CreateMatchRequest request = new CreateMatchRequest();
+        request.setPlayer1Id(first.getId());
+        request.setPlayer2Id(second.getId());
+        request.setRound(1);
+        request.setIntendedTotalSets(1);
+        Match match = tournamentService.createMatch(tournament.getId(), request);
+
+        MatchScore score = new MatchScore(1);
+        setSetScore(score, 0, firstWins ? 11 : 4, firstWins ? 4 : 11);
+        tournamentService.updateMatchScore(tournament.getId(), match.getId(), score);
+    }
+
+    private ScoreDeltaRequest pointDelta(int setIndex, PlayerSide side, Long expectedVersion) {
+        ScoreDeltaRequest delta = new ScoreDeltaRequest();
+        delta.setSetIndex(setIndex);
+        delta.setPointTo(side);
+        delta.setExpectedVersion(expectedVersion);
+        return delta;
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import com.tournament.config.GameRules;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class MatchScoreTest {
@@ -136,6 +139,63 @@ public class MatchScoreTest {
         set.setPlayer1Score(12); set.setPlayer2Score(12); assertNull(set.getWinner(gameRules));
     }
     
+    @Test
+    void testTallyFollowsSetChanges() {
+        MatchScore score = new MatchScore(3);
+        setSetScore(score, 0, 11, 9);
+        setSetScore(score, 1, 10, 10);
+        assertEquals(1, score.getPlayer1SetsWon(gameRules));
+        assertEquals(0, score.getPlayer2SetsWon(gameRules));
+
+        // Changing a counted set updates the totals in place
+        score.getSet(1).setPlayer2Score(12);
+        assertEquals(1, score.getPlayer2SetsWon(gameRules));
+        assertEquals(21, score.getPlayer1TotalScore());
+        assertEquals(21, score.getPlayer2TotalScore());
+
+        // Changing the list directly is picked up as well
+        score.getSets().remove(0);
+        assertEquals(0, score.getPlayer1SetsWon(gameRules));
+        MatchScore.SetScore replacement = new MatchScore.SetScore();
+        replacement.setPlayer1Score(11);
+        replacement.setPlayer2Score(3);
+        score.getSets().set(0, replacement);
+        assertEquals(1, score.getPlayer1SetsWon(gameRules));
+        assertEquals(0, score.getPlayer2SetsWon(gameRules));
+        assertEquals(11, score.getPlayer1TotalScore());
+
+        // So is replacing the list
+        MatchScore.SetScore lost = new MatchScore.SetScore();
+        lost.setPlayer1Score(5);
+        lost.setPlayer2Score(11);
+        score.setSets(new ArrayList<>(List.of(lost)));
+        assertEquals(0, score.getPlayer1SetsWon(gameRules));
+        assertEquals(1, score.getPlayer2SetsWon(gameRules));
+        lost.setPlayer1Score(13);
+        lost.setPlayer2Score(11);
+        assertEquals(1, score.getPlayer1SetsWon(gameRules));
+        assertEquals(0, score.getPlayer2SetsWon(gameRules));
+        assertEquals(13, score.getPlayer1TotalScore());
+    }
+
+    @Test
+    void testSerializationShapeIsUnchanged() throws Exception {
+        MatchScore score = new MatchScore(3);
+        setSetScore(score, 0, 11, 9);
+        score.calculateWinner(gameRules);
+
+        String json = objectMapper.writeValueAsString(score);
+        assertFalse(json.contains("tally"));
+        assertFalse(json.contains("owner"));
+        assertTrue(json.contains("\"sets\":[{\"player1Score\":11,\"player2Score\":9,\"lastModifiedVersion\":null}]"));
+
+        // Missing set scores are read as 0, as they were always counted
+        MatchScore deserialized = objectMapper.readValue(
+            "{\"intendedTotalSets\":3,\"sets\":[{\"player1Score\":null,\"player2Score\":4}]}", MatchScore.class);
+        assertEquals(0, deserialized.getSet(0).getPlayer1Score());
+        assertEquals(4, deserialized.getPlayer2TotalScore());
+    }
+    
     // --- Match Winner Calculation Tests (Updated) ---
     
     @Test
@@ -0,0 +1,92 @@
+package com.tournament.service;
+
+import com.tournament.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BracketGeneratorTest {
+
+    @Test
+    void testSeedSlotsKeepTopSeedsApart() {
+        assertArrayEquals(new int[]{1, 8, 4, 5, 2, 7, 3, 6}, BracketGenerator.seedSlots(8));
+    }
+
+    @Test
+    void testSingleEliminationGivesByesToTopSeeds() {
+        List<Player> players = players(6);
+        Collections.shuffle(players);
+
+        BracketGenerator.Bracket bracket = BracketGenerator.singleElimination(players);
+
+        assertEquals(3, bracket.rounds());
+        assertEquals(List.of(1, 2), bracket.byes().stream().map(Player::getRank).toList());
+        assertEquals(2, bracket.pairings().size());
+        assertPairing(bracket.pairings().get(0), 4, 5);
+        assertPairing(bracket.pairings().get(1), 3, 6);
+    }
+
+    @Test
+    void testSingleEliminationSeedsUnrankedPlayersLast() {
+        List<Player> players = players(3);
+        players.get(0).setRank(null);
+
+        BracketGenerator.Bracket bracket = BracketGenerator.singleElimination(players);
+
+        assertEquals(List.of(2), bracket.byes().stream().map(Player::getRank).toList());
+        assertEquals(3, bracket.pairings().get(0).player1().getRank());
+        assertNull(bracket.pairings().get(0).player2().getRank());
+    }
+
+    @Test
+    void testRoundRobinPairsEveryoneOnceAndOncePerRound() {
+        for (int size : new int[]{2, 5, 8}) {
+            List<Player> players = players(size);
+            BracketGenerator.Bracket bracket = BracketGenerator.roundRobin(players);
+
+            int expectedRounds = size % 2 == 0 ? size - 1 : size;
+            assertEquals(expectedRounds, bracket.rounds());
+            assertEquals(size * (size - 1) / 2, bracket.pairings().size());
+
+            Set<String> pairs = new HashSet<>();
+            Set<String> roundSlots = new HashSet<>();
+            for (BracketGenerator.Pairing pairing : bracket.pairings()) {
+                long a = Math.min(pairing.player1().getId(), pairing.player2().getId());
+                long b = Math.max(pairing.player1().getId(), pairing.player2().getId());
+                assertTrue(pairs.add(a + "-" + b), "Pair played twice: " + a + "-" + b);
+                assertTrue(roundSlots.add(pairing.round() + ":" + a), "Player twice in round " + pairing.round());
+                assertTrue(roundSlots.add(pairing.round() + ":" + b), "Player twice in round " + pairing.round());
+            }
+        }
+    }
+
+    @Test
+    void testBracketNeedsTwoPlayers() {
+        assertThrows(IllegalArgumentException.class, () -> BracketGenerator.singleElimination(players(1)));
+        assertThrows(IllegalArgumentException.class, () -> BracketGenerator.roundRobin(players(1)));
+    }
+
+    private void assertPairing(BracketGenerator.Pairing pairing, int rank1, int rank2) {
+        assertEquals(1, pairing.round());
+        assertEquals(rank1, pairing.player1().getRank());
+        assertEquals(rank2, pairing.player2().getRank());
+    }
+
+    private List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Player player = new Player();
+            player.setId((long) (100 + i));
+            player.setName("Seed " + i);
+            player.setRank(i);
+            players.add(player);
+        }
+        return players;
+    }
+}
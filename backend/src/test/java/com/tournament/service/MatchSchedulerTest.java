@@ -0,0 +1,177 @@
+package com.tournament.service;
+
+import com.tournament.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchSchedulerTest {
+
+    private static final int DURATION = 30;
+    private static final int REST = 10;
+
+    @Test
+    void testLargeRoundRobinOnFiftyTables() {
+        // 64 players play 2,016 matches in 63 rounds of 32 matches
+        List<MatchScheduler.Job> jobs = roundRobin(64);
+        List<MatchScheduler.Table> tables = tables(50, MatchScheduler.OPEN);
+
+        long start = System.nanoTime();
+        MatchScheduler.Plan plan = MatchScheduler.schedule(jobs, tables, List.of(), 64, REST);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Scheduled %d matches on %d tables in %d ms, last match ends at minute %d%n",
+            plan.scheduled(), tables.size(), elapsedMillis, plan.end());
+
+        assertEquals(jobs.size(), plan.scheduled());
+        assertValid(jobs, tables, List.of(), plan);
+        // Every player plays 63 matches with a rest after each, so no plan can end earlier
+        int lowerBound = 63 * (DURATION + REST) - REST;
+        assertTrue(plan.end() <= lowerBound * 11 / 10, "Plan ends at minute " + plan.end());
+        assertTrue(elapsedMillis < 1_000);
+    }
+
+    @Test
+    void testMatchesBeyondTableAvailabilityStayUnscheduled() {
+        List<MatchScheduler.Job> jobs = List.of(
+            job(0, 1), job(2, 3), job(4, 5),
+            // Player 4 cannot play this one before the match above, which fits no table
+            job(4, 6));
+        List<MatchScheduler.Table> tables = List.of(new MatchScheduler.Table(0, 60));
+
+        MatchScheduler.Plan plan = MatchScheduler.schedule(jobs, tables, List.of(), 7, REST);
+
+        assertEquals(2, plan.scheduled());
+        assertArrayEquals(new int[]{0, 0, MatchScheduler.UNSCHEDULED, MatchScheduler.UNSCHEDULED}, plan.table());
+        assertEquals(List.of(0, 30), List.of(plan.start()[0], plan.start()[1]));
+        assertValid(jobs, tables, List.of(), plan);
+    }
+
+    @Test
+    void testRepairOnlyShiftsMatchesBehindOverrun() {
+        List<MatchScheduler.Job> planned = roundRobin(16);
+        List<MatchScheduler.Table> tables = tables(4, MatchScheduler.OPEN);
+        MatchScheduler.Plan plan = MatchScheduler.schedule(planned, tables, List.of(), 16, REST);
+
+        // The first match on table 0 overran by 25 minutes: it is still busy while the rest is repaired
+        int overrun = firstOn(plan, 0);
+        MatchScheduler.Job late = planned.get(overrun);
+        List<MatchScheduler.Busy> busy = List.of(new MatchScheduler.Busy(0, late.player1(), late.player2(),
+            plan.start()[overrun] + DURATION + 25));
+        List<MatchScheduler.Job> kept = new ArrayList<>();
+        List<Integer> keptIndexes = new ArrayList<>();
+        for (int i = 0; i < planned.size(); i++) {
+            if (i != overrun) {
+                MatchScheduler.Job job = planned.get(i);
+                kept.add(new MatchScheduler.Job(job.player1(), job.player2(), job.duration(),
+                    plan.table()[i], plan.start()[i]));
+                keptIndexes.add(i);
+            }
+        }
+
+        MatchScheduler.Plan repaired = MatchScheduler.schedule(kept, tables, busy, 16, REST);
+
+        assertEquals(kept.size(), repaired.scheduled());
+        assertValid(kept, tables, busy, repaired);
+        int moved = 0;
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(kept.get(i).table(), repaired.table()[i], "Repair keeps the table of every match");
+            assertTrue(repaired.start()[i] >= kept.get(i).start(), "Repair never moves a match earlier");
+            if (repaired.start()[i] != kept.get(i).start()) {
+                moved++;
+            }
+        }
+        // Matches on other tables before the overrun ended are untouched
+        int busyEnd = busy.get(0).end();
+        for (int i = 0; i < kept.size(); i++) {
+            if (kept.get(i).table() != 0 && kept.get(i).start() < busyEnd
+                    && !sharesPlayer(kept.get(i), late)) {
+                assertEquals(kept.get(i).start(), repaired.start()[i]);
+            }
+        }
+        assertTrue(moved > 0 && moved < kept.size(), moved + " of " + kept.size() + " matches moved");
+    }
+
+    /**
+     * No table or player is double-booked, players rest between matches, play them in the
+     * given order and wait for busy matches; tables are only used while available.
+     */
+    private void assertValid(List<MatchScheduler.Job> jobs, List<MatchScheduler.Table> tables,
+                             List<MatchScheduler.Busy> busy, MatchScheduler.Plan plan) {
+        int[] tableFree = tables.stream().mapToInt(MatchScheduler.Table::from).toArray();
+        int playerCount = jobs.stream().mapToInt(job -> Math.max(job.player1(), job.player2())).max().orElse(0) + 1;
+        int[] ready = new int[playerCount];
+        for (MatchScheduler.Busy match : busy) {
+            tableFree[match.table()] = Math.max(tableFree[match.table()], match.end());
+            ready[match.player1()] = match.end() + REST;
+            ready[match.player2()] = match.end() + REST;
+        }
+
+        List<Integer> byStart = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (plan.table()[i] != MatchScheduler.UNSCHEDULED) {
+                byStart.add(i);
+            }
+        }
+        byStart.sort(Comparator.comparingInt(i -> plan.start()[i]));
+        int[] lastJob = new int[playerCount];
+        Arrays.fill(lastJob, -1);
+        for (int i : byStart) {
+            MatchScheduler.Job job = jobs.get(i);
+            int table = plan.table()[i];
+            int start = plan.start()[i];
+            assertTrue(start >= tableFree[table], "Table " + table + " double-booked at minute " + start);
+            assertTrue(start + job.duration() <= tables.get(table).until(), "Table " + table + " not available");
+            for (int player : new int[]{job.player1(), job.player2()}) {
+                assertTrue(start >= ready[player], "Player " + player + " not rested at minute " + start);
+                assertTrue(i > lastJob[player], "Player " + player + " plays out of order");
+                ready[player] = start + job.duration() + REST;
+                lastJob[player] = i;
+            }
+            tableFree[table] = start + job.duration();
+        }
+    }
+
+    private static List<MatchScheduler.Job> roundRobin(int playerCount) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player();
+            player.setId((long) i);
+            players.add(player);
+        }
+        Collections.shuffle(players);
+        List<BracketGenerator.Pairing> pairings = new ArrayList<>(BracketGenerator.roundRobin(players).pairings());
+        pairings.sort(Comparator.comparingInt(BracketGenerator.Pairing::round));
+        return pairings.stream()
+            .map(pairing -> job(pairing.player1().getId().intValue(), pairing.player2().getId().intValue()))
+            .toList();
+    }
+
+    private static MatchScheduler.Job job(int player1, int player2) {
+        return new MatchScheduler.Job(player1, player2, DURATION, MatchScheduler.UNSCHEDULED, MatchScheduler.UNSCHEDULED);
+    }
+
+    private static List<MatchScheduler.Table> tables(int count, int until) {
+        return Collections.nCopies(count, new MatchScheduler.Table(0, until));
+    }
+
+    private static int firstOn(MatchScheduler.Plan plan, int table) {
+        int first = -1;
+        for (int i = 0; i < plan.table().length; i++) {
+            if (plan.table()[i] == table && (first == -1 || plan.start()[i] < plan.start()[first])) {
+                first = i;
+            }
+        }
+        return first;
+    }
+
+    private static boolean sharesPlayer(MatchScheduler.Job a, MatchScheduler.Job b) {
+        return a.player1() == b.player1() || a.player1() == b.player2()
+            || a.player2() == b.player1() || a.player2() == b.player2();
+    }
+}
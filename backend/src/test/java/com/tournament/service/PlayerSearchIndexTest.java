@@ -0,0 +1,97 @@
+package com.tournament.service;
+
+import com.tournament.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerSearchIndexTest {
+
+    private static final String[] NAMES = {"Anna", "Ben", "Chen", "Dara", "Emil", "Fatima", "Goran", "Hana"};
+
+    /**
+     * Enough writes to fold the overlay into new snapshots several times, with players
+     * updated and deleted on the way, compared against a scan of all players.
+     */
+    @Test
+    void testSearchMatchesScanAcrossSnapshots() {
+        PlayerSearchIndex index = new PlayerSearchIndex(null, null);
+        TreeMap<Long, PlayerSearchIndex.Entry> players = new TreeMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long id = 1 + random.nextInt(3_000);
+            if (random.nextInt(10) == 0) {
+                index.remove(id);
+                players.remove(id);
+                continue;
+            }
+            Player player = new Player();
+            player.setId(id);
+            player.setName(NAMES[random.nextInt(NAMES.length)] + " Player " + id);
+            player.setEmail("Player." + id + "@Example.com");
+            player.setRank(random.nextInt(5) == 0 ? null : 1 + random.nextInt(100));
+            player.setActive(random.nextInt(10) != 0);
+            index.update(player);
+            players.put(id, new PlayerSearchIndex.Entry(id, player.getName().toLowerCase(Locale.ROOT),
+                player.getEmail().toLowerCase(Locale.ROOT), player.getRank(), player.isActive()));
+        }
+
+        for (String text : new String[]{null, "an", "ann", "emil p", "player.12", "player.2999@", "@example", "xyz"}) {
+            for (boolean prefix : new boolean[]{false, true}) {
+                assertPages(index, players, text, prefix, null, null, null, Set.of());
+                assertPages(index, players, text, prefix, true, 20, 60, Set.of(10L, 11L, 12L));
+            }
+        }
+    }
+
+    @Test
+    void testPlayersWrittenSinceTheSnapshotAreMergedInIdOrder() {
+        PlayerSearchIndex index = new PlayerSearchIndex(null, null);
+        for (long id = 1; id <= 10; id++) {
+            index.update(player(id, "Player " + id));
+        }
+        index.remove(4L);
+        index.update(player(5L, "Renamed"));
+
+        assertEquals(List.of(1L, 2L, 3L, 6L, 7L), index.search("player", false, null, null, null,
+            Set.of(), Long.MIN_VALUE, 5));
+        assertEquals(List.of(8L, 9L, 10L), index.search("player", false, null, null, null,
+            Set.of(), 7L, 5));
+        assertEquals(List.of(5L), index.search("ren", true, null, null, null, Set.of(), Long.MIN_VALUE, 5));
+    }
+
+    private static void assertPages(PlayerSearchIndex index, TreeMap<Long, PlayerSearchIndex.Entry> players,
+                                    String text, boolean prefix, Boolean active, Integer minRank, Integer maxRank,
+                                    Set<Long> excluded) {
+        List<Long> expected = new ArrayList<>();
+        for (PlayerSearchIndex.Entry entry : players.values()) {
+            if (entry.matches(text, prefix, active, minRank, maxRank) && !excluded.contains(entry.id())) {
+                expected.add(entry.id());
+            }
+        }
+        List<Long> found = new ArrayList<>();
+        long afterId = Long.MIN_VALUE;
+        List<Long> page;
+        do {
+            page = index.search(text, prefix, active, minRank, maxRank, excluded, afterId, 50);
+            found.addAll(page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1);
+        } while (page.size() == 50);
+        assertEquals(expected, found, "Search for " + text + (prefix ? " as prefix" : ""));
+    }
+
+    private static Player player(long id, String name) {
+        Player player = new Player();
+        player.setId(id);
+        player.setName(name);
+        player.setEmail("p" + id + "@example.com");
+        return player;
+    }
+}
@@ -0,0 +1,61 @@
+package com.tournament.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RatingCalculatorTest {
+
+    @Test
+    void testEloBetweenEqualRatings() {
+        double[] ratings = RatingCalculator.elo(1500, 1500, true, 32);
+        assertEquals(1516, ratings[0], 1e-9);
+        assertEquals(1484, ratings[1], 1e-9);
+    }
+
+    @Test
+    void testUpsetMovesRatingsFurther() {
+        double[] expected = RatingCalculator.elo(1700, 1300, true, 32);
+        double[] upset = RatingCalculator.elo(1700, 1300, false, 32);
+        assertTrue(expected[0] - 1700 < 1700 - upset[0]);
+        assertEquals(3000, upset[0] + upset[1], 1e-9);
+    }
+
+    @Test
+    void testWaveParallelRecomputeMatchesSequentialOrder() {
+        int players = 50_000;
+        int size = 1_000_000;
+        Random random = new Random(42);
+        int[] player1 = new int[size];
+        int[] player2 = new int[size];
+        boolean[] player1Won = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            player1[i] = random.nextInt(players);
+            do {
+                player2[i] = random.nextInt(players);
+            } while (player2[i] == player1[i]);
+            player1Won[i] = random.nextBoolean();
+        }
+
+        long start = System.nanoTime();
+        RatingCalculator.Result result = RatingCalculator.rateAll(
+            new RatingCalculator.Matches(player1, player2, player1Won), players, 1500, 32);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Rated %d matches in %d waves in %d ms%n", size, result.waves(), elapsedMillis);
+
+        double[] sequential = new double[players];
+        Arrays.fill(sequential, 1500);
+        for (int i = 0; i < size; i++) {
+            double[] updated = RatingCalculator.elo(sequential[player1[i]], sequential[player2[i]], player1Won[i], 32);
+            assertEquals(sequential[player1[i]], result.player1Before()[i]);
+            assertEquals(updated[1], result.player2After()[i]);
+            sequential[player1[i]] = updated[0];
+            sequential[player2[i]] = updated[1];
+        }
+        assertArrayEquals(sequential, result.ratings());
+        assertTrue(result.waves() < size);
+    }
+}
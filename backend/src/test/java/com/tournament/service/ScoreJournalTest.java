@@ -0,0 +1,40 @@
+package com.tournament.service;
+
+import com.tournament.model.MatchScore;
+import com.tournament.model.MatchStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testTruncationWaitsForAppendedCallback() throws Exception {
+        ScoreJournal journal = new ScoreJournal(directory.resolve("live.journal").toString(), false);
+        AtomicBoolean dirty = new AtomicBoolean();
+        MatchScore score = new MatchScore(1);
+        score.addSet(new MatchScore.SetScore());
+
+        CompletableFuture<Boolean>[] truncation = new CompletableFuture[1];
+        journal.append(LiveMatchState.Snapshot.of(1L, 2L, 3L, 2L, MatchStatus.IN_PROGRESS, score), () -> {
+            // A flush thread checking for unflushed matches right after the line was written
+            truncation[0] = CompletableFuture.supplyAsync(() -> journal.truncateIf(() -> !dirty.get()));
+            assertThrows(TimeoutException.class, () -> truncation[0].get(100, TimeUnit.MILLISECONDS));
+            dirty.set(true);
+        });
+
+        assertFalse(truncation[0].get(5, TimeUnit.SECONDS));
+        assertEquals(3L, journal.readLatest().get(2L).version());
+        journal.close();
+    }
+}
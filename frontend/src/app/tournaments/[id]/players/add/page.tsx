@@ -6,6 +6,9 @@ import { api } from '@/services/api'
 import { Player, Tournament } from '@/types/match'
 import Link from 'next/link'
 
+const PAGE_SIZE = 50
+const SEARCH_DELAY_MS = 250
+
 export default function AddPlayersPage() {
   const router = useRouter()
   const params = useParams()
@@ -17,28 +20,18 @@ export default function AddPlayersPage() {
   const [tournament, setTournament] = useState<Tournament | null>(null)
   const [allPlayers, setAllPlayers] = useState<Player[]>([])
   const [selectedPlayerIds, setSelectedPlayerIds] = useState<number[]>([])
+  const [searchText, setSearchText] = useState('')
+  const [nextCursor, setNextCursor] = useState<number | undefined>(undefined)
+  const [searchLoading, setSearchLoading] = useState(false)
   
-  // Load tournament and all players
+  // Load tournament
   useEffect(() => {
     const fetchData = async () => {
       if (!tournamentId) return
       
       setLoading(true)
       try {
-        const [tournamentData, playersData] = await Promise.all([
-          api.getTournament(tournamentId),
-          api.getPlayers()
-        ])
-        
-        setTournament(tournamentData)
-        
-        // Filter out players already in the tournament
-        const tournamentPlayerIds = tournamentData.players.map((p: Player) => p.id)
-        const availablePlayers = playersData.filter((player: Player) => 
-          !tournamentPlayerIds.includes(player.id)
-        )
-        
-        setAllPlayers(availablePlayers)
+        setTournament(await api.getTournament(tournamentId))
       } catch (err) {
         console.error('Error fetching data:', err)
         setError(err instanceof Error ? err.message : 'Failed to load data')
@@ -49,6 +42,54 @@ export default function AddPlayersPage() {
 
     fetchData()
   }, [tournamentId])
+
+  // Search players not yet in the tournament, debounced while typing
+  useEffect(() => {
+    if (!tournamentId) return
+
+    const timeout = setTimeout(async () => {
+      setSearchLoading(true)
+      try {
+        const page = await api.searchPlayers({
+          q: searchText || undefined,
+          active: true,
+          excludeTournament: tournamentId,
+          limit: PAGE_SIZE
+        })
+        setAllPlayers(page.players)
+        setNextCursor(page.nextCursor ?? undefined)
+      } catch (err) {
+        console.error('Error searching players:', err)
+        setError(err instanceof Error ? err.message : 'Failed to search players')
+      } finally {
+        setSearchLoading(false)
+      }
+    }, SEARCH_DELAY_MS)
+
+    return () => clearTimeout(timeout)
+  }, [tournamentId, searchText])
+
+  const handleLoadMore = async () => {
+    if (nextCursor === undefined) return
+
+    setSearchLoading(true)
+    try {
+      const page = await api.searchPlayers({
+        q: searchText || undefined,
+        active: true,
+        excludeTournament: tournamentId,
+        after: nextCursor,
+        limit: PAGE_SIZE
+      })
+      setAllPlayers(prev => [...prev, ...page.players])
+      setNextCursor(page.nextCursor ?? undefined)
+    } catch (err) {
+      console.error('Error searching players:', err)
+      setError(err instanceof Error ? err.message : 'Failed to search players')
+    } finally {
+      setSearchLoading(false)
+    }
+  }
   
   const handlePlayerToggle = (playerId: number) => {
     setSelectedPlayerIds(prev => {
@@ -147,10 +188,20 @@ export default function AddPlayersPage() {
           <label className="block text-sm font-medium text-gray-700 mb-4">
             Select Players to Add
           </label>
+
+          <input
+            type="search"
+            value={searchText}
+            onChange={e => setSearchText(e.target.value)}
+            placeholder="Search by name or email"
+            className="mb-3 block w-full rounded-md border border-gray-300 px-3 py-2 text-sm shadow-sm focus:border-indigo-500 focus:outline-none focus:ring-1 focus:ring-indigo-500"
+          />
           
           {allPlayers.length === 0 ? (
             <div className="text-center p-4 border rounded-md border-gray-200">
-              <p className="text-sm text-gray-500">No additional players available to add.</p>
+              <p className="text-sm text-gray-500">
+                {searchLoading ? 'Searching...' : 'No additional players available to add.'}
+              </p>
             </div>
           ) : (
             <div className="mt-1 max-h-56 overflow-y-auto border rounded-md border-gray-300 p-2">
@@ -185,6 +236,16 @@ export default function AddPlayersPage() {
                   </div>
                 ))}
               </div>
+              {nextCursor !== undefined && (
+                <button
+                  type="button"
+                  onClick={handleLoadMore}
+                  disabled={searchLoading}
+                  className="mt-2 w-full rounded-md border border-gray-300 px-3 py-1 text-sm text-gray-700 hover:bg-gray-50 disabled:opacity-50"
+                >
+                  {searchLoading ? 'Loading...' : 'Load more'}
+                </button>
+              )}
             </div>
           )}
           
@@ -198,7 +259,7 @@ export default function AddPlayersPage() {
         <div className="flex justify-end">
           <button
             type="submit"
-            disabled={submitLoading || allPlayers.length === 0}
+            disabled={submitLoading || selectedPlayerIds.length === 0}
             className="inline-flex items-center px-4 py-2 border border-transparent text-sm font-medium rounded-md shadow-sm text-white bg-indigo-600 hover:bg-indigo-700 focus:outline-none focus:ring-2 focus:ring-offset-2 focus:ring-indigo-500 disabled:opacity-50 disabled:cursor-not-allowed"
           >
             {submitLoading ? 'Adding Players...' : 'Add Selected Players'}
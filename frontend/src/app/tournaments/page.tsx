@@ -2,19 +2,24 @@
 
 import { useEffect, useState } from 'react'
 import Link from 'next/link'
-import { Tournament } from '@/types/match'
+import { TournamentSummary } from '@/types/match'
 import { api } from '@/services/api'
 
+const PAGE_SIZE = 50
+
 export default function TournamentsPage() {
-  const [tournaments, setTournaments] = useState<Tournament[]>([])
+  const [tournaments, setTournaments] = useState<TournamentSummary[]>([])
+  const [nextCursor, setNextCursor] = useState<number | undefined>(undefined)
   const [loading, setLoading] = useState(true)
+  const [loadingMore, setLoadingMore] = useState(false)
   const [error, setError] = useState<string | null>(null)
 
   useEffect(() => {
     const fetchTournaments = async () => {
       try {
-        const data = await api.getTournaments()
-        setTournaments(data)
+        const data = await api.getTournaments({ limit: PAGE_SIZE })
+        setTournaments(data.tournaments)
+        setNextCursor(data.nextCursor ?? undefined)
       } catch (err) {
         setError(err instanceof Error ? err.message : 'An error occurred')
       } finally {
@@ -25,6 +30,21 @@ export default function TournamentsPage() {
     fetchTournaments()
   }, [])
 
+  const handleLoadMore = async () => {
+    if (nextCursor === undefined) return
+
+    setLoadingMore(true)
+    try {
+      const data = await api.getTournaments({ after: nextCursor, limit: PAGE_SIZE })
+      setTournaments(prev => [...prev, ...data.tournaments])
+      setNextCursor(data.nextCursor ?? undefined)
+    } catch (err) {
+      setError(err instanceof Error ? err.message : 'An error occurred')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
   if (loading) {
     return (
       <div className="flex items-center justify-center min-h-[400px]">
@@ -112,13 +132,13 @@ export default function TournamentsPage() {
                     <svg xmlns="http://www.w3.org/2000/svg" className="h-4 w-4 mr-1" viewBox="0 0 20 20" fill="currentColor">
                       <path d="M13 6a3 3 0 11-6 0 3 3 0 016 0zM18 8a2 2 0 11-4 0 2 2 0 014 0zM14 15a4 4 0 00-8 0v3h8v-3zM6 8a2 2 0 11-4 0 2 2 0 014 0zM16 18v-3a5.972 5.972 0 00-.75-2.906A3.005 3.005 0 0119 15v3h-3zM4.75 12.094A5.973 5.973 0 004 15v3H1v-3a3 3 0 013.75-2.906z" />
                     </svg>
-                    {tournament.players.length} Players
+                    {tournament.playerCount} Players
                   </div>
                   <div className="flex items-center">
                     <svg xmlns="http://www.w3.org/2000/svg" className="h-4 w-4 mr-1" viewBox="0 0 20 20" fill="currentColor">
                       <path fillRule="evenodd" d="M10 18a8 8 0 100-16 8 8 0 000 16zM9.555 7.168A1 1 0 008 8v4a1 1 0 001.555.832l3-2a1 1 0 000-1.664l-3-2z" clipRule="evenodd" />
                     </svg>
-                    {tournament.matches.length} Matches
+                    {tournament.matchCount} Matches
                   </div>
                 </div>
               </div>
@@ -127,6 +147,19 @@ export default function TournamentsPage() {
           ))}
         </div>
       )}
+
+      {nextCursor !== undefined && (
+        <div className="flex justify-center">
+          <button
+            type="button"
+            onClick={handleLoadMore}
+            disabled={loadingMore}
+            className="wtt-button disabled:opacity-50"
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
     </div>
   )
 } 
\ No newline at end of file
@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { Match, CreateMatchRequest, UpdateMatchScoreRequest, Tournament, Player, UpdateScoreResponse } from '@/types/match';
+import { Match, CreateMatchRequest, UpdateMatchScoreRequest, Tournament, TournamentSummaryPage, Player, PlayerSearchPage, UpdateScoreResponse } from '@/types/match';
 
 // Get the base URL from environment variables
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_BASE_URL || '';
@@ -10,6 +10,8 @@ const apiClient = axios.create({
   headers: {
     'Content-Type': 'application/json',
   },
+  // Sends the cookie that keeps reads after a write on the primary database
+  withCredentials: true,
 });
 
 export interface CreateTournamentRequest {
@@ -25,8 +27,8 @@ export interface AddPlayersRequest {
 
 export const api = {
     // Tournament endpoints
-    getTournaments: () => 
-        apiClient.get<Tournament[]>(`/tournaments`).then(res => res.data),
+    getTournaments: (params?: { status?: Tournament['status']; after?: number; limit?: number }) => 
+        apiClient.get<TournamentSummaryPage>(`/tournaments`, { params }).then(res => res.data),
     
     getTournament: (id: number) => 
         apiClient.get<Tournament>(`/tournaments/${id}`).then(res => res.data),
@@ -54,6 +56,18 @@ export const api = {
     getPlayers: () => 
         apiClient.get<Player[]>(`/players`).then(res => res.data),
         
+    searchPlayers: (params: {
+        q?: string;
+        mode?: 'PREFIX' | 'CONTAINS';
+        active?: boolean;
+        minRank?: number;
+        maxRank?: number;
+        excludeTournament?: number;
+        after?: number;
+        limit?: number;
+    }) =>
+        apiClient.get<PlayerSearchPage>(`/players/search`, { params }).then(res => res.data),
+
     getPlayer: (id: number) => 
         apiClient.get<Player>(`/players/${id}`).then(res => res.data),
         
@@ -37,6 +37,30 @@ export interface Tournament {
     matches: Match[];
 }
 
+export interface TournamentSummary {
+    id: number;
+    name: string;
+    startDate: string;
+    endDate: string;
+    status: 'PENDING' | 'IN_PROGRESS' | 'COMPLETED' | 'CANCELLED';
+    playerCount: number;
+    matchCount: number;
+    pendingMatchCount: number;
+    inProgressMatchCount: number;
+    completedMatchCount: number;
+    cancelledMatchCount: number;
+}
+
+export interface TournamentSummaryPage {
+    tournaments: TournamentSummary[];
+    nextCursor?: number | null;
+}
+
+export interface PlayerSearchPage {
+    players: Player[];
+    nextCursor?: number | null;
+}
+
 export interface CreateMatchRequest {
     player1Id: number;
     player2Id: number;